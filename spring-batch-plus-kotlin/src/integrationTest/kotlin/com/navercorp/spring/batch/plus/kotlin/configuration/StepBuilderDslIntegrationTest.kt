@@ -18,6 +18,7 @@
 
 package com.navercorp.spring.batch.plus.kotlin.configuration
 
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamSimpleReaderProcessorWriter
 import org.assertj.core.api.Assertions.assertThat
 import org.assertj.core.api.Assertions.assertThatThrownBy
 import org.junit.jupiter.api.Test
@@ -27,6 +28,7 @@ import org.springframework.batch.core.configuration.annotation.EnableBatchProces
 import org.springframework.batch.core.launch.JobLauncher
 import org.springframework.batch.core.repository.JobRepository
 import org.springframework.batch.core.step.tasklet.Tasklet
+import org.springframework.batch.item.Chunk
 import org.springframework.batch.repeat.RepeatStatus
 import org.springframework.batch.repeat.policy.SimpleCompletionPolicy
 import org.springframework.batch.repeat.support.RepeatTemplate
@@ -516,6 +518,49 @@ internal class StepBuilderDslIntegrationTest {
         assertThat(writeCallCount).isEqualTo(7) // Ceil(20/3)
     }
 
+    @Test
+    fun testFusedChunk() {
+        // given
+        val context = AnnotationConfigApplicationContext(TestConfiguration::class.java)
+        val jobLauncher = context.getBean<JobLauncher>()
+        val batch = context.getBean<BatchDsl>()
+        val readLimit = 20
+        val chunkSize = 3
+        var readCallCount = 0
+        var writeCallCount = 0
+        val readerProcessorWriter = object : ItemStreamSimpleReaderProcessorWriter<Int, Int> {
+            override fun read(): Int? {
+                return if (readCallCount < readLimit) {
+                    ++readCallCount
+                    1
+                } else {
+                    null
+                }
+            }
+
+            override fun process(item: Int): Int = item
+
+            override fun write(chunk: Chunk<out Int>) {
+                ++writeCallCount
+            }
+        }
+
+        // when
+        val job = batch {
+            job("testJob") {
+                step("testStep") {
+                    fusedChunk(readerProcessorWriter, chunkSize, ResourcelessTransactionManager())
+                }
+            }
+        }
+        val jobExecution = jobLauncher.run(job, JobParameters())
+
+        // then
+        assertThat(jobExecution.status).isEqualTo(BatchStatus.COMPLETED)
+        assertThat(readCallCount).isEqualTo(readLimit)
+        assertThat(writeCallCount).isEqualTo(7) // Ceil(20/3)
+    }
+
     @Test
     fun testPartitioner() {
         // given
@@ -25,6 +25,13 @@ import com.navercorp.spring.batch.plus.kotlin.configuration.step.SimpleStepBuild
 import com.navercorp.spring.batch.plus.kotlin.configuration.step.TaskletStepBuilderDsl
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.BatchDslMarker
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.DslContext
+import com.navercorp.spring.batch.plus.step.adapter.AdapterFactory
+import com.navercorp.spring.batch.plus.step.adapter.GroupBoundaryCompletionPolicy
+import com.navercorp.spring.batch.plus.step.adapter.GroupingItemStreamReader
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamFluxReaderProcessorWriter
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamIterableReaderProcessorWriter
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamIteratorReaderProcessorWriter
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamSimpleReaderProcessorWriter
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.observation.ObservationRegistry
 import org.springframework.batch.core.Job
@@ -302,6 +309,146 @@ class StepBuilderDsl internal constructor(
             .build()
     }
 
+    /**
+     * Set chunk-based step reading items by [GroupingItemStreamReader], which completes a chunk only on a group
+     * boundary after [softLimit] items, or at [hardLimit] items. The reader is set by this, so don't set another one.
+     *
+     * @see GroupBoundaryCompletionPolicy
+     */
+    fun <I : Any, O : Any> groupChunk(
+        reader: GroupingItemStreamReader<I>,
+        softLimit: Int,
+        hardLimit: Int,
+        transactionManager: PlatformTransactionManager,
+        simpleStepInit: SimpleStepBuilderDsl<I, O>.() -> Unit,
+    ): Step {
+        val completionPolicy = GroupBoundaryCompletionPolicy.of(reader, softLimit, hardLimit)
+        return chunk<I, O>(completionPolicy, transactionManager) {
+            reader(reader)
+            simpleStepInit()
+        }
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamFluxReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamFluxReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+    ): Step {
+        return fusedChunk(readerProcessorWriter, chunkSize, transactionManager) {}
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamFluxReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamFluxReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+        taskletStepInit: TaskletStepBuilderDsl.() -> Unit,
+    ): Step {
+        val tasklet = AdapterFactory.tasklet(readerProcessorWriter, chunkSize)
+        return tasklet(tasklet, transactionManager, taskletStepInit)
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamIterableReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamIterableReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+    ): Step {
+        return fusedChunk(readerProcessorWriter, chunkSize, transactionManager) {}
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamIterableReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamIterableReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+        taskletStepInit: TaskletStepBuilderDsl.() -> Unit,
+    ): Step {
+        val tasklet = AdapterFactory.tasklet(readerProcessorWriter, chunkSize)
+        return tasklet(tasklet, transactionManager, taskletStepInit)
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamIteratorReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamIteratorReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+    ): Step {
+        return fusedChunk(readerProcessorWriter, chunkSize, transactionManager) {}
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamIteratorReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamIteratorReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+        taskletStepInit: TaskletStepBuilderDsl.() -> Unit,
+    ): Step {
+        val tasklet = AdapterFactory.tasklet(readerProcessorWriter, chunkSize)
+        return tasklet(tasklet, transactionManager, taskletStepInit)
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamSimpleReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamSimpleReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+    ): Step {
+        return fusedChunk(readerProcessorWriter, chunkSize, transactionManager) {}
+    }
+
+    /**
+     * Set fused chunk-based tasklet step running [ItemStreamSimpleReaderProcessorWriter]
+     * without splitting it into adapters.
+     *
+     * @see AdapterFactory.tasklet
+     */
+    fun <I : Any, O : Any> fusedChunk(
+        readerProcessorWriter: ItemStreamSimpleReaderProcessorWriter<I, O>,
+        chunkSize: Int,
+        transactionManager: PlatformTransactionManager,
+        taskletStepInit: TaskletStepBuilderDsl.() -> Unit,
+    ): Step {
+        val tasklet = AdapterFactory.tasklet(readerProcessorWriter, chunkSize)
+        return tasklet(tasklet, transactionManager, taskletStepInit)
+    }
+
     /**
      * Set partition step.
      */
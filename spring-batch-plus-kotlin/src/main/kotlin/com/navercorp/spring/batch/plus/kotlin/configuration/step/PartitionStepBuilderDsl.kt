@@ -22,6 +22,7 @@ import com.navercorp.spring.batch.plus.kotlin.configuration.support.BatchDslMark
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.Configurer
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.DslContext
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.LazyConfigurer
+import com.navercorp.spring.batch.plus.step.adapter.FileRangePartitioner
 import org.springframework.batch.core.Step
 import org.springframework.batch.core.partition.PartitionHandler
 import org.springframework.batch.core.partition.StepExecutionSplitter
@@ -29,6 +30,7 @@ import org.springframework.batch.core.partition.support.Partitioner
 import org.springframework.batch.core.partition.support.StepExecutionAggregator
 import org.springframework.batch.core.step.builder.PartitionStepBuilder
 import org.springframework.core.task.TaskExecutor
+import java.nio.file.Path
 
 /**
  * A dsl for [PartitionStepBuilder][org.springframework.batch.core.step.builder.PartitionStepBuilder].
@@ -90,6 +92,19 @@ class PartitionStepBuilderDsl internal constructor(
         this.splitterSet = true
     }
 
+    /**
+     * Build [SimpleStepExecutionSplitter][org.springframework.batch.core.partition.support.SimpleStepExecutionSplitter]
+     * with [FileRangePartitioner] which splits a file into byte ranges aligned to records. Read each range with a
+     * reader built by
+     * [MappedRecordFileReaderDelegateBuilder.rangeFromExecutionContext][com.navercorp.spring.batch.plus.step.adapter.MappedRecordFileReaderDelegateBuilder.rangeFromExecutionContext].
+     *
+     * @param recordLength the length of a record. 0 for newline-delimited records.
+     * @since 1.3.0
+     */
+    fun fileRangeSplitter(stepName: String, path: Path, recordLength: Int = 0) {
+        splitter(stepName, FileRangePartitioner.of(path, recordLength))
+    }
+
     /**
      * Set for [PartitionStepBuilder.aggregator][org.springframework.batch.core.step.builder.PartitionStepBuilder.aggregator].
      */
@@ -22,12 +22,16 @@ import com.navercorp.spring.batch.plus.kotlin.configuration.support.BatchDslMark
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.Configurer
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.DslContext
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.LazyConfigurer
+import com.navercorp.spring.batch.plus.step.adapter.AdaptiveConcurrencyTaskExecutor
+import com.navercorp.spring.batch.plus.step.adapter.RateLimitListener
+import com.navercorp.spring.batch.plus.step.adapter.TokenBucketRateLimiter
 import org.springframework.batch.core.ChunkListener
 import org.springframework.batch.core.ItemProcessListener
 import org.springframework.batch.core.ItemReadListener
 import org.springframework.batch.core.ItemWriteListener
 import org.springframework.batch.core.SkipListener
 import org.springframework.batch.core.Step
+import org.springframework.batch.core.StepExecutionListener
 import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder
 import org.springframework.batch.core.step.builder.SimpleStepBuilder
 import org.springframework.batch.core.step.item.KeyGenerator
@@ -44,6 +48,7 @@ import org.springframework.retry.RetryPolicy
 import org.springframework.retry.backoff.BackOffPolicy
 import org.springframework.retry.policy.RetryContextCache
 import org.springframework.transaction.interceptor.TransactionAttribute
+import kotlin.math.ceil
 import kotlin.reflect.KClass
 
 /**
@@ -243,6 +248,63 @@ class SimpleStepBuilderDsl<I : Any, O : Any> internal constructor(
         }
     }
 
+    /**
+     * Run chunks concurrently on an [AdaptiveConcurrencyTaskExecutor], which adjusts the number of running chunks
+     * by their commit latency and errors. It sets the task executor, registers it as a chunk listener, and sets the
+     * throttle limit to its maximum concurrency.
+     * It can't be used when [stepOperations] is set.
+     *
+     * @since 1.3.0
+     */
+    @Suppress("DEPRECATION")
+    fun adaptiveConcurrency(taskExecutor: AdaptiveConcurrencyTaskExecutor) {
+        val chunkListener: ChunkListener = taskExecutor
+        this.simpleStepConfigurer.add {
+            it.taskExecutor(taskExecutor)
+            it.listener(chunkListener)
+            it.throttleLimit(taskExecutor.maxConcurrency)
+        }
+        this.taskExecutorSet = true
+        this.throttleLimitSet = true
+    }
+
+    /**
+     * Limit the rate of items read by a [TokenBucketRateLimiter] of [itemsPerSecond] and [burst].
+     * If [jobParameterName] is given, the rate is set from the job parameter if present.
+     *
+     * @see RateLimitListener
+     * @since 1.3.0
+     */
+    fun rateLimit(
+        itemsPerSecond: Double,
+        burst: Long = ceil(itemsPerSecond).toLong().coerceAtLeast(1L),
+        jobParameterName: String? = null,
+    ) {
+        rateLimit(TokenBucketRateLimiter.of(itemsPerSecond, burst), jobParameterName)
+    }
+
+    /**
+     * Limit the rate of items read by a [TokenBucketRateLimiter], which may be shared with other steps or
+     * registered as an MBean to adjust the rate at runtime.
+     * If [jobParameterName] is given, the rate is set from the job parameter if present.
+     *
+     * @see RateLimitListener
+     * @since 1.3.0
+     */
+    fun rateLimit(rateLimiter: TokenBucketRateLimiter, jobParameterName: String? = null) {
+        val rateLimitListener = if (jobParameterName != null) {
+            RateLimitListener.of(rateLimiter, jobParameterName)
+        } else {
+            RateLimitListener.of(rateLimiter)
+        }
+        val itemReadListener: ItemReadListener<in I> = rateLimitListener
+        val stepExecutionListener: StepExecutionListener = rateLimitListener
+        this.simpleStepConfigurer.add {
+            it.listener(itemReadListener)
+            it.listener(stepExecutionListener)
+        }
+    }
+
     // see org.springframework.batch.core.step.builder.AbstractTaskletStepBuilder.build
     internal fun build(): Step {
         if (this.stepOperationsSet) {
@@ -19,12 +19,19 @@
 package com.navercorp.spring.batch.plus.kotlin.step.adapter
 
 import com.navercorp.spring.batch.plus.step.adapter.AdapterFactory
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarBatch
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarReaderDelegate
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarSchema
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarWriterDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemProcessorDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamFluxReaderDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamIterableReaderDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamIteratorReaderDelegate
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamReactiveWriterDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamSimpleReaderDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamWriterDelegate
+import com.navercorp.spring.batch.plus.step.adapter.Recyclable
+import com.navercorp.spring.batch.plus.step.adapter.RecyclablePool
 import org.springframework.batch.item.ItemProcessor
 import org.springframework.batch.item.ItemStreamReader
 import org.springframework.batch.item.ItemStreamWriter
@@ -64,3 +71,59 @@ fun <I : Any, O : Any> ItemProcessorDelegate<I, O>.asItemProcessor(): ItemProces
  */
 fun <T : Any> ItemStreamWriterDelegate<T>.asItemStreamWriter(): ItemStreamWriter<T> =
     AdapterFactory.itemStreamWriter(this)
+
+/**
+ * An extensions to invoke [AdapterFactory.reactiveItemStreamWriter].
+ */
+fun <T : Any> ItemStreamReactiveWriterDelegate<T>.asItemStreamWriter(): ItemStreamWriter<T> =
+    AdapterFactory.reactiveItemStreamWriter(this)
+
+/**
+ * An extensions to invoke [AdapterFactory.coalescingItemStreamWriter].
+ */
+fun <T : Any> ItemStreamWriterDelegate<T>.asCoalescingItemStreamWriter(
+    maxItems: Int,
+    vararg heldBackKeyPrefixes: String,
+): ItemStreamWriter<T> = AdapterFactory.coalescingItemStreamWriter(this, maxItems, *heldBackKeyPrefixes)
+
+/**
+ * An extensions to invoke [AdapterFactory.sortingItemStreamWriter].
+ */
+fun <T : Any> ItemStreamWriterDelegate<T>.asSortingItemStreamWriter(comparator: Comparator<in T>): ItemStreamWriter<T> =
+    AdapterFactory.sortingItemStreamWriter(this, comparator)
+
+/**
+ * An extensions to invoke [AdapterFactory.longKeySortingItemStreamWriter].
+ */
+fun <T : Any> ItemStreamWriterDelegate<T>.asLongKeySortingItemStreamWriter(
+    keyExtractor: (T) -> Long,
+): ItemStreamWriter<T> = AdapterFactory.longKeySortingItemStreamWriter(this) { keyExtractor(it) }
+
+/**
+ * An extensions to invoke [AdapterFactory.recyclingItemStreamWriter].
+ */
+fun <T : Recyclable> ItemStreamWriterDelegate<T>.asRecyclingItemStreamWriter(
+    pool: RecyclablePool<T>,
+): ItemStreamWriter<T> = AdapterFactory.recyclingItemStreamWriter(this, pool)
+
+/**
+ * An extensions to invoke [AdapterFactory.columnarItemStreamReader].
+ */
+fun <T : Any> ColumnarReaderDelegate.asItemStreamReader(
+    schema: ColumnarSchema,
+    batchSize: Int,
+    rowMapper: (ColumnarBatch, Int) -> T,
+): ItemStreamReader<T> = AdapterFactory.columnarItemStreamReader(this, schema, batchSize) { batch, row ->
+    rowMapper(batch, row)
+}
+
+/**
+ * An extensions to invoke [AdapterFactory.columnarItemStreamWriter].
+ */
+fun <T : Any> ColumnarWriterDelegate.asItemStreamWriter(
+    schema: ColumnarSchema,
+    batchSize: Int,
+    rowBinder: (T, ColumnarBatch, Int) -> Unit,
+): ItemStreamWriter<T> = AdapterFactory.columnarItemStreamWriter<T>(this, schema, batchSize) { item, batch, row ->
+    rowBinder(item, batch, row)
+}
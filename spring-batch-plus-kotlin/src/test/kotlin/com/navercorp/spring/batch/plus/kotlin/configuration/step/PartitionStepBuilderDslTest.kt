@@ -19,12 +19,14 @@
 package com.navercorp.spring.batch.plus.kotlin.configuration.step
 
 import com.navercorp.spring.batch.plus.kotlin.configuration.support.DslContext
+import com.navercorp.spring.batch.plus.step.adapter.FileRangePartitioner
 import io.mockk.every
 import io.mockk.mockk
 import org.assertj.core.api.Assertions.assertThat
 import org.assertj.core.api.Assertions.assertThatThrownBy
 import org.junit.jupiter.api.Nested
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import org.springframework.batch.core.BatchStatus
 import org.springframework.batch.core.ExitStatus
 import org.springframework.batch.core.JobExecution
@@ -38,6 +40,8 @@ import org.springframework.batch.core.repository.JobRepository
 import org.springframework.batch.core.step.builder.PartitionStepBuilder
 import org.springframework.batch.core.step.builder.StepBuilder
 import org.springframework.batch.item.ExecutionContext
+import java.nio.file.Files
+import java.nio.file.Path
 
 internal class PartitionStepBuilderDslTest {
 
@@ -543,6 +547,41 @@ internal class PartitionStepBuilderDslTest {
             }
         }
 
+        @Test
+        fun testFileRangeSplitter(@TempDir tempDir: Path) {
+            // given
+            val path = Files.writeString(tempDir.resolve("records.txt"), "a\nbb\nccc\ndddd\n")
+            val gridSize = 2
+            val partitionHandler = PartitionHandler { stepSplitter, stepExecution ->
+                stepSplitter.split(stepExecution, gridSize)
+                    .map {
+                        it.apply {
+                            exitStatus = ExitStatus.COMPLETED
+                            status = BatchStatus.COMPLETED
+                        }
+                    }
+            }
+
+            // when
+            val step = partitionStepBuilderDsl {
+                partitionHandler(partitionHandler)
+                fileRangeSplitter("splitStep", path)
+            }
+            val jobExecution = JobExecution(jobInstance, jobParameters)
+            val stepExecution = jobExecution.createStepExecution(step.name)
+            step.execute(stepExecution)
+
+            // then
+            val ranges = jobExecution.stepExecutions
+                .filter { it.stepName.startsWith("splitStep") }
+                .map {
+                    it.executionContext.getLong(FileRangePartitioner.START_KEY) to
+                        it.executionContext.getLong(FileRangePartitioner.END_KEY)
+                }
+                .sortedBy { it.first }
+            assertThat(ranges).containsExactly(0L to 9L, 9L to 14L)
+        }
+
         @Test
         fun testWithoutSplitter() {
             // given
@@ -18,6 +18,8 @@
 
 package com.navercorp.spring.batch.plus.kotlin.configuration.step
 
+import com.navercorp.spring.batch.plus.step.adapter.AdaptiveConcurrencyTaskExecutorBuilder
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
@@ -33,6 +35,7 @@ import org.springframework.batch.core.ItemWriteListener
 import org.springframework.batch.core.JobExecution
 import org.springframework.batch.core.JobInstance
 import org.springframework.batch.core.JobParameters
+import org.springframework.batch.core.StepExecutionListener
 import org.springframework.batch.core.step.builder.SimpleStepBuilder
 import org.springframework.batch.core.step.builder.StepBuilder
 import org.springframework.batch.core.step.tasklet.TaskletStep
@@ -283,6 +286,42 @@ internal class SimpleStepBuilderDslTest {
         verify(exactly = 1) { simpleStepBuilder.transactionAttribute(transactionAttribute) }
     }
 
+    @Suppress("DEPRECATION")
+    @Test
+    fun testAdaptiveConcurrency() {
+        // given
+        val simpleStepBuilder = mockk<SimpleStepBuilder<Int, Int>>(relaxed = true)
+
+        // when
+        val taskExecutor = AdaptiveConcurrencyTaskExecutorBuilder("test", 1, 8)
+            .taskExecutor(SyncTaskExecutor())
+            .meterRegistry(SimpleMeterRegistry())
+            .build()
+        SimpleStepBuilderDsl(mockk(), simpleStepBuilder).apply {
+            adaptiveConcurrency(taskExecutor)
+        }.build()
+
+        // then
+        verify(exactly = 1) { simpleStepBuilder.taskExecutor(taskExecutor) }
+        verify(exactly = 1) { simpleStepBuilder.listener(taskExecutor as ChunkListener) }
+        verify(exactly = 1) { simpleStepBuilder.throttleLimit(8) }
+    }
+
+    @Test
+    fun testRateLimit() {
+        // given
+        val simpleStepBuilder = mockk<SimpleStepBuilder<Int, Int>>(relaxed = true)
+
+        // when
+        SimpleStepBuilderDsl(mockk(), simpleStepBuilder).apply {
+            rateLimit(100.0, jobParameterName = "rateLimit")
+        }.build()
+
+        // then
+        verify(exactly = 1) { simpleStepBuilder.listener(any<ItemReadListener<in Int>>()) }
+        verify(exactly = 1) { simpleStepBuilder.listener(any<StepExecutionListener>()) }
+    }
+
     @Test
     fun testBuild() {
         // given
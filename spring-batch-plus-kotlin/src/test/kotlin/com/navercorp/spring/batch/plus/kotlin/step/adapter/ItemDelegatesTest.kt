@@ -18,14 +18,23 @@
 
 package com.navercorp.spring.batch.plus.kotlin.step.adapter
 
+import com.navercorp.spring.batch.plus.step.adapter.CoalescingItemStreamWriterAdapter
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarItemStreamWriterAdapter
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarReaderDelegate
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarSchemaBuilder
+import com.navercorp.spring.batch.plus.step.adapter.ColumnarWriterDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemProcessorAdapter
 import com.navercorp.spring.batch.plus.step.adapter.ItemProcessorDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamFluxReaderDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamIterableReaderDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamIteratorReaderDelegate
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamReactiveWriterAdapter
+import com.navercorp.spring.batch.plus.step.adapter.ItemStreamReactiveWriterDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamSimpleReaderDelegate
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamWriterAdapter
 import com.navercorp.spring.batch.plus.step.adapter.ItemStreamWriterDelegate
+import com.navercorp.spring.batch.plus.step.adapter.Recyclable
+import com.navercorp.spring.batch.plus.step.adapter.RecyclablePool
 import com.navercorp.spring.batch.plus.step.adapter.StepScopeItemStreamReader
 import io.mockk.mockk
 import org.assertj.core.api.Assertions.assertThat
@@ -92,4 +101,79 @@ internal class ItemDelegatesTest {
         // then
         assertThat(itemStreamWriter).isInstanceOf(ItemStreamWriterAdapter::class.java)
     }
+
+    @Test
+    fun testAsItemStreamWriterOnItemStreamReactiveWriterDelegate() {
+        // when
+        val delegate = mockk<ItemStreamReactiveWriterDelegate<*>>()
+        val itemStreamWriter = delegate.asItemStreamWriter()
+
+        // then
+        assertThat(itemStreamWriter).isInstanceOf(ItemStreamReactiveWriterAdapter::class.java)
+    }
+
+    @Test
+    fun testAsCoalescingItemStreamWriter() {
+        // when
+        val delegate = mockk<ItemStreamWriterDelegate<*>>()
+        val itemStreamWriter = delegate.asCoalescingItemStreamWriter(10, "reader.")
+
+        // then
+        assertThat(itemStreamWriter).isInstanceOf(CoalescingItemStreamWriterAdapter::class.java)
+    }
+
+    @Test
+    fun testAsSortingItemStreamWriter() {
+        // when
+        val delegate = mockk<ItemStreamWriterDelegate<Int>>()
+        val itemStreamWriter = delegate.asSortingItemStreamWriter(naturalOrder())
+
+        // then
+        assertThat(itemStreamWriter).isInstanceOf(ItemStreamWriterAdapter::class.java)
+    }
+
+    @Test
+    fun testAsLongKeySortingItemStreamWriter() {
+        // when
+        val delegate = mockk<ItemStreamWriterDelegate<Int>>()
+        val itemStreamWriter = delegate.asLongKeySortingItemStreamWriter { it.toLong() }
+
+        // then
+        assertThat(itemStreamWriter).isInstanceOf(ItemStreamWriterAdapter::class.java)
+    }
+
+    @Test
+    fun testAsRecyclingItemStreamWriter() {
+        // when
+        val delegate = mockk<ItemStreamWriterDelegate<Recyclable>>()
+        val pool = RecyclablePool.of { mockk<Recyclable>() }
+        val itemStreamWriter = delegate.asRecyclingItemStreamWriter(pool)
+
+        // then
+        assertThat(itemStreamWriter).isInstanceOf(ItemStreamWriterAdapter::class.java)
+    }
+
+    @Test
+    fun testAsItemStreamReaderOnColumnarReaderDelegate() {
+        // when
+        val delegate = mockk<ColumnarReaderDelegate>()
+        val schema = ColumnarSchemaBuilder().longColumn("id").build()
+        val itemStreamReader = delegate.asItemStreamReader(schema, 10) { batch, row -> batch.getLong(0, row) }
+
+        // then
+        assertThat(itemStreamReader).isInstanceOf(StepScopeItemStreamReader::class.java)
+    }
+
+    @Test
+    fun testAsItemStreamWriterOnColumnarWriterDelegate() {
+        // when
+        val delegate = mockk<ColumnarWriterDelegate>()
+        val schema = ColumnarSchemaBuilder().longColumn("id").build()
+        val itemStreamWriter = delegate.asItemStreamWriter<Long>(schema, 10) { item, batch, row ->
+            batch.setLong(0, row, item)
+        }
+
+        // then
+        assertThat(itemStreamWriter).isInstanceOf(ColumnarItemStreamWriterAdapter::class.java)
+    }
 }
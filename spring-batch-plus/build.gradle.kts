@@ -1,6 +1,9 @@
 plugins {
     id("spring.batch.plus.java-library-conventions")
     id("spring.batch.plus.maven-publish-conventions")
+
+    // benchmark, run with './gradlew :spring-batch-plus:jmh'
+    alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -16,4 +19,10 @@ dependencies {
     testImplementation(libs.reactor.core)
     testRuntimeOnly(libs.h2)
     testRuntimeOnly(libs.log4j)
+
+    jmh(libs.spring.batch.core)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
 }
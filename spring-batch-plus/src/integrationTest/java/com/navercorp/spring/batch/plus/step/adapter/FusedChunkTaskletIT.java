@@ -0,0 +1,206 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.TransactionManager;
+
+class FusedChunkTaskletIT {
+
+	private static final int TEST_REPEAT_COUNT = 5;
+
+	@RepeatedTest(TEST_REPEAT_COUNT)
+	void fusedTaskletShouldReadProcessAndWriteAllItems() throws Exception {
+		int itemCount = ThreadLocalRandom.current().nextInt(10, 100);
+		int chunkSize = ThreadLocalRandom.current().nextInt(1, 10);
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		TestReaderProcessorWriter readerProcessorWriter = new TestReaderProcessorWriter(itemCount, -1);
+		Job job = job(context, readerProcessorWriter, chunkSize);
+
+		JobExecution jobExecution = context.getBean(JobLauncher.class).run(job, new JobParameters());
+
+		assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+		StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+		assertThat(stepExecution.getReadCount()).isEqualTo(itemCount);
+		// odd items are filtered
+		assertThat(stepExecution.getFilterCount()).isEqualTo(itemCount / 2);
+		assertThat(stepExecution.getWriteCount()).isEqualTo(itemCount - itemCount / 2);
+		assertThat(readerProcessorWriter.written).hasSize(itemCount - itemCount / 2)
+			.allSatisfy(it -> assertThat(it % 2).isZero());
+		// a chunk of only an odd item is not written
+		int nonEmptyChunkCount = 0;
+		for (int start = 0; start < itemCount; start += chunkSize) {
+			if (start % 2 == 0 || Math.min(start + chunkSize, itemCount) - start > 1) {
+				++nonEmptyChunkCount;
+			}
+		}
+		assertThat(readerProcessorWriter.writeCallCount).isEqualTo(nonEmptyChunkCount);
+		assertThat(readerProcessorWriter.onOpenCallCount).isEqualTo(1);
+		assertThat(readerProcessorWriter.onCloseCallCount).isEqualTo(1);
+	}
+
+	@Test
+	void fusedTaskletShouldRestartFromLastCommittedChunk() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		TestReaderProcessorWriter readerProcessorWriter = new TestReaderProcessorWriter(20, 12);
+		Job job = job(context, readerProcessorWriter, 5);
+		JobLauncher jobLauncher = context.getBean(JobLauncher.class);
+		JobParameters jobParameters = new JobParametersBuilder()
+			.addString("run", "restart")
+			.toJobParameters();
+
+		JobExecution failed = jobLauncher.run(job, jobParameters);
+		readerProcessorWriter.failAt = -1;
+		JobExecution restarted = jobLauncher.run(job, jobParameters);
+
+		assertThat(failed.getStatus()).isEqualTo(BatchStatus.FAILED);
+		assertThat(restarted.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+		// the chunk of [10, 15) is rolled back and read again
+		assertThat(readerProcessorWriter.readFrom).containsExactly(0, 10);
+		assertThat(readerProcessorWriter.written)
+			.containsExactly(0, 2, 4, 6, 8, 10, 12, 14, 16, 18);
+		assertThat(readerProcessorWriter.onOpenCallCount).isEqualTo(2);
+		assertThat(readerProcessorWriter.onCloseCallCount).isEqualTo(2);
+	}
+
+	private static Job job(AnnotationConfigApplicationContext context,
+		TestReaderProcessorWriter readerProcessorWriter, int chunkSize) {
+		JobRepository jobRepository = context.getBean(JobRepository.class);
+		return new JobBuilder("testJob", jobRepository)
+			.start(
+				new StepBuilder("testStep", jobRepository)
+					.tasklet(AdapterFactory.tasklet(readerProcessorWriter, chunkSize),
+						new ResourcelessTransactionManager())
+					.build()
+			)
+			.build();
+	}
+
+	@EnableBatchProcessing(
+		dataSourceRef = "metadataDataSource",
+		transactionManagerRef = "metadataTransactionManager"
+	)
+	private static class TestConfiguration {
+
+		@Bean
+		TransactionManager metadataTransactionManager() {
+			return new DataSourceTransactionManager(metadataDataSource());
+		}
+
+		@Bean
+		DataSource metadataDataSource() {
+			return new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.addScript("/org/springframework/batch/core/schema-h2.sql")
+				.generateUniqueName(true)
+				.build();
+		}
+	}
+
+	private static class TestReaderProcessorWriter implements ItemStreamSimpleReaderProcessorWriter<Integer, Integer> {
+
+		private final int itemCount;
+
+		private final List<Integer> readFrom = new ArrayList<>();
+
+		private final List<Integer> written = new ArrayList<>();
+
+		private int failAt;
+
+		private int current = 0;
+
+		private int writeCallCount = 0;
+
+		private int onOpenCallCount = 0;
+
+		private int onCloseCallCount = 0;
+
+		TestReaderProcessorWriter(int itemCount, int failAt) {
+			this.itemCount = itemCount;
+			this.failAt = failAt;
+		}
+
+		@Override
+		public void onOpenRead(@NonNull ExecutionContext executionContext) {
+			++this.onOpenCallCount;
+			this.current = executionContext.getInt("current", 0);
+			this.readFrom.add(this.current);
+		}
+
+		@Override
+		public Integer read() {
+			return (this.current < this.itemCount) ? this.current++ : null;
+		}
+
+		@Override
+		public void onUpdateRead(@NonNull ExecutionContext executionContext) {
+			executionContext.putInt("current", this.current);
+		}
+
+		@Override
+		public void onCloseRead() {
+			++this.onCloseCallCount;
+		}
+
+		@Override
+		public Integer process(@NonNull Integer item) {
+			return (item % 2 == 0) ? item : null;
+		}
+
+		@Override
+		public void write(@NonNull Chunk<? extends Integer> chunk) {
+			++this.writeCallCount;
+			for (Integer item : chunk) {
+				if (item == this.failAt) {
+					throw new IllegalStateException("test");
+				}
+			}
+			this.written.addAll(chunk.getItems());
+		}
+	}
+}
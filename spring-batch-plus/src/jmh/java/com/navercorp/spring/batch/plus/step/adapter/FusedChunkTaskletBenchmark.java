@@ -0,0 +1,138 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.lang.NonNull;
+
+/**
+ * Compares a chunk-oriented step of adapters with a fused tasklet step running the same delegate.
+ * Run with {@code ./gradlew :spring-batch-plus:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FusedChunkTaskletBenchmark {
+
+	@Param({"100000"})
+	int itemCount;
+
+	@Param({"10", "100", "1000"})
+	int chunkSize;
+
+	private JobRepository jobRepository;
+
+	private Blackhole blackhole;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		this.jobRepository = new ResourcelessJobRepository();
+		this.blackhole = blackhole;
+	}
+
+	@Benchmark
+	public void chunkOrientedStep() throws Exception {
+		TestReaderProcessorWriter delegate = new TestReaderProcessorWriter(this.itemCount, this.blackhole);
+		Step step = new StepBuilder("chunkOrientedStep", this.jobRepository)
+			.<Integer, Integer>chunk(this.chunkSize, new ResourcelessTransactionManager())
+			.reader(AdapterFactory.itemStreamReader(delegate))
+			.processor(AdapterFactory.itemProcessor(delegate))
+			.writer(AdapterFactory.itemStreamWriter(delegate))
+			.build();
+		execute(step);
+	}
+
+	@Benchmark
+	public void fusedTaskletStep() throws Exception {
+		TestReaderProcessorWriter delegate = new TestReaderProcessorWriter(this.itemCount, this.blackhole);
+		Step step = new StepBuilder("fusedTaskletStep", this.jobRepository)
+			.tasklet(AdapterFactory.tasklet(delegate, this.chunkSize), new ResourcelessTransactionManager())
+			.build();
+		execute(step);
+	}
+
+	private void execute(Step step) throws Exception {
+		JobExecution jobExecution = this.jobRepository.createJobExecution("benchmarkJob", new JobParameters());
+		StepExecution stepExecution = jobExecution.createStepExecution(step.getName());
+		step.execute(stepExecution);
+		this.blackhole.consume(stepExecution.getWriteCount());
+	}
+
+	private static class TestReaderProcessorWriter implements ItemStreamSimpleReaderProcessorWriter<Integer, Integer> {
+
+		private final int itemCount;
+
+		private final Blackhole blackhole;
+
+		private int current = 0;
+
+		TestReaderProcessorWriter(int itemCount, Blackhole blackhole) {
+			this.itemCount = itemCount;
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public Integer read() {
+			return (this.current < this.itemCount) ? this.current++ : null;
+		}
+
+		@Override
+		public void onUpdateRead(@NonNull ExecutionContext executionContext) {
+			executionContext.putInt("current", this.current);
+		}
+
+		@Override
+		public Integer process(@NonNull Integer item) {
+			return item * 2;
+		}
+
+		@Override
+		public void write(@NonNull Chunk<? extends Integer> chunk) {
+			for (Integer item : chunk) {
+				this.blackhole.consume(item);
+			}
+		}
+	}
+}
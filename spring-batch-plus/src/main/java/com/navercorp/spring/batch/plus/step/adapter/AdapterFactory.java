@@ -18,7 +18,9 @@
 
 package com.navercorp.spring.batch.plus.step.adapter;
 
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.function.ToLongFunction;
 
 import org.springframework.batch.core.scope.StepScope;
 import org.springframework.batch.item.ItemProcessor;
@@ -34,6 +36,9 @@ import org.springframework.lang.NonNull;
  * {@link ItemStreamSimpleReaderDelegate}
  * {@link ItemProcessorDelegate}
  * {@link ItemStreamWriterDelegate}
+ * {@link ItemStreamReactiveWriterDelegate}
+ * {@link ColumnarReaderDelegate}
+ * {@link ColumnarWriterDelegate}
  *
  * @since 1.1.0
  */
@@ -114,6 +119,207 @@ public final class AdapterFactory {
 		return ItemStreamWriterAdapter.of(delegate);
 	}
 
+	/**
+	 * Create an adapter which adapt {@link ItemStreamReactiveWriterDelegate} to {@link ItemStreamWriter}.
+	 *
+	 * @param <T> an item type to write
+	 * @param delegate a delegate
+	 * @return an adapted ItemStreamWriter
+	 * @since 1.3.0
+	 */
+	public static <T> ItemStreamWriter<T> reactiveItemStreamWriter(
+		@NonNull ItemStreamReactiveWriterDelegate<T> delegate) {
+		return ItemStreamReactiveWriterAdapter.of(delegate);
+	}
+
+	/**
+	 * Create an adapter which adapt {@link ItemStreamWriterDelegate} to {@link ItemStreamWriter}
+	 * coalescing items of consecutive chunks into a single write of {@code maxItems} items.
+	 *
+	 * @param <T> an item type to write
+	 * @param delegate a delegate
+	 * @param maxItems the number of items to trigger a flush
+	 * @param heldBackKeyPrefixes the key prefixes of the entries to keep at the last flushed checkpoint
+	 * @return an adapted ItemStreamWriter
+	 * @see CoalescingItemStreamWriterBuilder
+	 * @since 1.3.0
+	 */
+	public static <T> ItemStreamWriter<T> coalescingItemStreamWriter(@NonNull ItemStreamWriterDelegate<T> delegate,
+		int maxItems, @NonNull String... heldBackKeyPrefixes) {
+		return CoalescingItemStreamWriterAdapter.of(delegate, maxItems, heldBackKeyPrefixes);
+	}
+
+	/**
+	 * Create an adapter which adapt {@link ItemStreamWriterDelegate} to {@link ItemStreamWriter}
+	 * sorting items of each chunk by the comparator before writing.
+	 *
+	 * @param <T> an item type to write
+	 * @param delegate a delegate
+	 * @param comparator a comparator to sort items
+	 * @return an adapted ItemStreamWriter
+	 * @see SortingItemStreamWriterDelegateBuilder
+	 * @since 1.3.0
+	 */
+	public static <T> ItemStreamWriter<T> sortingItemStreamWriter(@NonNull ItemStreamWriterDelegate<T> delegate,
+		@NonNull Comparator<? super T> comparator) {
+		return ItemStreamWriterAdapter.of(SortingItemStreamWriterDelegate.of(delegate, comparator));
+	}
+
+	/**
+	 * Create an adapter which adapt {@link ItemStreamWriterDelegate} to {@link ItemStreamWriter}
+	 * sorting items of each chunk by a long key with a primitive sort before writing.
+	 *
+	 * @param <T> an item type to write
+	 * @param delegate a delegate
+	 * @param keyExtractor a function to extract a sort key of an item
+	 * @return an adapted ItemStreamWriter
+	 * @see SortingItemStreamWriterDelegateBuilder
+	 * @since 1.3.0
+	 */
+	public static <T> ItemStreamWriter<T> longKeySortingItemStreamWriter(
+		@NonNull ItemStreamWriterDelegate<T> delegate, @NonNull ToLongFunction<? super T> keyExtractor) {
+		return ItemStreamWriterAdapter.of(SortingItemStreamWriterDelegate.ofLongKey(delegate, keyExtractor));
+	}
+
+	/**
+	 * Create an adapter which adapt {@link ItemStreamWriterDelegate} to {@link ItemStreamWriter}
+	 * returning written items to the pool after the chunk is committed.
+	 *
+	 * @param <T> a recyclable item type to write
+	 * @param delegate a delegate
+	 * @param pool a pool to return written items
+	 * @return an adapted ItemStreamWriter
+	 * @see RecyclingItemStreamWriterDelegate
+	 * @since 1.3.0
+	 */
+	public static <T extends Recyclable> ItemStreamWriter<T> recyclingItemStreamWriter(
+		@NonNull ItemStreamWriterDelegate<T> delegate, @NonNull RecyclablePool<T> pool) {
+		return ItemStreamWriterAdapter.of(RecyclingItemStreamWriterDelegate.of(delegate, pool));
+	}
+
+	/**
+	 * Create a tasklet which runs {@link ItemStreamFluxReaderProcessorWriter} as a fused chunk-oriented tasklet
+	 * without splitting it into adapters.
+	 *
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @see FusedChunkTasklet
+	 * @since 1.3.0
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> tasklet(
+		@NonNull ItemStreamFluxReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		return FusedChunkTasklet.of(readerProcessorWriter, chunkSize);
+	}
+
+	/**
+	 * Create a tasklet which runs {@link ItemStreamIterableReaderProcessorWriter} as a fused chunk-oriented tasklet
+	 * without splitting it into adapters.
+	 *
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @see FusedChunkTasklet
+	 * @since 1.3.0
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> tasklet(
+		@NonNull ItemStreamIterableReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		return FusedChunkTasklet.of(readerProcessorWriter, chunkSize);
+	}
+
+	/**
+	 * Create a tasklet which runs {@link ItemStreamIteratorReaderProcessorWriter} as a fused chunk-oriented tasklet
+	 * without splitting it into adapters.
+	 *
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @see FusedChunkTasklet
+	 * @since 1.3.0
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> tasklet(
+		@NonNull ItemStreamIteratorReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		return FusedChunkTasklet.of(readerProcessorWriter, chunkSize);
+	}
+
+	/**
+	 * Create a tasklet which runs {@link ItemStreamSimpleReaderProcessorWriter} as a fused chunk-oriented tasklet
+	 * without splitting it into adapters.
+	 *
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @see FusedChunkTasklet
+	 * @since 1.3.0
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> tasklet(
+		@NonNull ItemStreamSimpleReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		return FusedChunkTasklet.of(readerProcessorWriter, chunkSize);
+	}
+
+	/**
+	 * Create an adapter which adapt {@link ColumnarReaderDelegate} to a row-based {@link ItemStreamReader}
+	 * with {@link StepScope} bound proxy implementation. It creates new instance for every {@link StepScope}.
+	 *
+	 * @param <T> a read item type
+	 * @param delegate a delegate
+	 * @param schema a schema of the batch
+	 * @param batchSize the number of rows to read at once
+	 * @param rowMapper a mapper to create an item from a row
+	 * @return an adapted ItemStreamReader
+	 * @see ColumnarItemStreamReaderAdapter
+	 * @since 1.3.0
+	 */
+	public static <T> ItemStreamReader<T> columnarItemStreamReader(@NonNull ColumnarReaderDelegate delegate,
+		@NonNull ColumnarSchema schema, int batchSize, @NonNull ColumnarRowMapper<T> rowMapper) {
+		Objects.requireNonNull(delegate, "ItemStreamReader delegate is null");
+		return StepScopeItemStreamReader.of(
+			() -> ColumnarItemStreamReaderAdapter.of(delegate, schema, batchSize, rowMapper));
+	}
+
+	/**
+	 * Create an adapter which adapt {@link ColumnarWriterDelegate} to a row-based {@link ItemStreamWriter}.
+	 *
+	 * @param <T> an item type to write
+	 * @param delegate a delegate
+	 * @param schema a schema of the batch
+	 * @param batchSize the maximum number of rows to write at once
+	 * @param rowBinder a binder to set the values of an item to a row
+	 * @return an adapted ItemStreamWriter
+	 * @see ColumnarItemStreamWriterAdapter
+	 * @since 1.3.0
+	 */
+	public static <T> ItemStreamWriter<T> columnarItemStreamWriter(@NonNull ColumnarWriterDelegate delegate,
+		@NonNull ColumnarSchema schema, int batchSize, @NonNull ColumnarRowBinder<? super T> rowBinder) {
+		return ColumnarItemStreamWriterAdapter.of(delegate, schema, batchSize, rowBinder);
+	}
+
+	/**
+	 * Create a tasklet which runs columnar delegates as a chunk-oriented tasklet of {@link ColumnarBatch}.
+	 *
+	 * @param reader a delegate to read rows
+	 * @param processor a delegate to process rows
+	 * @param writer a delegate to write rows
+	 * @param schema a schema of the batch
+	 * @param chunkSize the number of rows in a chunk
+	 * @return a columnar tasklet
+	 * @see ColumnarChunkTasklet
+	 * @since 1.3.0
+	 */
+	public static ColumnarChunkTasklet tasklet(@NonNull ColumnarReaderDelegate reader,
+		@NonNull ColumnarProcessorDelegate processor, @NonNull ColumnarWriterDelegate writer,
+		@NonNull ColumnarSchema schema, int chunkSize) {
+		return ColumnarChunkTasklet.of(reader, processor, writer, schema, chunkSize);
+	}
+
 	private AdapterFactory() {
 	}
 }
@@ -0,0 +1,284 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A {@link TaskExecutor} which limits the number of tasks running on a delegate, adjusting the limit by the latency
+ * and the errors of the tasks. For a multi-threaded step, a task is a chunk including its commit.
+ * <p>
+ * The limit is controlled by AIMD: it grows by one for every {@code limit} tasks completed while all permits are in
+ * use, and is multiplied by the backoff ratio when a task fails or takes longer than the latency threshold. The
+ * threshold is fixed, or the tolerance times the minimum latency of the recent tasks, which is the latency without
+ * contention. {@link #execute(Runnable)} blocks while the limit is reached.
+ * <p>
+ * A chunk failure is detected by {@link ChunkListener#afterChunkError(ChunkContext)}, so register it as a listener of
+ * the step as well as the task executor, and set the throttle limit of the step to the maximum concurrency, like
+ * {@code adaptiveConcurrency} of the Kotlin DSL does. It can also be set to a partition handler, where a task is a
+ * partition.
+ * <p>
+ * The limit and the number of running tasks are recorded to gauges named {@value #LIMIT_GAUGE_NAME} and
+ * {@value #IN_FLIGHT_GAUGE_NAME}, and decreases of the limit to a counter named {@value #DECREASE_COUNTER_NAME}, with
+ * a {@code name} tag.
+ *
+ * @see AdaptiveConcurrencyTaskExecutorBuilder
+ * @since 1.3.0
+ */
+public class AdaptiveConcurrencyTaskExecutor implements TaskExecutor, ChunkListener {
+
+	/**
+	 * A name of the gauge of the concurrency limit.
+	 */
+	public static final String LIMIT_GAUGE_NAME = "spring.batch.plus.concurrency.limit";
+
+	/**
+	 * A name of the gauge of the number of running tasks.
+	 */
+	public static final String IN_FLIGHT_GAUGE_NAME = "spring.batch.plus.concurrency.in.flight";
+
+	/**
+	 * A name of the counter of decreases of the concurrency limit.
+	 */
+	public static final String DECREASE_COUNTER_NAME = "spring.batch.plus.concurrency.decrease";
+
+	/**
+	 * The number of tasks to find the minimum latency. The minimum of the current and the previous windows is used.
+	 */
+	private static final int LATENCY_WINDOW = 100;
+
+	protected final TaskExecutor delegate;
+
+	protected final int minConcurrency;
+
+	protected final int maxConcurrency;
+
+	protected final double backoffRatio;
+
+	protected final double latencyTolerance;
+
+	@Nullable
+	protected final Duration latencyThreshold;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition available = this.lock.newCondition();
+
+	private final ThreadLocal<Boolean> chunkFailed = new ThreadLocal<>();
+
+	private final Counter decreaseCounter;
+
+	private double limit;
+
+	private int inFlight = 0;
+
+	private long previousWindowMinNanos = Long.MAX_VALUE;
+
+	private long windowMinNanos = Long.MAX_VALUE;
+
+	private int windowCount = 0;
+
+	/**
+	 * Use {@link AdaptiveConcurrencyTaskExecutorBuilder} to create an instance.
+	 *
+	 * @param name a name to tag metrics
+	 * @param delegate a task executor to run tasks
+	 * @param minConcurrency the minimum limit
+	 * @param initialConcurrency the initial limit
+	 * @param maxConcurrency the maximum limit
+	 * @param backoffRatio the ratio to multiply the limit on overload
+	 * @param latencyTolerance the ratio of the latency threshold to the minimum latency
+	 * @param latencyThreshold a fixed latency threshold. null to use the tolerance.
+	 * @param meterRegistry a registry to record metrics
+	 */
+	protected AdaptiveConcurrencyTaskExecutor(String name, TaskExecutor delegate, int minConcurrency,
+		int initialConcurrency, int maxConcurrency, double backoffRatio, double latencyTolerance,
+		@Nullable Duration latencyThreshold, MeterRegistry meterRegistry) {
+		Objects.requireNonNull(name, "Name must not be null");
+		this.delegate = Objects.requireNonNull(delegate, "TaskExecutor must not be null");
+		Objects.requireNonNull(meterRegistry, "MeterRegistry must not be null");
+		if (minConcurrency <= 0 || initialConcurrency < minConcurrency || maxConcurrency < initialConcurrency) {
+			throw new IllegalArgumentException("Concurrency must be 0 < min <= initial <= max");
+		}
+		if (!(backoffRatio > 0.0d && backoffRatio < 1.0d)) {
+			throw new IllegalArgumentException("Backoff ratio must be in (0, 1)");
+		}
+		if (!(latencyTolerance > 1.0d)) {
+			throw new IllegalArgumentException("Latency tolerance must be greater than 1");
+		}
+		if (latencyThreshold != null && (latencyThreshold.isNegative() || latencyThreshold.isZero())) {
+			throw new IllegalArgumentException("Latency threshold must be positive");
+		}
+		this.minConcurrency = minConcurrency;
+		this.maxConcurrency = maxConcurrency;
+		this.backoffRatio = backoffRatio;
+		this.latencyTolerance = latencyTolerance;
+		this.latencyThreshold = latencyThreshold;
+		this.limit = initialConcurrency;
+
+		Gauge.builder(LIMIT_GAUGE_NAME, this, AdaptiveConcurrencyTaskExecutor::getLimit)
+			.description("Concurrency limit of an adaptive task executor")
+			.tag("name", name)
+			.register(meterRegistry);
+		Gauge.builder(IN_FLIGHT_GAUGE_NAME, this, AdaptiveConcurrencyTaskExecutor::getInFlight)
+			.description("Running tasks of an adaptive task executor")
+			.tag("name", name)
+			.register(meterRegistry);
+		this.decreaseCounter = Counter.builder(DECREASE_COUNTER_NAME)
+			.description("Decreases of the concurrency limit of an adaptive task executor")
+			.tag("name", name)
+			.register(meterRegistry);
+	}
+
+	@Override
+	public void execute(@NonNull Runnable task) {
+		acquire();
+		try {
+			this.delegate.execute(() -> run(task));
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+	}
+
+	@Override
+	public void afterChunkError(@NonNull ChunkContext context) {
+		this.chunkFailed.set(Boolean.TRUE);
+	}
+
+	/**
+	 * @return the current concurrency limit
+	 */
+	public int getLimit() {
+		this.lock.lock();
+		try {
+			return (int)this.limit;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of running tasks
+	 */
+	public int getInFlight() {
+		this.lock.lock();
+		try {
+			return this.inFlight;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the maximum concurrency limit
+	 */
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	private void run(Runnable task) {
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			task.run();
+			failed = Boolean.TRUE.equals(this.chunkFailed.get());
+		} finally {
+			this.chunkFailed.remove();
+			complete(System.nanoTime() - start, failed);
+		}
+	}
+
+	private void acquire() {
+		this.lock.lock();
+		try {
+			while (this.inFlight >= (int)this.limit) {
+				this.available.await();
+			}
+			++this.inFlight;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TaskRejectedException("Interrupted while waiting for the concurrency limit", e);
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void release() {
+		this.lock.lock();
+		try {
+			--this.inFlight;
+			this.available.signal();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void complete(long latencyNanos, boolean failed) {
+		this.lock.lock();
+		try {
+			boolean saturated = (this.inFlight >= (int)this.limit);
+			--this.inFlight;
+			boolean overloaded = failed || latencyNanos > latencyThresholdNanos();
+			recordLatency(latencyNanos);
+			if (overloaded) {
+				this.limit = Math.max(this.minConcurrency, this.limit * this.backoffRatio);
+				this.decreaseCounter.increment();
+			} else if (saturated) {
+				this.limit = Math.min(this.maxConcurrency, this.limit + 1.0d / this.limit);
+			}
+			this.available.signalAll();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private long latencyThresholdNanos() {
+		if (this.latencyThreshold != null) {
+			return this.latencyThreshold.toNanos();
+		}
+		long minNanos = Math.min(this.previousWindowMinNanos, this.windowMinNanos);
+		return (minNanos == Long.MAX_VALUE) ? Long.MAX_VALUE : (long)(minNanos * this.latencyTolerance);
+	}
+
+	private void recordLatency(long latencyNanos) {
+		this.windowMinNanos = Math.min(this.windowMinNanos, latencyNanos);
+		if (++this.windowCount == LATENCY_WINDOW) {
+			// forget an old minimum, so the threshold follows a change of the downstream
+			this.previousWindowMinNanos = this.windowMinNanos;
+			this.windowMinNanos = Long.MAX_VALUE;
+			this.windowCount = 0;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * A builder for {@link AdaptiveConcurrencyTaskExecutor}.
+ *
+ * @since 1.3.0
+ */
+public class AdaptiveConcurrencyTaskExecutorBuilder {
+
+	/**
+	 * The default ratio to multiply the limit on overload.
+	 */
+	public static final double DEFAULT_BACKOFF_RATIO = 0.8d;
+
+	/**
+	 * The default ratio of the latency threshold to the minimum latency.
+	 */
+	public static final double DEFAULT_LATENCY_TOLERANCE = 2.0d;
+
+	private final String name;
+
+	private final int minConcurrency;
+
+	private final int maxConcurrency;
+
+	private int initialConcurrency;
+
+	private TaskExecutor taskExecutor;
+
+	private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+	private double latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+
+	private Duration latencyThreshold = null;
+
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+	/**
+	 * @param name a name to tag metrics, like the step name
+	 * @param minConcurrency the minimum concurrency limit
+	 * @param maxConcurrency the maximum concurrency limit
+	 */
+	public AdaptiveConcurrencyTaskExecutorBuilder(@NonNull String name, int minConcurrency, int maxConcurrency) {
+		this.name = Objects.requireNonNull(name, "Name must not be null");
+		this.minConcurrency = minConcurrency;
+		this.maxConcurrency = maxConcurrency;
+		this.initialConcurrency = minConcurrency;
+	}
+
+	/**
+	 * Set the initial concurrency limit. The minimum by default.
+	 *
+	 * @param initialConcurrency the initial concurrency limit
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AdaptiveConcurrencyTaskExecutorBuilder initialConcurrency(int initialConcurrency) {
+		this.initialConcurrency = initialConcurrency;
+		return this;
+	}
+
+	/**
+	 * Set a task executor to run tasks, which should allow the maximum concurrency. A new thread for each task by
+	 * default.
+	 *
+	 * @param taskExecutor a task executor to run tasks
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AdaptiveConcurrencyTaskExecutorBuilder taskExecutor(@NonNull TaskExecutor taskExecutor) {
+		this.taskExecutor = Objects.requireNonNull(taskExecutor, "TaskExecutor must not be null");
+		return this;
+	}
+
+	/**
+	 * Set the ratio to multiply the limit on overload. Defaults to {@value #DEFAULT_BACKOFF_RATIO}.
+	 *
+	 * @param backoffRatio a ratio in (0, 1)
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AdaptiveConcurrencyTaskExecutorBuilder backoffRatio(double backoffRatio) {
+		this.backoffRatio = backoffRatio;
+		return this;
+	}
+
+	/**
+	 * Set the ratio of the latency threshold to the minimum latency of recent tasks. Defaults to
+	 * {@value #DEFAULT_LATENCY_TOLERANCE}. Ignored if a fixed latency threshold is set.
+	 *
+	 * @param latencyTolerance a ratio greater than 1
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AdaptiveConcurrencyTaskExecutorBuilder latencyTolerance(double latencyTolerance) {
+		this.latencyTolerance = latencyTolerance;
+		return this;
+	}
+
+	/**
+	 * Set a fixed latency threshold, like the latency budget of the downstream.
+	 *
+	 * @param latencyThreshold a latency threshold of a task
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AdaptiveConcurrencyTaskExecutorBuilder latencyThreshold(@NonNull Duration latencyThreshold) {
+		this.latencyThreshold = Objects.requireNonNull(latencyThreshold, "Latency threshold must not be null");
+		return this;
+	}
+
+	/**
+	 * Set a registry to record metrics. {@link Metrics#globalRegistry} by default.
+	 *
+	 * @param meterRegistry a meter registry
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AdaptiveConcurrencyTaskExecutorBuilder meterRegistry(@NonNull MeterRegistry meterRegistry) {
+		this.meterRegistry = Objects.requireNonNull(meterRegistry, "MeterRegistry must not be null");
+		return this;
+	}
+
+	/**
+	 * Build an adaptive concurrency task executor.
+	 *
+	 * @return an adaptive concurrency task executor
+	 */
+	public AdaptiveConcurrencyTaskExecutor build() {
+		TaskExecutor taskExecutor = (this.taskExecutor != null)
+			? this.taskExecutor
+			: new SimpleAsyncTaskExecutor(this.name + "-");
+		return new AdaptiveConcurrencyTaskExecutor(this.name, taskExecutor, this.minConcurrency,
+			this.initialConcurrency, this.maxConcurrency, this.backoffRatio, this.latencyTolerance,
+			this.latencyThreshold, this.meterRegistry);
+	}
+}
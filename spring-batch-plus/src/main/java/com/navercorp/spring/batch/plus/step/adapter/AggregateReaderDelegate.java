@@ -0,0 +1,206 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link ItemStreamSimpleReaderDelegate} which reads the aggregates written by
+ * {@link AggregatingItemStreamWriterDelegate}. The spills are merged one hash partition at a time, so only the
+ * aggregates of a partition and the pending aggregates after the last spill are kept in memory. Use the same key
+ * extractor, combiner and number of partitions as the writer.
+ * <p>
+ * The number of read aggregates is saved in the execution context, and the same number of aggregates is skipped on
+ * restart. The spill files are not deleted. Delete them with {@link #deleteSpills(Path, String)} when they are not
+ * needed anymore. It is not thread-safe, so use it in a single threaded step.
+ *
+ * @param <K> a key type of an aggregate
+ * @param <A> an aggregate type
+ * @since 1.3.0
+ */
+public class AggregateReaderDelegate<K, A> implements ItemStreamSimpleReaderDelegate<A> {
+
+	/**
+	 * A key of the execution context to save the number of read aggregates.
+	 */
+	public static final String READ_COUNT_KEY = "AggregateReaderDelegate.readCount";
+
+	/**
+	 * Create a delegate.
+	 *
+	 * @param directory a directory of spill files
+	 * @param baseName a base name of spill files
+	 * @param partitions the number of hash partitions used by the writer
+	 * @param keyExtractor a function to extract a key of an aggregate
+	 * @param combiner a function to combine two aggregates of the same key
+	 * @param decoder a decoder of an aggregate
+	 * @return an aggregate reader delegate
+	 * @param <K> a key type of an aggregate
+	 * @param <A> an aggregate type
+	 */
+	public static <K, A> AggregateReaderDelegate<K, A> of(@NonNull Path directory, @NonNull String baseName,
+		int partitions, @NonNull Function<? super A, ? extends K> keyExtractor, @NonNull BinaryOperator<A> combiner,
+		@NonNull RecordDecoder<A> decoder) {
+		return new AggregateReaderDelegate<>(directory, baseName, partitions, keyExtractor, combiner, decoder);
+	}
+
+	/**
+	 * Delete all the spill files.
+	 *
+	 * @param directory a directory of spill files
+	 * @param baseName a base name of spill files
+	 */
+	public static void deleteSpills(@NonNull Path directory, @NonNull String baseName) {
+		AggregateSpillFiles.deleteAll(directory, baseName);
+	}
+
+	protected final Path directory;
+
+	protected final String baseName;
+
+	protected final int partitions;
+
+	protected final Function<? super A, ? extends K> keyExtractor;
+
+	protected final BinaryOperator<A> combiner;
+
+	protected final RecordDecoder<A> decoder;
+
+	private Set<Integer> generations = Collections.emptySet();
+
+	private Map<K, A> pendingTable = Collections.emptyMap();
+
+	private int partition = -1;
+
+	private Iterator<A> aggregates = Collections.emptyIterator();
+
+	private long readCount = 0L;
+
+	protected AggregateReaderDelegate(Path directory, String baseName, int partitions,
+		Function<? super A, ? extends K> keyExtractor, BinaryOperator<A> combiner, RecordDecoder<A> decoder) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+		if (partitions <= 0) {
+			throw new IllegalArgumentException("Partitions must be positive");
+		}
+		this.partitions = partitions;
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		this.combiner = Objects.requireNonNull(combiner, "Combiner must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+	}
+
+	@Override
+	public void onOpenRead(@NonNull ExecutionContext executionContext) {
+		long readCount = executionContext.getLong(READ_COUNT_KEY, 0L);
+		TreeMap<Integer, List<Path>> spills = AggregateSpillFiles.listSpills(this.directory, this.baseName);
+		this.generations = spills.keySet();
+		this.pendingTable = new HashMap<>();
+		// pending files of older generations are left until their spills are committed
+		int lastGeneration = spills.isEmpty() ? 0 : spills.lastKey() + 1;
+		Path pending = AggregateSpillFiles.pendingPath(this.directory, this.baseName, lastGeneration);
+		if (Files.exists(pending)) {
+			try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(pending)))) {
+				fold(input, this.pendingTable);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read pending file: " + pending, e);
+			}
+		}
+		this.partition = -1;
+		this.aggregates = Collections.emptyIterator();
+		this.readCount = 0L;
+		while (this.readCount < readCount && read() != null) {
+			// skip the aggregates read before the restart
+		}
+	}
+
+	@Nullable
+	@Override
+	public A read() {
+		while (!this.aggregates.hasNext()) {
+			if (this.partition + 1 >= this.partitions) {
+				return null;
+			}
+			++this.partition;
+			this.aggregates = loadPartition(this.partition).values().iterator();
+		}
+		++this.readCount;
+		return this.aggregates.next();
+	}
+
+	@Override
+	public void onUpdateRead(@NonNull ExecutionContext executionContext) {
+		executionContext.putLong(READ_COUNT_KEY, this.readCount);
+	}
+
+	@Override
+	public void onCloseRead() {
+		this.pendingTable = Collections.emptyMap();
+		this.aggregates = Collections.emptyIterator();
+	}
+
+	private Map<K, A> loadPartition(int partition) {
+		Map<K, A> table = new HashMap<>();
+		for (int generation : this.generations) {
+			Path path = AggregateSpillFiles.spillPath(this.directory, this.baseName, generation, partition);
+			if (!Files.exists(path)) {
+				continue;
+			}
+			try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+				new GZIPInputStream(Files.newInputStream(path), 1 << 16), 1 << 16))) {
+				fold(input, table);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read spill file: " + path, e);
+			}
+		}
+		for (Map.Entry<K, A> entry : this.pendingTable.entrySet()) {
+			if (AggregateSpillFiles.partitionOf(entry.getKey(), this.partitions) == partition) {
+				table.merge(entry.getKey(), entry.getValue(), this.combiner);
+			}
+		}
+		return table;
+	}
+
+	private void fold(DataInputStream input, Map<K, A> table) throws IOException {
+		SpillRecords.RecordReader<A> recordReader = new SpillRecords.RecordReader<>(this.decoder);
+		A aggregate;
+		while ((aggregate = recordReader.read(input)) != null) {
+			table.merge(this.keyExtractor.apply(aggregate), aggregate, this.combiner);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A support for the spill files shared by {@link AggregatingItemStreamWriterDelegate} and
+ * {@link AggregateReaderDelegate}. A spill of generation {@code n} has a GZIP compressed file for each hash
+ * partition, {@code <baseName>.agg-<n>-<partition>.gz}. The items after the last spill, which are not combined
+ * yet, are kept in {@code <baseName>.agg-<n>.pending} without compression. Records are written by
+ * {@link SpillRecords}.
+ */
+final class AggregateSpillFiles {
+
+	static Path spillPath(Path directory, String baseName, int generation, int partition) {
+		return directory.resolve(String.format("%s.agg-%05d-%05d.gz", baseName, generation, partition));
+	}
+
+	static Path pendingPath(Path directory, String baseName, int generation) {
+		return directory.resolve(String.format("%s.agg-%05d.pending", baseName, generation));
+	}
+
+	static int partitionOf(Object key, int partitions) {
+		int hash = Objects.hashCode(key);
+		// mix higher bits into lower bits as HashMap does
+		return Math.floorMod(hash ^ (hash >>> 16), partitions);
+	}
+
+	/**
+	 * List the spill files by the generation.
+	 */
+	static TreeMap<Integer, List<Path>> listSpills(Path directory, String baseName) {
+		TreeMap<Integer, List<Path>> spills = new TreeMap<>();
+		String regex = Pattern.quote(baseName) + "\\.agg-(\\d+)-\\d+\\.gz";
+		for (Map.Entry<Integer, Path> spill : list(directory, regex)) {
+			spills.computeIfAbsent(spill.getKey(), generation -> new ArrayList<>()).add(spill.getValue());
+		}
+		return spills;
+	}
+
+	/**
+	 * List the pending files by the generation.
+	 */
+	static TreeMap<Integer, Path> listPendings(Path directory, String baseName) {
+		TreeMap<Integer, Path> pendings = new TreeMap<>();
+		String regex = Pattern.quote(baseName) + "\\.agg-(\\d+)\\.pending";
+		for (Map.Entry<Integer, Path> pending : list(directory, regex)) {
+			pendings.put(pending.getKey(), pending.getValue());
+		}
+		return pendings;
+	}
+
+	static void deleteAll(Path directory, String baseName) {
+		try {
+			for (List<Path> spill : listSpills(directory, baseName).values()) {
+				for (Path path : spill) {
+					Files.deleteIfExists(path);
+				}
+			}
+			for (Path path : listPendings(directory, baseName).values()) {
+				Files.deleteIfExists(path);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to delete spill files in " + directory, e);
+		}
+	}
+
+	/**
+	 * List the files matching the regex, whose first group is the generation.
+	 */
+	private static List<Map.Entry<Integer, Path>> list(Path directory, String regex) {
+		List<Map.Entry<Integer, Path>> files = new ArrayList<>();
+		if (!Files.isDirectory(directory)) {
+			return files;
+		}
+		Pattern pattern = Pattern.compile(regex);
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path path : stream) {
+				Matcher matcher = pattern.matcher(path.getFileName().toString());
+				if (matcher.matches()) {
+					files.add(Map.entry(Integer.parseInt(matcher.group(1)), path));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to list spill files in " + directory, e);
+		}
+		return files;
+	}
+
+	private AggregateSpillFiles() {
+	}
+}
@@ -0,0 +1,371 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which groups items by a key and folds them into aggregates with a combiner in
+ * an in-memory hash table. Each item is mapped to a partial aggregate, which carries its key, and partial aggregates
+ * of the same key are combined. When the table reaches the maximum number of keys, the aggregates are spilled to
+ * GZIP compressed files on local disk, one for each hash partition. Read the aggregates in the next step with
+ * {@link AggregateReaderDelegate}, which merges the spills of each partition at a time.
+ * <p>
+ * Items are folded into the table at checkpoints in {@link #onUpdateWrite(ExecutionContext)}, so a rolled back chunk
+ * never reaches it. The partial aggregates of a checkpoint are appended to a pending file until the next spill, so
+ * they survive a failure. The number of spills and the size of the pending file are saved in the execution context.
+ * On restart, completed spills are reused, and the pending file is folded into the table again. A spill also
+ * happens when the pending file has as many aggregates as the maximum number of keys, to bound its size.
+ * <p>
+ * Keys must have a {@code hashCode} which is stable across JVMs, like {@code String} or {@code Long}. It is not
+ * thread-safe, so use it in a single threaded step.
+ *
+ * @param <T> an item type to write
+ * @param <K> a key type of an aggregate
+ * @param <A> an aggregate type
+ * @see AggregatingItemStreamWriterDelegateBuilder
+ * @since 1.3.0
+ */
+public class AggregatingItemStreamWriterDelegate<T, K, A> implements ItemStreamWriterDelegate<T> {
+
+	/**
+	 * The default maximum number of keys in memory.
+	 */
+	public static final int DEFAULT_MAX_KEYS = 1_000_000;
+
+	/**
+	 * The default number of hash partitions.
+	 */
+	public static final int DEFAULT_PARTITIONS = 16;
+
+	/**
+	 * A key of the execution context to save the number of spills.
+	 */
+	public static final String SPILL_COUNT_KEY = "AggregatingItemStreamWriterDelegate.spillCount";
+
+	/**
+	 * A key of the execution context to save the size of the pending file.
+	 */
+	public static final String PENDING_LENGTH_KEY = "AggregatingItemStreamWriterDelegate.pendingLength";
+
+	protected final Path directory;
+
+	protected final String baseName;
+
+	protected final Function<? super T, ? extends A> mapper;
+
+	protected final Function<? super A, ? extends K> keyExtractor;
+
+	protected final BinaryOperator<A> combiner;
+
+	protected final ItemEncoder<? super A> encoder;
+
+	protected final RecordDecoder<A> decoder;
+
+	protected final int maxKeys;
+
+	protected final int partitions;
+
+	private final Map<K, A> table = new HashMap<>();
+
+	// partial aggregates written after the last checkpoint
+	private final List<A> chunkAggregates = new ArrayList<>();
+
+	private final SpillRecords.RecordWriter<A> recordWriter;
+
+	private int spillCount = 0;
+
+	private long pendingLength = 0L;
+
+	private int pendingCount = 0;
+
+	// the generation of a pending file to delete after its spill is committed
+	private int staleGeneration = -1;
+
+	@Nullable
+	private FileChannel pendingChannel = null;
+
+	@Nullable
+	private DataOutputStream pendingOutput = null;
+
+	private boolean synchronizationRegistered = false;
+
+	/**
+	 * Use {@link AggregatingItemStreamWriterDelegateBuilder} to create an instance.
+	 *
+	 * @param directory a directory to write spill files
+	 * @param baseName a base name of spill files
+	 * @param mapper a function to map an item to a partial aggregate
+	 * @param keyExtractor a function to extract a key of an aggregate
+	 * @param combiner a function to combine two aggregates of the same key
+	 * @param encoder an encoder of an aggregate
+	 * @param decoder a decoder of an aggregate to reload pending aggregates on restart
+	 * @param maxKeys the maximum number of keys in memory
+	 * @param partitions the number of hash partitions of a spill
+	 */
+	protected AggregatingItemStreamWriterDelegate(Path directory, String baseName,
+		Function<? super T, ? extends A> mapper, Function<? super A, ? extends K> keyExtractor,
+		BinaryOperator<A> combiner, ItemEncoder<? super A> encoder, RecordDecoder<A> decoder, int maxKeys,
+		int partitions) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+		this.mapper = Objects.requireNonNull(mapper, "Mapper must not be null");
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		this.combiner = Objects.requireNonNull(combiner, "Combiner must not be null");
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		if (maxKeys <= 0) {
+			throw new IllegalArgumentException("Max keys must be positive");
+		}
+		if (partitions <= 0) {
+			throw new IllegalArgumentException("Partitions must be positive");
+		}
+		this.maxKeys = maxKeys;
+		this.partitions = partitions;
+		this.recordWriter = new SpillRecords.RecordWriter<>(encoder);
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		this.spillCount = executionContext.getInt(SPILL_COUNT_KEY, 0);
+		this.pendingLength = executionContext.getLong(PENDING_LENGTH_KEY, 0L);
+		this.table.clear();
+		this.chunkAggregates.clear();
+		this.staleGeneration = -1;
+		try {
+			Files.createDirectories(this.directory);
+			deleteUncommittedFiles();
+			openPending();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open spill files in " + this.directory, e);
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		if (this.pendingOutput == null) {
+			throw new IllegalStateException("Spill files are not opened.");
+		}
+		registerRollbackIfNecessary();
+		for (T item : chunk) {
+			this.chunkAggregates.add(this.mapper.apply(item));
+		}
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		if (this.pendingOutput != null) {
+			try {
+				if (this.staleGeneration >= 0) {
+					// the spill replacing it was committed in the last checkpoint
+					Files.deleteIfExists(AggregateSpillFiles.pendingPath(this.directory, this.baseName,
+						this.staleGeneration));
+					this.staleGeneration = -1;
+				}
+				boolean pendingFull = this.pendingCount + this.chunkAggregates.size() >= this.maxKeys;
+				if (!pendingFull && !this.chunkAggregates.isEmpty()) {
+					// append before folding, since the combiner may mutate the aggregates
+					appendPending();
+				}
+				for (A aggregate : this.chunkAggregates) {
+					fold(aggregate);
+				}
+				this.chunkAggregates.clear();
+				if (pendingFull || this.table.size() >= this.maxKeys) {
+					spill();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to write spill files in " + this.directory, e);
+			}
+		}
+		executionContext.putInt(SPILL_COUNT_KEY, this.spillCount);
+		executionContext.putLong(PENDING_LENGTH_KEY, this.pendingLength);
+	}
+
+	@Override
+	public void onCloseWrite() {
+		this.table.clear();
+		this.chunkAggregates.clear();
+		try {
+			closePending();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to close spill files in " + this.directory, e);
+		}
+	}
+
+	private void fold(A aggregate) {
+		this.table.merge(this.keyExtractor.apply(aggregate), aggregate, this.combiner);
+	}
+
+	private void deleteUncommittedFiles() throws IOException {
+		for (Map.Entry<Integer, List<Path>> spill : AggregateSpillFiles.listSpills(this.directory, this.baseName)
+			.entrySet()) {
+			if (spill.getKey() >= this.spillCount) {
+				for (Path path : spill.getValue()) {
+					Files.deleteIfExists(path);
+				}
+			}
+		}
+		for (Map.Entry<Integer, Path> pending : AggregateSpillFiles.listPendings(this.directory, this.baseName)
+			.entrySet()) {
+			if (pending.getKey() != this.spillCount) {
+				Files.deleteIfExists(pending.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Open the pending file of the current generation and fold its committed aggregates.
+	 */
+	private void openPending() throws IOException {
+		Path path = AggregateSpillFiles.pendingPath(this.directory, this.baseName, this.spillCount);
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+			StandardOpenOption.WRITE);
+		try {
+			if (channel.size() < this.pendingLength) {
+				throw new IllegalStateException("Pending file " + path + " is shorter than the saved length "
+					+ this.pendingLength);
+			}
+			channel.truncate(this.pendingLength);
+			channel.position(0L);
+			DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			SpillRecords.RecordReader<A> recordReader = new SpillRecords.RecordReader<>(this.decoder);
+			int pendingCount = 0;
+			A aggregate;
+			while ((aggregate = recordReader.read(input)) != null) {
+				fold(aggregate);
+				++pendingCount;
+			}
+			this.pendingCount = pendingCount;
+			channel.position(this.pendingLength);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		this.pendingChannel = channel;
+		this.pendingOutput = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+	}
+
+	private void closePending() throws IOException {
+		DataOutputStream pendingOutput = this.pendingOutput;
+		this.pendingOutput = null;
+		this.pendingChannel = null;
+		if (pendingOutput != null) {
+			pendingOutput.close();
+		}
+	}
+
+	private void appendPending() throws IOException {
+		DataOutputStream pendingOutput = Objects.requireNonNull(this.pendingOutput);
+		FileChannel pendingChannel = Objects.requireNonNull(this.pendingChannel);
+		for (A aggregate : this.chunkAggregates) {
+			this.recordWriter.write(aggregate, pendingOutput);
+		}
+		pendingOutput.flush();
+		pendingChannel.force(false);
+		this.pendingCount += this.chunkAggregates.size();
+		this.pendingLength = pendingChannel.position();
+	}
+
+	private void spill() throws IOException {
+		List<List<A>> partitioned = new ArrayList<>(this.partitions);
+		for (int i = 0; i < this.partitions; ++i) {
+			partitioned.add(new ArrayList<>());
+		}
+		for (Map.Entry<K, A> entry : this.table.entrySet()) {
+			partitioned.get(AggregateSpillFiles.partitionOf(entry.getKey(), this.partitions)).add(entry.getValue());
+		}
+		for (int partition = 0; partition < this.partitions; ++partition) {
+			List<A> aggregates = partitioned.get(partition);
+			if (!aggregates.isEmpty()) {
+				writeSpill(AggregateSpillFiles.spillPath(this.directory, this.baseName, this.spillCount, partition),
+					aggregates);
+			}
+		}
+
+		closePending();
+		this.staleGeneration = this.spillCount;
+		++this.spillCount;
+		this.table.clear();
+		this.pendingLength = 0L;
+		openPending();
+	}
+
+	private void writeSpill(Path path, List<A> aggregates) throws IOException {
+		Path temporary = Files.createTempFile(this.directory, path.getFileName().toString(), ".spilling");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+			GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), 1 << 16);
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(gzip, 1 << 16));
+			for (A aggregate : aggregates) {
+				this.recordWriter.write(aggregate, output);
+			}
+			output.flush();
+			gzip.finish();
+			channel.force(false);
+			output.close();
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void registerRollbackIfNecessary() {
+		if (this.synchronizationRegistered || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		int chunkStart = this.chunkAggregates.size();
+		this.synchronizationRegistered = true;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				synchronizationRegistered = false;
+				if (status != STATUS_COMMITTED && chunkStart <= chunkAggregates.size()) {
+					chunkAggregates.subList(chunkStart, chunkAggregates.size()).clear();
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link AggregatingItemStreamWriterDelegate}. It also builds {@link AggregateReaderDelegate} with
+ * the same settings.
+ *
+ * @param <T> an item type to write
+ * @param <K> a key type of an aggregate
+ * @param <A> an aggregate type
+ * @since 1.3.0
+ */
+public class AggregatingItemStreamWriterDelegateBuilder<T, K, A> {
+
+	private final Path directory;
+
+	private final String baseName;
+
+	private Function<? super T, ? extends A> mapper;
+
+	private Function<? super A, ? extends K> keyExtractor;
+
+	private BinaryOperator<A> combiner;
+
+	private ItemEncoder<? super A> encoder;
+
+	private RecordDecoder<A> decoder;
+
+	private int maxKeys = AggregatingItemStreamWriterDelegate.DEFAULT_MAX_KEYS;
+
+	private int partitions = AggregatingItemStreamWriterDelegate.DEFAULT_PARTITIONS;
+
+	/**
+	 * @param directory a directory to write spill files
+	 * @param baseName a base name of spill files
+	 */
+	public AggregatingItemStreamWriterDelegateBuilder(@NonNull Path directory, @NonNull String baseName) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+	}
+
+	/**
+	 * Set a function to map an item to a partial aggregate. Not required for {@link #buildReader()}.
+	 *
+	 * @param mapper a function to map an item to a partial aggregate
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AggregatingItemStreamWriterDelegateBuilder<T, K, A> mapper(
+		@NonNull Function<? super T, ? extends A> mapper) {
+		this.mapper = Objects.requireNonNull(mapper, "Mapper must not be null");
+		return this;
+	}
+
+	/**
+	 * Set a function to extract a group key of an aggregate.
+	 *
+	 * @param keyExtractor a function to extract a key of an aggregate
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AggregatingItemStreamWriterDelegateBuilder<T, K, A> key(
+		@NonNull Function<? super A, ? extends K> keyExtractor) {
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		return this;
+	}
+
+	/**
+	 * Set a function to combine two aggregates of the same key. It should be associative, since the order of
+	 * combining differs between memory and spills. It may update and return the first aggregate, like
+	 * {@code (a, b) -> { a.add(b); return a; }}, but must not update the second one.
+	 *
+	 * @param combiner a function to combine two aggregates
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AggregatingItemStreamWriterDelegateBuilder<T, K, A> combiner(@NonNull BinaryOperator<A> combiner) {
+		this.combiner = Objects.requireNonNull(combiner, "Combiner must not be null");
+		return this;
+	}
+
+	/**
+	 * Set an encoder and a decoder to serialize aggregates in spill files.
+	 *
+	 * @param encoder an encoder of an aggregate
+	 * @param decoder a decoder of an aggregate
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AggregatingItemStreamWriterDelegateBuilder<T, K, A> serializer(@NonNull ItemEncoder<? super A> encoder,
+		@NonNull RecordDecoder<A> decoder) {
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of keys in memory, which triggers a spill. Defaults to
+	 * {@value AggregatingItemStreamWriterDelegate#DEFAULT_MAX_KEYS}.
+	 *
+	 * @param maxKeys the maximum number of keys in memory
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AggregatingItemStreamWriterDelegateBuilder<T, K, A> maxKeys(int maxKeys) {
+		this.maxKeys = maxKeys;
+		return this;
+	}
+
+	/**
+	 * Set the number of hash partitions of a spill. The reader keeps a partition in memory at a time. Defaults to
+	 * {@value AggregatingItemStreamWriterDelegate#DEFAULT_PARTITIONS}.
+	 *
+	 * @param partitions the number of hash partitions
+	 * @return The current instance of the builder for method chaining
+	 */
+	public AggregatingItemStreamWriterDelegateBuilder<T, K, A> partitions(int partitions) {
+		this.partitions = partitions;
+		return this;
+	}
+
+	/**
+	 * Build an aggregating delegate.
+	 *
+	 * @return an aggregating delegate
+	 */
+	public AggregatingItemStreamWriterDelegate<T, K, A> build() {
+		if (this.mapper == null) {
+			throw new IllegalStateException("Mapper must be set");
+		}
+		checkCommonSettings();
+		return new AggregatingItemStreamWriterDelegate<>(this.directory, this.baseName, this.mapper,
+			this.keyExtractor, this.combiner, this.encoder, this.decoder, this.maxKeys, this.partitions);
+	}
+
+	/**
+	 * Build a reader delegate for the aggregates.
+	 *
+	 * @return an aggregate reader delegate
+	 */
+	public AggregateReaderDelegate<K, A> buildReader() {
+		checkCommonSettings();
+		return AggregateReaderDelegate.of(this.directory, this.baseName, this.partitions, this.keyExtractor,
+			this.combiner, this.decoder);
+	}
+
+	private void checkCommonSettings() {
+		if (this.keyExtractor == null) {
+			throw new IllegalStateException("Key must be set");
+		}
+		if (this.combiner == null) {
+			throw new IllegalStateException("Combiner must be set");
+		}
+		if (this.decoder == null) {
+			throw new IllegalStateException("Serializer must be set");
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which passes only changed or new items to a delegate. It computes a 64-bit
+ * content hash of each item and compares it with the stored one of the item id in a {@link ContentHashStore}.
+ * <p>
+ * Hashes of written items are put to the store on the checkpoint of a chunk, so the store moves together with
+ * the chunk. Items failed to be written, or written in a chunk whose transaction is rolled back, are not put, and
+ * are compared again when they are written next time.
+ *
+ * @see ChangeDetectingItemStreamWriterDelegateBuilder
+ * @since 1.3.0
+ */
+public class ChangeDetectingItemStreamWriterDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+	protected final ItemStreamWriterDelegate<T> delegate;
+
+	protected final ContentHashStore contentHashStore;
+
+	protected final ToLongFunction<? super T> idExtractor;
+
+	protected final ToLongFunction<? super T> contentHasher;
+
+	private long[] pendingIds = new long[0];
+
+	private long[] pendingHashes = new long[0];
+
+	private int pendingSize = 0;
+
+	private long unchangedCount = 0L;
+
+	private boolean synchronizationRegistered = false;
+
+	protected ChangeDetectingItemStreamWriterDelegate(ItemStreamWriterDelegate<T> delegate,
+		ContentHashStore contentHashStore, ToLongFunction<? super T> idExtractor,
+		ToLongFunction<? super T> contentHasher) {
+		this.delegate = Objects.requireNonNull(delegate, "ItemStreamWriter delegate must not be null");
+		this.contentHashStore = Objects.requireNonNull(contentHashStore, "ContentHashStore must not be null");
+		this.idExtractor = Objects.requireNonNull(idExtractor, "Id extractor must not be null");
+		this.contentHasher = Objects.requireNonNull(contentHasher, "Content hasher must not be null");
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		this.contentHashStore.open();
+		this.pendingSize = 0;
+		this.unchangedCount = 0L;
+		this.delegate.onOpenWrite(executionContext);
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		registerRollbackIfNecessary();
+		List<? extends T> items = chunk.getItems();
+		int size = items.size();
+		long[] ids = new long[size];
+		long[] hashes = new long[size];
+		for (int i = 0; i < size; ++i) {
+			T item = items.get(i);
+			ids[i] = this.idExtractor.applyAsLong(item);
+			long hash = this.contentHasher.applyAsLong(item);
+			// 0 means an absent hash in the store
+			hashes[i] = (hash == 0L) ? 1L : hash;
+		}
+		long[] storedHashes = new long[size];
+		this.contentHashStore.getAll(ids, storedHashes, size);
+
+		List<T> changedItems = new ArrayList<>();
+		int[] changedIndexes = new int[size];
+		for (int i = 0; i < size; ++i) {
+			if (storedHashes[i] != hashes[i]) {
+				changedIndexes[changedItems.size()] = i;
+				changedItems.add(items.get(i));
+			}
+		}
+		this.unchangedCount += size - changedItems.size();
+		if (changedItems.isEmpty()) {
+			return;
+		}
+
+		this.delegate.write(new Chunk<>(changedItems));
+
+		ensurePendingCapacity(this.pendingSize + changedItems.size());
+		for (int i = 0; i < changedItems.size(); ++i) {
+			int index = changedIndexes[i];
+			this.pendingIds[this.pendingSize] = ids[index];
+			this.pendingHashes[this.pendingSize] = hashes[index];
+			++this.pendingSize;
+		}
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		this.delegate.onUpdateWrite(executionContext);
+		if (this.pendingSize > 0) {
+			this.contentHashStore.putAll(this.pendingIds, this.pendingHashes, this.pendingSize);
+			this.pendingSize = 0;
+		}
+	}
+
+	@Override
+	public void onCloseWrite() {
+		try {
+			this.delegate.onCloseWrite();
+		} finally {
+			this.contentHashStore.close();
+		}
+	}
+
+	/**
+	 * @return the number of unchanged items not passed to the delegate since opened
+	 */
+	public long getUnchangedCount() {
+		return this.unchangedCount;
+	}
+
+	private void registerRollbackIfNecessary() {
+		if (this.synchronizationRegistered || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		int chunkStart = this.pendingSize;
+		this.synchronizationRegistered = true;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				synchronizationRegistered = false;
+				if (status != STATUS_COMMITTED && chunkStart <= pendingSize) {
+					pendingSize = chunkStart;
+				}
+			}
+		});
+	}
+
+	private void ensurePendingCapacity(int capacity) {
+		if (this.pendingIds.length < capacity) {
+			int newCapacity = Math.max(capacity, this.pendingIds.length * 2);
+			this.pendingIds = Arrays.copyOf(this.pendingIds, newCapacity);
+			this.pendingHashes = Arrays.copyOf(this.pendingHashes, newCapacity);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link ChangeDetectingItemStreamWriterDelegate}.
+ *
+ * @since 1.3.0
+ */
+public class ChangeDetectingItemStreamWriterDelegateBuilder<T> {
+
+	private final ItemStreamWriterDelegate<T> delegate;
+
+	private final ContentHashStore contentHashStore;
+
+	private ToLongFunction<? super T> idExtractor;
+
+	private ToLongFunction<? super T> contentHasher;
+
+	/**
+	 * @param delegate         the delegate to write changed items
+	 * @param contentHashStore the store of content hashes
+	 */
+	public ChangeDetectingItemStreamWriterDelegateBuilder(@NonNull ItemStreamWriterDelegate<T> delegate,
+		@NonNull ContentHashStore contentHashStore) {
+		this.delegate = Objects.requireNonNull(delegate, "ItemStreamWriter delegate must not be null");
+		this.contentHashStore = Objects.requireNonNull(contentHashStore, "ContentHashStore must not be null");
+	}
+
+	/**
+	 * @param idExtractor a function to extract an id of an item
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ChangeDetectingItemStreamWriterDelegateBuilder<T> id(@NonNull ToLongFunction<? super T> idExtractor) {
+		this.idExtractor = Objects.requireNonNull(idExtractor, "Id extractor must not be null");
+		return this;
+	}
+
+	/**
+	 * Hash the content of an item with xxHash64.
+	 *
+	 * @param contentExtractor a function to extract the content of an item to hash
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ChangeDetectingItemStreamWriterDelegateBuilder<T> content(
+		@NonNull Function<? super T, byte[]> contentExtractor) {
+		Objects.requireNonNull(contentExtractor, "Content extractor must not be null");
+		this.contentHasher = item -> XxHash64.hash(contentExtractor.apply(item));
+		return this;
+	}
+
+	/**
+	 * Hash the content of an item with a custom function.
+	 *
+	 * @param contentHasher a function to compute a 64-bit content hash of an item
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ChangeDetectingItemStreamWriterDelegateBuilder<T> contentHash(
+		@NonNull ToLongFunction<? super T> contentHasher) {
+		this.contentHasher = Objects.requireNonNull(contentHasher, "Content hasher must not be null");
+		return this;
+	}
+
+	/**
+	 * Build a change detecting delegate.
+	 *
+	 * @return a change detecting delegate
+	 */
+	public ChangeDetectingItemStreamWriterDelegate<T> build() {
+		if (this.idExtractor == null) {
+			throw new IllegalStateException("Id must be set");
+		}
+		if (this.contentHasher == null) {
+			throw new IllegalStateException("Content or content hash must be set");
+		}
+		return new ChangeDetectingItemStreamWriterDelegate<>(this.delegate, this.contentHashStore, this.idExtractor,
+			this.contentHasher);
+	}
+}
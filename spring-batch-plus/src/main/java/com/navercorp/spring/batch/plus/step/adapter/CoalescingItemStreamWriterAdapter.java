@@ -0,0 +1,247 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * An adapter which adapt {@link ItemStreamWriterDelegate} to {@link ItemStreamWriter} buffering items of
+ * consecutive chunks and passing them to the delegate in a single write once a threshold is reached.
+ * <p>
+ * A checkpoint only advances over flushed items. When {@link #update(ExecutionContext)} is invoked with items
+ * still buffered, the held back entries of the execution context (e.g. the ones of the reader) are rolled back to
+ * the last flushed checkpoint, so a restart re-reads the unflushed items. Only entries whose key starts with one of
+ * the held back key prefixes are rolled back, and entries of the delegate are left at the last flushed checkpoint.
+ * Entries of other streams and listeners are kept as they are. The held back streams should be updated before this
+ * writer which is the default for the reader of a chunk-oriented step.
+ * <p>
+ * Remaining items are flushed in {@link #afterStep(StepExecution)}, before the execution context of a completed
+ * step is saved. The writer registers itself as a {@link StepExecutionListener} when it is set as a writer of a
+ * chunk-oriented step. It's not thread-safe and not intended for a fault-tolerant step that scans a failed chunk.
+ *
+ * @since 1.3.0
+ */
+public class CoalescingItemStreamWriterAdapter<T> extends ItemStreamWriterAdapter<T>
+	implements StepExecutionListener {
+
+	/**
+	 * Create an adapter which flushes buffered items to {@link ItemStreamWriterDelegate} when the number of them
+	 * reaches {@code maxItems}.
+	 *
+	 * @param delegate a delegate
+	 * @param maxItems the number of items to trigger a flush
+	 * @param heldBackKeyPrefixes the key prefixes of the entries to keep at the last flushed checkpoint
+	 * @return an adapted ItemStreamWriter
+	 * @param <T> an item type to write
+	 */
+	public static <T> ItemStreamWriter<T> of(@NonNull ItemStreamWriterDelegate<T> delegate, int maxItems,
+		@NonNull String... heldBackKeyPrefixes) {
+		return new CoalescingItemStreamWriterBuilder<>(delegate)
+			.maxItems(maxItems)
+			.heldBackKeyPrefixes(heldBackKeyPrefixes)
+			.build();
+	}
+
+	protected final Logger logger = getLogger(CoalescingItemStreamWriterAdapter.class);
+
+	protected final int maxItems;
+
+	protected final long maxBytes;
+
+	@Nullable
+	protected final ToLongFunction<? super T> itemSizer;
+
+	@Nullable
+	protected final Duration maxDelay;
+
+	protected final List<String> heldBackKeyPrefixes;
+
+	protected final List<T> buffer = new ArrayList<>();
+
+	protected long bufferedBytes = 0L;
+
+	protected long firstBufferedNanos = 0L;
+
+	protected Map<String, Object> flushedCheckpoint = new HashMap<>();
+
+	@Nullable
+	protected Map<String, Object> pendingCheckpoint = null;
+
+	protected CoalescingItemStreamWriterAdapter(ItemStreamWriterDelegate<T> delegate, int maxItems, long maxBytes,
+		@Nullable ToLongFunction<? super T> itemSizer, @Nullable Duration maxDelay, List<String> heldBackKeyPrefixes) {
+		super(delegate);
+		this.maxItems = maxItems;
+		this.maxBytes = maxBytes;
+		this.itemSizer = itemSizer;
+		this.maxDelay = maxDelay;
+		this.heldBackKeyPrefixes = List.copyOf(heldBackKeyPrefixes);
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		clearBuffer();
+		super.open(executionContext);
+		this.flushedCheckpoint = snapshot(executionContext);
+		this.pendingCheckpoint = null;
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		if (this.buffer.isEmpty()) {
+			this.firstBufferedNanos = System.nanoTime();
+		}
+		for (T item : chunk) {
+			this.buffer.add(item);
+			if (this.itemSizer != null) {
+				this.bufferedBytes += this.itemSizer.applyAsLong(item);
+			}
+		}
+
+		if (isFlushRequired()) {
+			flush();
+		}
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		if (!this.buffer.isEmpty() && isFlushRequired()) {
+			flush();
+		}
+
+		if (this.buffer.isEmpty()) {
+			super.update(executionContext);
+			this.flushedCheckpoint = snapshot(executionContext);
+			this.pendingCheckpoint = null;
+		} else {
+			this.pendingCheckpoint = snapshot(executionContext);
+			restore(executionContext, this.flushedCheckpoint);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (!this.buffer.isEmpty()) {
+			logger.warn("Discard {} unflushed items on close.", this.buffer.size());
+		}
+		clearBuffer();
+		super.close();
+	}
+
+	@Override
+	public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+		if (this.buffer.isEmpty()) {
+			return null;
+		}
+		if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+			clearBuffer();
+			return null;
+		}
+
+		try {
+			flush();
+			ExecutionContext executionContext = stepExecution.getExecutionContext();
+			if (this.pendingCheckpoint != null) {
+				restore(executionContext, this.pendingCheckpoint);
+			}
+			super.update(executionContext);
+			this.flushedCheckpoint = snapshot(executionContext);
+			this.pendingCheckpoint = null;
+			return null;
+		} catch (RuntimeException e) {
+			logger.error("Fail to flush remaining items (stepExecutionId: {})", stepExecution.getId(), e);
+			clearBuffer();
+			stepExecution.setStatus(BatchStatus.FAILED);
+			stepExecution.addFailureException(e);
+			return ExitStatus.FAILED.addExitDescription(e);
+		}
+	}
+
+	protected boolean isFlushRequired() {
+		if (this.buffer.size() >= this.maxItems) {
+			return true;
+		}
+		if (this.bufferedBytes >= this.maxBytes) {
+			return true;
+		}
+		return this.maxDelay != null && System.nanoTime() - this.firstBufferedNanos >= this.maxDelay.toNanos();
+	}
+
+	protected void flush() {
+		Chunk<T> chunk = new Chunk<>(this.buffer);
+		clearBuffer();
+		this.delegate.write(chunk);
+	}
+
+	protected void clearBuffer() {
+		this.buffer.clear();
+		this.bufferedBytes = 0L;
+		this.firstBufferedNanos = 0L;
+	}
+
+	protected boolean isHeldBack(String key) {
+		for (String prefix : this.heldBackKeyPrefixes) {
+			if (key.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	protected Map<String, Object> snapshot(ExecutionContext executionContext) {
+		Map<String, Object> snapshot = new HashMap<>();
+		for (Map.Entry<String, Object> entry : executionContext.entrySet()) {
+			if (isHeldBack(entry.getKey())) {
+				snapshot.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return snapshot;
+	}
+
+	protected void restore(ExecutionContext executionContext, Map<String, Object> snapshot) {
+		List<String> addedKeys = new ArrayList<>();
+		for (Map.Entry<String, Object> entry : executionContext.entrySet()) {
+			if (isHeldBack(entry.getKey()) && !snapshot.containsKey(entry.getKey())) {
+				addedKeys.add(entry.getKey());
+			}
+		}
+		addedKeys.forEach(executionContext::remove);
+		snapshot.forEach(executionContext::put);
+	}
+}
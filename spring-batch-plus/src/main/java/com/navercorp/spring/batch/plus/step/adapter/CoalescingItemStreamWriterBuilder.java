@@ -0,0 +1,128 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link CoalescingItemStreamWriterAdapter}. A flush is triggered when any of the thresholds is
+ * reached. At least one of {@link #maxItems(int)}, {@link #maxBytes(long, ToLongFunction)} should be set, and
+ * {@link #heldBackKeyPrefixes(String...)} should be set.
+ *
+ * @since 1.3.0
+ */
+public class CoalescingItemStreamWriterBuilder<T> {
+
+	private final ItemStreamWriterDelegate<T> delegate;
+
+	private int maxItems = Integer.MAX_VALUE;
+
+	private long maxBytes = Long.MAX_VALUE;
+
+	private ToLongFunction<? super T> itemSizer = null;
+
+	private Duration maxDelay = null;
+
+	private List<String> heldBackKeyPrefixes = null;
+
+	/**
+	 * @param delegate a delegate to write coalesced items
+	 */
+	public CoalescingItemStreamWriterBuilder(@NonNull ItemStreamWriterDelegate<T> delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate writer must not be null");
+	}
+
+	/**
+	 * @param maxItems the number of buffered items to trigger a flush
+	 * @return The current instance of the builder for method chaining
+	 */
+	public CoalescingItemStreamWriterBuilder<T> maxItems(int maxItems) {
+		if (maxItems <= 0) {
+			throw new IllegalArgumentException("maxItems must be positive (maxItems: " + maxItems + ")");
+		}
+		this.maxItems = maxItems;
+		return this;
+	}
+
+	/**
+	 * @param maxBytes the estimated bytes of buffered items to trigger a flush
+	 * @param itemSizer a function to estimate bytes of an item
+	 * @return The current instance of the builder for method chaining
+	 */
+	public CoalescingItemStreamWriterBuilder<T> maxBytes(long maxBytes, @NonNull ToLongFunction<? super T> itemSizer) {
+		if (maxBytes <= 0L) {
+			throw new IllegalArgumentException("maxBytes must be positive (maxBytes: " + maxBytes + ")");
+		}
+		this.maxBytes = maxBytes;
+		this.itemSizer = Objects.requireNonNull(itemSizer, "Item sizer must not be null");
+		return this;
+	}
+
+	/**
+	 * @param maxDelay the maximum age of the oldest buffered item. It's evaluated on every write and checkpoint.
+	 * @return The current instance of the builder for method chaining
+	 */
+	public CoalescingItemStreamWriterBuilder<T> maxDelay(@NonNull Duration maxDelay) {
+		Objects.requireNonNull(maxDelay, "maxDelay must not be null");
+		if (maxDelay.isNegative()) {
+			throw new IllegalArgumentException("maxDelay must not be negative (maxDelay: " + maxDelay + ")");
+		}
+		this.maxDelay = maxDelay;
+		return this;
+	}
+
+	/**
+	 * @param heldBackKeyPrefixes the key prefixes of the execution context entries to keep at the last flushed
+	 * checkpoint while items are buffered (e.g. the name of the reader followed by a dot)
+	 * @return The current instance of the builder for method chaining
+	 */
+	public CoalescingItemStreamWriterBuilder<T> heldBackKeyPrefixes(@NonNull String... heldBackKeyPrefixes) {
+		Objects.requireNonNull(heldBackKeyPrefixes, "Held back key prefixes must not be null");
+		if (heldBackKeyPrefixes.length == 0) {
+			throw new IllegalArgumentException("Held back key prefixes must not be empty");
+		}
+		for (String prefix : heldBackKeyPrefixes) {
+			if (prefix == null || prefix.isEmpty()) {
+				throw new IllegalArgumentException("Held back key prefix must not be null or empty");
+			}
+		}
+		this.heldBackKeyPrefixes = List.of(heldBackKeyPrefixes);
+		return this;
+	}
+
+	/**
+	 * @return a coalescing writer
+	 */
+	public ItemStreamWriter<T> build() {
+		if (this.maxItems == Integer.MAX_VALUE && this.itemSizer == null) {
+			throw new IllegalStateException("Either maxItems or maxBytes should be set.");
+		}
+		if (this.heldBackKeyPrefixes == null) {
+			throw new IllegalStateException("heldBackKeyPrefixes should be set.");
+		}
+		return new CoalescingItemStreamWriterAdapter<>(this.delegate, this.maxItems, this.maxBytes, this.itemSizer,
+			this.maxDelay, this.heldBackKeyPrefixes);
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+/**
+ * A type of a column of {@link ColumnarBatch}.
+ *
+ * @since 1.3.0
+ */
+public enum ColumnType {
+
+	/**
+	 * A column of {@code long} values stored in a {@code long[]}.
+	 */
+	LONG,
+
+	/**
+	 * A column of {@code double} values stored in a {@code double[]}.
+	 */
+	DOUBLE,
+
+	/**
+	 * A column of strings stored as codes of a {@link StringDictionary} in an {@code int[]}.
+	 */
+	STRING
+}
@@ -0,0 +1,328 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A batch of rows stored in primitive column arrays instead of a list of objects. A {@link ColumnType#LONG} column
+ * is a {@code long[]}, a {@link ColumnType#DOUBLE} column is a {@code double[]} and a {@link ColumnType#STRING}
+ * column is an {@code int[]} of codes of its {@link StringDictionary}.
+ * <p>
+ * The arrays are allocated once with the capacity of the batch and reused after {@link #clear()}, so only the first
+ * {@link #size()} elements of them are valid. A loop over a column array, like
+ * {@code for (int i = 0; i < batch.size(); ++i) amounts[i] *= rate;}, can be auto-vectorized by the JIT.
+ * <p>
+ * It is not thread-safe.
+ *
+ * @since 1.3.0
+ */
+public class ColumnarBatch {
+
+	/**
+	 * Create a batch.
+	 *
+	 * @param schema a schema of the batch
+	 * @param capacity the maximum number of rows
+	 * @return a batch
+	 */
+	public static ColumnarBatch of(@NonNull ColumnarSchema schema, int capacity) {
+		return new ColumnarBatch(schema, capacity);
+	}
+
+	protected final ColumnarSchema schema;
+
+	protected final int capacity;
+
+	private final Object[] columns;
+
+	private final StringDictionary[] dictionaries;
+
+	private int size = 0;
+
+	protected ColumnarBatch(ColumnarSchema schema, int capacity) {
+		this.schema = Objects.requireNonNull(schema, "Schema must not be null");
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.capacity = capacity;
+		int columnCount = schema.size();
+		this.columns = new Object[columnCount];
+		this.dictionaries = new StringDictionary[columnCount];
+		for (int i = 0; i < columnCount; ++i) {
+			switch (schema.getType(i)) {
+				case LONG -> this.columns[i] = new long[capacity];
+				case DOUBLE -> this.columns[i] = new double[capacity];
+				case STRING -> {
+					this.columns[i] = new int[capacity];
+					this.dictionaries[i] = new StringDictionary();
+				}
+				default -> throw new IllegalStateException("Unknown column type: " + schema.getType(i));
+			}
+		}
+	}
+
+	/**
+	 * @return the schema of the batch
+	 */
+	public ColumnarSchema getSchema() {
+		return this.schema;
+	}
+
+	/**
+	 * @return the maximum number of rows
+	 */
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * @return the number of valid rows
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return {@code true} if there is no row
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @return {@code true} if no more row can be added
+	 */
+	public boolean isFull() {
+		return this.size == this.capacity;
+	}
+
+	/**
+	 * Add a row filled with {@code 0}, {@code 0.0} and {@code null}, and return its index.
+	 *
+	 * @return the index of the added row
+	 * @throws IllegalStateException if the batch is full
+	 */
+	public int addRow() {
+		if (isFull()) {
+			throw new IllegalStateException("Batch is full (capacity: " + this.capacity + ")");
+		}
+		int row = this.size++;
+		for (int i = 0; i < this.columns.length; ++i) {
+			switch (this.schema.getType(i)) {
+				case LONG -> ((long[])this.columns[i])[row] = 0L;
+				case DOUBLE -> ((double[])this.columns[i])[row] = 0.0;
+				case STRING -> ((int[])this.columns[i])[row] = StringDictionary.NULL_CODE;
+				default -> throw new IllegalStateException("Unknown column type: " + this.schema.getType(i));
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Set the number of valid rows after filling the column arrays directly.
+	 *
+	 * @param size the number of valid rows
+	 */
+	public void setSize(int size) {
+		if (size < 0 || size > this.capacity) {
+			throw new IllegalArgumentException("Size must be between 0 and " + this.capacity + " but " + size);
+		}
+		this.size = size;
+	}
+
+	/**
+	 * Remove all rows and clear the dictionaries. The column arrays are reused.
+	 */
+	public void clear() {
+		this.size = 0;
+		for (StringDictionary dictionary : this.dictionaries) {
+			if (dictionary != null) {
+				dictionary.clear();
+			}
+		}
+	}
+
+	/**
+	 * Keep the selected rows only, in their order, compacting the column arrays in place.
+	 *
+	 * @param selected whether to keep each row, indexed by row
+	 * @return the number of removed rows
+	 */
+	public int retainRows(@NonNull boolean[] selected) {
+		if (selected.length < this.size) {
+			throw new IllegalArgumentException("Selection must cover all rows (" + this.size + ")");
+		}
+		int retained = 0;
+		for (int row = 0; row < this.size; ++row) {
+			if (selected[row]) {
+				if (retained != row) {
+					moveRow(row, retained);
+				}
+				++retained;
+			}
+		}
+		int removed = this.size - retained;
+		this.size = retained;
+		return removed;
+	}
+
+	private void moveRow(int from, int to) {
+		for (Object column : this.columns) {
+			if (column instanceof long[] longs) {
+				longs[to] = longs[from];
+			} else if (column instanceof double[] doubles) {
+				doubles[to] = doubles[from];
+			} else {
+				int[] codes = (int[])column;
+				codes[to] = codes[from];
+			}
+		}
+	}
+
+	/**
+	 * Get the array of a {@link ColumnType#LONG} column. Only the first {@link #size()} elements are valid.
+	 *
+	 * @param column a column index
+	 * @return the array of the column
+	 */
+	public long[] longColumn(int column) {
+		return (long[])column(column, ColumnType.LONG);
+	}
+
+	/**
+	 * Get the array of a {@link ColumnType#DOUBLE} column. Only the first {@link #size()} elements are valid.
+	 *
+	 * @param column a column index
+	 * @return the array of the column
+	 */
+	public double[] doubleColumn(int column) {
+		return (double[])column(column, ColumnType.DOUBLE);
+	}
+
+	/**
+	 * Get the array of codes of a {@link ColumnType#STRING} column. Only the first {@link #size()} elements are valid.
+	 *
+	 * @param column a column index
+	 * @return the array of codes of the column
+	 * @see #dictionary(int)
+	 */
+	public int[] stringCodeColumn(int column) {
+		return (int[])column(column, ColumnType.STRING);
+	}
+
+	/**
+	 * Get the dictionary of a {@link ColumnType#STRING} column.
+	 *
+	 * @param column a column index
+	 * @return the dictionary of the column
+	 */
+	public StringDictionary dictionary(int column) {
+		column(column, ColumnType.STRING);
+		return this.dictionaries[column];
+	}
+
+	/**
+	 * Get a value of a {@link ColumnType#LONG} column.
+	 *
+	 * @param column a column index
+	 * @param row a row index
+	 * @return the value
+	 */
+	public long getLong(int column, int row) {
+		return longColumn(column)[checkRow(row)];
+	}
+
+	/**
+	 * Set a value of a {@link ColumnType#LONG} column.
+	 *
+	 * @param column a column index
+	 * @param row a row index
+	 * @param value a value to set
+	 */
+	public void setLong(int column, int row, long value) {
+		longColumn(column)[checkRow(row)] = value;
+	}
+
+	/**
+	 * Get a value of a {@link ColumnType#DOUBLE} column.
+	 *
+	 * @param column a column index
+	 * @param row a row index
+	 * @return the value
+	 */
+	public double getDouble(int column, int row) {
+		return doubleColumn(column)[checkRow(row)];
+	}
+
+	/**
+	 * Set a value of a {@link ColumnType#DOUBLE} column.
+	 *
+	 * @param column a column index
+	 * @param row a row index
+	 * @param value a value to set
+	 */
+	public void setDouble(int column, int row, double value) {
+		doubleColumn(column)[checkRow(row)] = value;
+	}
+
+	/**
+	 * Get a value of a {@link ColumnType#STRING} column, decoded by its dictionary.
+	 *
+	 * @param column a column index
+	 * @param row a row index
+	 * @return the value
+	 */
+	@Nullable
+	public String getString(int column, int row) {
+		return this.dictionaries[column].decode(stringCodeColumn(column)[checkRow(row)]);
+	}
+
+	/**
+	 * Set a value of a {@link ColumnType#STRING} column, encoded by its dictionary.
+	 *
+	 * @param column a column index
+	 * @param row a row index
+	 * @param value a value to set
+	 */
+	public void setString(int column, int row, @Nullable String value) {
+		stringCodeColumn(column)[checkRow(row)] = this.dictionaries[column].encode(value);
+	}
+
+	private Object column(int column, ColumnType type) {
+		if (this.schema.getType(column) != type) {
+			throw new IllegalArgumentException("Column " + this.schema.getName(column) + " is not a " + type
+				+ " column but " + this.schema.getType(column));
+		}
+		return this.columns[column];
+	}
+
+	private int checkRow(int row) {
+		Objects.checkIndex(row, this.size);
+		return row;
+	}
+
+	@Override
+	public String toString() {
+		return "ColumnarBatch[size=" + this.size + ", capacity=" + this.capacity + ", schema=" + this.schema + "]";
+	}
+}
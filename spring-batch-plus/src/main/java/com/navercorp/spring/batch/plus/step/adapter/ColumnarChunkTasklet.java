@@ -0,0 +1,158 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link Tasklet} which runs columnar delegates as a chunk-oriented step, where a chunk is a {@link ColumnarBatch}
+ * of {@code chunkSize} rows. Each execution reads rows into the batch, processes it in place and writes it in the
+ * transaction of the tasklet step, then updates the execution context. The batch is allocated once and reused, so
+ * the steady state of the step allocates no object per row.
+ * <p>
+ * The delegates are opened before the step and closed after the step, and their states are updated to the step
+ * execution context after each chunk, so a failed step restarts from the last committed chunk like a
+ * chunk-oriented step. Skip and retry are not supported. A failure of a chunk fails the step.
+ * <p>
+ * It is not thread-safe, so don't share it between concurrent steps.
+ *
+ * @since 1.3.0
+ */
+public class ColumnarChunkTasklet implements Tasklet, StepExecutionListener {
+
+	/**
+	 * Create a columnar tasklet without a processor.
+	 *
+	 * @param reader a delegate to read rows
+	 * @param writer a delegate to write rows
+	 * @param schema a schema of the batch
+	 * @param chunkSize the number of rows in a chunk
+	 * @return a columnar tasklet
+	 */
+	public static ColumnarChunkTasklet of(@NonNull ColumnarReaderDelegate reader,
+		@NonNull ColumnarWriterDelegate writer, @NonNull ColumnarSchema schema, int chunkSize) {
+		return of(reader, batch -> {
+		}, writer, schema, chunkSize);
+	}
+
+	/**
+	 * Create a columnar tasklet.
+	 *
+	 * @param reader a delegate to read rows
+	 * @param processor a delegate to process rows
+	 * @param writer a delegate to write rows
+	 * @param schema a schema of the batch
+	 * @param chunkSize the number of rows in a chunk
+	 * @return a columnar tasklet
+	 */
+	public static ColumnarChunkTasklet of(@NonNull ColumnarReaderDelegate reader,
+		@NonNull ColumnarProcessorDelegate processor, @NonNull ColumnarWriterDelegate writer,
+		@NonNull ColumnarSchema schema, int chunkSize) {
+		return new ColumnarChunkTasklet(reader, processor, writer, ColumnarBatch.of(schema, chunkSize));
+	}
+
+	protected final ColumnarReaderDelegate reader;
+
+	protected final ColumnarProcessorDelegate processor;
+
+	protected final ColumnarWriterDelegate writer;
+
+	private final ColumnarBatch batch;
+
+	@Nullable
+	private ExecutionContext executionContext = null;
+
+	protected ColumnarChunkTasklet(ColumnarReaderDelegate reader, ColumnarProcessorDelegate processor,
+		ColumnarWriterDelegate writer, ColumnarBatch batch) {
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
+		this.processor = Objects.requireNonNull(processor, "Processor must not be null");
+		this.writer = Objects.requireNonNull(writer, "Writer must not be null");
+		this.batch = Objects.requireNonNull(batch, "Batch must not be null");
+	}
+
+	@Override
+	public void beforeStep(@NonNull StepExecution stepExecution) {
+		ExecutionContext executionContext = stepExecution.getExecutionContext();
+		this.reader.onOpenRead(executionContext);
+		this.executionContext = executionContext;
+		this.writer.onOpenWrite(executionContext);
+	}
+
+	@Override
+	public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
+		ExecutionContext executionContext = this.executionContext;
+		if (executionContext == null) {
+			throw new IllegalStateException("Tasklet is not opened. Register it to a tasklet step.");
+		}
+
+		ColumnarBatch batch = this.batch;
+		batch.clear();
+		boolean exhausted = false;
+		while (!batch.isFull()) {
+			if (this.reader.read(batch) == 0) {
+				exhausted = true;
+				break;
+			}
+		}
+
+		int readCount = batch.size();
+		for (int i = 0; i < readCount; ++i) {
+			contribution.incrementReadCount();
+		}
+		if (readCount > 0) {
+			this.processor.process(batch);
+			int filterCount = readCount - batch.size();
+			if (filterCount > 0) {
+				contribution.incrementFilterCount(filterCount);
+			}
+		}
+		if (!batch.isEmpty()) {
+			this.writer.write(batch);
+			contribution.incrementWriteCount(batch.size());
+		}
+
+		// update in the same order of a chunk-oriented step
+		this.reader.onUpdateRead(executionContext);
+		this.writer.onUpdateWrite(executionContext);
+
+		return RepeatStatus.continueIf(!exhausted);
+	}
+
+	@Override
+	public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+		this.executionContext = null;
+		try {
+			this.reader.onCloseRead();
+		} finally {
+			this.writer.onCloseWrite();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * An adapter which adapt {@link ColumnarReaderDelegate} to a row-based {@link ItemStreamReader}. It reads rows into
+ * a reused {@link ColumnarBatch} and maps each row to an item with {@link ColumnarRowMapper}.
+ * <p>
+ * A batch can span chunks of the step, so the state of the delegate before reading the current batch is saved with
+ * the offset of the next row in it. On restart, the delegate reads the batch again and the rows before the offset
+ * are skipped.
+ *
+ * @since 1.3.0
+ */
+public class ColumnarItemStreamReaderAdapter<T> implements ItemStreamReader<T> {
+
+	/**
+	 * A key of the execution context to save the offset of the next row in the current batch.
+	 */
+	public static final String ROW_OFFSET_KEY = "ColumnarItemStreamReaderAdapter.rowOffset";
+
+	/**
+	 * Create an adapter which adapt {@link ColumnarReaderDelegate} to {@link ItemStreamReader}.
+	 *
+	 * @param delegate a delegate
+	 * @param schema a schema of the batch
+	 * @param batchSize the number of rows to read at once
+	 * @param rowMapper a mapper to create an item from a row
+	 * @return an adapted ItemStreamReader
+	 * @param <T> a read item type
+	 */
+	public static <T> ItemStreamReader<T> of(@NonNull ColumnarReaderDelegate delegate,
+		@NonNull ColumnarSchema schema, int batchSize, @NonNull ColumnarRowMapper<T> rowMapper) {
+		return new ColumnarItemStreamReaderAdapter<>(delegate, ColumnarBatch.of(schema, batchSize), rowMapper);
+	}
+
+	protected final ColumnarReaderDelegate delegate;
+
+	protected final ColumnarRowMapper<T> rowMapper;
+
+	private final ColumnarBatch batch;
+
+	private int position = 0;
+
+	private boolean exhausted = false;
+
+	private ExecutionContext stateBeforeBatch = new ExecutionContext();
+
+	protected ColumnarItemStreamReaderAdapter(ColumnarReaderDelegate delegate, ColumnarBatch batch,
+		ColumnarRowMapper<T> rowMapper) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate reader must not be null");
+		this.batch = Objects.requireNonNull(batch, "Batch must not be null");
+		this.rowMapper = Objects.requireNonNull(rowMapper, "Row mapper must not be null");
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		this.delegate.onOpenRead(executionContext);
+		this.batch.clear();
+		this.position = 0;
+		this.exhausted = false;
+
+		int rowOffset = executionContext.getInt(ROW_OFFSET_KEY, 0);
+		if (rowOffset > 0) {
+			fill();
+			this.position = Math.min(rowOffset, this.batch.size());
+		}
+	}
+
+	@Nullable
+	@Override
+	public T read() {
+		if (this.position == this.batch.size()) {
+			if (this.exhausted) {
+				return null;
+			}
+			fill();
+			if (this.batch.isEmpty()) {
+				return null;
+			}
+		}
+		return this.rowMapper.mapRow(this.batch, this.position++);
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		if (this.position > 0 && this.position < this.batch.size()) {
+			// the current batch is read partially. save the state to read it again.
+			for (Map.Entry<String, Object> entry : this.stateBeforeBatch.entrySet()) {
+				executionContext.put(entry.getKey(), entry.getValue());
+			}
+			executionContext.putInt(ROW_OFFSET_KEY, this.position);
+		} else {
+			this.delegate.onUpdateRead(executionContext);
+			executionContext.putInt(ROW_OFFSET_KEY, 0);
+		}
+	}
+
+	@Override
+	public void close() {
+		this.delegate.onCloseRead();
+	}
+
+	private void fill() {
+		ExecutionContext stateBeforeBatch = new ExecutionContext();
+		this.delegate.onUpdateRead(stateBeforeBatch);
+		this.stateBeforeBatch = stateBeforeBatch;
+
+		this.batch.clear();
+		this.position = 0;
+		while (!this.batch.isFull()) {
+			if (this.delegate.read(this.batch) == 0) {
+				this.exhausted = true;
+				break;
+			}
+		}
+	}
+}
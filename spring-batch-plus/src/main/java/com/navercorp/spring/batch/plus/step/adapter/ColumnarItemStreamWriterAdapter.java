@@ -0,0 +1,101 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.lang.NonNull;
+
+/**
+ * An adapter which adapt {@link ColumnarWriterDelegate} to a row-based {@link ItemStreamWriter}. It binds the items
+ * of a chunk to a reused {@link ColumnarBatch} with {@link ColumnarRowBinder}, and writes the batch whenever it is
+ * full and at the end of the chunk.
+ * <p>
+ * It is not thread-safe since the batch is reused, so don't use it in a multi-threaded step.
+ *
+ * @since 1.3.0
+ */
+public class ColumnarItemStreamWriterAdapter<T> implements ItemStreamWriter<T> {
+
+	/**
+	 * Create an adapter which adapt {@link ColumnarWriterDelegate} to {@link ItemStreamWriter}.
+	 *
+	 * @param delegate a delegate
+	 * @param schema a schema of the batch
+	 * @param batchSize the maximum number of rows to write at once
+	 * @param rowBinder a binder to set the values of an item to a row
+	 * @return an adapted ItemStreamWriter
+	 * @param <T> an item type to write
+	 */
+	public static <T> ItemStreamWriter<T> of(@NonNull ColumnarWriterDelegate delegate,
+		@NonNull ColumnarSchema schema, int batchSize, @NonNull ColumnarRowBinder<? super T> rowBinder) {
+		return new ColumnarItemStreamWriterAdapter<>(delegate, ColumnarBatch.of(schema, batchSize), rowBinder);
+	}
+
+	protected final ColumnarWriterDelegate delegate;
+
+	protected final ColumnarRowBinder<? super T> rowBinder;
+
+	private final ColumnarBatch batch;
+
+	protected ColumnarItemStreamWriterAdapter(ColumnarWriterDelegate delegate, ColumnarBatch batch,
+		ColumnarRowBinder<? super T> rowBinder) {
+		this.delegate = Objects.requireNonNull(delegate, "ItemStreamWriter delegate must not be null");
+		this.batch = Objects.requireNonNull(batch, "Batch must not be null");
+		this.rowBinder = Objects.requireNonNull(rowBinder, "Row binder must not be null");
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		this.delegate.onOpenWrite(executionContext);
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		ColumnarBatch batch = this.batch;
+		batch.clear();
+		try {
+			for (T item : chunk) {
+				if (batch.isFull()) {
+					this.delegate.write(batch);
+					batch.clear();
+				}
+				this.rowBinder.bindRow(item, batch, batch.addRow());
+			}
+			if (!batch.isEmpty()) {
+				this.delegate.write(batch);
+			}
+		} finally {
+			batch.clear();
+		}
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		this.delegate.onUpdateWrite(executionContext);
+	}
+
+	@Override
+	public void close() {
+		this.delegate.onCloseWrite();
+	}
+}
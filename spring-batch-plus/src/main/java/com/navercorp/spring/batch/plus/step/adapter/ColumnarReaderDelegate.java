@@ -0,0 +1,63 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.lang.NonNull;
+
+/**
+ * A delegate for reading rows into a {@link ColumnarBatch}.
+ *
+ * @since 1.3.0
+ */
+public interface ColumnarReaderDelegate {
+
+	/**
+	 * A delegate method for {@link ItemStreamReader#open(ExecutionContext)}.
+	 *
+	 * @param executionContext an execution context
+	 */
+	default void onOpenRead(@NonNull ExecutionContext executionContext) {
+	}
+
+	/**
+	 * Read rows into the batch until it is full or there is no more data. Rows can be added with
+	 * {@link ColumnarBatch#addRow()}, or filled into the column arrays directly and then
+	 * {@link ColumnarBatch#setSize(int)}.
+	 *
+	 * @param batch a batch to read rows into, which is not full
+	 * @return the number of read rows. 0 if it's end of data.
+	 */
+	int read(@NonNull ColumnarBatch batch);
+
+	/**
+	 * A delegate method for {@link ItemStreamReader#update(ExecutionContext)}.
+	 *
+	 * @param executionContext an execution context
+	 */
+	default void onUpdateRead(@NonNull ExecutionContext executionContext) {
+	}
+
+	/**
+	 * A delegate method for {@link ItemStreamReader#close()}.
+	 */
+	default void onCloseRead() {
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A binder to set the values of an item to a row of a {@link ColumnarBatch}.
+ *
+ * @see ColumnarItemStreamWriterAdapter
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface ColumnarRowBinder<T> {
+
+	/**
+	 * Set the values of an item to a row.
+	 *
+	 * @param item an item
+	 * @param batch a batch
+	 * @param row a row index which is added for the item
+	 */
+	void bindRow(@NonNull T item, @NonNull ColumnarBatch batch, int row);
+}
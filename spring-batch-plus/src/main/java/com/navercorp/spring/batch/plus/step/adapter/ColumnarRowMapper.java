@@ -0,0 +1,41 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A mapper to create an item from a row of a {@link ColumnarBatch}.
+ *
+ * @see ColumnarItemStreamReaderAdapter
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface ColumnarRowMapper<T> {
+
+	/**
+	 * Create an item from a row.
+	 *
+	 * @param batch a batch
+	 * @param row a row index
+	 * @return an item
+	 */
+	@NonNull
+	T mapRow(@NonNull ColumnarBatch batch, int row);
+}
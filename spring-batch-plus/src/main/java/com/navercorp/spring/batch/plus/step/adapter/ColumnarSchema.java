@@ -0,0 +1,109 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * An immutable schema of {@link ColumnarBatch}, which is an ordered list of named columns.
+ *
+ * @see ColumnarSchemaBuilder
+ * @since 1.3.0
+ */
+public class ColumnarSchema {
+
+	protected final List<String> names;
+
+	protected final List<ColumnType> types;
+
+	private final Map<String, Integer> indexes;
+
+	protected ColumnarSchema(List<String> names, List<ColumnType> types) {
+		this.names = List.copyOf(Objects.requireNonNull(names, "Names must not be null"));
+		this.types = List.copyOf(Objects.requireNonNull(types, "Types must not be null"));
+		if (this.names.size() != this.types.size()) {
+			throw new IllegalArgumentException("Names and types must have the same size");
+		}
+		if (this.names.isEmpty()) {
+			throw new IllegalArgumentException("Columns must not be empty");
+		}
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < this.names.size(); ++i) {
+			if (indexes.put(this.names.get(i), i) != null) {
+				throw new IllegalArgumentException("Duplicate column name: " + this.names.get(i));
+			}
+		}
+		this.indexes = Map.copyOf(indexes);
+	}
+
+	/**
+	 * @return the number of columns
+	 */
+	public int size() {
+		return this.names.size();
+	}
+
+	/**
+	 * @param column a column index
+	 * @return the name of the column
+	 */
+	public String getName(int column) {
+		return this.names.get(column);
+	}
+
+	/**
+	 * @param column a column index
+	 * @return the type of the column
+	 */
+	public ColumnType getType(int column) {
+		return this.types.get(column);
+	}
+
+	/**
+	 * Find the index of a column. Resolve it once and use the index in the loop over rows.
+	 *
+	 * @param name a column name
+	 * @return the index of the column
+	 * @throws IllegalArgumentException if there is no such column
+	 */
+	public int indexOf(@NonNull String name) {
+		Integer index = this.indexes.get(name);
+		if (index == null) {
+			throw new IllegalArgumentException("Unknown column: " + name);
+		}
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("ColumnarSchema[");
+		for (int i = 0; i < this.names.size(); ++i) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(this.names.get(i)).append(' ').append(this.types.get(i));
+		}
+		return builder.append(']').toString();
+	}
+}
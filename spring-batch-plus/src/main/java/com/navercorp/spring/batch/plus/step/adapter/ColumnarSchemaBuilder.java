@@ -0,0 +1,92 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link ColumnarSchema}. Columns are indexed in the order they are added.
+ *
+ * @since 1.3.0
+ */
+public class ColumnarSchemaBuilder {
+
+	private final List<String> names = new ArrayList<>();
+
+	private final List<ColumnType> types = new ArrayList<>();
+
+	/**
+	 * Add a {@link ColumnType#LONG} column.
+	 *
+	 * @param name a column name
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ColumnarSchemaBuilder longColumn(@NonNull String name) {
+		return column(name, ColumnType.LONG);
+	}
+
+	/**
+	 * Add a {@link ColumnType#DOUBLE} column.
+	 *
+	 * @param name a column name
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ColumnarSchemaBuilder doubleColumn(@NonNull String name) {
+		return column(name, ColumnType.DOUBLE);
+	}
+
+	/**
+	 * Add a {@link ColumnType#STRING} column, which is dictionary-encoded.
+	 *
+	 * @param name a column name
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ColumnarSchemaBuilder stringColumn(@NonNull String name) {
+		return column(name, ColumnType.STRING);
+	}
+
+	/**
+	 * Add a column.
+	 *
+	 * @param name a column name
+	 * @param type a column type
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ColumnarSchemaBuilder column(@NonNull String name, @NonNull ColumnType type) {
+		this.names.add(Objects.requireNonNull(name, "Name must not be null"));
+		this.types.add(Objects.requireNonNull(type, "Type must not be null"));
+		return this;
+	}
+
+	/**
+	 * Build a schema.
+	 *
+	 * @return a schema
+	 */
+	public ColumnarSchema build() {
+		if (this.names.isEmpty()) {
+			throw new IllegalStateException("At least one column must be added");
+		}
+		return new ColumnarSchema(this.names, this.types);
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * A support to run writes concurrently and wait for all of them.
+ */
+final class ConcurrentWriteSupport {
+
+	/**
+	 * Run all tasks on the executor and wait for all of them, even if some of them fail.
+	 * The first failure is thrown with the others suppressed.
+	 */
+	static void runAll(List<Runnable> tasks, Executor executor) {
+		runAll(tasks, executor, false);
+	}
+
+	/**
+	 * Run all tasks on the executor and wait for all of them. If {@code failFast} is set, the tasks which haven't
+	 * started yet are skipped and the running ones are interrupted as soon as a task fails, and the first failure is
+	 * thrown after the running ones return. Otherwise, the first failure is thrown with the others suppressed.
+	 */
+	static void runAll(List<Runnable> tasks, Executor executor, boolean failFast) {
+		FailFastGroup group = failFast ? new FailFastGroup() : null;
+		List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+		Throwable failure = null;
+		for (Runnable task : tasks) {
+			try {
+				futures.add(CompletableFuture.runAsync((group != null) ? group.member(task) : task, executor));
+			} catch (RuntimeException e) {
+				// rejected by the executor. wait for submitted ones and throw it.
+				if (group != null) {
+					group.fail(e);
+				}
+				failure = e;
+				break;
+			}
+		}
+
+		if (group != null) {
+			awaitDone(futures);
+			if (failure == null) {
+				failure = group.firstFailure();
+			}
+		}
+		failure = awaitAll(futures, failure);
+
+		if (failure != null) {
+			throw propagate(failure);
+		}
+	}
+
+	private static Throwable awaitAll(List<CompletableFuture<Void>> futures, Throwable failure) {
+		for (CompletableFuture<Void> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for concurrent writes.", e);
+			} catch (ExecutionException e) {
+				failure = merge(failure, e.getCause());
+			}
+		}
+		return failure;
+	}
+
+	private static void awaitDone(List<CompletableFuture<Void>> futures) {
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+				.exceptionally(e -> null)
+				.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for concurrent writes.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	static Throwable merge(Throwable failure, Throwable another) {
+		if (failure == null) {
+			return another;
+		}
+		if (failure != another) {
+			failure.addSuppressed(another);
+		}
+		return failure;
+	}
+
+	static RuntimeException propagate(Throwable failure) {
+		if (failure instanceof RuntimeException) {
+			return (RuntimeException)failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error)failure;
+		}
+		return new IllegalStateException(failure);
+	}
+
+	/**
+	 * A group of tasks which skips the tasks not started yet and interrupts the running ones once a task fails.
+	 */
+	private static final class FailFastGroup {
+
+		private final Set<Thread> runningThreads = new HashSet<>();
+
+		private final Set<Thread> interruptedThreads = new HashSet<>();
+
+		private boolean failed = false;
+
+		private Throwable firstFailure = null;
+
+		Runnable member(Runnable task) {
+			return () -> {
+				Thread current = Thread.currentThread();
+				synchronized (this) {
+					if (this.failed) {
+						return;
+					}
+					this.runningThreads.add(current);
+				}
+				try {
+					task.run();
+				} catch (RuntimeException | Error e) {
+					fail(e);
+					throw e;
+				} finally {
+					boolean interrupted;
+					synchronized (this) {
+						this.runningThreads.remove(current);
+						interrupted = this.interruptedThreads.remove(current);
+					}
+					if (interrupted) {
+						// clear the interrupt of this group not to leak it to the next task of the thread
+						Thread.interrupted();
+					}
+				}
+			};
+		}
+
+		synchronized void fail(Throwable failure) {
+			if (this.failed) {
+				return;
+			}
+			this.failed = true;
+			this.firstFailure = failure;
+			Thread current = Thread.currentThread();
+			for (Thread thread : this.runningThreads) {
+				if (thread != current) {
+					this.interruptedThreads.add(thread);
+					thread.interrupt();
+				}
+			}
+		}
+
+		synchronized Throwable firstFailure() {
+			return this.firstFailure;
+		}
+	}
+
+	private ConcurrentWriteSupport() {
+	}
+}
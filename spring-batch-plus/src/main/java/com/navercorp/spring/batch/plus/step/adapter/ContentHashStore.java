@@ -0,0 +1,61 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+/**
+ * A store of content hashes of items keyed by item id, used by {@link ChangeDetectingItemStreamWriterDelegate}.
+ * A hash is never {@code 0}, which means an absent one.
+ *
+ * @see JdbcContentHashStore
+ * @see MappedContentHashStore
+ * @since 1.3.0
+ */
+public interface ContentHashStore {
+
+	/**
+	 * Open the store. It is invoked when the writer is opened.
+	 */
+	default void open() {
+	}
+
+	/**
+	 * Get stored hashes of the ids.
+	 *
+	 * @param ids item ids to get
+	 * @param hashes an array to be filled with the stored hash of each id, or {@code 0} if absent
+	 * @param size the number of ids to get
+	 */
+	void getAll(long[] ids, long[] hashes, int size);
+
+	/**
+	 * Put hashes of the ids. It is invoked on the checkpoint of a chunk inside its transaction. A store should apply
+	 * them only if the transaction is committed.
+	 *
+	 * @param ids item ids to put
+	 * @param hashes hashes of each id
+	 * @param size the number of ids to put
+	 */
+	void putAll(long[] ids, long[] hashes, int size);
+
+	/**
+	 * Close the store. It is invoked when the writer is closed.
+	 */
+	default void close() {
+	}
+}
@@ -0,0 +1,336 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * An {@link ItemProcessor} which filters out an item whose key has been seen, and passes the others to a delegate.
+ * Keys are kept in a {@link LongKeySet}, exact or approximate, on the heap, off the heap or memory-mapped. A key of
+ * other type can be hashed into a {@code long}, which makes the deduplication approximate.
+ * <p>
+ * Keys of a chunk are added to the set after the transaction is committed, so items of a rolled back chunk are not
+ * filtered when they are processed again. Meanwhile, the keys are reserved to filter out the same key in other
+ * chunks processed concurrently, so the processor and its set can be shared across the threads of a step.
+ * <p>
+ * If a checkpoint file is given, the keys of each chunk are appended to the file when the execution context is
+ * updated, and its committed length is saved in the execution context. On restart, the file is truncated to the
+ * length and the keys are added back to the set. The checkpoint file supports a restart of a step on a single thread,
+ * like other item streams. It is registered as a stream of a step automatically when it is set as a processor.
+ *
+ * @see LongKeySet
+ * @since 1.3.0
+ */
+public class DeduplicatingItemProcessor<I, O> implements ItemProcessor<I, O>, ItemStream {
+
+	/**
+	 * A key of the execution context to save the length of the checkpoint file.
+	 */
+	public static final String CHECKPOINT_LENGTH_KEY = "DeduplicatingItemProcessor.checkpointLength";
+
+	private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Create a processor which filters out an item whose key has been seen.
+	 *
+	 * @param keyExtractor a function to extract a key of an item
+	 * @param keySet a set of seen keys
+	 * @return a deduplicating processor
+	 * @param <T> an item type
+	 */
+	public static <T> DeduplicatingItemProcessor<T, T> of(@NonNull ToLongFunction<? super T> keyExtractor,
+		@NonNull LongKeySet keySet) {
+		return new DeduplicatingItemProcessor<>(item -> item, keyExtractor, keySet, null);
+	}
+
+	/**
+	 * Create a processor which filters out an item whose key has been seen, and passes the others to a delegate.
+	 *
+	 * @param delegate a processor to process an item not seen
+	 * @param keyExtractor a function to extract a key of an item
+	 * @param keySet a set of seen keys
+	 * @return a deduplicating processor
+	 * @param <I> an item type to process
+	 * @param <O> a processed item type
+	 */
+	public static <I, O> DeduplicatingItemProcessor<I, O> of(@NonNull ItemProcessor<I, O> delegate,
+		@NonNull ToLongFunction<? super I> keyExtractor, @NonNull LongKeySet keySet) {
+		return new DeduplicatingItemProcessor<>(delegate, keyExtractor, keySet, null);
+	}
+
+	/**
+	 * Create a processor which filters out an item whose key has been seen, and passes the others to a delegate.
+	 * Seen keys are saved to a checkpoint file to restore them on restart.
+	 *
+	 * @param delegate a processor to process an item not seen
+	 * @param keyExtractor a function to extract a key of an item
+	 * @param keySet a set of seen keys
+	 * @param checkpointFile a file to save the seen keys
+	 * @return a deduplicating processor
+	 * @param <I> an item type to process
+	 * @param <O> a processed item type
+	 */
+	public static <I, O> DeduplicatingItemProcessor<I, O> of(@NonNull ItemProcessor<I, O> delegate,
+		@NonNull ToLongFunction<? super I> keyExtractor, @NonNull LongKeySet keySet, @NonNull Path checkpointFile) {
+		return new DeduplicatingItemProcessor<>(delegate, keyExtractor, keySet,
+			Objects.requireNonNull(checkpointFile, "Checkpoint file must not be null"));
+	}
+
+	protected final ItemProcessor<I, O> delegate;
+
+	protected final ToLongFunction<? super I> keyExtractor;
+
+	protected final LongKeySet keySet;
+
+	@Nullable
+	protected final Path checkpointFile;
+
+	/**
+	 * Keys of uncommitted chunks, to filter out a key in concurrent chunks.
+	 */
+	private final Set<Long> reservedKeys = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Keys added without a transaction, not saved to the checkpoint file yet.
+	 */
+	private final PendingKeys unsavedKeys = new PendingKeys();
+
+	@Nullable
+	private FileChannel channel = null;
+
+	protected DeduplicatingItemProcessor(ItemProcessor<I, O> delegate, ToLongFunction<? super I> keyExtractor,
+		LongKeySet keySet, @Nullable Path checkpointFile) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate processor must not be null");
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		this.keySet = Objects.requireNonNull(keySet, "Key set must not be null");
+		this.checkpointFile = checkpointFile;
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		if (this.checkpointFile == null) {
+			return;
+		}
+		try {
+			FileChannel channel = FileChannel.open(this.checkpointFile, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+			this.channel = channel;
+			// drop the keys appended after the last commit
+			channel.truncate(executionContext.getLong(CHECKPOINT_LENGTH_KEY, 0L));
+			ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			channel.position(0L);
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				while (buffer.remaining() >= Long.BYTES) {
+					this.keySet.add(buffer.getLong());
+				}
+				buffer.compact();
+			}
+			if (buffer.position() != 0) {
+				throw new IllegalStateException("Incomplete key at the end of the checkpoint file: "
+					+ this.checkpointFile);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open checkpoint file: " + this.checkpointFile, e);
+		}
+	}
+
+	@Nullable
+	@Override
+	public O process(@NonNull I item) throws Exception {
+		long key = this.keyExtractor.applyAsLong(item);
+		PendingKeys pendingKeys = pendingKeys();
+		if (pendingKeys == null) {
+			if (!this.keySet.add(key)) {
+				return null;
+			}
+			if (this.checkpointFile != null) {
+				this.unsavedKeys.add(key);
+			}
+			return this.delegate.process(item);
+		}
+
+		if (!reserve(key)) {
+			return null;
+		}
+		pendingKeys.add(key);
+		try {
+			return this.delegate.process(item);
+		} catch (Exception | Error e) {
+			// the item may be processed again in the same transaction on retry
+			pendingKeys.removeLast();
+			this.reservedKeys.remove(key);
+			throw e;
+		}
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			return;
+		}
+		try {
+			PendingKeys pendingKeys = (PendingKeys)TransactionSynchronizationManager.getResource(this);
+			if (pendingKeys != null) {
+				pendingKeys.save(channel);
+			}
+			this.unsavedKeys.save(channel);
+			this.unsavedKeys.clear();
+			channel.force(false);
+			executionContext.putLong(CHECKPOINT_LENGTH_KEY, channel.position());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write checkpoint file: " + this.checkpointFile, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		FileChannel channel = this.channel;
+		this.channel = null;
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to close checkpoint file: " + this.checkpointFile, e);
+			}
+		}
+	}
+
+	/**
+	 * @return the set of seen keys
+	 */
+	public LongKeySet getKeySet() {
+		return this.keySet;
+	}
+
+	/**
+	 * Reserve a key not seen yet, checking the set again after reserving it not to miss a key committed meanwhile.
+	 */
+	private boolean reserve(long key) {
+		if (this.keySet.contains(key) || !this.reservedKeys.add(key)) {
+			return false;
+		}
+		if (this.keySet.contains(key)) {
+			this.reservedKeys.remove(key);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Get the keys of the current transaction, binding them to the transaction on first use.
+	 *
+	 * @return {@code null} if there is no transaction
+	 */
+	@Nullable
+	private PendingKeys pendingKeys() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		PendingKeys pendingKeys = (PendingKeys)TransactionSynchronizationManager.getResource(this);
+		if (pendingKeys != null) {
+			return pendingKeys;
+		}
+		PendingKeys newPendingKeys = new PendingKeys();
+		TransactionSynchronizationManager.bindResource(this, newPendingKeys);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(DeduplicatingItemProcessor.this);
+				if (status == STATUS_COMMITTED) {
+					newPendingKeys.forEach(DeduplicatingItemProcessor.this.keySet::add);
+				}
+				newPendingKeys.forEach(DeduplicatingItemProcessor.this.reservedKeys::remove);
+			}
+		});
+		return newPendingKeys;
+	}
+
+	/**
+	 * A growable array of keys, remembering how many of them are saved to the checkpoint file.
+	 */
+	private static final class PendingKeys {
+
+		private long[] keys = new long[64];
+
+		private int size = 0;
+
+		private int saved = 0;
+
+		void add(long key) {
+			if (this.size == this.keys.length) {
+				this.keys = Arrays.copyOf(this.keys, this.size * 2);
+			}
+			this.keys[this.size++] = key;
+		}
+
+		void clear() {
+			this.size = 0;
+			this.saved = 0;
+		}
+
+		void removeLast() {
+			--this.size;
+			this.saved = Math.min(this.saved, this.size);
+		}
+
+		void forEach(LongConsumer action) {
+			for (int i = 0; i < this.size; ++i) {
+				action.accept(this.keys[i]);
+			}
+		}
+
+		void save(FileChannel channel) throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(Math.min(IO_BUFFER_SIZE, (this.size - this.saved) * Long.BYTES))
+				.order(ByteOrder.LITTLE_ENDIAN);
+			while (this.saved < this.size) {
+				buffer.clear();
+				while (this.saved < this.size && buffer.remaining() >= Long.BYTES) {
+					buffer.putLong(this.keys[this.saved++]);
+				}
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,406 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A reusable tokenizer of a delimited record, like a line of CSV or TSV, which exposes the fields of the last
+ * tokenized record. Fields are copied into a reused byte buffer with the quotes and escapes resolved, and are exposed
+ * as offsets in the buffer. Numbers are parsed from the bytes without creating a {@code String}, so tokenizing a
+ * record allocates nothing once the buffers are grown.
+ * <p>
+ * A field enclosed in the quote character can contain the delimiter, and a doubled quote character in it stands for
+ * the quote character itself. If an escape character is set, the next character of it is taken literally, except
+ * {@code t}, {@code n} and {@code r} which stand for a tab, a line feed and a carriage return. The delimiter, the
+ * quote and the escape must be ASCII characters, so records of an ASCII compatible charset like UTF-8 can be
+ * tokenized by bytes. A record can't span lines.
+ * <p>
+ * It is not thread-safe.
+ *
+ * @see DelimitedRecordDecoder
+ * @since 1.3.0
+ */
+public class DelimitedFields {
+
+	/**
+	 * A character which means no quote or no escape.
+	 */
+	public static final char NONE = '\0';
+
+	/**
+	 * Powers of ten which are exactly representable as doubles.
+	 */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/**
+	 * Create a tokenizer of CSV, which is delimited by a comma and quoted by a double quote.
+	 *
+	 * @return a tokenizer
+	 */
+	public static DelimitedFields csv() {
+		return of(',', '"', NONE);
+	}
+
+	/**
+	 * Create a tokenizer of TSV, which is delimited by a tab and escaped by a backslash.
+	 *
+	 * @return a tokenizer
+	 */
+	public static DelimitedFields tsv() {
+		return of('\t', NONE, '\\');
+	}
+
+	/**
+	 * Create a tokenizer.
+	 *
+	 * @param delimiter a delimiter of fields
+	 * @param quote a quote character, or {@link #NONE}
+	 * @param escape an escape character, or {@link #NONE}
+	 * @return a tokenizer
+	 */
+	public static DelimitedFields of(char delimiter, char quote, char escape) {
+		return new DelimitedFields(delimiter, quote, escape, StandardCharsets.UTF_8);
+	}
+
+	protected final byte delimiter;
+
+	protected final byte quote;
+
+	protected final byte escape;
+
+	protected final Charset charset;
+
+	private byte[] content = new byte[256];
+
+	private int[] starts = new int[16];
+
+	private int[] ends = new int[16];
+
+	private int fieldCount = 0;
+
+	protected DelimitedFields(char delimiter, char quote, char escape, Charset charset) {
+		if (delimiter == NONE || delimiter > 0x7F || quote > 0x7F || escape > 0x7F) {
+			throw new IllegalArgumentException("Delimiter, quote and escape must be ASCII characters");
+		}
+		if (delimiter == quote || delimiter == escape || (quote != NONE && quote == escape)) {
+			throw new IllegalArgumentException("Delimiter, quote and escape must be distinct");
+		}
+		this.delimiter = (byte)delimiter;
+		this.quote = (byte)quote;
+		this.escape = (byte)escape;
+		this.charset = Objects.requireNonNull(charset, "Charset must not be null");
+	}
+
+	/**
+	 * Tokenize the bytes between the position and the limit of the buffer, without changing its position.
+	 *
+	 * @param record a buffer holding a record without a line separator
+	 * @return this instance holding the fields of the record
+	 * @throws IllegalArgumentException if a quoted field is not closed
+	 */
+	public DelimitedFields tokenize(@NonNull ByteBuffer record) {
+		int from = record.position();
+		int to = record.limit();
+		ensureContentCapacity(to - from);
+		byte[] content = this.content;
+		int length = 0;
+		int fieldCount = 0;
+		int fieldStart = 0;
+		boolean quoted = false;
+		boolean fieldBegin = true;
+
+		for (int i = from; i < to; ++i) {
+			byte b = record.get(i);
+			if (quoted) {
+				if (b == this.quote) {
+					if (i + 1 < to && record.get(i + 1) == this.quote) {
+						content[length++] = b;
+						++i;
+					} else {
+						quoted = false;
+					}
+				} else {
+					content[length++] = b;
+				}
+			} else if (b == this.delimiter) {
+				fieldCount = addField(fieldCount, fieldStart, length);
+				fieldStart = length;
+				fieldBegin = true;
+				continue;
+			} else if (b == this.quote && fieldBegin && this.quote != NONE) {
+				quoted = true;
+			} else if (b == this.escape && this.escape != NONE && i + 1 < to) {
+				content[length++] = unescape(record.get(++i));
+			} else {
+				content[length++] = b;
+			}
+			fieldBegin = false;
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Quoted field is not closed in field " + fieldCount);
+		}
+		this.fieldCount = addField(fieldCount, fieldStart, length);
+		return this;
+	}
+
+	/**
+	 * Tokenize the bytes.
+	 *
+	 * @param record bytes of a record without a line separator
+	 * @return this instance holding the fields of the record
+	 */
+	public DelimitedFields tokenize(@NonNull byte[] record) {
+		return tokenize(ByteBuffer.wrap(record));
+	}
+
+	/**
+	 * @return the number of fields of the last tokenized record
+	 */
+	public int getFieldCount() {
+		return this.fieldCount;
+	}
+
+	/**
+	 * Get the buffer holding the fields. Use it with {@link #getStart(int)} and {@link #getLength(int)} to access
+	 * the bytes of a field directly. It is overwritten by the next tokenization.
+	 *
+	 * @return the buffer of the fields
+	 */
+	public byte[] getBuffer() {
+		return this.content;
+	}
+
+	/**
+	 * @param field a field index
+	 * @return the offset of the field in {@link #getBuffer()}
+	 */
+	public int getStart(int field) {
+		return this.starts[checkField(field)];
+	}
+
+	/**
+	 * @param field a field index
+	 * @return the length of the field in bytes
+	 */
+	public int getLength(int field) {
+		checkField(field);
+		return this.ends[field] - this.starts[field];
+	}
+
+	/**
+	 * @param field a field index
+	 * @return {@code true} if the field is empty
+	 */
+	public boolean isEmpty(int field) {
+		return getLength(field) == 0;
+	}
+
+	/**
+	 * Create a string of a field. It allocates a string, so prefer the other accessors in a hot loop.
+	 *
+	 * @param field a field index
+	 * @return the string of the field
+	 */
+	public String getString(int field) {
+		return new String(this.content, getStart(field), getLength(field), this.charset);
+	}
+
+	/**
+	 * Parse a decimal {@code int} field without creating a string.
+	 *
+	 * @param field a field index
+	 * @return the value of the field
+	 * @throws NumberFormatException if the field is not an {@code int}
+	 */
+	public int getInt(int field) {
+		long value = getLong(field);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw invalidNumber(field);
+		}
+		return (int)value;
+	}
+
+	/**
+	 * Parse a decimal {@code long} field without creating a string.
+	 *
+	 * @param field a field index
+	 * @return the value of the field
+	 * @throws NumberFormatException if the field is not a {@code long}
+	 */
+	public long getLong(int field) {
+		int i = getStart(field);
+		int end = this.ends[field];
+		byte[] content = this.content;
+		boolean negative = false;
+		if (i < end && (content[i] == '-' || content[i] == '+')) {
+			negative = content[i] == '-';
+			++i;
+		}
+		if (i == end) {
+			throw invalidNumber(field);
+		}
+		// accumulate negatively to cover Long.MIN_VALUE as Long.parseLong does
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multiplyLimit = limit / 10;
+		long result = 0L;
+		for (; i < end; ++i) {
+			int digit = content[i] - '0';
+			if (digit < 0 || digit > 9 || result < multiplyLimit) {
+				throw invalidNumber(field);
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw invalidNumber(field);
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Parse a {@code double} field. A plain decimal with up to 15 significant digits is parsed without creating a
+	 * string, and the others, like {@code NaN} or a long decimal, fall back to {@link Double#parseDouble(String)}.
+	 * The result is correctly rounded in both ways.
+	 *
+	 * @param field a field index
+	 * @return the value of the field
+	 * @throws NumberFormatException if the field is not a {@code double}
+	 */
+	public double getDouble(int field) {
+		int i = getStart(field);
+		int end = this.ends[field];
+		byte[] content = this.content;
+		boolean negative = false;
+		if (i < end && (content[i] == '-' || content[i] == '+')) {
+			negative = content[i] == '-';
+			++i;
+		}
+
+		long mantissa = 0L;
+		int significantDigits = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean fraction = false;
+		for (; i < end; ++i) {
+			byte b = content[i];
+			if (b >= '0' && b <= '9') {
+				++digits;
+				if (mantissa != 0L || b != '0') {
+					if (++significantDigits > 15) {
+						return parseDoubleSlowly(field);
+					}
+					mantissa = mantissa * 10 + (b - '0');
+				}
+				if (fraction) {
+					--exponent;
+				}
+			} else if (b == '.' && !fraction) {
+				fraction = true;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0) {
+			return parseDoubleSlowly(field);
+		}
+		if (i < end) {
+			if ((content[i] != 'e' && content[i] != 'E') || i + 1 == end) {
+				return parseDoubleSlowly(field);
+			}
+			++i;
+			boolean negativeExponent = false;
+			if (content[i] == '-' || content[i] == '+') {
+				negativeExponent = content[i] == '-';
+				++i;
+			}
+			int explicitExponent = 0;
+			if (i == end) {
+				return parseDoubleSlowly(field);
+			}
+			for (; i < end; ++i) {
+				int digit = content[i] - '0';
+				if (digit < 0 || digit > 9 || explicitExponent > 1000) {
+					return parseDoubleSlowly(field);
+				}
+				explicitExponent = explicitExponent * 10 + digit;
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+
+		double value;
+		if (mantissa == 0L) {
+			value = 0.0;
+		} else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+			// both operands are exact, so a single operation is correctly rounded
+			value = mantissa * POWERS_OF_TEN[exponent];
+		} else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+			value = mantissa / POWERS_OF_TEN[-exponent];
+		} else {
+			return parseDoubleSlowly(field);
+		}
+		return negative ? -value : value;
+	}
+
+	private double parseDoubleSlowly(int field) {
+		return Double.parseDouble(getString(field));
+	}
+
+	private NumberFormatException invalidNumber(int field) {
+		return new NumberFormatException("For input string: \"" + getString(field) + "\" in field " + field);
+	}
+
+	private byte unescape(byte b) {
+		return switch (b) {
+			case 't' -> '\t';
+			case 'n' -> '\n';
+			case 'r' -> '\r';
+			default -> b;
+		};
+	}
+
+	private int addField(int fieldCount, int start, int end) {
+		if (fieldCount == this.starts.length) {
+			this.starts = Arrays.copyOf(this.starts, fieldCount * 2);
+			this.ends = Arrays.copyOf(this.ends, fieldCount * 2);
+		}
+		this.starts[fieldCount] = start;
+		this.ends[fieldCount] = end;
+		return fieldCount + 1;
+	}
+
+	private void ensureContentCapacity(int capacity) {
+		if (this.content.length < capacity) {
+			this.content = new byte[Math.max(capacity, this.content.length * 2)];
+		}
+	}
+
+	private int checkField(int field) {
+		return Objects.checkIndex(field, this.fieldCount);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link RecordDecoder} which tokenizes a delimited record with a reused {@link DelimitedFields} and maps the
+ * fields to an item. Use it with {@link MappedRecordFileReaderDelegate} to read CSV or TSV files as a ready-made
+ * reader delegate. A tokenizer is kept for each thread, so it can be shared by concurrent partitions.
+ *
+ * @since 1.3.0
+ */
+public class DelimitedRecordDecoder<T> implements RecordDecoder<T> {
+
+	/**
+	 * Create a decoder of CSV records.
+	 *
+	 * @param fieldsMapper a function to map the fields to an item. null to skip the record.
+	 * @return a decoder
+	 * @param <T> a decoded item type
+	 */
+	public static <T> DelimitedRecordDecoder<T> csv(
+		@NonNull Function<? super DelimitedFields, ? extends T> fieldsMapper) {
+		return of(DelimitedFields::csv, fieldsMapper);
+	}
+
+	/**
+	 * Create a decoder of TSV records.
+	 *
+	 * @param fieldsMapper a function to map the fields to an item. null to skip the record.
+	 * @return a decoder
+	 * @param <T> a decoded item type
+	 */
+	public static <T> DelimitedRecordDecoder<T> tsv(
+		@NonNull Function<? super DelimitedFields, ? extends T> fieldsMapper) {
+		return of(DelimitedFields::tsv, fieldsMapper);
+	}
+
+	/**
+	 * Create a decoder with tokenizers created by the factory.
+	 *
+	 * @param fieldsFactory a factory of a tokenizer, which is called once for each thread
+	 * @param fieldsMapper a function to map the fields to an item. null to skip the record.
+	 * @return a decoder
+	 * @param <T> a decoded item type
+	 */
+	public static <T> DelimitedRecordDecoder<T> of(@NonNull Supplier<DelimitedFields> fieldsFactory,
+		@NonNull Function<? super DelimitedFields, ? extends T> fieldsMapper) {
+		return new DelimitedRecordDecoder<>(fieldsFactory, fieldsMapper);
+	}
+
+	protected final Function<? super DelimitedFields, ? extends T> fieldsMapper;
+
+	private final ThreadLocal<DelimitedFields> fields;
+
+	protected DelimitedRecordDecoder(Supplier<DelimitedFields> fieldsFactory,
+		Function<? super DelimitedFields, ? extends T> fieldsMapper) {
+		Objects.requireNonNull(fieldsFactory, "Fields factory must not be null");
+		this.fields = ThreadLocal.withInitial(fieldsFactory);
+		this.fieldsMapper = Objects.requireNonNull(fieldsMapper, "Fields mapper must not be null");
+	}
+
+	@Nullable
+	@Override
+	public T decode(@NonNull ByteBuffer record) {
+		return this.fieldsMapper.apply(this.fields.get().tokenize(record));
+	}
+}
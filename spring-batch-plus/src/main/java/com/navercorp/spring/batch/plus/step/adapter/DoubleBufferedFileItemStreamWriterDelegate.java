@@ -0,0 +1,323 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which writes items to a file with two direct buffers. Items are encoded into
+ * one buffer on the step thread while the other one is written to the file channel in the background, so encoding
+ * overlaps with disk I/O.
+ * <p>
+ * The file is forced to the storage once per checkpoint in {@link #onUpdateWrite(ExecutionContext)}, not for each
+ * write, and the durable size of the file is saved in the execution context. On restart, the bytes after it are
+ * truncated. If the chunk transaction is rolled back, the bytes of the chunk are discarded as well.
+ * <p>
+ * By default, a dedicated thread is started on open and stopped on close. It is not thread-safe, so use it in a
+ * single threaded step.
+ *
+ * @since 1.3.0
+ */
+public class DoubleBufferedFileItemStreamWriterDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+	/**
+	 * The default size of each buffer, 256 KiB.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 256 << 10;
+
+	/**
+	 * A key of the execution context to save the durable size of a file.
+	 */
+	public static final String POSITION_KEY = "DoubleBufferedFileItemStreamWriterDelegate.position";
+
+	/**
+	 * Create a delegate with buffers of {@value #DEFAULT_BUFFER_SIZE} bytes, written by a dedicated thread.
+	 *
+	 * @param path a path of a file to write
+	 * @param encoder an encoder of an item
+	 * @return a double buffered file writer delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> DoubleBufferedFileItemStreamWriterDelegate<T> of(@NonNull Path path,
+		@NonNull ItemEncoder<? super T> encoder) {
+		return of(path, encoder, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a delegate whose buffers are written by a dedicated thread.
+	 *
+	 * @param path a path of a file to write
+	 * @param encoder an encoder of an item
+	 * @param bufferSize the size of each buffer
+	 * @return a double buffered file writer delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> DoubleBufferedFileItemStreamWriterDelegate<T> of(@NonNull Path path,
+		@NonNull ItemEncoder<? super T> encoder, int bufferSize) {
+		return new DoubleBufferedFileItemStreamWriterDelegate<>(path, encoder, bufferSize, null);
+	}
+
+	/**
+	 * Create a delegate whose buffers are written on threads of the {@link TaskExecutor}. At most one buffer is
+	 * written at a time.
+	 *
+	 * @param path a path of a file to write
+	 * @param encoder an encoder of an item
+	 * @param bufferSize the size of each buffer
+	 * @param taskExecutor a task executor to write buffers
+	 * @return a double buffered file writer delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> DoubleBufferedFileItemStreamWriterDelegate<T> of(@NonNull Path path,
+		@NonNull ItemEncoder<? super T> encoder, int bufferSize, @NonNull TaskExecutor taskExecutor) {
+		return new DoubleBufferedFileItemStreamWriterDelegate<>(path, encoder, bufferSize,
+			Objects.requireNonNull(taskExecutor, "TaskExecutor must not be null"));
+	}
+
+	protected final Path path;
+
+	protected final ItemEncoder<? super T> encoder;
+
+	@Nullable
+	protected final TaskExecutor taskExecutor;
+
+	private EncodedItemBuffer front;
+
+	private EncodedItemBuffer back;
+
+	@Nullable
+	private FileChannel channel = null;
+
+	@Nullable
+	private ExecutorService ownExecutor = null;
+
+	@Nullable
+	private Executor executor = null;
+
+	private CompletableFuture<Void> pendingWrite = CompletableFuture.completedFuture(null);
+
+	// the size of the file after the pending write
+	private long submittedPosition = 0L;
+
+	private long durablePosition = 0L;
+
+	private boolean synchronizationRegistered = false;
+
+	protected DoubleBufferedFileItemStreamWriterDelegate(Path path, ItemEncoder<? super T> encoder, int bufferSize,
+		@Nullable TaskExecutor taskExecutor) {
+		this.path = Objects.requireNonNull(path, "Path must not be null");
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.taskExecutor = taskExecutor;
+		this.front = new EncodedItemBuffer(bufferSize);
+		this.back = new EncodedItemBuffer(bufferSize);
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		long position = executionContext.getLong(POSITION_KEY, 0L);
+		try {
+			Path parent = this.path.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			if (channel.size() < position) {
+				channel.close();
+				throw new IllegalStateException("File " + this.path + " is shorter than the saved position "
+					+ position);
+			}
+			// discard the bytes written after the last checkpoint
+			channel.truncate(position);
+			channel.position(position);
+			this.channel = channel;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open file: " + this.path, e);
+		}
+		this.front.clear();
+		this.back.clear();
+		this.pendingWrite = CompletableFuture.completedFuture(null);
+		this.submittedPosition = position;
+		this.durablePosition = position;
+		if (this.taskExecutor != null) {
+			this.executor = this.taskExecutor;
+		} else {
+			ExecutorService ownExecutor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "double-buffered-file-writer");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.ownExecutor = ownExecutor;
+			this.executor = ownExecutor;
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		openedChannel();
+		registerRollbackIfNecessary();
+		for (T item : chunk) {
+			while (!this.front.tryAppend(item, this.encoder)) {
+				swap();
+			}
+		}
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		FileChannel channel = this.channel;
+		if (channel != null) {
+			if (this.front.size() > 0) {
+				swap();
+			}
+			awaitPendingWrite();
+			try {
+				channel.force(false);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to force file: " + this.path, e);
+			}
+			this.durablePosition = this.submittedPosition;
+		}
+		executionContext.putLong(POSITION_KEY, this.durablePosition);
+	}
+
+	@Override
+	public void onCloseWrite() {
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			return;
+		}
+		try {
+			if (this.front.size() > 0) {
+				swap();
+			}
+			awaitPendingWrite();
+		} finally {
+			this.channel = null;
+			this.executor = null;
+			if (this.ownExecutor != null) {
+				this.ownExecutor.shutdown();
+				this.ownExecutor = null;
+			}
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to close file: " + this.path, e);
+			}
+		}
+	}
+
+	/**
+	 * Write the front buffer in the background and continue with the back buffer after its write is done.
+	 */
+	private void swap() {
+		awaitPendingWrite();
+		FileChannel channel = openedChannel();
+		EncodedItemBuffer full = this.front;
+		this.submittedPosition += full.size();
+		this.pendingWrite = CompletableFuture.runAsync(() -> {
+			try {
+				full.flush(channel);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to write file: " + this.path, e);
+			}
+		}, Objects.requireNonNull(this.executor));
+		this.front = this.back;
+		this.back = full;
+	}
+
+	private void awaitPendingWrite() {
+		try {
+			this.pendingWrite.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a buffer write.", e);
+		} catch (ExecutionException e) {
+			throw ConcurrentWriteSupport.propagate(e.getCause());
+		}
+	}
+
+	private FileChannel openedChannel() {
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			throw new IllegalStateException("File is not opened.");
+		}
+		return channel;
+	}
+
+	private void registerRollbackIfNecessary() {
+		if (this.synchronizationRegistered || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		long chunkStart = this.submittedPosition + this.front.size();
+		this.synchronizationRegistered = true;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				synchronizationRegistered = false;
+				if (status != STATUS_COMMITTED) {
+					rollback(chunkStart);
+				}
+			}
+		});
+	}
+
+	private void rollback(long chunkStart) {
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			return;
+		}
+		try {
+			awaitPendingWrite();
+		} catch (RuntimeException e) {
+			// the bytes of the failed write are truncated below
+			this.pendingWrite = CompletableFuture.completedFuture(null);
+		}
+		if (chunkStart >= this.submittedPosition) {
+			this.front.truncate((int)(chunkStart - this.submittedPosition));
+			return;
+		}
+		this.front.clear();
+		try {
+			channel.truncate(chunkStart);
+			channel.position(chunkStart);
+			this.submittedPosition = chunkStart;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to roll back file: " + this.path, e);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A direct buffer to encode items with {@link ItemEncoder} and write them to a channel. It flushes itself when it is
+ * full, and grows for an item larger than itself.
+ */
+final class EncodedItemBuffer {
+
+	private ByteBuffer buffer;
+
+	EncodedItemBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Buffer size must be positive");
+		}
+		this.buffer = ByteBuffer.allocateDirect(capacity);
+	}
+
+	/**
+	 * Encode an item, flushing the encoded ones to the channel if there is no space for it.
+	 *
+	 * @return the number of bytes flushed
+	 */
+	<T> long append(T item, ItemEncoder<? super T> encoder, WritableByteChannel channel) throws IOException {
+		long flushed = 0L;
+		while (!tryAppend(item, encoder)) {
+			flushed += flush(channel);
+		}
+		return flushed;
+	}
+
+	/**
+	 * Encode an item if there is space for it. An empty buffer grows for an item larger than itself.
+	 *
+	 * @return {@code false} if the buffer should be flushed before encoding the item
+	 */
+	<T> boolean tryAppend(T item, ItemEncoder<? super T> encoder) {
+		while (true) {
+			int position = this.buffer.position();
+			try {
+				encoder.encode(item, this.buffer);
+				return true;
+			} catch (BufferOverflowException e) {
+				this.buffer.position(position);
+				if (position != 0) {
+					return false;
+				}
+				// an item larger than the buffer
+				this.buffer = ByteBuffer.allocateDirect(this.buffer.capacity() * 2);
+			}
+		}
+	}
+
+	/**
+	 * Write all the encoded bytes to the channel.
+	 *
+	 * @return the number of bytes written
+	 */
+	long flush(WritableByteChannel channel) throws IOException {
+		this.buffer.flip();
+		long written = this.buffer.remaining();
+		while (this.buffer.hasRemaining()) {
+			channel.write(this.buffer);
+		}
+		this.buffer.clear();
+		return written;
+	}
+
+	int size() {
+		return this.buffer.position();
+	}
+
+	void clear() {
+		this.buffer.clear();
+	}
+
+	/**
+	 * Discard the encoded bytes after the size.
+	 */
+	void truncate(int size) {
+		this.buffer.position(size);
+	}
+}
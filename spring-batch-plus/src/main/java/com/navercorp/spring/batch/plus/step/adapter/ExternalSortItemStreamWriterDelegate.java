@@ -0,0 +1,307 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which sorts items larger than the heap with sorted runs on local disk. Items
+ * are kept in memory up to the run size, then sorted and spilled to a GZIP compressed run file. Read the runs in the
+ * next step with {@link ExternalSortMergeReaderDelegate}, which merges them in the order of the comparator.
+ * <p>
+ * Runs are spilled only at checkpoints in {@link #onUpdateWrite(ExecutionContext)}. Items of a checkpoint which
+ * don't fill a run yet are appended to a pending file of the next run, so they survive a failure. The number of
+ * completed runs and the size of the pending file are saved in the execution context. On restart, completed runs are
+ * reused, and the committed items of the pending file are loaded into memory again. The pending file of the last
+ * run is sorted by the reader, so nothing is spilled on close.
+ * <p>
+ * Items are serialized by an {@link ItemEncoder} and deserialized by a {@link RecordDecoder}. It is not thread-safe,
+ * so use it in a single threaded step.
+ *
+ * @see ExternalSortItemStreamWriterDelegateBuilder
+ * @since 1.3.0
+ */
+public class ExternalSortItemStreamWriterDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+	/**
+	 * The default number of items of a run.
+	 */
+	public static final int DEFAULT_RUN_SIZE = 100_000;
+
+	/**
+	 * A key of the execution context to save the number of completed runs.
+	 */
+	public static final String RUN_COUNT_KEY = "ExternalSortItemStreamWriterDelegate.runCount";
+
+	/**
+	 * A key of the execution context to save the size of the pending file.
+	 */
+	public static final String PENDING_LENGTH_KEY = "ExternalSortItemStreamWriterDelegate.pendingLength";
+
+	protected final Path directory;
+
+	protected final String baseName;
+
+	protected final Comparator<? super T> comparator;
+
+	protected final ItemEncoder<? super T> encoder;
+
+	protected final RecordDecoder<T> decoder;
+
+	protected final int runSize;
+
+	private final List<T> buffer = new ArrayList<>();
+
+	private final SpillRecords.RecordWriter<T> recordWriter;
+
+	// the number of items of the buffer written to the pending file
+	private int persistedCount = 0;
+
+	private int runCount = 0;
+
+	private long pendingLength = 0L;
+
+	// the generation of a pending file to delete after its run is committed
+	private int staleGeneration = -1;
+
+	@Nullable
+	private FileChannel pendingChannel = null;
+
+	@Nullable
+	private DataOutputStream pendingOutput = null;
+
+	private boolean synchronizationRegistered = false;
+
+	/**
+	 * Use {@link ExternalSortItemStreamWriterDelegateBuilder} to create an instance.
+	 *
+	 * @param directory a directory to write run files
+	 * @param baseName a base name of run files
+	 * @param comparator a comparator to sort items
+	 * @param encoder an encoder of an item
+	 * @param decoder a decoder of an item to reload pending items on restart
+	 * @param runSize the number of items of a run
+	 */
+	protected ExternalSortItemStreamWriterDelegate(Path directory, String baseName, Comparator<? super T> comparator,
+		ItemEncoder<? super T> encoder, RecordDecoder<T> decoder, int runSize) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+		this.comparator = Objects.requireNonNull(comparator, "Comparator must not be null");
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		if (runSize <= 0) {
+			throw new IllegalArgumentException("Run size must be positive");
+		}
+		this.runSize = runSize;
+		this.recordWriter = new SpillRecords.RecordWriter<>(encoder);
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		this.runCount = executionContext.getInt(RUN_COUNT_KEY, 0);
+		this.pendingLength = executionContext.getLong(PENDING_LENGTH_KEY, 0L);
+		this.buffer.clear();
+		this.staleGeneration = -1;
+		try {
+			Files.createDirectories(this.directory);
+			deleteUncommittedFiles();
+			openPending();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open run files in " + this.directory, e);
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		if (this.pendingOutput == null) {
+			throw new IllegalStateException("Run files are not opened.");
+		}
+		registerRollbackIfNecessary();
+		this.buffer.addAll(chunk.getItems());
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		if (this.pendingOutput != null) {
+			try {
+				if (this.staleGeneration >= 0) {
+					// the run replacing it was committed in the last checkpoint
+					Files.deleteIfExists(SortRunFiles.pendingPath(this.directory, this.baseName,
+						this.staleGeneration));
+					this.staleGeneration = -1;
+				}
+				if (this.buffer.size() >= this.runSize) {
+					spill();
+				} else if (this.persistedCount < this.buffer.size()) {
+					appendPending();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to write run files in " + this.directory, e);
+			}
+		}
+		executionContext.putInt(RUN_COUNT_KEY, this.runCount);
+		executionContext.putLong(PENDING_LENGTH_KEY, this.pendingLength);
+	}
+
+	@Override
+	public void onCloseWrite() {
+		this.buffer.clear();
+		this.persistedCount = 0;
+		try {
+			closePending();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to close run files in " + this.directory, e);
+		}
+	}
+
+	private void deleteUncommittedFiles() throws IOException {
+		for (Map.Entry<Integer, Path> run : SortRunFiles.list(this.directory, this.baseName,
+			SortRunFiles.RUN_SUFFIX).entrySet()) {
+			if (run.getKey() >= this.runCount) {
+				Files.deleteIfExists(run.getValue());
+			}
+		}
+		for (Map.Entry<Integer, Path> pending : SortRunFiles.list(this.directory, this.baseName,
+			SortRunFiles.PENDING_SUFFIX).entrySet()) {
+			if (pending.getKey() != this.runCount) {
+				Files.deleteIfExists(pending.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Open the pending file of the current generation and load its committed items.
+	 */
+	private void openPending() throws IOException {
+		Path path = SortRunFiles.pendingPath(this.directory, this.baseName, this.runCount);
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+			StandardOpenOption.WRITE);
+		try {
+			if (channel.size() < this.pendingLength) {
+				throw new IllegalStateException("Pending file " + path + " is shorter than the saved length "
+					+ this.pendingLength);
+			}
+			channel.truncate(this.pendingLength);
+			channel.position(0L);
+			DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			SpillRecords.RecordReader<T> recordReader = new SpillRecords.RecordReader<>(this.decoder);
+			T item;
+			while ((item = recordReader.read(input)) != null) {
+				this.buffer.add(item);
+			}
+			this.persistedCount = this.buffer.size();
+			channel.position(this.pendingLength);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		this.pendingChannel = channel;
+		this.pendingOutput = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+	}
+
+	private void closePending() throws IOException {
+		DataOutputStream pendingOutput = this.pendingOutput;
+		this.pendingOutput = null;
+		this.pendingChannel = null;
+		if (pendingOutput != null) {
+			pendingOutput.close();
+		}
+	}
+
+	private void appendPending() throws IOException {
+		DataOutputStream pendingOutput = Objects.requireNonNull(this.pendingOutput);
+		FileChannel pendingChannel = Objects.requireNonNull(this.pendingChannel);
+		for (int i = this.persistedCount; i < this.buffer.size(); ++i) {
+			this.recordWriter.write(this.buffer.get(i), pendingOutput);
+		}
+		pendingOutput.flush();
+		pendingChannel.force(false);
+		this.persistedCount = this.buffer.size();
+		this.pendingLength = pendingChannel.position();
+	}
+
+	private void spill() throws IOException {
+		this.buffer.sort(this.comparator);
+		Path run = SortRunFiles.runPath(this.directory, this.baseName, this.runCount);
+		Path temporary = Files.createTempFile(this.directory, run.getFileName().toString(), ".spilling");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+			GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), 1 << 16);
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(gzip, 1 << 16));
+			for (T item : this.buffer) {
+				this.recordWriter.write(item, output);
+			}
+			output.flush();
+			gzip.finish();
+			channel.force(false);
+			output.close();
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		Files.move(temporary, run, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		closePending();
+		this.staleGeneration = this.runCount;
+		++this.runCount;
+		this.buffer.clear();
+		this.pendingLength = 0L;
+		openPending();
+	}
+
+	private void registerRollbackIfNecessary() {
+		if (this.synchronizationRegistered || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		int chunkStart = this.buffer.size();
+		this.synchronizationRegistered = true;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				synchronizationRegistered = false;
+				if (status != STATUS_COMMITTED && chunkStart >= persistedCount && chunkStart <= buffer.size()) {
+					buffer.subList(chunkStart, buffer.size()).clear();
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link ExternalSortItemStreamWriterDelegate}.
+ *
+ * @since 1.3.0
+ */
+public class ExternalSortItemStreamWriterDelegateBuilder<T> {
+
+	private final Path directory;
+
+	private final String baseName;
+
+	private Comparator<? super T> comparator;
+
+	private ItemEncoder<? super T> encoder;
+
+	private RecordDecoder<T> decoder;
+
+	private int runSize = ExternalSortItemStreamWriterDelegate.DEFAULT_RUN_SIZE;
+
+	/**
+	 * @param directory a directory to write run files
+	 * @param baseName a base name of run files
+	 */
+	public ExternalSortItemStreamWriterDelegateBuilder(@NonNull Path directory, @NonNull String baseName) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+	}
+
+	/**
+	 * Set a comparator to sort items. Use the same one for {@link ExternalSortMergeReaderDelegate}.
+	 *
+	 * @param comparator a comparator to sort items
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ExternalSortItemStreamWriterDelegateBuilder<T> comparator(@NonNull Comparator<? super T> comparator) {
+		this.comparator = Objects.requireNonNull(comparator, "Comparator must not be null");
+		return this;
+	}
+
+	/**
+	 * Set an encoder and a decoder to serialize items in run files.
+	 *
+	 * @param encoder an encoder of an item
+	 * @param decoder a decoder of an item, which is used to reload pending items on restart
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ExternalSortItemStreamWriterDelegateBuilder<T> serializer(@NonNull ItemEncoder<? super T> encoder,
+		@NonNull RecordDecoder<T> decoder) {
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		return this;
+	}
+
+	/**
+	 * Set the number of items of a run, which are sorted in memory. Defaults to
+	 * {@value ExternalSortItemStreamWriterDelegate#DEFAULT_RUN_SIZE}.
+	 *
+	 * @param runSize the number of items of a run
+	 * @return The current instance of the builder for method chaining
+	 */
+	public ExternalSortItemStreamWriterDelegateBuilder<T> runSize(int runSize) {
+		this.runSize = runSize;
+		return this;
+	}
+
+	/**
+	 * Build an external sort delegate.
+	 *
+	 * @return an external sort delegate
+	 */
+	public ExternalSortItemStreamWriterDelegate<T> build() {
+		if (this.comparator == null) {
+			throw new IllegalStateException("Comparator must be set");
+		}
+		if (this.encoder == null) {
+			throw new IllegalStateException("Serializer must be set");
+		}
+		return new ExternalSortItemStreamWriterDelegate<>(this.directory, this.baseName, this.comparator,
+			this.encoder, this.decoder, this.runSize);
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link ItemStreamSimpleReaderDelegate} which reads the runs written by
+ * {@link ExternalSortItemStreamWriterDelegate} in sorted order with a k-way merge. Only the head item of each run
+ * is kept in memory, except the pending items of the last run, which are sorted in memory. Items equal by the
+ * comparator are read in the order of the runs.
+ * <p>
+ * The number of read items is saved in the execution context, and the same number of items is skipped on restart.
+ * The run files are not deleted. Delete them with {@link #deleteRuns(Path, String)} when they are not needed
+ * anymore. It is not thread-safe, so use it in a single threaded step.
+ *
+ * @since 1.3.0
+ */
+public class ExternalSortMergeReaderDelegate<T> implements ItemStreamSimpleReaderDelegate<T> {
+
+	/**
+	 * A key of the execution context to save the number of read items.
+	 */
+	public static final String READ_COUNT_KEY = "ExternalSortMergeReaderDelegate.readCount";
+
+	/**
+	 * Create a delegate.
+	 *
+	 * @param directory a directory of run files
+	 * @param baseName a base name of run files
+	 * @param comparator the comparator used to sort the runs
+	 * @param decoder a decoder of an item
+	 * @return an external sort merge reader delegate
+	 * @param <T> an item type to read
+	 */
+	public static <T> ExternalSortMergeReaderDelegate<T> of(@NonNull Path directory, @NonNull String baseName,
+		@NonNull Comparator<? super T> comparator, @NonNull RecordDecoder<T> decoder) {
+		return new ExternalSortMergeReaderDelegate<>(directory, baseName, comparator, decoder);
+	}
+
+	/**
+	 * Delete all the run files.
+	 *
+	 * @param directory a directory of run files
+	 * @param baseName a base name of run files
+	 */
+	public static void deleteRuns(@NonNull Path directory, @NonNull String baseName) {
+		SortRunFiles.deleteAll(directory, baseName);
+	}
+
+	protected final Path directory;
+
+	protected final String baseName;
+
+	protected final Comparator<? super T> comparator;
+
+	protected final RecordDecoder<T> decoder;
+
+	private final List<Run<T>> runs = new ArrayList<>();
+
+	private final PriorityQueue<Run<T>> heads;
+
+	private long readCount = 0L;
+
+	protected ExternalSortMergeReaderDelegate(Path directory, String baseName, Comparator<? super T> comparator,
+		RecordDecoder<T> decoder) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+		this.comparator = Objects.requireNonNull(comparator, "Comparator must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		Comparator<Run<T>> byHead = (left, right) -> comparator.compare(left.head, right.head);
+		this.heads = new PriorityQueue<>(byHead.thenComparingInt(run -> run.generation));
+	}
+
+	@Override
+	public void onOpenRead(@NonNull ExecutionContext executionContext) {
+		long readCount = executionContext.getLong(READ_COUNT_KEY, 0L);
+		TreeMap<Integer, Path> runFiles = SortRunFiles.list(this.directory, this.baseName, SortRunFiles.RUN_SUFFIX);
+		TreeMap<Integer, Path> pendingFiles = SortRunFiles.list(this.directory, this.baseName,
+			SortRunFiles.PENDING_SUFFIX);
+		try {
+			for (Map.Entry<Integer, Path> run : runFiles.entrySet()) {
+				openRun(run.getKey(), new DataInputStream(new BufferedInputStream(
+					new GZIPInputStream(Files.newInputStream(run.getValue()), 1 << 16), 1 << 16)));
+			}
+			// pending files of older generations are left until their runs are committed
+			int lastGeneration = runFiles.isEmpty() ? 0 : runFiles.lastKey() + 1;
+			Path pending = pendingFiles.get(lastGeneration);
+			if (pending != null) {
+				openPending(lastGeneration, pending);
+			}
+		} catch (IOException | RuntimeException e) {
+			onCloseRead();
+			if (e instanceof IOException) {
+				throw new UncheckedIOException("Failed to open run files in " + this.directory, (IOException)e);
+			}
+			throw (RuntimeException)e;
+		}
+		this.readCount = 0L;
+		while (this.readCount < readCount && read() != null) {
+			// skip the items read before the restart
+		}
+	}
+
+	@Nullable
+	@Override
+	public T read() {
+		Run<T> run = this.heads.poll();
+		if (run == null) {
+			return null;
+		}
+		T item = run.head;
+		if (run.advance()) {
+			this.heads.add(run);
+		}
+		++this.readCount;
+		return item;
+	}
+
+	@Override
+	public void onUpdateRead(@NonNull ExecutionContext executionContext) {
+		executionContext.putLong(READ_COUNT_KEY, this.readCount);
+	}
+
+	@Override
+	public void onCloseRead() {
+		this.heads.clear();
+		IOException failure = null;
+		for (Run<T> run : this.runs) {
+			try {
+				run.close();
+			} catch (IOException e) {
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		this.runs.clear();
+		if (failure != null) {
+			throw new UncheckedIOException("Failed to close run files in " + this.directory, failure);
+		}
+	}
+
+	private void openRun(int generation, DataInputStream input) throws IOException {
+		Run<T> run = new Run<>(generation, input, new SpillRecords.RecordReader<>(this.decoder), null);
+		this.runs.add(run);
+		if (run.advance()) {
+			this.heads.add(run);
+		}
+	}
+
+	private void openPending(int generation, Path path) throws IOException {
+		List<T> items = new ArrayList<>();
+		SpillRecords.RecordReader<T> recordReader = new SpillRecords.RecordReader<>(this.decoder);
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			T item;
+			while ((item = recordReader.read(input)) != null) {
+				items.add(item);
+			}
+		}
+		items.sort(this.comparator);
+		Run<T> run = new Run<>(generation, null, recordReader, items.iterator());
+		this.runs.add(run);
+		if (run.advance()) {
+			this.heads.add(run);
+		}
+	}
+
+	/**
+	 * A run read from a file or from sorted items in memory.
+	 */
+	private static final class Run<T> {
+
+		private final int generation;
+
+		@Nullable
+		private final DataInputStream input;
+
+		private final SpillRecords.RecordReader<T> recordReader;
+
+		@Nullable
+		private final Iterator<T> items;
+
+		private T head;
+
+		Run(int generation, @Nullable DataInputStream input, SpillRecords.RecordReader<T> recordReader,
+			@Nullable Iterator<T> items) {
+			this.generation = generation;
+			this.input = input;
+			this.recordReader = recordReader;
+			this.items = items;
+		}
+
+		boolean advance() {
+			if (this.items != null) {
+				this.head = this.items.hasNext() ? this.items.next() : null;
+				return this.head != null;
+			}
+			try {
+				this.head = this.recordReader.read(Objects.requireNonNull(this.input));
+				return this.head != null;
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read a run file", e);
+			}
+		}
+
+		void close() throws IOException {
+			if (this.input != null) {
+				this.input.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which writes the same chunk to several sinks concurrently. Unlike
+ * {@link org.springframework.batch.item.support.CompositeItemWriter} which writes sinks one after another, the
+ * latency of a write is the one of the slowest sink rather than the sum of all sinks.
+ * <p>
+ * Sinks are written on threads of the {@link TaskExecutor}, so they don't take part in a transaction bound to the
+ * step thread. A sink should manage its own connection. Stream callbacks are invoked for every sink on the step
+ * thread with the same execution context, so the sinks should use distinct keys in it.
+ * <p>
+ * The time taken by each sink is recorded to a {@link Timer} named {@value #TIMER_NAME} with a {@code sink} tag.
+ *
+ * @see FanOutItemStreamWriterDelegateBuilder
+ * @since 1.3.0
+ */
+public class FanOutItemStreamWriterDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+	/**
+	 * A name of the timer recording the write time of each sink.
+	 */
+	public static final String TIMER_NAME = "spring.batch.plus.fanout.write";
+
+	/**
+	 * Failure handling of a write.
+	 */
+	public enum FailureMode {
+
+		/**
+		 * Stop the other sinks as soon as a sink fails. The sinks which haven't started are skipped and the running
+		 * ones are interrupted, so a sink should stop writing when interrupted. The first failure is thrown with the
+		 * others suppressed after the running sinks return.
+		 */
+		FAIL_FAST,
+
+		/**
+		 * Wait for all sinks and throw the first failure with the others suppressed.
+		 */
+		WAIT_ALL
+	}
+
+	/**
+	 * Create a delegate which writes sinks on new threads, waiting for all sinks on failure.
+	 * Sinks are named as {@code sink-0}, {@code sink-1}, ... in the order of the list.
+	 *
+	 * @param sinks delegates to write a chunk
+	 * @return a fan-out delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> FanOutItemStreamWriterDelegate<T> of(@NonNull List<? extends ItemStreamWriterDelegate<T>> sinks) {
+		Objects.requireNonNull(sinks, "Sinks must not be null");
+		FanOutItemStreamWriterDelegateBuilder<T> builder = new FanOutItemStreamWriterDelegateBuilder<>();
+		for (int i = 0; i < sinks.size(); ++i) {
+			builder.sink("sink-" + i, sinks.get(i));
+		}
+		return builder.build();
+	}
+
+	protected final Map<String, ItemStreamWriterDelegate<T>> sinks;
+
+	protected final List<Timer> timers;
+
+	protected final FailureMode failureMode;
+
+	protected final TaskExecutor taskExecutor;
+
+	protected FanOutItemStreamWriterDelegate(Map<String, ? extends ItemStreamWriterDelegate<T>> sinks,
+		FailureMode failureMode, TaskExecutor taskExecutor, MeterRegistry meterRegistry) {
+		this.sinks = new LinkedHashMap<>(Objects.requireNonNull(sinks, "Sinks must not be null"));
+		this.failureMode = Objects.requireNonNull(failureMode, "FailureMode must not be null");
+		this.taskExecutor = Objects.requireNonNull(taskExecutor, "TaskExecutor must not be null");
+		Objects.requireNonNull(meterRegistry, "MeterRegistry must not be null");
+		if (this.sinks.isEmpty()) {
+			throw new IllegalArgumentException("Sinks must not be empty");
+		}
+		this.timers = new ArrayList<>(this.sinks.size());
+		for (String name : this.sinks.keySet()) {
+			this.timers.add(Timer.builder(TIMER_NAME)
+				.description("Write time of a sink of a fan-out writer")
+				.tag("sink", name)
+				.register(meterRegistry));
+		}
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		for (ItemStreamWriterDelegate<T> sink : this.sinks.values()) {
+			sink.onOpenWrite(executionContext);
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		List<Runnable> tasks = new ArrayList<>(this.sinks.size());
+		int index = 0;
+		for (ItemStreamWriterDelegate<T> sink : this.sinks.values()) {
+			Timer timer = this.timers.get(index++);
+			tasks.add(() -> {
+				long start = System.nanoTime();
+				try {
+					sink.write(chunk);
+				} finally {
+					timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			});
+		}
+		ConcurrentWriteSupport.runAll(tasks, this.taskExecutor, this.failureMode == FailureMode.FAIL_FAST);
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		for (ItemStreamWriterDelegate<T> sink : this.sinks.values()) {
+			sink.onUpdateWrite(executionContext);
+		}
+	}
+
+	@Override
+	public void onCloseWrite() {
+		Throwable failure = null;
+		for (ItemStreamWriterDelegate<T> sink : this.sinks.values()) {
+			try {
+				sink.onCloseWrite();
+			} catch (RuntimeException e) {
+				failure = ConcurrentWriteSupport.merge(failure, e);
+			}
+		}
+		if (failure != null) {
+			throw ConcurrentWriteSupport.propagate(failure);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import com.navercorp.spring.batch.plus.step.adapter.FanOutItemStreamWriterDelegate.FailureMode;
+
+/**
+ * A builder for {@link FanOutItemStreamWriterDelegate}.
+ *
+ * @since 1.3.0
+ */
+public class FanOutItemStreamWriterDelegateBuilder<T> {
+
+	private final Map<String, ItemStreamWriterDelegate<T>> sinks = new LinkedHashMap<>();
+
+	private FailureMode failureMode = FailureMode.WAIT_ALL;
+
+	private TaskExecutor taskExecutor;
+
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+	/**
+	 * Add a sink to write a chunk.
+	 *
+	 * @param name a name of the sink used as a {@code sink} tag of the timer
+	 * @param sink a delegate to write a chunk
+	 * @return The current instance of the builder for method chaining.
+	 */
+	public FanOutItemStreamWriterDelegateBuilder<T> sink(@NonNull String name,
+		@NonNull ItemStreamWriterDelegate<T> sink) {
+		Objects.requireNonNull(name, "Name must not be null");
+		Objects.requireNonNull(sink, "Sink must not be null");
+		if (this.sinks.putIfAbsent(name, sink) != null) {
+			throw new IllegalArgumentException("Duplicated sink name: " + name);
+		}
+		return this;
+	}
+
+	/**
+	 * Set failure handling of a write. Defaults to {@link FailureMode#WAIT_ALL}.
+	 *
+	 * @param failureMode failure handling of a write
+	 * @return The current instance of the builder for method chaining.
+	 */
+	public FanOutItemStreamWriterDelegateBuilder<T> failureMode(@NonNull FailureMode failureMode) {
+		this.failureMode = failureMode;
+		return this;
+	}
+
+	/**
+	 * Set a task executor to write sinks. Defaults to a {@link SimpleAsyncTaskExecutor} creating a new thread
+	 * for each sink write. Enable virtual threads of it to use virtual threads on Java 21 or later.
+	 *
+	 * @param taskExecutor a task executor to write sinks
+	 * @return The current instance of the builder for method chaining.
+	 */
+	public FanOutItemStreamWriterDelegateBuilder<T> taskExecutor(@NonNull TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+		return this;
+	}
+
+	/**
+	 * Set a meter registry to record the write time of each sink. Defaults to {@link Metrics#globalRegistry}.
+	 *
+	 * @param meterRegistry a meter registry
+	 * @return The current instance of the builder for method chaining.
+	 */
+	public FanOutItemStreamWriterDelegateBuilder<T> meterRegistry(@NonNull MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		return this;
+	}
+
+	/**
+	 * Build a fan-out delegate.
+	 *
+	 * @return a fan-out delegate
+	 */
+	public FanOutItemStreamWriterDelegate<T> build() {
+		TaskExecutor executor = (this.taskExecutor != null)
+			? this.taskExecutor
+			: new SimpleAsyncTaskExecutor("fan-out-sink-");
+		return new FanOutItemStreamWriterDelegate<>(this.sinks, this.failureMode, executor, this.meterRegistry);
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link Partitioner} which splits a file into byte ranges aligned to the boundaries of records, so a large file
+ * can be read by partitions concurrently. Records are delimited by a newline, or have a fixed length. The start
+ * offset (inclusive) and the end offset (exclusive) of each range are put to the execution context of a partition
+ * with {@link #START_KEY} and {@link #END_KEY}, and the index of the range with {@link IndexedPartitioner#INDEX_KEY}
+ * and the number of ranges with {@link IndexedPartitioner#COUNT_KEY}.
+ * <p>
+ * Read each range with a reader built by {@link MappedRecordFileReaderDelegateBuilder#rangeFromExecutionContext()}.
+ * The ranges are split evenly by size, and empty ranges are dropped, so there can be fewer partitions than the grid
+ * size for a small file.
+ *
+ * @since 1.3.0
+ */
+public class FileRangePartitioner implements Partitioner {
+
+	/**
+	 * A key of the execution context for the start offset of a range, inclusive.
+	 */
+	public static final String START_KEY = "FileRangePartitioner.start";
+
+	/**
+	 * A key of the execution context for the end offset of a range, exclusive.
+	 */
+	public static final String END_KEY = "FileRangePartitioner.end";
+
+	/**
+	 * Create a partitioner for a file of newline-delimited records.
+	 *
+	 * @param path a path of the file
+	 * @return a partitioner
+	 */
+	public static FileRangePartitioner of(@NonNull Path path) {
+		return of(path, 0);
+	}
+
+	/**
+	 * Create a partitioner for a file of records.
+	 *
+	 * @param path a path of the file
+	 * @param recordLength the length of a record. 0 for newline-delimited records.
+	 * @return a partitioner
+	 */
+	public static FileRangePartitioner of(@NonNull Path path, int recordLength) {
+		return new FileRangePartitioner(path, recordLength);
+	}
+
+	protected final Path path;
+
+	protected final int recordLength;
+
+	protected FileRangePartitioner(Path path, int recordLength) {
+		this.path = Objects.requireNonNull(path, "Path must not be null");
+		if (recordLength < 0) {
+			throw new IllegalArgumentException("Record length must not be negative");
+		}
+		this.recordLength = recordLength;
+	}
+
+	@NonNull
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		if (gridSize <= 0) {
+			throw new IllegalArgumentException("Grid size must be positive");
+		}
+		try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+			long start = 0L;
+			for (int i = 1; i <= gridSize && start < size; ++i) {
+				long end = (i == gridSize) ? size : Math.max(alignedOffset(channel, size / gridSize * i, size), start);
+				if (end > start) {
+					int index = partitions.size();
+					partitions.put("partition" + index, rangeContext(index, start, end));
+					start = end;
+				}
+			}
+			if (partitions.isEmpty()) {
+				partitions.put("partition0", rangeContext(0, 0L, size));
+			}
+			for (ExecutionContext executionContext : partitions.values()) {
+				executionContext.putInt(IndexedPartitioner.COUNT_KEY, partitions.size());
+			}
+			return partitions;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to partition file: " + this.path, e);
+		}
+	}
+
+	/**
+	 * Find the start of the first record at or after the offset.
+	 */
+	protected long alignedOffset(FileChannel channel, long offset, long size) throws IOException {
+		if (this.recordLength > 0) {
+			long aligned = (offset + this.recordLength - 1) / this.recordLength * this.recordLength;
+			return Math.min(aligned, size);
+		}
+		if (offset == 0L) {
+			return 0L;
+		}
+		// a record starts after a newline. check from the previous byte of the offset.
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		long position = offset - 1;
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; ++i) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	private static ExecutionContext rangeContext(int index, long start, long end) {
+		ExecutionContext executionContext = new ExecutionContext();
+		executionContext.putInt(IndexedPartitioner.INDEX_KEY, index);
+		executionContext.putLong(START_KEY, start);
+		executionContext.putLong(END_KEY, end);
+		return executionContext;
+	}
+}
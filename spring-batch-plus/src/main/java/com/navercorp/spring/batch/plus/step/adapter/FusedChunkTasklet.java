@@ -0,0 +1,215 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link Tasklet} which runs a single class of reader, processor and writer delegates as a chunk-oriented step
+ * without splitting it into adapters. Each execution reads up to {@code chunkSize} items, processes them and writes
+ * the processed ones in the transaction of the tasklet step, then updates the execution context. It avoids the step
+ * scoped proxy of the reader, the wrapping of the processor and the copies of a chunk of
+ * {@link org.springframework.batch.core.step.item.ChunkOrientedTasklet}, by reusing a single {@link Chunk} to write.
+ * <p>
+ * The delegate is opened before the step and closed after the step, and its state is updated to the step execution
+ * context after each chunk, so a failed step restarts from the last committed chunk like a chunk-oriented step.
+ * Skip and retry are not supported. A failure of a chunk fails the step.
+ * <p>
+ * The {@link Chunk} passed to the writer is reused for the next chunk, so the writer should not keep it after the
+ * write. It is not thread-safe, so don't share it between concurrent steps.
+ *
+ * @since 1.3.0
+ */
+public class FusedChunkTasklet<I, O> implements Tasklet, StepExecutionListener {
+
+	/**
+	 * Create a fused tasklet of {@link ItemStreamIterableReaderProcessorWriter}.
+	 *
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> of(
+		@NonNull ItemStreamIterableReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		Objects.requireNonNull(readerProcessorWriter, "ReaderProcessorWriter must not be null");
+		return new FusedChunkTasklet<>(() -> ItemStreamIterableReaderAdapter.of(readerProcessorWriter),
+			readerProcessorWriter, readerProcessorWriter, chunkSize);
+	}
+
+	/**
+	 * Create a fused tasklet of {@link ItemStreamIteratorReaderProcessorWriter}.
+	 *
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> of(
+		@NonNull ItemStreamIteratorReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		Objects.requireNonNull(readerProcessorWriter, "ReaderProcessorWriter must not be null");
+		return new FusedChunkTasklet<>(() -> ItemStreamIteratorReaderAdapter.of(readerProcessorWriter),
+			readerProcessorWriter, readerProcessorWriter, chunkSize);
+	}
+
+	/**
+	 * Create a fused tasklet of {@link ItemStreamFluxReaderProcessorWriter}.
+	 *
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> of(
+		@NonNull ItemStreamFluxReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		Objects.requireNonNull(readerProcessorWriter, "ReaderProcessorWriter must not be null");
+		return new FusedChunkTasklet<>(() -> ItemStreamFluxReaderAdapter.of(readerProcessorWriter),
+			readerProcessorWriter, readerProcessorWriter, chunkSize);
+	}
+
+	/**
+	 * Create a fused tasklet of {@link ItemStreamSimpleReaderProcessorWriter}.
+	 *
+	 * @param readerProcessorWriter a delegate
+	 * @param chunkSize the number of items to read in a chunk
+	 * @return a fused tasklet
+	 * @param <I> a read item type
+	 * @param <O> a processed item type
+	 */
+	public static <I, O> FusedChunkTasklet<I, O> of(
+		@NonNull ItemStreamSimpleReaderProcessorWriter<I, O> readerProcessorWriter, int chunkSize) {
+		Objects.requireNonNull(readerProcessorWriter, "ReaderProcessorWriter must not be null");
+		return new FusedChunkTasklet<>(() -> ItemStreamSimpleReaderAdapter.of(readerProcessorWriter),
+			readerProcessorWriter, readerProcessorWriter, chunkSize);
+	}
+
+	protected final Supplier<? extends ItemStreamReader<I>> readerFactory;
+
+	protected final ItemProcessorDelegate<I, O> processor;
+
+	protected final ItemStreamWriterDelegate<O> writer;
+
+	protected final int chunkSize;
+
+	private final Chunk<O> chunk = new Chunk<>();
+
+	@Nullable
+	private ItemStreamReader<I> reader = null;
+
+	@Nullable
+	private ExecutionContext executionContext = null;
+
+	protected FusedChunkTasklet(Supplier<? extends ItemStreamReader<I>> readerFactory,
+		ItemProcessorDelegate<I, O> processor, ItemStreamWriterDelegate<O> writer, int chunkSize) {
+		this.readerFactory = Objects.requireNonNull(readerFactory, "Reader factory must not be null");
+		this.processor = Objects.requireNonNull(processor, "Processor must not be null");
+		this.writer = Objects.requireNonNull(writer, "Writer must not be null");
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public void beforeStep(@NonNull StepExecution stepExecution) {
+		// create a new reader for every step execution since the reader adapter is stateful
+		ItemStreamReader<I> reader = this.readerFactory.get();
+		ExecutionContext executionContext = stepExecution.getExecutionContext();
+		reader.open(executionContext);
+		this.reader = reader;
+		this.executionContext = executionContext;
+		this.writer.onOpenWrite(executionContext);
+	}
+
+	@Override
+	public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext)
+		throws Exception {
+		ItemStreamReader<I> reader = this.reader;
+		ExecutionContext executionContext = this.executionContext;
+		if (reader == null || executionContext == null) {
+			throw new IllegalStateException("Tasklet is not opened. Register it to a tasklet step.");
+		}
+
+		Chunk<O> chunk = this.chunk;
+		chunk.clear();
+		boolean exhausted = false;
+		int filterCount = 0;
+		for (int i = 0; i < this.chunkSize; ++i) {
+			I item = reader.read();
+			if (item == null) {
+				exhausted = true;
+				break;
+			}
+			contribution.incrementReadCount();
+			O processed = this.processor.process(item);
+			if (processed == null) {
+				++filterCount;
+			} else {
+				chunk.add(processed);
+			}
+		}
+
+		if (filterCount > 0) {
+			contribution.incrementFilterCount(filterCount);
+		}
+		if (!chunk.isEmpty()) {
+			this.writer.write(chunk);
+			contribution.incrementWriteCount(chunk.size());
+			chunk.clear();
+		}
+
+		// update in the same order of a chunk-oriented step
+		reader.update(executionContext);
+		this.writer.onUpdateWrite(executionContext);
+
+		return RepeatStatus.continueIf(!exhausted);
+	}
+
+	@Override
+	public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+		ItemStreamReader<I> reader = this.reader;
+		this.reader = null;
+		this.executionContext = null;
+		try {
+			if (reader != null) {
+				reader.close();
+			}
+		} finally {
+			this.writer.onCloseWrite();
+		}
+		return null;
+	}
+}
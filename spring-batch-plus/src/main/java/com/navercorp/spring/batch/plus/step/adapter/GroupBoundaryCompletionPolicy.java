@@ -0,0 +1,86 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link org.springframework.batch.repeat.CompletionPolicy} which completes a chunk on a group boundary of a
+ * {@link GroupingItemStreamReader}. A chunk is not completed before the soft limit. After the soft limit, it is
+ * completed at the end of the current group. It is always completed at the hard limit, even in the middle of a
+ * group, to bound the size of a chunk with a huge group.
+ *
+ * @since 1.3.0
+ */
+public class GroupBoundaryCompletionPolicy extends CompletionPolicySupport {
+
+	/**
+	 * Create a completion policy.
+	 *
+	 * @param reader the reader of the step
+	 * @param softLimit the number of items after which a chunk is completed on the next group boundary
+	 * @param hardLimit the maximum number of items of a chunk
+	 * @return a group boundary completion policy
+	 */
+	public static GroupBoundaryCompletionPolicy of(@NonNull GroupingItemStreamReader<?> reader, int softLimit,
+		int hardLimit) {
+		return new GroupBoundaryCompletionPolicy(reader, softLimit, hardLimit);
+	}
+
+	protected final GroupingItemStreamReader<?> reader;
+
+	protected final int softLimit;
+
+	protected final int hardLimit;
+
+	protected GroupBoundaryCompletionPolicy(GroupingItemStreamReader<?> reader, int softLimit, int hardLimit) {
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
+		if (softLimit <= 0) {
+			throw new IllegalArgumentException("Soft limit must be positive");
+		}
+		if (hardLimit < softLimit) {
+			throw new IllegalArgumentException("Hard limit must not be less than soft limit");
+		}
+		this.softLimit = softLimit;
+		this.hardLimit = hardLimit;
+	}
+
+	@Override
+	public boolean isComplete(@NonNull RepeatContext context, RepeatStatus result) {
+		if (result == null || !result.isContinuable()) {
+			return true;
+		}
+		int count = ((RepeatContextSupport)context).getStartedCount();
+		if (count >= this.hardLimit) {
+			return true;
+		}
+		return count >= this.softLimit && this.reader.isGroupBoundary();
+	}
+
+	@Override
+	public boolean isComplete(@NonNull RepeatContext context) {
+		return ((RepeatContextSupport)context).getStartedCount() >= this.hardLimit;
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link ItemStreamReader} which reads items sorted by a group key from a delegate, and tells whether the next
+ * item starts a new group by peeking it. Use it with {@link GroupBoundaryCompletionPolicy} to close a chunk only on
+ * a group boundary, so a group is never split across chunks.
+ * <p>
+ * The next item is peeked only when {@link #isGroupBoundary()} is called. If an item is peeked, the state of the
+ * delegate before peeking is saved in the execution context, so the peeked item is read again on restart, like
+ * {@link org.springframework.batch.item.support.SingleItemPeekableItemReader}. It is not thread-safe, so use it in
+ * a single threaded step, with a new instance for each step execution running concurrently.
+ *
+ * @since 1.3.0
+ */
+public class GroupingItemStreamReader<T> implements ItemStreamReader<T> {
+
+	/**
+	 * Create a reader.
+	 *
+	 * @param delegate a reader of items sorted by the group key, like a reader created by {@link AdapterFactory}
+	 * @param keyExtractor a function to extract a group key of an item
+	 * @return a grouping reader
+	 * @param <T> an item type to read
+	 */
+	public static <T> GroupingItemStreamReader<T> of(@NonNull ItemReader<? extends T> delegate,
+		@NonNull Function<? super T, ?> keyExtractor) {
+		return new GroupingItemStreamReader<>(delegate, keyExtractor);
+	}
+
+	protected final ItemReader<? extends T> delegate;
+
+	protected final Function<? super T, ?> keyExtractor;
+
+	@Nullable
+	private Object lastKey = null;
+
+	private boolean read = false;
+
+	@Nullable
+	private T peeked = null;
+
+	private boolean peekedPresent = false;
+
+	// the state of the delegate before peeking
+	private ExecutionContext bufferedContext = new ExecutionContext();
+
+	protected GroupingItemStreamReader(ItemReader<? extends T> delegate, Function<? super T, ?> keyExtractor) {
+		this.delegate = Objects.requireNonNull(delegate, "ItemReader delegate must not be null");
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		this.lastKey = null;
+		this.read = false;
+		this.peeked = null;
+		this.peekedPresent = false;
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).open(executionContext);
+		}
+	}
+
+	@Nullable
+	@Override
+	public T read() throws Exception {
+		T item;
+		if (this.peekedPresent) {
+			item = this.peeked;
+			this.peeked = null;
+			this.peekedPresent = false;
+		} else {
+			item = this.delegate.read();
+		}
+		if (item != null) {
+			this.lastKey = this.keyExtractor.apply(item);
+			this.read = true;
+		}
+		return item;
+	}
+
+	/**
+	 * Check whether the next item starts a new group, peeking it if not peeked yet. It is a boundary if nothing is
+	 * read yet or there is no next item.
+	 *
+	 * @return whether the next item starts a new group
+	 */
+	public boolean isGroupBoundary() {
+		if (!this.read) {
+			return true;
+		}
+		if (!this.peekedPresent) {
+			this.bufferedContext = new ExecutionContext();
+			if (this.delegate instanceof ItemStream) {
+				((ItemStream)this.delegate).update(this.bufferedContext);
+			}
+			try {
+				this.peeked = this.delegate.read();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException("Failed to peek the next item.", e);
+			}
+			this.peekedPresent = true;
+		}
+		return this.peeked == null || !Objects.equals(this.lastKey, this.keyExtractor.apply(this.peeked));
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		if (this.peekedPresent) {
+			for (Map.Entry<String, Object> entry : this.bufferedContext.entrySet()) {
+				executionContext.put(entry.getKey(), entry.getValue());
+			}
+		} else if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		this.peeked = null;
+		this.peekedPresent = false;
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).close();
+		}
+	}
+}
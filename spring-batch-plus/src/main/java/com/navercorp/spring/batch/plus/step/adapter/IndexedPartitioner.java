@@ -0,0 +1,76 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link Partitioner} which puts the index of each partition to its execution context with {@link #INDEX_KEY},
+ * in the iteration order of the partitions created by the delegate, and the number of partitions with
+ * {@link #COUNT_KEY}. The index decides the order of part files of {@link PartFileItemStreamWriterDelegate}, and the
+ * number decides the part files to merge by {@link PartFileMerger}. {@link FileRangePartitioner} puts them by itself.
+ *
+ * @since 1.3.0
+ */
+public class IndexedPartitioner implements Partitioner {
+
+	/**
+	 * A key of the execution context for the index of a partition.
+	 */
+	public static final String INDEX_KEY = "IndexedPartitioner.index";
+
+	/**
+	 * A key of the execution context for the number of partitions.
+	 */
+	public static final String COUNT_KEY = "IndexedPartitioner.count";
+
+	/**
+	 * Create a partitioner which indexes the partitions of the delegate.
+	 *
+	 * @param delegate a partitioner creating partitions in order
+	 * @return an indexed partitioner
+	 */
+	public static IndexedPartitioner of(@NonNull Partitioner delegate) {
+		return new IndexedPartitioner(delegate);
+	}
+
+	protected final Partitioner delegate;
+
+	protected IndexedPartitioner(Partitioner delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "Partitioner delegate must not be null");
+	}
+
+	@NonNull
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		Map<String, ExecutionContext> partitions = new LinkedHashMap<>(this.delegate.partition(gridSize));
+		int index = 0;
+		for (ExecutionContext executionContext : partitions.values()) {
+			executionContext.putInt(INDEX_KEY, index++);
+			executionContext.putInt(COUNT_KEY, partitions.size());
+		}
+		return partitions;
+	}
+}
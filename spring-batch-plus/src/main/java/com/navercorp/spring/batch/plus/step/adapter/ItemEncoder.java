@@ -0,0 +1,59 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * An encoder to write the bytes of an item into a buffer.
+ *
+ * @see PartFileItemStreamWriterDelegate
+ * @see DoubleBufferedFileItemStreamWriterDelegate
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface ItemEncoder<T> {
+
+	/**
+	 * Create an encoder writing a line of UTF-8 for each item.
+	 *
+	 * @param lineMapper a function to map an item to a line without a line separator
+	 * @return an encoder
+	 * @param <T> an item type to encode
+	 */
+	static <T> ItemEncoder<T> lines(@NonNull Function<? super T, ? extends CharSequence> lineMapper) {
+		Objects.requireNonNull(lineMapper, "Line mapper must not be null");
+		return (item, buffer) -> buffer.put(lineMapper.apply(item).toString().getBytes(StandardCharsets.UTF_8))
+			.put((byte)'\n');
+	}
+
+	/**
+	 * Write the bytes of an item from the position of the buffer. If the buffer doesn't have enough space, throw
+	 * {@link java.nio.BufferOverflowException}, then it is called again with a flushed or a larger buffer.
+	 *
+	 * @param item an item to encode
+	 * @param buffer a buffer to write into
+	 */
+	void encode(@NonNull T item, @NonNull ByteBuffer buffer);
+}
@@ -0,0 +1,35 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link Flux<T>} based adapter for stream reader and {@link Mono} based adapter for stream writer.
+ * It can represent {@link ItemStreamReader}, {@link ItemStreamWriter} in a single class.
+ *
+ * @since 1.3.0
+ */
+public interface ItemStreamFluxReaderReactiveWriter<T>
+	extends ItemStreamFluxReaderDelegate<T>, ItemStreamReactiveWriterDelegate<T> {
+}
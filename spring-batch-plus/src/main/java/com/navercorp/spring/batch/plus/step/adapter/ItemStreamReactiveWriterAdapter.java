@@ -0,0 +1,103 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * An adapter which adapt {@link ItemStreamReactiveWriterDelegate} to {@link ItemStreamWriter}.
+ * It waits once per chunk until the mono returned by the delegate is terminated.
+ *
+ * @since 1.3.0
+ */
+public class ItemStreamReactiveWriterAdapter<T> implements ItemStreamWriter<T> {
+
+	/**
+	 * Create an adapter which adapt {@link ItemStreamReactiveWriterDelegate} to {@link ItemStreamWriter}.
+	 *
+	 * @param delegate a delegate
+	 * @return an adapted ItemStreamWriter
+	 * @param <T> an item type to write
+	 */
+	public static <T> ItemStreamWriter<T> of(@NonNull ItemStreamReactiveWriterDelegate<T> delegate) {
+		return new ItemStreamReactiveWriterAdapter<>(delegate, null);
+	}
+
+	/**
+	 * Create an adapter which adapt {@link ItemStreamReactiveWriterDelegate} to {@link ItemStreamWriter}
+	 * with a timeout to wait for a write of a chunk.
+	 *
+	 * @param delegate a delegate
+	 * @param timeout a timeout to wait for a write of a chunk
+	 * @return an adapted ItemStreamWriter
+	 * @param <T> an item type to write
+	 */
+	public static <T> ItemStreamWriter<T> of(@NonNull ItemStreamReactiveWriterDelegate<T> delegate,
+		@NonNull Duration timeout) {
+		return new ItemStreamReactiveWriterAdapter<>(delegate,
+			Objects.requireNonNull(timeout, "Timeout must not be null"));
+	}
+
+	protected final ItemStreamReactiveWriterDelegate<T> delegate;
+
+	@Nullable
+	protected final Duration timeout;
+
+	protected ItemStreamReactiveWriterAdapter(ItemStreamReactiveWriterDelegate<T> delegate,
+		@Nullable Duration timeout) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate writer must not be null");
+		this.timeout = timeout;
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		this.delegate.onOpenWrite(executionContext);
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		Mono<Void> result = Objects.requireNonNull(this.delegate.write(Flux.fromIterable(chunk.getItems())),
+			"Delegate writer returns null");
+		if (this.timeout != null) {
+			result.block(this.timeout);
+		} else {
+			result.block();
+		}
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		this.delegate.onUpdateWrite(executionContext);
+	}
+
+	@Override
+	public void close() {
+		this.delegate.onCloseWrite();
+	}
+}
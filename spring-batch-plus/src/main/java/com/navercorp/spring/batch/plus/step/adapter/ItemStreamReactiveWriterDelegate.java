@@ -0,0 +1,68 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.lang.NonNull;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A delegate for {@link ItemStreamWriter} which writes items by reactor {@link Mono}. Items of a chunk can be
+ * written by pipelined requests with a concurrency of its own choice (e.g. {@link Flux#flatMap} with concurrency).
+ *
+ * @since 1.3.0
+ */
+public interface ItemStreamReactiveWriterDelegate<T> {
+
+	/**
+	 * A delegate method for {@link ItemStreamWriter#open(ExecutionContext)}.
+	 *
+	 * @param executionContext an execution context
+	 */
+	default void onOpenWrite(@NonNull ExecutionContext executionContext) {
+	}
+
+	/**
+	 * Write items of a chunk. Invoked in {@link ItemStreamWriter#write(Chunk)} which waits until the returned
+	 * mono is terminated.
+	 *
+	 * @param items items of a chunk to write
+	 * @return a mono completed when all items are written
+	 */
+	@NonNull
+	Mono<Void> write(@NonNull Flux<? extends T> items);
+
+	/**
+	 * A delegate method for {@link ItemStreamWriter#update(ExecutionContext)}.
+	 *
+	 * @param executionContext an execution context
+	 */
+	default void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+	}
+
+	/**
+	 * A delegate method for {@link ItemStreamWriter#close()}.
+	 */
+	default void onCloseWrite() {
+	}
+}
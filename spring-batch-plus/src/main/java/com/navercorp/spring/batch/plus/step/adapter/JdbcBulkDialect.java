@@ -0,0 +1,97 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A database dialect of {@link JdbcBulkItemStreamWriterDelegate}. It decides the upsert syntax and the maximum
+ * number of parameters of a statement.
+ *
+ * @since 1.3.0
+ */
+public enum JdbcBulkDialect {
+
+	/**
+	 * H2, upserting with {@code MERGE INTO ... KEY (...) VALUES ...}.
+	 */
+	H2(32767) {
+		@Override
+		String upsert(String table, List<String> columns, List<String> keyColumns, String values) {
+			return "MERGE INTO " + table + " (" + String.join(", ", columns) + ")"
+				+ " KEY (" + String.join(", ", keyColumns) + ") VALUES " + values;
+		}
+	},
+
+	/**
+	 * MySQL, upserting with {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+	 */
+	MYSQL(65535) {
+		@Override
+		String upsert(String table, List<String> columns, List<String> keyColumns, String values) {
+			List<String> updateColumns = updateColumns(columns, keyColumns);
+			String updates = updateColumns.isEmpty()
+				? keyColumns.get(0) + " = " + keyColumns.get(0)
+				: updateColumns.stream().map(it -> it + " = VALUES(" + it + ")").collect(Collectors.joining(", "));
+			return insert(table, columns, values) + " ON DUPLICATE KEY UPDATE " + updates;
+		}
+	},
+
+	/**
+	 * PostgreSQL, upserting with {@code INSERT ... ON CONFLICT (...) DO UPDATE}.
+	 */
+	POSTGRESQL(32767) {
+		@Override
+		String upsert(String table, List<String> columns, List<String> keyColumns, String values) {
+			List<String> updateColumns = updateColumns(columns, keyColumns);
+			String action = updateColumns.isEmpty()
+				? "DO NOTHING"
+				: updateColumns.stream().map(it -> it + " = EXCLUDED." + it)
+				.collect(Collectors.joining(", ", "DO UPDATE SET ", ""));
+			return insert(table, columns, values)
+				+ " ON CONFLICT (" + String.join(", ", keyColumns) + ") " + action;
+		}
+	};
+
+	private final int maxParameters;
+
+	JdbcBulkDialect(int maxParameters) {
+		this.maxParameters = maxParameters;
+	}
+
+	/**
+	 * @return the maximum number of parameters of a statement
+	 */
+	public int getMaxParameters() {
+		return this.maxParameters;
+	}
+
+	abstract String upsert(String table, List<String> columns, List<String> keyColumns, String values);
+
+	static String insert(String table, List<String> columns, String values) {
+		return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES " + values;
+	}
+
+	private static List<String> updateColumns(List<String> columns, List<String> keyColumns) {
+		return columns.stream()
+			.filter(it -> !keyColumns.contains(it))
+			.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which writes items with multi-row statements like
+ * {@code INSERT INTO table (a, b) VALUES (?, ?), (?, ?), ...}. Unlike
+ * {@link org.springframework.batch.item.database.JdbcBatchItemWriter} which binds a row per statement, it binds
+ * {@code rowsPerStatement} rows per statement and sends the statements of a chunk as a single JDBC batch.
+ * <p>
+ * Rows per statement are limited to keep the parameters of a statement under
+ * {@link JdbcBulkDialect#getMaxParameters()}. A chunk is written with at most two statements of the same SQL shape,
+ * one for the full groups of rows and one for the rest, and SQL of each shape is created once. So the statements are
+ * cached well by drivers with a statement cache.
+ * <p>
+ * The connection is obtained from the {@link JdbcTemplate}, so it takes part in the transaction of the chunk.
+ * When upserting, items of a chunk should have distinct keys since some databases reject a statement updating
+ * the same row twice.
+ *
+ * @see JdbcBulkItemStreamWriterDelegateBuilder
+ * @since 1.3.0
+ */
+public class JdbcBulkItemStreamWriterDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+	protected final JdbcTemplate jdbcTemplate;
+
+	protected final String table;
+
+	protected final List<String> columns;
+
+	protected final List<String> keyColumns;
+
+	@Nullable
+	protected final JdbcBulkDialect dialect;
+
+	protected final int rowsPerStatement;
+
+	protected final Function<? super T, Object[]> columnValues;
+
+	private final Map<Integer, String> sqlCache = new ConcurrentHashMap<>();
+
+	protected JdbcBulkItemStreamWriterDelegate(JdbcTemplate jdbcTemplate, String table, List<String> columns,
+		List<String> keyColumns, @Nullable JdbcBulkDialect dialect, int rowsPerStatement,
+		Function<? super T, Object[]> columnValues) {
+		this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "JdbcTemplate must not be null");
+		this.table = Objects.requireNonNull(table, "Table must not be null");
+		this.columns = List.copyOf(Objects.requireNonNull(columns, "Columns must not be null"));
+		this.keyColumns = List.copyOf(Objects.requireNonNull(keyColumns, "Key columns must not be null"));
+		this.dialect = dialect;
+		this.rowsPerStatement = rowsPerStatement;
+		this.columnValues = Objects.requireNonNull(columnValues, "Column values must not be null");
+		if (this.columns.isEmpty()) {
+			throw new IllegalArgumentException("Columns must not be empty");
+		}
+		if (!this.columns.containsAll(this.keyColumns)) {
+			throw new IllegalArgumentException("Key columns must be a part of columns");
+		}
+		if (!this.keyColumns.isEmpty() && dialect == null) {
+			throw new IllegalArgumentException("Dialect must be set to upsert");
+		}
+		if (rowsPerStatement <= 0) {
+			throw new IllegalArgumentException("Rows per statement must be positive");
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		List<? extends T> items = chunk.getItems();
+		if (items.isEmpty()) {
+			return;
+		}
+		this.jdbcTemplate.execute((ConnectionCallback<Void>)connection -> {
+			write(connection, items);
+			return null;
+		});
+	}
+
+	/**
+	 * @return the number of rows bound to a statement
+	 */
+	public int getRowsPerStatement() {
+		return this.rowsPerStatement;
+	}
+
+	protected String createSql(int rows) {
+		String row = IntStream.range(0, this.columns.size())
+			.mapToObj(it -> "?")
+			.collect(Collectors.joining(", ", "(", ")"));
+		String values = IntStream.range(0, rows)
+			.mapToObj(it -> row)
+			.collect(Collectors.joining(", "));
+		if (this.keyColumns.isEmpty()) {
+			return JdbcBulkDialect.insert(this.table, this.columns, values);
+		}
+		return Objects.requireNonNull(this.dialect).upsert(this.table, this.columns, this.keyColumns, values);
+	}
+
+	private void write(Connection connection, List<? extends T> items) throws SQLException {
+		int fullGroupCount = items.size() / this.rowsPerStatement;
+		if (fullGroupCount > 0) {
+			try (PreparedStatement statement = connection.prepareStatement(sqlOf(this.rowsPerStatement))) {
+				for (int group = 0; group < fullGroupCount; ++group) {
+					bind(statement, items, group * this.rowsPerStatement, this.rowsPerStatement);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		}
+
+		int restFrom = fullGroupCount * this.rowsPerStatement;
+		int restCount = items.size() - restFrom;
+		if (restCount > 0) {
+			try (PreparedStatement statement = connection.prepareStatement(sqlOf(restCount))) {
+				bind(statement, items, restFrom, restCount);
+				statement.executeUpdate();
+			}
+		}
+	}
+
+	private String sqlOf(int rows) {
+		return this.sqlCache.computeIfAbsent(rows, this::createSql);
+	}
+
+	private void bind(PreparedStatement statement, List<? extends T> items, int from, int count)
+		throws SQLException {
+		int columnCount = this.columns.size();
+		int parameterIndex = 1;
+		for (int i = from; i < from + count; ++i) {
+			Object[] values = this.columnValues.apply(items.get(i));
+			if (values == null || values.length != columnCount) {
+				throw new IllegalArgumentException("Column values of an item must have " + columnCount
+					+ " values but " + (values == null ? "null" : values.length) + ": " + items.get(i));
+			}
+			for (Object value : values) {
+				StatementCreatorUtils.setParameterValue(statement, parameterIndex++, SqlTypeValue.TYPE_UNKNOWN,
+					value);
+			}
+		}
+	}
+}
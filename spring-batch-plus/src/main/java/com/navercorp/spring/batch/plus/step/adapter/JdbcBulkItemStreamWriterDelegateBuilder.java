@@ -0,0 +1,140 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link JdbcBulkItemStreamWriterDelegate}.
+ *
+ * @since 1.3.0
+ */
+public class JdbcBulkItemStreamWriterDelegateBuilder<T> {
+
+	/**
+	 * The maximum number of parameters of a statement when no dialect is set.
+	 */
+	public static final int DEFAULT_MAX_PARAMETERS = Short.MAX_VALUE;
+
+	private final DataSource dataSource;
+
+	private final String table;
+
+	private List<String> columns = List.of();
+
+	private List<String> keyColumns = List.of();
+
+	private Function<? super T, Object[]> columnValues;
+
+	private JdbcBulkDialect dialect;
+
+	private int rowsPerStatement = 100;
+
+	/**
+	 * @param dataSource the data source to write items
+	 * @param table      the table to write items
+	 */
+	public JdbcBulkItemStreamWriterDelegateBuilder(@NonNull DataSource dataSource, @NonNull String table) {
+		this.dataSource = Objects.requireNonNull(dataSource, "DataSource must not be null");
+		this.table = Objects.requireNonNull(table, "Table must not be null");
+	}
+
+	/**
+	 * @param columns the columns to write in the order of column values
+	 * @return The current instance of the builder for method chaining
+	 */
+	public JdbcBulkItemStreamWriterDelegateBuilder<T> columns(@NonNull String... columns) {
+		this.columns = List.of(columns);
+		return this;
+	}
+
+	/**
+	 * @param columnValues a function to extract values of the columns from an item
+	 * @return The current instance of the builder for method chaining
+	 */
+	public JdbcBulkItemStreamWriterDelegateBuilder<T> columnValues(
+		@NonNull Function<? super T, Object[]> columnValues) {
+		this.columnValues = Objects.requireNonNull(columnValues, "Column values must not be null");
+		return this;
+	}
+
+	/**
+	 * @param dialect the dialect of the database. It limits the parameters of a statement.
+	 * @return The current instance of the builder for method chaining
+	 */
+	public JdbcBulkItemStreamWriterDelegateBuilder<T> dialect(@NonNull JdbcBulkDialect dialect) {
+		this.dialect = Objects.requireNonNull(dialect, "Dialect must not be null");
+		return this;
+	}
+
+	/**
+	 * Upsert items by the key columns instead of inserting them. It requires a {@link #dialect(JdbcBulkDialect)}.
+	 *
+	 * @param keyColumns the columns identifying a row
+	 * @return The current instance of the builder for method chaining
+	 */
+	public JdbcBulkItemStreamWriterDelegateBuilder<T> upsert(@NonNull String... keyColumns) {
+		if (keyColumns.length == 0) {
+			throw new IllegalArgumentException("Key columns must not be empty");
+		}
+		this.keyColumns = List.of(keyColumns);
+		return this;
+	}
+
+	/**
+	 * @param rowsPerStatement the number of rows bound to a statement. The default value is 100.
+	 *                         It is reduced to keep the parameters under the maximum of the dialect.
+	 * @return The current instance of the builder for method chaining
+	 */
+	public JdbcBulkItemStreamWriterDelegateBuilder<T> rowsPerStatement(int rowsPerStatement) {
+		if (rowsPerStatement <= 0) {
+			throw new IllegalArgumentException("Rows per statement must be positive");
+		}
+		this.rowsPerStatement = rowsPerStatement;
+		return this;
+	}
+
+	/**
+	 * Build a bulk writer delegate.
+	 *
+	 * @return a bulk writer delegate
+	 */
+	public JdbcBulkItemStreamWriterDelegate<T> build() {
+		if (this.columns.isEmpty()) {
+			throw new IllegalStateException("Columns must be set");
+		}
+		if (this.columnValues == null) {
+			throw new IllegalStateException("Column values must be set");
+		}
+		int maxParameters = (this.dialect != null) ? this.dialect.getMaxParameters() : DEFAULT_MAX_PARAMETERS;
+		int maxRows = maxParameters / this.columns.size();
+		if (maxRows == 0) {
+			throw new IllegalStateException("Too many columns for the maximum parameters " + maxParameters);
+		}
+		return new JdbcBulkItemStreamWriterDelegate<>(new JdbcTemplate(this.dataSource), this.table, this.columns,
+			this.keyColumns, this.dialect, Math.min(this.rowsPerStatement, maxRows), this.columnValues);
+	}
+}
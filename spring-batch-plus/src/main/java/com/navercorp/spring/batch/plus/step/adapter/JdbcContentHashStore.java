@@ -0,0 +1,103 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link ContentHashStore} on a table of {@code (ID BIGINT PRIMARY KEY, HASH BIGINT NOT NULL)}.
+ * <p>
+ * Hashes are upserted by {@link JdbcBulkItemStreamWriterDelegate} with the connection of the chunk transaction
+ * when the data source is the one of the step, so they are committed or rolled back together with the chunk.
+ *
+ * @since 1.3.0
+ */
+public class JdbcContentHashStore implements ContentHashStore {
+
+	private static final int IDS_PER_SELECT = 500;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final String table;
+
+	private final JdbcBulkItemStreamWriterDelegate<long[]> upsertDelegate;
+
+	/**
+	 * @param dataSource the data source of the table
+	 * @param table      the table of hashes
+	 * @param dialect    the dialect of the database to upsert hashes
+	 */
+	public JdbcContentHashStore(@NonNull DataSource dataSource, @NonNull String table,
+		@NonNull JdbcBulkDialect dialect) {
+		Objects.requireNonNull(dataSource, "DataSource must not be null");
+		this.table = Objects.requireNonNull(table, "Table must not be null");
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.upsertDelegate = new JdbcBulkItemStreamWriterDelegateBuilder<long[]>(dataSource, table)
+			.columns("ID", "HASH")
+			.columnValues(it -> new Object[] {it[0], it[1]})
+			.dialect(dialect)
+			.upsert("ID")
+			.build();
+	}
+
+	@Override
+	public void getAll(long[] ids, long[] hashes, int size) {
+		Map<Long, Long> stored = new HashMap<>();
+		for (int from = 0; from < size; from += IDS_PER_SELECT) {
+			int count = Math.min(IDS_PER_SELECT, size - from);
+			String sql = IntStream.range(0, count)
+				.mapToObj(it -> "?")
+				.collect(Collectors.joining(", ", "SELECT ID, HASH FROM " + this.table + " WHERE ID IN (", ")"));
+			Object[] args = new Object[count];
+			for (int i = 0; i < count; ++i) {
+				args[i] = ids[from + i];
+			}
+			this.jdbcTemplate.query(sql, resultSet -> {
+				stored.put(resultSet.getLong(1), resultSet.getLong(2));
+			}, args);
+		}
+		for (int i = 0; i < size; ++i) {
+			hashes[i] = stored.getOrDefault(ids[i], 0L);
+		}
+	}
+
+	@Override
+	public void putAll(long[] ids, long[] hashes, int size) {
+		// keep the last hash of an id since a statement can't update the same row twice in some databases
+		Map<Long, Long> latest = new HashMap<>();
+		for (int i = 0; i < size; ++i) {
+			latest.put(ids[i], hashes[i]);
+		}
+		List<long[]> rows = new ArrayList<>(latest.size());
+		latest.forEach((id, hash) -> rows.add(new long[] {id, hash}));
+		this.upsertDelegate.write(new Chunk<>(rows));
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which splits a chunk into lanes by a key of each item and writes the lanes
+ * concurrently. Items with the same key always go to the same lane in the order of the chunk, and each lane is
+ * written by its own delegate. A write returns after all lanes are written.
+ * <p>
+ * Lanes are written on threads of the {@link TaskExecutor}, so they don't take part in a transaction bound to the
+ * step thread. A delegate of a lane should manage its own connection. Stream callbacks are invoked for every lane
+ * on the step thread with the same execution context, so the lanes should use distinct keys in it.
+ * <p>
+ * By default, a new thread is created for each lane write. Pass a {@link SimpleAsyncTaskExecutor} with virtual
+ * threads enabled to use virtual threads on Java 21 or later.
+ *
+ * @since 1.3.0
+ */
+public class KeyAffinityItemStreamWriterDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+	/**
+	 * Create a delegate which writes lanes on new threads.
+	 *
+	 * @param keyExtractor a function to extract an affinity key of an item
+	 * @param lanes delegates to write each lane
+	 * @return a key affinity delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> KeyAffinityItemStreamWriterDelegate<T> of(@NonNull Function<? super T, ?> keyExtractor,
+		@NonNull List<? extends ItemStreamWriterDelegate<T>> lanes) {
+		return of(keyExtractor, lanes, new SimpleAsyncTaskExecutor("key-affinity-lane-"));
+	}
+
+	/**
+	 * Create a delegate which writes lanes on threads of the {@link TaskExecutor}.
+	 *
+	 * @param keyExtractor a function to extract an affinity key of an item
+	 * @param lanes delegates to write each lane
+	 * @param taskExecutor a task executor to write lanes
+	 * @return a key affinity delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> KeyAffinityItemStreamWriterDelegate<T> of(@NonNull Function<? super T, ?> keyExtractor,
+		@NonNull List<? extends ItemStreamWriterDelegate<T>> lanes, @NonNull TaskExecutor taskExecutor) {
+		return new KeyAffinityItemStreamWriterDelegate<>(keyExtractor, lanes, taskExecutor);
+	}
+
+	protected final Function<? super T, ?> keyExtractor;
+
+	protected final List<ItemStreamWriterDelegate<T>> lanes;
+
+	protected final TaskExecutor taskExecutor;
+
+	protected KeyAffinityItemStreamWriterDelegate(Function<? super T, ?> keyExtractor,
+		List<? extends ItemStreamWriterDelegate<T>> lanes, TaskExecutor taskExecutor) {
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		this.lanes = List.copyOf(Objects.requireNonNull(lanes, "Lanes must not be null"));
+		this.taskExecutor = Objects.requireNonNull(taskExecutor, "TaskExecutor must not be null");
+		if (this.lanes.isEmpty()) {
+			throw new IllegalArgumentException("Lanes must not be empty");
+		}
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		for (ItemStreamWriterDelegate<T> lane : this.lanes) {
+			lane.onOpenWrite(executionContext);
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		int laneCount = this.lanes.size();
+		List<List<T>> laneItems = new ArrayList<>(laneCount);
+		for (int i = 0; i < laneCount; ++i) {
+			laneItems.add(new ArrayList<>());
+		}
+		for (T item : chunk) {
+			laneItems.get(laneOf(item, laneCount)).add(item);
+		}
+
+		List<Runnable> tasks = new ArrayList<>(laneCount);
+		for (int i = 0; i < laneCount; ++i) {
+			List<T> items = laneItems.get(i);
+			if (!items.isEmpty()) {
+				ItemStreamWriterDelegate<T> lane = this.lanes.get(i);
+				tasks.add(() -> lane.write(new Chunk<>(items)));
+			}
+		}
+		ConcurrentWriteSupport.runAll(tasks, this.taskExecutor);
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		for (ItemStreamWriterDelegate<T> lane : this.lanes) {
+			lane.onUpdateWrite(executionContext);
+		}
+	}
+
+	@Override
+	public void onCloseWrite() {
+		Throwable failure = null;
+		for (ItemStreamWriterDelegate<T> lane : this.lanes) {
+			try {
+				lane.onCloseWrite();
+			} catch (RuntimeException e) {
+				failure = ConcurrentWriteSupport.merge(failure, e);
+			}
+		}
+		if (failure != null) {
+			throw ConcurrentWriteSupport.propagate(failure);
+		}
+	}
+
+	protected int laneOf(T item, int laneCount) {
+		int hash = Objects.hashCode(this.keyExtractor.apply(item));
+		// mix higher bits into lower bits as HashMap does
+		return Math.floorMod(hash ^ (hash >>> 16), laneCount);
+	}
+}
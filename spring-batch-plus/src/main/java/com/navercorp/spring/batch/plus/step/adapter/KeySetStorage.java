@@ -0,0 +1,104 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A storage of the buffers of a {@link LongKeySet}. Buffers are on the heap, off the heap, or memory-mapped from
+ * temporary files, which lets the page cache hold a set larger than the memory given to the JVM.
+ *
+ * @since 1.3.0
+ */
+public final class KeySetStorage {
+
+	private static final KeySetStorage HEAP = new KeySetStorage(null, false);
+
+	private static final KeySetStorage OFF_HEAP = new KeySetStorage(null, true);
+
+	/**
+	 * @return a storage allocating buffers on the heap
+	 */
+	public static KeySetStorage heap() {
+		return HEAP;
+	}
+
+	/**
+	 * @return a storage allocating direct buffers off the heap
+	 */
+	public static KeySetStorage offHeap() {
+		return OFF_HEAP;
+	}
+
+	/**
+	 * Create a storage mapping buffers from temporary files in a directory. The files are deleted once they are
+	 * mapped, so nothing is left after the JVM exits.
+	 *
+	 * @param directory a directory to create temporary files in
+	 * @return a storage mapping buffers from files
+	 */
+	public static KeySetStorage mapped(@NonNull Path directory) {
+		return new KeySetStorage(Objects.requireNonNull(directory, "Directory must not be null"), true);
+	}
+
+	private final Path directory;
+
+	private final boolean direct;
+
+	private KeySetStorage(Path directory, boolean direct) {
+		this.directory = directory;
+		this.direct = direct;
+	}
+
+	/**
+	 * Allocate a zero-filled buffer in little endian.
+	 */
+	ByteBuffer allocate(int capacity) {
+		if (this.directory == null) {
+			ByteBuffer buffer = this.direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+			return buffer.order(ByteOrder.LITTLE_ENDIAN);
+		}
+		try {
+			Path file = Files.createTempFile(this.directory, "keyset-", ".map");
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				return channel.map(FileChannel.MapMode.READ_WRITE, 0L, capacity).order(ByteOrder.LITTLE_ENDIAN);
+			} finally {
+				try {
+					Files.delete(file);
+				} catch (IOException e) {
+					// a mapped file may not be deleted on some platforms
+					file.toFile().deleteOnExit();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to map a key set file in " + this.directory, e);
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * An approximate {@link LongKeySet} of a Bloom filter. A key not added may be told to be contained, but an added key
+ * is always contained. The number of bits and hash functions are chosen from the expected number of keys and the
+ * rate of false positives, and more keys than expected raise the rate.
+ * <p>
+ * The bits are sharded by the hash of a key and each shard is locked separately, so threads rarely contend. All the
+ * bits of a key are in a shard, and a shard holds up to 2^33 bits, which is 1 GiB.
+ *
+ * @see LongKeySet#approximate(long, double, KeySetStorage)
+ * @since 1.3.0
+ */
+public class LongBloomFilter implements LongKeySet {
+
+	/**
+	 * The maximum number of expected keys.
+	 */
+	public static final long MAX_KEYS = 1L << 40;
+
+	private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+	private static final long MAX_SHARD_BITS = 1L << 33;
+
+	private static final long MIN_SHARD_BITS = 1L << 9;
+
+	private static final int CONCURRENT_SHARDS = 16;
+
+	private static final int MAX_HASHES = 16;
+
+	/**
+	 * Create an approximate set.
+	 *
+	 * @param expectedKeys the expected number of keys
+	 * @param falsePositiveRate the rate of false positives for the expected number of keys
+	 * @param storage a storage of the buffers
+	 * @return an approximate set
+	 */
+	public static LongBloomFilter of(long expectedKeys, double falsePositiveRate, @NonNull KeySetStorage storage) {
+		return new LongBloomFilter(expectedKeys, falsePositiveRate, storage);
+	}
+
+	private final Shard[] shards;
+
+	private final int shardShift;
+
+	private final int hashes;
+
+	protected LongBloomFilter(long expectedKeys, double falsePositiveRate, KeySetStorage storage) {
+		Objects.requireNonNull(storage, "Storage must not be null");
+		if (expectedKeys <= 0L || expectedKeys > MAX_KEYS) {
+			throw new IllegalArgumentException("Expected keys must be in (0, " + MAX_KEYS + "]");
+		}
+		if (!(falsePositiveRate > 0.0d && falsePositiveRate < 1.0d)) {
+			throw new IllegalArgumentException("False positive rate must be in (0, 1)");
+		}
+		double ln2 = Math.log(2.0d);
+		double optimalBits = -expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2);
+		long bits = Math.max(Long.highestOneBit((long)Math.ceil(optimalBits) - 1L) << 1, MIN_SHARD_BITS);
+		this.hashes = (int)Math.max(1L, Math.min(MAX_HASHES, Math.round(optimalBits / expectedKeys * ln2)));
+		long shardCount = Math.max(bits / MAX_SHARD_BITS,
+			(bits >= CONCURRENT_SHARDS * MIN_SHARD_BITS) ? CONCURRENT_SHARDS : 1);
+		long shardBits = bits / shardCount;
+		this.shards = new Shard[(int)shardCount];
+		for (int i = 0; i < this.shards.length; ++i) {
+			this.shards[i] = new Shard(storage.allocate((int)(shardBits / Byte.SIZE)), shardBits);
+		}
+		this.shardShift = Long.SIZE - Long.numberOfTrailingZeros(shardCount);
+	}
+
+	@Override
+	public boolean add(long key) {
+		long hash = mix(key);
+		return shardOf(hash).add(hash, key * GOLDEN_RATIO | 1L, this.hashes);
+	}
+
+	@Override
+	public boolean contains(long key) {
+		long hash = mix(key);
+		return shardOf(hash).contains(hash, key * GOLDEN_RATIO | 1L, this.hashes);
+	}
+
+	/**
+	 * @return the number of added keys told not to be contained before
+	 */
+	@Override
+	public long size() {
+		long size = 0L;
+		for (Shard shard : this.shards) {
+			size += shard.size();
+		}
+		return size;
+	}
+
+	private Shard shardOf(long hash) {
+		return (this.shardShift == Long.SIZE) ? this.shards[0] : this.shards[(int)(hash >>> this.shardShift)];
+	}
+
+	private static long mix(long key) {
+		long hash = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+		hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return hash ^ (hash >>> 33);
+	}
+
+	private static final class Shard {
+
+		private final ByteBuffer buffer;
+
+		private final long mask;
+
+		private long size = 0L;
+
+		Shard(ByteBuffer buffer, long bits) {
+			this.buffer = buffer;
+			this.mask = bits - 1L;
+		}
+
+		/**
+		 * Set the bits at {@code hash + i * step} (double hashing).
+		 */
+		synchronized boolean add(long hash, long step, int hashes) {
+			boolean added = false;
+			long position = hash;
+			for (int i = 0; i < hashes; ++i, position += step) {
+				int index = (int)((position & this.mask) >>> 3);
+				int bit = 1 << (position & 7);
+				byte bits = this.buffer.get(index);
+				if ((bits & bit) == 0) {
+					this.buffer.put(index, (byte)(bits | bit));
+					added = true;
+				}
+			}
+			if (added) {
+				++this.size;
+			}
+			return added;
+		}
+
+		synchronized boolean contains(long hash, long step, int hashes) {
+			long position = hash;
+			for (int i = 0; i < hashes; ++i, position += step) {
+				int index = (int)((position & this.mask) >>> 3);
+				if ((this.buffer.get(index) & (1 << (position & 7))) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		synchronized long size() {
+			return this.size;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A set of primitive {@code long} keys to deduplicate a large number of items. Implementations are thread-safe, so
+ * a set can be shared across the threads of a step.
+ *
+ * @see DeduplicatingItemProcessor
+ * @since 1.3.0
+ */
+public interface LongKeySet {
+
+	/**
+	 * Create an exact set, which takes about 11 bytes per key.
+	 *
+	 * @param expectedKeys the maximum number of keys
+	 * @param storage a storage of the buffers
+	 * @return an exact set
+	 */
+	static LongKeySet exact(long expectedKeys, @NonNull KeySetStorage storage) {
+		return LongOpenHashSet.of(expectedKeys, storage);
+	}
+
+	/**
+	 * Create an approximate set, which may tell a key not added is contained in the rate of false positives. It takes
+	 * about 1.2 bytes per key for 1% of false positives.
+	 *
+	 * @param expectedKeys the expected number of keys
+	 * @param falsePositiveRate the rate of false positives for the expected number of keys
+	 * @param storage a storage of the buffers
+	 * @return an approximate set
+	 */
+	static LongKeySet approximate(long expectedKeys, double falsePositiveRate, @NonNull KeySetStorage storage) {
+		return LongBloomFilter.of(expectedKeys, falsePositiveRate, storage);
+	}
+
+	/**
+	 * Add a key.
+	 *
+	 * @param key a key to add
+	 * @return {@code false} if the key is already contained
+	 */
+	boolean add(long key);
+
+	/**
+	 * @param key a key to find
+	 * @return whether the key is contained
+	 */
+	boolean contains(long key);
+
+	/**
+	 * @return the number of added keys
+	 */
+	long size();
+}
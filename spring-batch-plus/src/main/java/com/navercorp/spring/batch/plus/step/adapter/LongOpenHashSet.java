@@ -0,0 +1,177 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * An exact {@link LongKeySet} of open-addressing hash tables storing keys as raw {@code long}s in buffers, without
+ * boxing nor entry objects. The tables are sharded by the hash of a key and each shard is locked separately, so
+ * threads rarely contend. A shard holds up to 2^27 slots, which is 1 GiB.
+ * <p>
+ * The capacity is fixed on creation to hold the expected number of keys at the load factor of 2/3, and adding a key
+ * to a full shard throws {@link IllegalStateException}.
+ *
+ * @see LongKeySet#exact(long, KeySetStorage)
+ * @since 1.3.0
+ */
+public class LongOpenHashSet implements LongKeySet {
+
+	/**
+	 * The maximum number of keys a set can hold.
+	 */
+	public static final long MAX_KEYS = 1L << 40;
+
+	private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+	private static final int MAX_SHARD_SLOTS = 1 << 27;
+
+	private static final int MIN_SHARD_SLOTS = 16;
+
+	private static final int CONCURRENT_SHARDS = 16;
+
+	/**
+	 * Create an exact set.
+	 *
+	 * @param expectedKeys the maximum number of keys
+	 * @param storage a storage of the buffers
+	 * @return an exact set
+	 */
+	public static LongOpenHashSet of(long expectedKeys, @NonNull KeySetStorage storage) {
+		return new LongOpenHashSet(expectedKeys, storage);
+	}
+
+	private final Shard[] shards;
+
+	private final int shardShift;
+
+	private final AtomicBoolean containsZero = new AtomicBoolean();
+
+	protected LongOpenHashSet(long expectedKeys, KeySetStorage storage) {
+		Objects.requireNonNull(storage, "Storage must not be null");
+		if (expectedKeys <= 0L || expectedKeys > MAX_KEYS) {
+			throw new IllegalArgumentException("Expected keys must be in (0, " + MAX_KEYS + "]");
+		}
+		long slots = Math.max(Long.highestOneBit(expectedKeys + expectedKeys / 2) << 1, MIN_SHARD_SLOTS);
+		long shardCount = Math.max(slots / MAX_SHARD_SLOTS,
+			(slots >= (long)CONCURRENT_SHARDS * MIN_SHARD_SLOTS) ? CONCURRENT_SHARDS : 1);
+		int shardSlots = (int)(slots / shardCount);
+		this.shards = new Shard[(int)shardCount];
+		for (int i = 0; i < this.shards.length; ++i) {
+			this.shards[i] = new Shard(storage.allocate(shardSlots * Long.BYTES), shardSlots);
+		}
+		this.shardShift = Long.SIZE - Long.numberOfTrailingZeros(shardCount);
+	}
+
+	@Override
+	public boolean add(long key) {
+		if (key == 0L) {
+			return this.containsZero.compareAndSet(false, true);
+		}
+		long hash = key * GOLDEN_RATIO;
+		return shardOf(hash).add(key, hash);
+	}
+
+	@Override
+	public boolean contains(long key) {
+		if (key == 0L) {
+			return this.containsZero.get();
+		}
+		long hash = key * GOLDEN_RATIO;
+		return shardOf(hash).contains(key, hash);
+	}
+
+	@Override
+	public long size() {
+		long size = this.containsZero.get() ? 1L : 0L;
+		for (Shard shard : this.shards) {
+			size += shard.size();
+		}
+		return size;
+	}
+
+	private Shard shardOf(long hash) {
+		// the upper bits select a shard, and the mixed lower bits select a slot
+		return (this.shardShift == Long.SIZE) ? this.shards[0] : this.shards[(int)(hash >>> this.shardShift)];
+	}
+
+	private static final class Shard {
+
+		private final ByteBuffer buffer;
+
+		private final int mask;
+
+		private final int maxSize;
+
+		private int size = 0;
+
+		Shard(ByteBuffer buffer, int slots) {
+			this.buffer = buffer;
+			this.mask = slots - 1;
+			// leave some room for the skew among shards
+			this.maxSize = slots / 8 * 7;
+		}
+
+		synchronized boolean add(long key, long hash) {
+			int slot = slotOf(hash);
+			while (true) {
+				long stored = this.buffer.getLong(slot * Long.BYTES);
+				if (stored == key) {
+					return false;
+				}
+				if (stored == 0L) {
+					if (this.size >= this.maxSize) {
+						throw new IllegalStateException("Key set is full. Increase the expected keys.");
+					}
+					this.buffer.putLong(slot * Long.BYTES, key);
+					++this.size;
+					return true;
+				}
+				slot = (slot + 1) & this.mask;
+			}
+		}
+
+		synchronized boolean contains(long key, long hash) {
+			int slot = slotOf(hash);
+			while (true) {
+				long stored = this.buffer.getLong(slot * Long.BYTES);
+				if (stored == key) {
+					return true;
+				}
+				if (stored == 0L) {
+					return false;
+				}
+				slot = (slot + 1) & this.mask;
+			}
+		}
+
+		synchronized int size() {
+			return this.size;
+		}
+
+		private int slotOf(long hash) {
+			return (int)(hash ^ (hash >>> 32)) & this.mask;
+		}
+	}
+}
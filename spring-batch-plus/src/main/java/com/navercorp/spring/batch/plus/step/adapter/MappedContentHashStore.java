@@ -0,0 +1,212 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link ContentHashStore} on a memory-mapped local file. Hashes are kept in an open-addressing hash table of a
+ * fixed capacity, so lookups don't allocate nor do any I/O except page faults.
+ * <p>
+ * Puts inside a transaction are applied after the transaction is committed. Changes are forced to the file on
+ * close, so a crash may lose latest hashes, which only makes the lost items written again. It is not thread-safe.
+ * <p>
+ * The capacity is fixed when the file is created and can hold up to {@value #MAX_ENTRIES} entries.
+ *
+ * @since 1.3.0
+ */
+public class MappedContentHashStore implements ContentHashStore {
+
+	/**
+	 * The maximum number of entries a file can hold.
+	 */
+	public static final int MAX_ENTRIES = (1 << 26) / 4 * 3;
+
+	private static final long MAGIC = 0x4348415348535431L;
+
+	private static final int HEADER_SIZE = 24;
+
+	private static final int SLOT_SIZE = 16;
+
+	private static final int MAX_SLOTS = 1 << 26;
+
+	private final Path path;
+
+	private final int expectedEntries;
+
+	private FileChannel channel;
+
+	private MappedByteBuffer buffer;
+
+	private int mask;
+
+	private int size;
+
+	private int maxSize;
+
+	/**
+	 * @param path            the file to map. It is created if not exists.
+	 * @param expectedEntries the expected number of entries to create a new file.
+	 *                        Ignored if the file already exists.
+	 */
+	public MappedContentHashStore(@NonNull Path path, int expectedEntries) {
+		this.path = Objects.requireNonNull(path, "Path must not be null");
+		if (expectedEntries <= 0 || expectedEntries > MAX_ENTRIES) {
+			throw new IllegalArgumentException("Expected entries must be in (0, " + MAX_ENTRIES + "]");
+		}
+		this.expectedEntries = expectedEntries;
+	}
+
+	@Override
+	public void open() {
+		try {
+			this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+			boolean created = (this.channel.size() == 0L);
+			int slots = created
+				? slotsOf(this.expectedEntries)
+				: (int)((this.channel.size() - HEADER_SIZE) / SLOT_SIZE);
+			this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE + (long)slots * SLOT_SIZE);
+			this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+			if (created) {
+				this.buffer.putLong(0, MAGIC);
+				this.buffer.putLong(8, slots);
+				this.buffer.putLong(16, 0L);
+			} else if (this.buffer.getLong(0) != MAGIC || this.buffer.getLong(8) != slots) {
+				throw new IllegalStateException("Not a content hash store file: " + this.path);
+			}
+			this.mask = slots - 1;
+			this.size = (int)this.buffer.getLong(16);
+			this.maxSize = slots / 4 * 3;
+		} catch (IOException e) {
+			close();
+			throw new UncheckedIOException("Failed to open content hash store: " + this.path, e);
+		}
+	}
+
+	@Override
+	public void getAll(long[] ids, long[] hashes, int size) {
+		for (int i = 0; i < size; ++i) {
+			hashes[i] = get(ids[i]);
+		}
+	}
+
+	@Override
+	public void putAll(long[] ids, long[] hashes, int size) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply(ids, hashes, size);
+			return;
+		}
+		long[] pendingIds = Arrays.copyOf(ids, size);
+		long[] pendingHashes = Arrays.copyOf(hashes, size);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply(pendingIds, pendingHashes, size);
+			}
+		});
+	}
+
+	@Override
+	public void close() {
+		try {
+			if (this.buffer != null) {
+				this.buffer.force();
+			}
+			if (this.channel != null) {
+				this.channel.close();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to close content hash store: " + this.path, e);
+		} finally {
+			this.buffer = null;
+			this.channel = null;
+		}
+	}
+
+	/**
+	 * @return the number of stored entries
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	private long get(long id) {
+		int slot = slotOf(id);
+		while (true) {
+			int offset = HEADER_SIZE + slot * SLOT_SIZE;
+			long hash = this.buffer.getLong(offset + 8);
+			if (hash == 0L || this.buffer.getLong(offset) == id) {
+				return hash;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+	}
+
+	private void apply(long[] ids, long[] hashes, int count) {
+		for (int i = 0; i < count; ++i) {
+			put(ids[i], hashes[i]);
+		}
+		this.buffer.putLong(16, this.size);
+	}
+
+	private void put(long id, long hash) {
+		int slot = slotOf(id);
+		while (true) {
+			int offset = HEADER_SIZE + slot * SLOT_SIZE;
+			long stored = this.buffer.getLong(offset + 8);
+			if (stored == 0L) {
+				if (this.size >= this.maxSize) {
+					throw new IllegalStateException("Content hash store is full: " + this.path);
+				}
+				this.buffer.putLong(offset, id);
+				this.buffer.putLong(offset + 8, hash);
+				++this.size;
+				return;
+			}
+			if (this.buffer.getLong(offset) == id) {
+				this.buffer.putLong(offset + 8, hash);
+				return;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+	}
+
+	private int slotOf(long id) {
+		long mixed = id * 0x9E3779B97F4A7C15L;
+		return (int)(mixed ^ (mixed >>> 32)) & this.mask;
+	}
+
+	private static int slotsOf(int expectedEntries) {
+		int minSlots = (int)Math.min(MAX_SLOTS, (long)expectedEntries * 4 / 3 + 1);
+		return Math.max(16, Integer.highestOneBit(minSlots - 1) << 1);
+	}
+}
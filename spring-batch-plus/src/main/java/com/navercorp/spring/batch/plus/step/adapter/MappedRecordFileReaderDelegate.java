@@ -0,0 +1,277 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link ItemStreamSimpleReaderDelegate} which reads records of a local file by memory-mapping it in windows.
+ * Records are delimited by a newline, or have a fixed length, and are scanned directly from the mapped buffer
+ * without creating a {@code String} per line. Each record is passed to a {@link RecordDecoder} as a reused buffer.
+ * A trailing {@code '\r'} of a newline-delimited record is removed, and the last record may have no newline.
+ * <p>
+ * The byte offset of the next record is saved in the execution context, so a restart resumes at the exact record
+ * without scanning the records before it. It can read only a byte range of the file, like a range split by
+ * {@link FileRangePartitioner}, whose start must be the start of a record. It is not thread-safe, so create a new
+ * instance for each step execution running concurrently, like
+ * {@link MappedRecordFileReaderDelegateBuilder#buildItemStreamReader()} does.
+ *
+ * @see MappedRecordFileReaderDelegateBuilder
+ * @since 1.3.0
+ */
+public class MappedRecordFileReaderDelegate<T> implements ItemStreamSimpleReaderDelegate<T> {
+
+	/**
+	 * The default size of a mapped window, 64 MiB.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+	/**
+	 * A key of the execution context to save the byte offset of the next record, prefixed by the name.
+	 */
+	public static final String OFFSET_KEY = "offset";
+
+	protected final String name;
+
+	protected final Path path;
+
+	protected final RecordDecoder<T> decoder;
+
+	protected final int recordLength;
+
+	protected final int windowSize;
+
+	protected final int recordsToSkip;
+
+	protected final long rangeStart;
+
+	protected final long rangeEnd;
+
+	protected final boolean rangeFromExecutionContext;
+
+	@Nullable
+	private FileChannel channel = null;
+
+	@Nullable
+	private ByteBuffer window = null;
+
+	private long windowStart = 0L;
+
+	private long fileSize = 0L;
+
+	private long offset = 0L;
+
+	private long end = 0L;
+
+	/**
+	 * Use {@link MappedRecordFileReaderDelegateBuilder} to create an instance.
+	 *
+	 * @param name a name to prefix the keys of the execution context
+	 * @param path a path of the file
+	 * @param decoder a decoder of a record
+	 * @param recordLength the length of a record. 0 for newline-delimited records.
+	 * @param windowSize the size of a mapped window
+	 * @param recordsToSkip the number of records to skip at the beginning of the file, like a header
+	 * @param rangeStart the start offset of a range to read, inclusive
+	 * @param rangeEnd the end offset of a range to read, exclusive
+	 * @param rangeFromExecutionContext whether to get the range from the execution context instead
+	 */
+	protected MappedRecordFileReaderDelegate(String name, Path path, RecordDecoder<T> decoder, int recordLength,
+		int windowSize, int recordsToSkip, long rangeStart, long rangeEnd, boolean rangeFromExecutionContext) {
+		this.name = Objects.requireNonNull(name, "Name must not be null");
+		this.path = Objects.requireNonNull(path, "Path must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		if (recordLength < 0) {
+			throw new IllegalArgumentException("Record length must not be negative");
+		}
+		if (windowSize <= 0 || (recordLength > 0 && windowSize < recordLength)) {
+			throw new IllegalArgumentException("Window size must be positive and fit a record");
+		}
+		if (recordsToSkip < 0) {
+			throw new IllegalArgumentException("Records to skip must not be negative");
+		}
+		this.recordLength = recordLength;
+		this.windowSize = windowSize;
+		if (rangeStart < 0L || rangeEnd < rangeStart) {
+			throw new IllegalArgumentException("Range must not be negative or reversed");
+		}
+		this.recordsToSkip = recordsToSkip;
+		this.rangeStart = rangeStart;
+		this.rangeEnd = rangeEnd;
+		this.rangeFromExecutionContext = rangeFromExecutionContext;
+	}
+
+	@Override
+	public void onOpenRead(@NonNull ExecutionContext executionContext) {
+		try {
+			FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ);
+			this.channel = channel;
+			this.fileSize = channel.size();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open record file: " + this.path, e);
+		}
+		this.window = null;
+		this.windowStart = 0L;
+		long start = this.rangeStart;
+		long end = this.rangeEnd;
+		if (this.rangeFromExecutionContext) {
+			start = executionContext.getLong(FileRangePartitioner.START_KEY, start);
+			end = executionContext.getLong(FileRangePartitioner.END_KEY, end);
+		}
+		this.end = Math.min(end, this.fileSize);
+		this.offset = executionContext.getLong(offsetKey(), start);
+		if (this.offset < start || this.offset > this.end) {
+			throw new IllegalStateException("Offset " + this.offset + " is out of the range [" + start + ", "
+				+ this.end + ") of the file " + this.path + " (size: " + this.fileSize + ")");
+		}
+		if (this.offset == 0L) {
+			for (int i = 0; i < this.recordsToSkip && this.offset < this.end; ++i) {
+				nextRecord();
+			}
+		}
+	}
+
+	@Nullable
+	@Override
+	public T read() {
+		while (this.offset < this.end) {
+			T item = this.decoder.decode(nextRecord());
+			if (item != null) {
+				return item;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void onUpdateRead(@NonNull ExecutionContext executionContext) {
+		executionContext.putLong(offsetKey(), this.offset);
+	}
+
+	@Override
+	public void onCloseRead() {
+		FileChannel channel = this.channel;
+		this.channel = null;
+		this.window = null;
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to close record file: " + this.path, e);
+			}
+		}
+	}
+
+	/**
+	 * @return the byte offset of the next record
+	 */
+	public long getOffset() {
+		return this.offset;
+	}
+
+	protected String offsetKey() {
+		return this.name + "." + OFFSET_KEY;
+	}
+
+	private ByteBuffer nextRecord() {
+		return (this.recordLength > 0) ? nextFixedLengthRecord() : nextNewlineDelimitedRecord();
+	}
+
+	private ByteBuffer nextFixedLengthRecord() {
+		long end = this.offset + this.recordLength;
+		if (end > this.fileSize) {
+			throw new IllegalStateException("Incomplete record at offset " + this.offset + " of " + this.path);
+		}
+		ByteBuffer window = windowOf(this.offset, this.recordLength);
+		int start = (int)(this.offset - this.windowStart);
+		window.limit(start + this.recordLength).position(start);
+		this.offset = end;
+		return window;
+	}
+
+	private ByteBuffer nextNewlineDelimitedRecord() {
+		int required = 1;
+		while (true) {
+			ByteBuffer window = windowOf(this.offset, required);
+			int start = (int)(this.offset - this.windowStart);
+			int windowLimit = window.capacity();
+			for (int i = start; i < windowLimit; ++i) {
+				if (window.get(i) == '\n') {
+					this.offset = this.windowStart + i + 1;
+					return slice(window, start, i);
+				}
+			}
+			if (this.windowStart + windowLimit >= this.fileSize) {
+				// the last record without a newline
+				this.offset = this.fileSize;
+				return slice(window, start, windowLimit);
+			}
+			// the record is longer than the rest of the window. map a window from the record.
+			required = Math.max(windowLimit - start + 1, required);
+			if (required > Integer.MAX_VALUE / 2) {
+				throw new IllegalStateException("Too long record at offset " + this.offset + " of " + this.path);
+			}
+			required = (this.windowStart == this.offset) ? required * 2 : required;
+		}
+	}
+
+	private static ByteBuffer slice(ByteBuffer window, int start, int end) {
+		if (end > start && window.get(end - 1) == '\r') {
+			--end;
+		}
+		return window.limit(end).position(start);
+	}
+
+	/**
+	 * Get a window containing {@code required} bytes from {@code position}, or until the end of the file.
+	 */
+	private ByteBuffer windowOf(long position, int required) {
+		ByteBuffer window = this.window;
+		long available = Math.min(required, this.fileSize - position);
+		if (window != null && position >= this.windowStart
+			&& position + available <= this.windowStart + window.capacity()) {
+			return window.clear();
+		}
+
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			throw new IllegalStateException("Record file is not opened: " + this.path);
+		}
+		long size = Math.min(Math.max(this.windowSize, required), this.fileSize - position);
+		try {
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+			this.window = mapped;
+			this.windowStart = position;
+			return mapped;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to map record file: " + this.path, e);
+		}
+	}
+}
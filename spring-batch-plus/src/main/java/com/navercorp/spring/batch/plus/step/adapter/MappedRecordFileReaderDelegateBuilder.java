@@ -0,0 +1,184 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.batch.core.scope.StepScope;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link MappedRecordFileReaderDelegate}. Records are newline-delimited by default.
+ *
+ * @since 1.3.0
+ */
+public class MappedRecordFileReaderDelegateBuilder<T> {
+
+	private final Path path;
+
+	private final RecordDecoder<T> decoder;
+
+	private String name = MappedRecordFileReaderDelegate.class.getSimpleName();
+
+	private int recordLength = 0;
+
+	private int windowSize = MappedRecordFileReaderDelegate.DEFAULT_WINDOW_SIZE;
+
+	private int recordsToSkip = 0;
+
+	private long rangeStart = 0L;
+
+	private long rangeEnd = Long.MAX_VALUE;
+
+	private boolean rangeFromExecutionContext = false;
+
+	/**
+	 * @param path the path of a file to read
+	 * @param decoder the decoder of a record
+	 */
+	public MappedRecordFileReaderDelegateBuilder(@NonNull Path path, @NonNull RecordDecoder<T> decoder) {
+		this.path = Objects.requireNonNull(path, "Path must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+	}
+
+	/**
+	 * Set a name to prefix the keys of the execution context. Use distinct names for readers in the same step.
+	 *
+	 * @param name a name of the reader
+	 * @return The current instance of the builder for method chaining
+	 */
+	public MappedRecordFileReaderDelegateBuilder<T> name(@NonNull String name) {
+		this.name = Objects.requireNonNull(name, "Name must not be null");
+		return this;
+	}
+
+	/**
+	 * Read records delimited by a newline. It is the default.
+	 *
+	 * @return The current instance of the builder for method chaining
+	 */
+	public MappedRecordFileReaderDelegateBuilder<T> newlineDelimited() {
+		this.recordLength = 0;
+		return this;
+	}
+
+	/**
+	 * Read records of a fixed length without a delimiter.
+	 *
+	 * @param recordLength the length of a record in bytes
+	 * @return The current instance of the builder for method chaining
+	 */
+	public MappedRecordFileReaderDelegateBuilder<T> fixedLength(int recordLength) {
+		if (recordLength <= 0) {
+			throw new IllegalArgumentException("Record length must be positive");
+		}
+		this.recordLength = recordLength;
+		return this;
+	}
+
+	/**
+	 * Set the size of a mapped window. Defaults to {@value MappedRecordFileReaderDelegate#DEFAULT_WINDOW_SIZE}
+	 * bytes. A window is extended for a record longer than it.
+	 *
+	 * @param windowSize the size of a window in bytes
+	 * @return The current instance of the builder for method chaining
+	 */
+	public MappedRecordFileReaderDelegateBuilder<T> windowSize(int windowSize) {
+		this.windowSize = windowSize;
+		return this;
+	}
+
+	/**
+	 * Skip records at the beginning of the file, like a header. They are not skipped again on restart.
+	 *
+	 * @param recordsToSkip the number of records to skip
+	 * @return The current instance of the builder for method chaining
+	 */
+	public MappedRecordFileReaderDelegateBuilder<T> recordsToSkip(int recordsToSkip) {
+		this.recordsToSkip = recordsToSkip;
+		return this;
+	}
+
+	/**
+	 * Read only a byte range of the file. The start must be the start of a record.
+	 *
+	 * @param start the start offset, inclusive
+	 * @param end the end offset, exclusive
+	 * @return The current instance of the builder for method chaining
+	 */
+	public MappedRecordFileReaderDelegateBuilder<T> range(long start, long end) {
+		this.rangeStart = start;
+		this.rangeEnd = end;
+		return this;
+	}
+
+	/**
+	 * Read only the byte range put to the execution context by {@link FileRangePartitioner}. The whole file is read
+	 * if there is no range in it.
+	 *
+	 * @return The current instance of the builder for method chaining
+	 */
+	public MappedRecordFileReaderDelegateBuilder<T> rangeFromExecutionContext() {
+		this.rangeFromExecutionContext = true;
+		return this;
+	}
+
+	/**
+	 * Build a delegate.
+	 *
+	 * @return a mapped record file reader delegate
+	 */
+	public MappedRecordFileReaderDelegate<T> build() {
+		return delegateFactory().get();
+	}
+
+	/**
+	 * Build an {@link ItemStreamReader} with {@link StepScope} bound proxy implementation, which creates a new
+	 * delegate for every {@link StepScope}. Use it for concurrent step executions, like partitions.
+	 *
+	 * @return an ItemStreamReader
+	 */
+	public ItemStreamReader<T> buildItemStreamReader() {
+		Supplier<MappedRecordFileReaderDelegate<T>> delegateFactory = delegateFactory();
+		// validate on build
+		delegateFactory.get();
+		return StepScopeItemStreamReader.of(() -> ItemStreamSimpleReaderAdapter.of(delegateFactory.get()));
+	}
+
+	private Supplier<MappedRecordFileReaderDelegate<T>> delegateFactory() {
+		if (this.recordLength > this.windowSize) {
+			throw new IllegalStateException("Window size must not be less than the record length");
+		}
+		// capture the current settings, which don't change by the builder afterwards
+		String name = this.name;
+		Path path = this.path;
+		RecordDecoder<T> decoder = this.decoder;
+		int recordLength = this.recordLength;
+		int windowSize = this.windowSize;
+		int recordsToSkip = this.recordsToSkip;
+		long rangeStart = this.rangeStart;
+		long rangeEnd = this.rangeEnd;
+		boolean rangeFromExecutionContext = this.rangeFromExecutionContext;
+		return () -> new MappedRecordFileReaderDelegate<>(name, path, decoder, recordLength, windowSize,
+			recordsToSkip, rangeStart, rangeEnd, rangeFromExecutionContext);
+	}
+}
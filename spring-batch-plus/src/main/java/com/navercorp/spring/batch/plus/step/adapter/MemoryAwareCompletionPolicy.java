@@ -0,0 +1,90 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link org.springframework.batch.repeat.CompletionPolicy} which completes a chunk at the chunk size, or at the
+ * reduced chunk size while the heap is under pressure of a {@link MemoryPressureGuard}, so less items are held in
+ * memory until the pressure ends. A shrunk chunk is recorded to the metrics of the guard.
+ *
+ * @since 1.3.0
+ */
+public class MemoryAwareCompletionPolicy extends CompletionPolicySupport {
+
+	/**
+	 * Create a completion policy.
+	 *
+	 * @param guard a memory pressure guard
+	 * @param chunkSize the number of items of a chunk
+	 * @param reducedChunkSize the number of items of a chunk under the memory pressure
+	 * @return a memory aware completion policy
+	 */
+	public static MemoryAwareCompletionPolicy of(@NonNull MemoryPressureGuard guard, int chunkSize,
+		int reducedChunkSize) {
+		return new MemoryAwareCompletionPolicy(guard, chunkSize, reducedChunkSize);
+	}
+
+	protected final MemoryPressureGuard guard;
+
+	protected final int chunkSize;
+
+	protected final int reducedChunkSize;
+
+	protected MemoryAwareCompletionPolicy(MemoryPressureGuard guard, int chunkSize, int reducedChunkSize) {
+		this.guard = Objects.requireNonNull(guard, "Guard must not be null");
+		if (reducedChunkSize <= 0) {
+			throw new IllegalArgumentException("Reduced chunk size must be positive");
+		}
+		if (chunkSize < reducedChunkSize) {
+			throw new IllegalArgumentException("Chunk size must not be less than reduced chunk size");
+		}
+		this.chunkSize = chunkSize;
+		this.reducedChunkSize = reducedChunkSize;
+	}
+
+	@Override
+	public boolean isComplete(@NonNull RepeatContext context, RepeatStatus result) {
+		if (result == null || !result.isContinuable()) {
+			return true;
+		}
+		return isComplete(context);
+	}
+
+	@Override
+	public boolean isComplete(@NonNull RepeatContext context) {
+		int count = ((RepeatContextSupport)context).getStartedCount();
+		if (count >= this.chunkSize) {
+			return true;
+		}
+		if (count >= this.reducedChunkSize && this.guard.isUnderPressure()) {
+			this.guard.recordShrink();
+			return true;
+		}
+		return false;
+	}
+}
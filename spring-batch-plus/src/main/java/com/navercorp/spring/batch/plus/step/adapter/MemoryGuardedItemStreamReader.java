@@ -0,0 +1,116 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * An {@link ItemStreamReader} which pauses reading from a delegate while the heap is under pressure, to let a slow
+ * writer drain the items in memory before reading more. A pause is bounded by the maximum time, and recorded to the
+ * metrics of {@link MemoryPressureGuard}. It passes the stream callbacks to the delegate if it is an
+ * {@link ItemStream}.
+ *
+ * @since 1.3.0
+ */
+public class MemoryGuardedItemStreamReader<T> implements ItemStreamReader<T> {
+
+	/**
+	 * The default maximum time of a pause.
+	 */
+	public static final Duration DEFAULT_MAX_PAUSE = Duration.ofSeconds(30L);
+
+	/**
+	 * Create a reader pausing up to {@link #DEFAULT_MAX_PAUSE}.
+	 *
+	 * @param delegate a reader to read items
+	 * @param guard a memory pressure guard
+	 * @return a memory guarded reader
+	 * @param <T> an item type to read
+	 */
+	public static <T> MemoryGuardedItemStreamReader<T> of(@NonNull ItemReader<? extends T> delegate,
+		@NonNull MemoryPressureGuard guard) {
+		return new MemoryGuardedItemStreamReader<>(delegate, guard, DEFAULT_MAX_PAUSE);
+	}
+
+	/**
+	 * Create a reader.
+	 *
+	 * @param delegate a reader to read items
+	 * @param guard a memory pressure guard
+	 * @param maxPause the maximum time of a pause before each read
+	 * @return a memory guarded reader
+	 * @param <T> an item type to read
+	 */
+	public static <T> MemoryGuardedItemStreamReader<T> of(@NonNull ItemReader<? extends T> delegate,
+		@NonNull MemoryPressureGuard guard, @NonNull Duration maxPause) {
+		return new MemoryGuardedItemStreamReader<>(delegate, guard, maxPause);
+	}
+
+	protected final ItemReader<? extends T> delegate;
+
+	protected final MemoryPressureGuard guard;
+
+	protected final Duration maxPause;
+
+	protected MemoryGuardedItemStreamReader(ItemReader<? extends T> delegate, MemoryPressureGuard guard,
+		Duration maxPause) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate reader must not be null");
+		this.guard = Objects.requireNonNull(guard, "Guard must not be null");
+		this.maxPause = Objects.requireNonNull(maxPause, "Max pause must not be null");
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).open(executionContext);
+		}
+	}
+
+	@Nullable
+	@Override
+	public T read() throws Exception {
+		if (this.guard.isUnderPressure()) {
+			this.guard.recordPause(this.guard.awaitRelief(this.maxPause));
+		}
+		return this.delegate.read();
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).close();
+		}
+	}
+}
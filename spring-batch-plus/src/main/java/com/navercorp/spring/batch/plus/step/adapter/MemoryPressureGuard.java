@@ -0,0 +1,279 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A guard which tells whether the heap is under pressure, for readers and read-ahead buffers to stop taking more
+ * items in memory. The occupancy is the highest ratio of the usage after a collection to the maximum of the old
+ * generation pools, like {@code G1 Old Gen} or {@code Tenured Gen}, or of the whole heap for a non-generational
+ * collector. The eden and survivor pools are excluded, since they are nearly full by design. The pressure starts when
+ * the occupancy reaches the high watermark, and ends when it drops below the low watermark.
+ * <p>
+ * It sets the collection usage thresholds of the old generation pools to the high watermark, and evaluates the
+ * occupancy on the threshold notifications and the garbage collection notifications, so checking it costs a volatile
+ * read. Close it to remove the listeners and the thresholds.
+ * <p>
+ * Throttling is recorded to a timer named {@value #PAUSE_TIMER_NAME} for paused reads and a counter named
+ * {@value #SHRINK_COUNTER_NAME} for shrunk chunks, with a {@code step} tag.
+ *
+ * @see MemoryGuardedItemStreamReader
+ * @see MemoryAwareCompletionPolicy
+ * @since 1.3.0
+ */
+public class MemoryPressureGuard implements AutoCloseable {
+
+	/**
+	 * A name of the timer recording reads paused by the memory pressure.
+	 */
+	public static final String PAUSE_TIMER_NAME = "spring.batch.plus.memory.pause";
+
+	/**
+	 * A name of the counter of chunks shrunk by the memory pressure.
+	 */
+	public static final String SHRINK_COUNTER_NAME = "spring.batch.plus.memory.shrink";
+
+	/**
+	 * The default occupancy to start the pressure.
+	 */
+	public static final double DEFAULT_HIGH_WATERMARK = 0.85d;
+
+	/**
+	 * The default occupancy to end the pressure.
+	 */
+	public static final double DEFAULT_LOW_WATERMARK = 0.7d;
+
+	private static final long POLL_MILLIS = 100L;
+
+	/**
+	 * Create a guard with the default watermarks, recording metrics to {@link Metrics#globalRegistry}.
+	 *
+	 * @return a memory pressure guard
+	 */
+	public static MemoryPressureGuard of() {
+		return of(DEFAULT_HIGH_WATERMARK, DEFAULT_LOW_WATERMARK, Metrics.globalRegistry);
+	}
+
+	/**
+	 * Create a guard.
+	 *
+	 * @param highWatermark the occupancy in (0, 1) to start the pressure
+	 * @param lowWatermark the occupancy in (0, high watermark] to end the pressure
+	 * @param meterRegistry a registry to record metrics
+	 * @return a memory pressure guard
+	 */
+	public static MemoryPressureGuard of(double highWatermark, double lowWatermark,
+		@NonNull MeterRegistry meterRegistry) {
+		MemoryPressureGuard guard = new MemoryPressureGuard(highWatermark, lowWatermark, meterRegistry);
+		guard.start();
+		return guard;
+	}
+
+	protected final double highWatermark;
+
+	protected final double lowWatermark;
+
+	protected final MeterRegistry meterRegistry;
+
+	private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+
+	private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+	private final NotificationListener listener = (notification, handback) -> update();
+
+	private final Object monitor = new Object();
+
+	private volatile boolean underPressure = false;
+
+	protected MemoryPressureGuard(double highWatermark, double lowWatermark, MeterRegistry meterRegistry) {
+		if (!(highWatermark > 0.0d && highWatermark < 1.0d)) {
+			throw new IllegalArgumentException("High watermark must be in (0, 1)");
+		}
+		if (!(lowWatermark > 0.0d && lowWatermark <= highWatermark)) {
+			throw new IllegalArgumentException("Low watermark must be in (0, high watermark]");
+		}
+		this.highWatermark = highWatermark;
+		this.lowWatermark = lowWatermark;
+		this.meterRegistry = Objects.requireNonNull(meterRegistry, "MeterRegistry must not be null");
+	}
+
+	/**
+	 * @return whether the heap is under pressure
+	 */
+	public boolean isUnderPressure() {
+		return this.underPressure;
+	}
+
+	/**
+	 * Wait while the heap is under pressure, up to the maximum time. It doesn't wait forever, since the pressure may
+	 * not end without a garbage collection, which may not happen while everything is paused.
+	 *
+	 * @param maxWait the maximum time to wait
+	 * @return the time waited, in nanoseconds
+	 */
+	public long awaitRelief(@NonNull Duration maxWait) {
+		if (!this.underPressure) {
+			return 0L;
+		}
+		long start = System.nanoTime();
+		long deadline = start + maxWait.toNanos();
+		synchronized (this.monitor) {
+			long remaining;
+			while (this.underPressure && (remaining = deadline - System.nanoTime()) > 0L) {
+				try {
+					this.monitor.wait(Math.max(1L, Math.min(POLL_MILLIS, TimeUnit.NANOSECONDS.toMillis(remaining))));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+				update();
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	@Override
+	public void close() {
+		for (NotificationEmitter emitter : this.emitters) {
+			try {
+				emitter.removeNotificationListener(this.listener);
+			} catch (ListenerNotFoundException e) {
+				// already removed
+			}
+		}
+		this.emitters.clear();
+		for (MemoryPoolMXBean pool : this.pools) {
+			pool.setCollectionUsageThreshold(0L);
+		}
+		this.pools.clear();
+		synchronized (this.monitor) {
+			this.underPressure = false;
+			this.monitor.notifyAll();
+		}
+	}
+
+	/**
+	 * @return the highest ratio of the usage after a collection to the maximum of the old generation pools
+	 */
+	protected double occupancy() {
+		double occupancy = 0.0d;
+		for (MemoryPoolMXBean pool : this.pools) {
+			MemoryUsage usage = pool.getCollectionUsage();
+			if (usage != null && usage.getMax() > 0L) {
+				occupancy = Math.max(occupancy, (double)usage.getUsed() / usage.getMax());
+			}
+		}
+		return occupancy;
+	}
+
+	/**
+	 * Evaluate the occupancy to start or end the pressure.
+	 */
+	protected void update() {
+		double occupancy = occupancy();
+		synchronized (this.monitor) {
+			if (!this.underPressure && occupancy >= this.highWatermark) {
+				this.underPressure = true;
+			} else if (this.underPressure && occupancy < this.lowWatermark) {
+				this.underPressure = false;
+				this.monitor.notifyAll();
+			}
+		}
+	}
+
+	void recordPause(long nanos) {
+		Timer.builder(PAUSE_TIMER_NAME)
+			.description("Reads paused by the memory pressure")
+			.tag("step", currentStepName())
+			.register(this.meterRegistry)
+			.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	void recordShrink() {
+		Counter.builder(SHRINK_COUNTER_NAME)
+			.description("Chunks shrunk by the memory pressure")
+			.tag("step", currentStepName())
+			.register(this.meterRegistry)
+			.increment();
+	}
+
+	private void start() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			long max = pool.getUsage().getMax();
+			if (pool.getType() == MemoryType.HEAP && isOldGeneration(pool.getName())
+				&& pool.isCollectionUsageThresholdSupported() && max > 0L) {
+				pool.setCollectionUsageThreshold((long)(max * this.highWatermark));
+				this.pools.add(pool);
+			}
+		}
+		addListener(ManagementFactory.getMemoryMXBean());
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			addListener(collector);
+		}
+		update();
+	}
+
+	private void addListener(Object bean) {
+		if (bean instanceof NotificationEmitter) {
+			NotificationEmitter emitter = (NotificationEmitter)bean;
+			emitter.addNotificationListener(this.listener, null, null);
+			this.emitters.add(emitter);
+		}
+	}
+
+	/**
+	 * Tell whether a heap pool is not a young generation pool, like {@code PS Eden Space}, {@code G1 Survivor Space}
+	 * or {@code ZGC Young Generation}.
+	 */
+	static boolean isOldGeneration(String poolName) {
+		String name = poolName.toLowerCase(Locale.ROOT);
+		return !(name.contains("eden") || name.contains("survivor") || name.contains("young")
+			|| name.contains("nursery"));
+	}
+
+	private static String currentStepName() {
+		StepContext stepContext = StepSynchronizationManager.getContext();
+		return (stepContext != null) ? stepContext.getStepName() : "none";
+	}
+}
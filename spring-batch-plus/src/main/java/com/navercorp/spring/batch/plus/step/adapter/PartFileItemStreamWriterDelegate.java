@@ -0,0 +1,250 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which writes the items of a partition to its own part file, so partitions can
+ * write one output concurrently without synchronization. The part file is
+ * {@code <directory>/<baseName>.part-<index>}, where the index is the {@link IndexedPartitioner#INDEX_KEY} of the
+ * partition. Merge the part files into a file with {@link PartFileMerger} after the partitions. The path of the part
+ * file is put to the execution context with {@link #PATH_KEY}, for the merger to find the partitions writing it.
+ * <p>
+ * Items are encoded into a direct buffer and written to the file channel at the end of each chunk. If the chunk
+ * transaction is rolled back, the file is truncated to the start of the chunk. The file is forced to the storage
+ * once per checkpoint and its durable size is saved in the execution context, and the file is truncated to it on
+ * restart.
+ * <p>
+ * It is not thread-safe, so create a new instance for each partition, like a step scoped bean.
+ *
+ * @since 1.3.0
+ */
+public class PartFileItemStreamWriterDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+	/**
+	 * The default size of a buffer, 64 KiB.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 << 10;
+
+	/**
+	 * A key of the execution context to save the size of a part file.
+	 */
+	public static final String POSITION_KEY = "PartFileItemStreamWriterDelegate.position";
+
+	/**
+	 * A key of the execution context for the absolute path of a part file.
+	 */
+	public static final String PATH_KEY = "PartFileItemStreamWriterDelegate.path";
+
+	/**
+	 * Create a delegate with a buffer of {@value #DEFAULT_BUFFER_SIZE} bytes.
+	 *
+	 * @param directory a directory to write part files
+	 * @param baseName a base name of part files
+	 * @param encoder an encoder of an item
+	 * @return a part file writer delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> PartFileItemStreamWriterDelegate<T> of(@NonNull Path directory, @NonNull String baseName,
+		@NonNull ItemEncoder<? super T> encoder) {
+		return of(directory, baseName, encoder, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a delegate.
+	 *
+	 * @param directory a directory to write part files
+	 * @param baseName a base name of part files
+	 * @param encoder an encoder of an item
+	 * @param bufferSize the size of a buffer to encode items
+	 * @return a part file writer delegate
+	 * @param <T> an item type to write
+	 */
+	public static <T> PartFileItemStreamWriterDelegate<T> of(@NonNull Path directory, @NonNull String baseName,
+		@NonNull ItemEncoder<? super T> encoder, int bufferSize) {
+		return new PartFileItemStreamWriterDelegate<>(directory, baseName, encoder, bufferSize);
+	}
+
+	/**
+	 * Resolve the path of a part file.
+	 *
+	 * @param directory a directory of part files
+	 * @param baseName a base name of part files
+	 * @param index an index of a partition
+	 * @return the path of the part file
+	 */
+	public static Path partPath(@NonNull Path directory, @NonNull String baseName, int index) {
+		return directory.resolve(String.format("%s.part-%05d", baseName, index));
+	}
+
+	protected final Path directory;
+
+	protected final String baseName;
+
+	protected final ItemEncoder<? super T> encoder;
+
+	private final EncodedItemBuffer buffer;
+
+	@Nullable
+	private FileChannel channel = null;
+
+	@Nullable
+	private Path partPath = null;
+
+	private long position = 0L;
+
+	private boolean synchronizationRegistered = false;
+
+	protected PartFileItemStreamWriterDelegate(Path directory, String baseName, ItemEncoder<? super T> encoder,
+		int bufferSize) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.buffer = new EncodedItemBuffer(bufferSize);
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		if (!executionContext.containsKey(IndexedPartitioner.INDEX_KEY)) {
+			throw new IllegalStateException("No partition index in the execution context. "
+				+ "Use IndexedPartitioner or FileRangePartitioner.");
+		}
+		Path partPath = partPath(this.directory, this.baseName, executionContext.getInt(IndexedPartitioner.INDEX_KEY));
+		long position = executionContext.getLong(POSITION_KEY, 0L);
+		try {
+			Files.createDirectories(this.directory);
+			FileChannel channel = FileChannel.open(partPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			if (channel.size() < position) {
+				channel.close();
+				throw new IllegalStateException("Part file " + partPath + " is shorter than the saved position "
+					+ position);
+			}
+			// discard the bytes written after the last commit
+			channel.truncate(position);
+			channel.position(position);
+			this.channel = channel;
+			this.partPath = partPath;
+			this.position = position;
+			this.buffer.clear();
+			executionContext.putString(PATH_KEY, partPath.toAbsolutePath().normalize().toString());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open part file: " + partPath, e);
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		FileChannel channel = openedChannel();
+		registerRollbackIfNecessary(channel);
+		try {
+			for (T item : chunk) {
+				this.buffer.append(item, this.encoder, channel);
+			}
+			this.buffer.flush(channel);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write part file: " + this.partPath, e);
+		}
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		FileChannel channel = this.channel;
+		if (channel != null) {
+			try {
+				long position = channel.position();
+				channel.force(false);
+				this.position = position;
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to force part file: " + this.partPath, e);
+			}
+		}
+		executionContext.putLong(POSITION_KEY, this.position);
+	}
+
+	@Override
+	public void onCloseWrite() {
+		FileChannel channel = this.channel;
+		this.channel = null;
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to close part file: " + this.partPath, e);
+			}
+		}
+	}
+
+	private FileChannel openedChannel() {
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			throw new IllegalStateException("Part file is not opened.");
+		}
+		return channel;
+	}
+
+	private void registerRollbackIfNecessary(FileChannel channel) {
+		if (this.synchronizationRegistered || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		long chunkStart;
+		try {
+			chunkStart = channel.position();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to get the position of part file: " + this.partPath, e);
+		}
+		this.synchronizationRegistered = true;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				synchronizationRegistered = false;
+				if (status != STATUS_COMMITTED) {
+					rollback(chunkStart);
+				}
+			}
+		});
+	}
+
+	private void rollback(long chunkStart) {
+		FileChannel channel = this.channel;
+		this.buffer.clear();
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.truncate(chunkStart);
+			channel.position(chunkStart);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to roll back part file: " + this.partPath, e);
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+
+/**
+ * A merger which concatenates the part files written by {@link PartFileItemStreamWriterDelegate} into a file in the
+ * order of the partition index, with an optional header and footer. It merges the parts from 0 to the number of
+ * partitions, and fails if one of them is missing or there is a part of another partitioning, like one left by an
+ * earlier run with a larger grid size. The parts are copied with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, which lets the operating system
+ * copy them without passing through the heap.
+ * <p>
+ * It is written to a temporary file in the same directory first and moved to the target, so the target never has
+ * a partial content. Use it as a {@link Tasklet} of a step after the partition step, or register it as a
+ * {@link StepExecutionListener} of the partition step to merge when the step is completed. Then the number of
+ * partitions is the {@link IndexedPartitioner#COUNT_KEY} of the partitions writing the part files in the job
+ * execution, unless it is set by {@link PartFileMergerBuilder#partCount(int)}.
+ *
+ * @see PartFileMergerBuilder
+ * @since 1.3.0
+ */
+public class PartFileMerger implements Tasklet, StepExecutionListener {
+
+	protected final Path directory;
+
+	protected final String baseName;
+
+	protected final Path target;
+
+	protected final byte[] header;
+
+	protected final byte[] footer;
+
+	protected final boolean deleteParts;
+
+	protected final int partCount;
+
+	/**
+	 * Use {@link PartFileMergerBuilder} to create an instance.
+	 *
+	 * @param directory a directory of part files
+	 * @param baseName a base name of part files
+	 * @param target a path of the merged file
+	 * @param header bytes to write before the parts
+	 * @param footer bytes to write after the parts
+	 * @param deleteParts whether to delete the part files after merging
+	 * @param partCount the number of part files to merge. 0 to find it from the job execution.
+	 */
+	protected PartFileMerger(Path directory, String baseName, Path target, byte[] header, byte[] footer,
+		boolean deleteParts, int partCount) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+		this.target = Objects.requireNonNull(target, "Target must not be null");
+		this.header = Objects.requireNonNull(header, "Header must not be null");
+		this.footer = Objects.requireNonNull(footer, "Footer must not be null");
+		this.deleteParts = deleteParts;
+		if (partCount < 0) {
+			throw new IllegalArgumentException("Part count must not be negative");
+		}
+		this.partCount = partCount;
+	}
+
+	/**
+	 * Merge the part files into the target, with the number of part files set by
+	 * {@link PartFileMergerBuilder#partCount(int)}.
+	 *
+	 * @return the size of the merged file
+	 */
+	public long merge() {
+		if (this.partCount == 0) {
+			throw new IllegalStateException("Part count is not set. Set it with PartFileMergerBuilder#partCount(int)"
+				+ " or use merge(int).");
+		}
+		return merge(this.partCount);
+	}
+
+	/**
+	 * Merge the part files from 0 to the number of part files into the target.
+	 *
+	 * @param partCount the number of part files, which is the number of partitions
+	 * @return the size of the merged file
+	 */
+	public long merge(int partCount) {
+		List<Path> parts = findParts(partCount);
+		Path parent = this.target.toAbsolutePath().getParent();
+		try {
+			Files.createDirectories(parent);
+			Path temporary = Files.createTempFile(parent, this.target.getFileName().toString(), ".merging");
+			long size;
+			try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+				writeFully(out, this.header);
+				for (Path part : parts) {
+					transferFully(part, out);
+				}
+				writeFully(out, this.footer);
+				out.force(true);
+				size = out.size();
+			} catch (IOException | RuntimeException e) {
+				Files.deleteIfExists(temporary);
+				throw e;
+			}
+			Files.move(temporary, this.target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+			if (this.deleteParts) {
+				for (Path part : parts) {
+					Files.deleteIfExists(part);
+				}
+			}
+			return size;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to merge part files into " + this.target, e);
+		}
+	}
+
+	@Override
+	public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
+		merge(partCountOf(chunkContext.getStepContext().getStepExecution().getJobExecution()));
+		return RepeatStatus.FINISHED;
+	}
+
+	@Override
+	public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+		if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+			return null;
+		}
+		try {
+			merge(partCountOf(stepExecution.getJobExecution()));
+			return null;
+		} catch (RuntimeException e) {
+			stepExecution.setStatus(BatchStatus.FAILED);
+			stepExecution.addFailureException(e);
+			return ExitStatus.FAILED.addExitDescription(e);
+		}
+	}
+
+	/**
+	 * Find the number of part files from the partitions writing them in the job execution, unless it is set.
+	 */
+	protected int partCountOf(JobExecution jobExecution) {
+		if (this.partCount > 0) {
+			return this.partCount;
+		}
+		int partCount = 0;
+		for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+			ExecutionContext executionContext = stepExecution.getExecutionContext();
+			if (!executionContext.containsKey(PartFileItemStreamWriterDelegate.PATH_KEY)
+				|| !executionContext.containsKey(IndexedPartitioner.INDEX_KEY)
+				|| !executionContext.containsKey(IndexedPartitioner.COUNT_KEY)) {
+				continue;
+			}
+			Path partPath = PartFileItemStreamWriterDelegate.partPath(this.directory, this.baseName,
+				executionContext.getInt(IndexedPartitioner.INDEX_KEY));
+			if (!partPath.toAbsolutePath().normalize().toString()
+				.equals(executionContext.getString(PartFileItemStreamWriterDelegate.PATH_KEY))) {
+				continue;
+			}
+			int count = executionContext.getInt(IndexedPartitioner.COUNT_KEY);
+			if (partCount != 0 && partCount != count) {
+				throw new IllegalStateException("Partitions writing the part files of " + this.baseName + " in "
+					+ this.directory + " have different counts: " + partCount + ", " + count);
+			}
+			partCount = count;
+		}
+		if (partCount == 0) {
+			throw new IllegalStateException("No partition writing the part files of " + this.baseName + " in "
+				+ this.directory + " in the job execution " + jobExecution.getId()
+				+ ". Set the part count with PartFileMergerBuilder#partCount(int).");
+		}
+		return partCount;
+	}
+
+	/**
+	 * Find the part files from 0 to the number of part files, failing if one of them is missing or there is another.
+	 */
+	protected List<Path> findParts(int partCount) {
+		if (partCount <= 0) {
+			throw new IllegalArgumentException("Part count must be positive");
+		}
+		List<Path> parts = new ArrayList<>(partCount);
+		for (int index = 0; index < partCount; ++index) {
+			Path part = PartFileItemStreamWriterDelegate.partPath(this.directory, this.baseName, index);
+			if (!Files.isRegularFile(part)) {
+				throw new IllegalStateException("Missing part file " + part + " of " + partCount + " parts");
+			}
+			parts.add(part);
+		}
+		Pattern pattern = Pattern.compile(Pattern.quote(this.baseName) + "\\.part-(\\d+)");
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+			for (Path path : stream) {
+				Matcher matcher = pattern.matcher(path.getFileName().toString());
+				if (matcher.matches() && Long.parseLong(matcher.group(1)) >= partCount) {
+					throw new IllegalStateException("Unexpected part file " + path + " of another partitioning. "
+						+ "Expected " + partCount + " parts.");
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to list part files in " + this.directory, e);
+		}
+		return parts;
+	}
+
+	private static void transferFully(Path part, FileChannel out) throws IOException {
+		try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+			long size = in.size();
+			long position = 0L;
+			while (position < size) {
+				position += in.transferTo(position, size - position, out);
+			}
+		}
+	}
+
+	private static void writeFully(FileChannel out, byte[] bytes) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link PartFileMerger}. The part files are deleted after merging by default.
+ *
+ * @since 1.3.0
+ */
+public class PartFileMergerBuilder {
+
+	private final Path directory;
+
+	private final String baseName;
+
+	private final Path target;
+
+	private byte[] header = new byte[0];
+
+	private byte[] footer = new byte[0];
+
+	private boolean deleteParts = true;
+
+	private int partCount = 0;
+
+	/**
+	 * @param directory the directory of part files
+	 * @param baseName the base name of part files
+	 * @param target the path of the merged file
+	 */
+	public PartFileMergerBuilder(@NonNull Path directory, @NonNull String baseName, @NonNull Path target) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+		this.baseName = Objects.requireNonNull(baseName, "Base name must not be null");
+		this.target = Objects.requireNonNull(target, "Target must not be null");
+	}
+
+	/**
+	 * Set bytes to write before the parts.
+	 *
+	 * @param header bytes of a header
+	 * @return The current instance of the builder for method chaining
+	 */
+	public PartFileMergerBuilder header(@NonNull byte[] header) {
+		this.header = Objects.requireNonNull(header, "Header must not be null").clone();
+		return this;
+	}
+
+	/**
+	 * Set a UTF-8 text to write before the parts. Add a line separator to it if necessary.
+	 *
+	 * @param header a text of a header
+	 * @return The current instance of the builder for method chaining
+	 */
+	public PartFileMergerBuilder header(@NonNull String header) {
+		return header(Objects.requireNonNull(header, "Header must not be null").getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Set bytes to write after the parts.
+	 *
+	 * @param footer bytes of a footer
+	 * @return The current instance of the builder for method chaining
+	 */
+	public PartFileMergerBuilder footer(@NonNull byte[] footer) {
+		this.footer = Objects.requireNonNull(footer, "Footer must not be null").clone();
+		return this;
+	}
+
+	/**
+	 * Set a UTF-8 text to write after the parts.
+	 *
+	 * @param footer a text of a footer
+	 * @return The current instance of the builder for method chaining
+	 */
+	public PartFileMergerBuilder footer(@NonNull String footer) {
+		return footer(Objects.requireNonNull(footer, "Footer must not be null").getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Set whether to delete the part files after merging. Defaults to {@code true}.
+	 *
+	 * @param deleteParts whether to delete the part files
+	 * @return The current instance of the builder for method chaining
+	 */
+	public PartFileMergerBuilder deleteParts(boolean deleteParts) {
+		this.deleteParts = deleteParts;
+		return this;
+	}
+
+	/**
+	 * Set the number of part files to merge, which is the number of partitions. If not set, it is found from the
+	 * partitions writing the part files in the job execution when the merger runs as a tasklet or a listener.
+	 *
+	 * @param partCount the number of part files
+	 * @return The current instance of the builder for method chaining
+	 */
+	public PartFileMergerBuilder partCount(int partCount) {
+		if (partCount <= 0) {
+			throw new IllegalArgumentException("Part count must be positive");
+		}
+		this.partCount = partCount;
+		return this;
+	}
+
+	/**
+	 * Build a merger.
+	 *
+	 * @return a part file merger
+	 */
+	public PartFileMerger build() {
+		return new PartFileMerger(this.directory, this.baseName, this.target, this.header, this.footer,
+			this.deleteParts, this.partCount);
+	}
+}
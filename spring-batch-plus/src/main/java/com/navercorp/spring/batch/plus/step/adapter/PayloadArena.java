@@ -0,0 +1,214 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * An arena of off-heap payload buffers which live for a chunk. Large payloads of items, like documents or images,
+ * can be held in {@link ByteBuffer}s allocated from it instead of {@code byte[]}s, so the heap usage of a step
+ * doesn't grow with the payload size. A writer can pass the buffers to NIO channels without copying.
+ * <p>
+ * Buffers are sliced from direct slabs of {@code slabSize} bytes, which are reused after the chunk is committed.
+ * A payload larger than a slab gets its own direct buffer, which is left to the garbage collector after the chunk.
+ * Register it as a {@link ChunkListener} to reset it after each successful chunk, and as a
+ * {@link StepExecutionListener} to release the slabs after the step. It is not reset after a failed chunk, since
+ * the items of the chunk can be written again by a retry or a skip scan.
+ * <p>
+ * A buffer must not be used after the chunk it was allocated for. It is not thread-safe, so use it only with a
+ * single-threaded step.
+ *
+ * @since 1.3.0
+ */
+public class PayloadArena implements ChunkListener, StepExecutionListener {
+
+	/**
+	 * The default size of a slab, 1 MiB.
+	 */
+	public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+	/**
+	 * Create an arena with slabs of {@value #DEFAULT_SLAB_SIZE} bytes.
+	 *
+	 * @return an arena
+	 */
+	public static PayloadArena of() {
+		return of(DEFAULT_SLAB_SIZE);
+	}
+
+	/**
+	 * Create an arena with slabs of {@code slabSize} bytes.
+	 *
+	 * @param slabSize the size of a slab
+	 * @return an arena
+	 */
+	public static PayloadArena of(int slabSize) {
+		return new PayloadArena(slabSize);
+	}
+
+	protected final int slabSize;
+
+	private final List<ByteBuffer> slabs = new ArrayList<>();
+
+	private int currentSlab = -1;
+
+	private long allocatedBytes = 0L;
+
+	protected PayloadArena(int slabSize) {
+		if (slabSize <= 0) {
+			throw new IllegalArgumentException("Slab size must be positive");
+		}
+		this.slabSize = slabSize;
+	}
+
+	/**
+	 * Allocate a buffer of {@code size} bytes, whose position is 0 and limit is {@code size}.
+	 *
+	 * @param size the size of the buffer
+	 * @return a direct buffer valid until the arena is reset
+	 */
+	public ByteBuffer allocate(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Size must not be negative");
+		}
+		this.allocatedBytes += size;
+		if (size > this.slabSize) {
+			return ByteBuffer.allocateDirect(size);
+		}
+
+		ByteBuffer slab = (this.currentSlab >= 0) ? this.slabs.get(this.currentSlab) : null;
+		if (slab == null || slab.remaining() < size) {
+			slab = nextSlab();
+		}
+		int position = slab.position();
+		slab.position(position + size);
+		return slab.slice(position, size);
+	}
+
+	/**
+	 * Copy bytes into a buffer of the arena.
+	 *
+	 * @param bytes bytes to copy
+	 * @return a buffer holding the bytes, whose position is 0
+	 */
+	public ByteBuffer copyOf(@NonNull byte[] bytes) {
+		ByteBuffer buffer = allocate(bytes.length);
+		buffer.put(0, bytes);
+		return buffer;
+	}
+
+	/**
+	 * Read exactly {@code size} bytes from the channel into a buffer of the arena.
+	 *
+	 * @param channel a channel to read
+	 * @param size the number of bytes to read
+	 * @return a buffer holding the read bytes, whose position is 0
+	 * @throws IOException if it fails to read, or the channel ends before {@code size} bytes
+	 */
+	public ByteBuffer read(@NonNull ReadableByteChannel channel, int size) throws IOException {
+		ByteBuffer buffer = allocate(size);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("Channel ended after " + buffer.position() + " of " + size + " bytes");
+			}
+		}
+		return buffer.flip();
+	}
+
+	/**
+	 * Write all remaining bytes of the buffer to the channel without changing the position of the buffer.
+	 *
+	 * @param buffer a buffer to write
+	 * @param channel a channel to write to
+	 * @throws IOException if it fails to write
+	 */
+	public static void writeFully(@NonNull ByteBuffer buffer, @NonNull WritableByteChannel channel)
+		throws IOException {
+		ByteBuffer source = buffer.duplicate();
+		while (source.hasRemaining()) {
+			channel.write(source);
+		}
+	}
+
+	/**
+	 * @return the number of bytes allocated since the last reset
+	 */
+	public long getAllocatedBytes() {
+		return this.allocatedBytes;
+	}
+
+	/**
+	 * @return the total size of the slabs kept by the arena
+	 */
+	public long getReservedBytes() {
+		return (long)this.slabs.size() * this.slabSize;
+	}
+
+	/**
+	 * Make all the slabs available again. Buffers allocated before become invalid.
+	 */
+	public void reset() {
+		for (int i = 0; i <= this.currentSlab; ++i) {
+			this.slabs.get(i).clear();
+		}
+		this.currentSlab = -1;
+		this.allocatedBytes = 0L;
+	}
+
+	/**
+	 * Release all the slabs to the garbage collector. The arena can still be used after it.
+	 */
+	public void release() {
+		this.slabs.clear();
+		this.currentSlab = -1;
+		this.allocatedBytes = 0L;
+	}
+
+	@Override
+	public void afterChunk(@NonNull ChunkContext context) {
+		reset();
+	}
+
+	@Override
+	public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+		release();
+		return null;
+	}
+
+	private ByteBuffer nextSlab() {
+		++this.currentSlab;
+		if (this.currentSlab == this.slabs.size()) {
+			this.slabs.add(ByteBuffer.allocateDirect(this.slabSize));
+		}
+		return this.slabs.get(this.currentSlab);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A listener which acquires a permit of {@link TokenBucketRateLimiter} before reading each item, to limit the rate
+ * of a step without decorating its reader. Don't use it with {@link RateLimitingItemStreamReader} for the same
+ * limiter.
+ * <p>
+ * If a job parameter name is given, the rate is set from the parameter before the step, so the rate can be changed
+ * for each run without a change of the job. A number or a string of a number is allowed.
+ *
+ * @since 1.3.0
+ */
+public class RateLimitListener implements ItemReadListener<Object>, StepExecutionListener {
+
+	/**
+	 * Create a listener which limits the rate of items read.
+	 *
+	 * @param rateLimiter a rate limiter of items per second
+	 * @return a rate limit listener
+	 */
+	public static RateLimitListener of(@NonNull TokenBucketRateLimiter rateLimiter) {
+		return new RateLimitListener(rateLimiter, null);
+	}
+
+	/**
+	 * Create a listener which limits the rate of items read, and sets the rate from a job parameter if present.
+	 *
+	 * @param rateLimiter a rate limiter of items per second
+	 * @param jobParameterName a name of the job parameter of the rate
+	 * @return a rate limit listener
+	 */
+	public static RateLimitListener of(@NonNull TokenBucketRateLimiter rateLimiter,
+		@NonNull String jobParameterName) {
+		return new RateLimitListener(rateLimiter,
+			Objects.requireNonNull(jobParameterName, "Job parameter name must not be null"));
+	}
+
+	protected final TokenBucketRateLimiter rateLimiter;
+
+	@Nullable
+	protected final String jobParameterName;
+
+	protected RateLimitListener(TokenBucketRateLimiter rateLimiter, @Nullable String jobParameterName) {
+		this.rateLimiter = Objects.requireNonNull(rateLimiter, "Rate limiter must not be null");
+		this.jobParameterName = jobParameterName;
+	}
+
+	@Override
+	public void beforeStep(@NonNull StepExecution stepExecution) {
+		if (this.jobParameterName == null) {
+			return;
+		}
+		JobParameter<?> parameter = stepExecution.getJobParameters().getParameter(this.jobParameterName);
+		if (parameter == null) {
+			return;
+		}
+		Object value = parameter.getValue();
+		double permitsPerSecond = (value instanceof Number)
+			? ((Number)value).doubleValue()
+			: Double.parseDouble(value.toString());
+		this.rateLimiter.setPermitsPerSecond(permitsPerSecond);
+	}
+
+	@Override
+	public void beforeRead() {
+		this.rateLimiter.acquire(1L);
+	}
+}
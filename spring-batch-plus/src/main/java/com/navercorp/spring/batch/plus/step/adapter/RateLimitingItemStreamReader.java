@@ -0,0 +1,88 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * An {@link ItemStreamReader} which acquires a permit of {@link TokenBucketRateLimiter} before reading each item
+ * from a delegate. It passes the stream callbacks to the delegate if it is an {@link ItemStream}.
+ *
+ * @since 1.3.0
+ */
+public class RateLimitingItemStreamReader<T> implements ItemStreamReader<T> {
+
+	/**
+	 * Create a reader which limits the rate of items read from a delegate.
+	 *
+	 * @param delegate a reader to read items
+	 * @param rateLimiter a rate limiter of items per second
+	 * @return a rate limiting reader
+	 * @param <T> an item type to read
+	 */
+	public static <T> RateLimitingItemStreamReader<T> of(@NonNull ItemReader<? extends T> delegate,
+		@NonNull TokenBucketRateLimiter rateLimiter) {
+		return new RateLimitingItemStreamReader<>(delegate, rateLimiter);
+	}
+
+	protected final ItemReader<? extends T> delegate;
+
+	protected final TokenBucketRateLimiter rateLimiter;
+
+	protected RateLimitingItemStreamReader(ItemReader<? extends T> delegate, TokenBucketRateLimiter rateLimiter) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate reader must not be null");
+		this.rateLimiter = Objects.requireNonNull(rateLimiter, "Rate limiter must not be null");
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).open(executionContext);
+		}
+	}
+
+	@Nullable
+	@Override
+	public T read() throws Exception {
+		this.rateLimiter.acquire(1L);
+		return this.delegate.read();
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).close();
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * An {@link ItemStreamWriter} which acquires permits of {@link TokenBucketRateLimiter} before writing a chunk to a
+ * delegate, one for each item or the weight of each item, like bytes. It passes the stream callbacks to the delegate
+ * if it is an {@link ItemStream}.
+ *
+ * @since 1.3.0
+ */
+public class RateLimitingItemStreamWriter<T> implements ItemStreamWriter<T> {
+
+	/**
+	 * Create a writer which limits the rate of items written to a delegate.
+	 *
+	 * @param delegate a writer to write items
+	 * @param rateLimiter a rate limiter of items per second
+	 * @return a rate limiting writer
+	 * @param <T> an item type to write
+	 */
+	public static <T> RateLimitingItemStreamWriter<T> of(@NonNull ItemWriter<? super T> delegate,
+		@NonNull TokenBucketRateLimiter rateLimiter) {
+		return new RateLimitingItemStreamWriter<>(delegate, rateLimiter, null);
+	}
+
+	/**
+	 * Create a writer which limits the rate of the weights of items written to a delegate, like bytes per second.
+	 *
+	 * @param delegate a writer to write items
+	 * @param rateLimiter a rate limiter of the weights per second
+	 * @param weigher a function to get the weight of an item
+	 * @return a rate limiting writer
+	 * @param <T> an item type to write
+	 */
+	public static <T> RateLimitingItemStreamWriter<T> of(@NonNull ItemWriter<? super T> delegate,
+		@NonNull TokenBucketRateLimiter rateLimiter, @NonNull ToLongFunction<? super T> weigher) {
+		return new RateLimitingItemStreamWriter<>(delegate, rateLimiter,
+			Objects.requireNonNull(weigher, "Weigher must not be null"));
+	}
+
+	protected final ItemWriter<? super T> delegate;
+
+	protected final TokenBucketRateLimiter rateLimiter;
+
+	@Nullable
+	protected final ToLongFunction<? super T> weigher;
+
+	protected RateLimitingItemStreamWriter(ItemWriter<? super T> delegate, TokenBucketRateLimiter rateLimiter,
+		@Nullable ToLongFunction<? super T> weigher) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate writer must not be null");
+		this.rateLimiter = Objects.requireNonNull(rateLimiter, "Rate limiter must not be null");
+		this.weigher = weigher;
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).open(executionContext);
+		}
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) throws Exception {
+		this.rateLimiter.acquire(permitsOf(chunk));
+		this.delegate.write(chunk);
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (this.delegate instanceof ItemStream) {
+			((ItemStream)this.delegate).close();
+		}
+	}
+
+	private long permitsOf(Chunk<? extends T> chunk) {
+		ToLongFunction<? super T> weigher = this.weigher;
+		if (weigher == null) {
+			return chunk.size();
+		}
+		long permits = 0L;
+		for (T item : chunk) {
+			permits += weigher.applyAsLong(item);
+		}
+		return permits;
+	}
+}
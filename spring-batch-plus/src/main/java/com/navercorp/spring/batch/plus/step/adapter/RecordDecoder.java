@@ -0,0 +1,44 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A decoder to create an item from the bytes of a record.
+ *
+ * @see MappedRecordFileReaderDelegate
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface RecordDecoder<T> {
+
+	/**
+	 * Decode a record. The bytes of the record are between the position and the limit of the buffer, without the
+	 * delimiter. The buffer is reused for the next record, so don't keep it after decoding.
+	 *
+	 * @param record a buffer holding a record
+	 * @return a decoded item. null to skip the record.
+	 */
+	@Nullable
+	T decode(@NonNull ByteBuffer record);
+}
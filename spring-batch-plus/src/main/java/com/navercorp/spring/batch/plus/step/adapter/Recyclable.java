@@ -0,0 +1,34 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+/**
+ * An item which can be reused after it is written. Obtain instances from a {@link RecyclablePool} in a reader
+ * delegate and write them with {@link RecyclingItemStreamWriterDelegate}, so they are returned to the pool once
+ * the chunk is committed.
+ *
+ * @since 1.3.0
+ */
+public interface Recyclable {
+
+	/**
+	 * Clear the state of this instance to be reused. Invoked when it is returned to a {@link RecyclablePool}.
+	 */
+	void recycle();
+}
@@ -0,0 +1,134 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A per-thread pool of {@link Recyclable} instances. Each thread acquires and releases instances from its own pool
+ * without synchronization, so a reader and a writer of a step running on the same thread share the instances.
+ * <p>
+ * At most {@code maxSizePerThread} instances are kept for each thread and the rest are left to the garbage
+ * collector. It should be at least the chunk size to make the steady state of a step allocation-free.
+ *
+ * @since 1.3.0
+ */
+public class RecyclablePool<T extends Recyclable> {
+
+	/**
+	 * The default maximum number of instances kept for each thread.
+	 */
+	public static final int DEFAULT_MAX_SIZE_PER_THREAD = 4096;
+
+	/**
+	 * Create a pool keeping up to {@value #DEFAULT_MAX_SIZE_PER_THREAD} instances for each thread.
+	 *
+	 * @param factory a factory to create a new instance when the pool is empty
+	 * @return a pool
+	 * @param <T> a recyclable type
+	 */
+	public static <T extends Recyclable> RecyclablePool<T> of(@NonNull Supplier<? extends T> factory) {
+		return of(factory, DEFAULT_MAX_SIZE_PER_THREAD);
+	}
+
+	/**
+	 * Create a pool keeping up to {@code maxSizePerThread} instances for each thread.
+	 *
+	 * @param factory a factory to create a new instance when the pool is empty
+	 * @param maxSizePerThread the maximum number of instances kept for each thread
+	 * @return a pool
+	 * @param <T> a recyclable type
+	 */
+	public static <T extends Recyclable> RecyclablePool<T> of(@NonNull Supplier<? extends T> factory,
+		int maxSizePerThread) {
+		return new RecyclablePool<>(factory, maxSizePerThread);
+	}
+
+	protected final Supplier<? extends T> factory;
+
+	protected final int maxSizePerThread;
+
+	private final ThreadLocal<Stack> stacks;
+
+	protected RecyclablePool(Supplier<? extends T> factory, int maxSizePerThread) {
+		this.factory = Objects.requireNonNull(factory, "Factory must not be null");
+		if (maxSizePerThread <= 0) {
+			throw new IllegalArgumentException("Max size per thread must be positive");
+		}
+		this.maxSizePerThread = maxSizePerThread;
+		this.stacks = ThreadLocal.withInitial(() -> new Stack(maxSizePerThread));
+	}
+
+	/**
+	 * Acquire a pooled instance of the current thread, or create a new one if none is pooled.
+	 *
+	 * @return an instance
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+		Object pooled = this.stacks.get().pop();
+		return (pooled != null) ? (T)pooled : this.factory.get();
+	}
+
+	/**
+	 * Recycle an instance and return it to the pool of the current thread.
+	 *
+	 * @param item an instance to return
+	 */
+	public void release(@NonNull T item) {
+		item.recycle();
+		this.stacks.get().push(item);
+	}
+
+	/**
+	 * @return the number of pooled instances of the current thread
+	 */
+	public int size() {
+		return this.stacks.get().size;
+	}
+
+	private static class Stack {
+
+		private final Object[] elements;
+
+		private int size = 0;
+
+		Stack(int capacity) {
+			this.elements = new Object[capacity];
+		}
+
+		Object pop() {
+			if (this.size == 0) {
+				return null;
+			}
+			Object element = this.elements[--this.size];
+			this.elements[this.size] = null;
+			return element;
+		}
+
+		void push(Object element) {
+			if (this.size < this.elements.length) {
+				this.elements[this.size++] = element;
+			}
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link ItemStreamWriterDelegate} which returns written items to a {@link RecyclablePool} after the chunk
+ * transaction is committed. Items of a rolled back chunk are not returned since they can be written again by a
+ * retry or a skip scan, and they are just left to the garbage collector.
+ * <p>
+ * The delegate must not keep the items after the write, like a buffering writer does.
+ *
+ * @since 1.3.0
+ */
+public class RecyclingItemStreamWriterDelegate<T extends Recyclable> implements ItemStreamWriterDelegate<T> {
+
+	/**
+	 * Create a delegate returning written items to the pool.
+	 *
+	 * @param delegate a delegate to write items
+	 * @param pool a pool to return written items
+	 * @return a recycling delegate
+	 * @param <T> a recyclable item type
+	 */
+	public static <T extends Recyclable> RecyclingItemStreamWriterDelegate<T> of(
+		@NonNull ItemStreamWriterDelegate<T> delegate, @NonNull RecyclablePool<T> pool) {
+		return new RecyclingItemStreamWriterDelegate<>(delegate, pool);
+	}
+
+	protected final ItemStreamWriterDelegate<T> delegate;
+
+	protected final RecyclablePool<T> pool;
+
+	protected RecyclingItemStreamWriterDelegate(ItemStreamWriterDelegate<T> delegate, RecyclablePool<T> pool) {
+		this.delegate = Objects.requireNonNull(delegate, "ItemStreamWriter delegate must not be null");
+		this.pool = Objects.requireNonNull(pool, "Pool must not be null");
+	}
+
+	@Override
+	public void onOpenWrite(@NonNull ExecutionContext executionContext) {
+		this.delegate.onOpenWrite(executionContext);
+	}
+
+	@Override
+	public void write(@NonNull Chunk<? extends T> chunk) {
+		this.delegate.write(chunk);
+
+		// copy items since the chunk can be cleared before the commit
+		Object[] items = chunk.getItems().toArray();
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			release(items);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				release(items);
+			}
+		});
+	}
+
+	@Override
+	public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+		this.delegate.onUpdateWrite(executionContext);
+	}
+
+	@Override
+	public void onCloseWrite() {
+		this.delegate.onCloseWrite();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void release(Object[] items) {
+		for (Object item : items) {
+			this.pool.release((T)item);
+		}
+	}
+}
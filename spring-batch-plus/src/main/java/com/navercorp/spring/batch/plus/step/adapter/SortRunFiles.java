@@ -0,0 +1,87 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A support for the files of sorted runs shared by {@link ExternalSortItemStreamWriterDelegate} and
+ * {@link ExternalSortMergeReaderDelegate}. A run of generation {@code n} is {@code <baseName>.run-<n>.gz}, a GZIP
+ * compressed file of sorted records. The items of the next run, which are not sorted yet, are kept in
+ * {@code <baseName>.run-<n>.pending} without compression. Records are written by {@link SpillRecords}.
+ */
+final class SortRunFiles {
+
+	static final String RUN_SUFFIX = ".gz";
+
+	static final String PENDING_SUFFIX = ".pending";
+
+	static Path runPath(Path directory, String baseName, int generation) {
+		return directory.resolve(String.format("%s.run-%05d%s", baseName, generation, RUN_SUFFIX));
+	}
+
+	static Path pendingPath(Path directory, String baseName, int generation) {
+		return directory.resolve(String.format("%s.run-%05d%s", baseName, generation, PENDING_SUFFIX));
+	}
+
+	/**
+	 * List the files of the runs by the generation. Both of a run and a pending file can exist for a generation.
+	 */
+	static TreeMap<Integer, Path> list(Path directory, String baseName, String suffix) {
+		TreeMap<Integer, Path> files = new TreeMap<>();
+		if (!Files.isDirectory(directory)) {
+			return files;
+		}
+		Pattern pattern = Pattern.compile(Pattern.quote(baseName) + "\\.run-(\\d+)" + Pattern.quote(suffix));
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path path : stream) {
+				Matcher matcher = pattern.matcher(path.getFileName().toString());
+				if (matcher.matches()) {
+					files.put(Integer.parseInt(matcher.group(1)), path);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to list run files in " + directory, e);
+		}
+		return files;
+	}
+
+	static void deleteAll(Path directory, String baseName) {
+		try {
+			for (Path path : list(directory, baseName, RUN_SUFFIX).values()) {
+				Files.deleteIfExists(path);
+			}
+			for (Path path : list(directory, baseName, PENDING_SUFFIX).values()) {
+				Files.deleteIfExists(path);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to delete run files in " + directory, e);
+		}
+	}
+
+	private SortRunFiles() {
+	}
+}
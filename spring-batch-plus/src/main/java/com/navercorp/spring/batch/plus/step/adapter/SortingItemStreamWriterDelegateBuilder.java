@@ -0,0 +1,95 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link SortingItemStreamWriterDelegate}.
+ *
+ * @since 1.3.0
+ */
+public class SortingItemStreamWriterDelegateBuilder<T> {
+
+	private final ItemStreamWriterDelegate<T> delegate;
+
+	private Comparator<? super T> comparator;
+
+	private ToLongFunction<? super T> longKeyExtractor;
+
+	private Function<? super T, ?> groupKeyExtractor;
+
+	/**
+	 * @param delegate the delegate to write sorted items
+	 */
+	public SortingItemStreamWriterDelegateBuilder(@NonNull ItemStreamWriterDelegate<T> delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "ItemStreamWriter delegate must not be null");
+	}
+
+	/**
+	 * Sort items by the comparator. It can't be used with {@link #longKey(ToLongFunction)}.
+	 *
+	 * @param comparator a comparator to sort items
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SortingItemStreamWriterDelegateBuilder<T> comparator(@NonNull Comparator<? super T> comparator) {
+		this.comparator = Objects.requireNonNull(comparator, "Comparator must not be null");
+		return this;
+	}
+
+	/**
+	 * Sort items by a long key with a primitive sort. It can't be used with {@link #comparator(Comparator)}.
+	 *
+	 * @param keyExtractor a function to extract a sort key of an item
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SortingItemStreamWriterDelegateBuilder<T> longKey(@NonNull ToLongFunction<? super T> keyExtractor) {
+		this.longKeyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		return this;
+	}
+
+	/**
+	 * Group items by a group key, like a target partition or table, and write each group as a separate chunk.
+	 *
+	 * @param groupKeyExtractor a function to extract a group key of an item
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SortingItemStreamWriterDelegateBuilder<T> groupBy(@NonNull Function<? super T, ?> groupKeyExtractor) {
+		this.groupKeyExtractor = Objects.requireNonNull(groupKeyExtractor, "Group key extractor must not be null");
+		return this;
+	}
+
+	/**
+	 * Build a sorting delegate.
+	 *
+	 * @return a sorting delegate
+	 */
+	public SortingItemStreamWriterDelegate<T> build() {
+		if ((this.comparator == null) == (this.longKeyExtractor == null)) {
+			throw new IllegalStateException("Exactly one of comparator or long key must be set");
+		}
+		return new SortingItemStreamWriterDelegate<>(this.delegate, this.comparator, this.longKeyExtractor,
+			this.groupKeyExtractor);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A support to write items to spill files and read them back. Each record is an {@code int} length followed by the
+ * bytes of an item encoded by {@link ItemEncoder}, and decoded by {@link RecordDecoder}.
+ */
+final class SpillRecords {
+
+	/**
+	 * A writer of records reusing a heap buffer to encode items.
+	 */
+	static final class RecordWriter<T> {
+
+		private final ItemEncoder<? super T> encoder;
+
+		private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+		RecordWriter(ItemEncoder<? super T> encoder) {
+			this.encoder = encoder;
+		}
+
+		void write(T item, DataOutputStream output) throws IOException {
+			while (true) {
+				this.buffer.clear();
+				try {
+					this.encoder.encode(item, this.buffer);
+					break;
+				} catch (BufferOverflowException e) {
+					this.buffer = ByteBuffer.allocate(this.buffer.capacity() * 2);
+				}
+			}
+			output.writeInt(this.buffer.position());
+			output.write(this.buffer.array(), 0, this.buffer.position());
+		}
+	}
+
+	/**
+	 * A reader of records reusing a heap buffer to decode items. Records decoded as null are skipped.
+	 */
+	static final class RecordReader<T> {
+
+		private final RecordDecoder<T> decoder;
+
+		private byte[] bytes = new byte[256];
+
+		RecordReader(RecordDecoder<T> decoder) {
+			this.decoder = decoder;
+		}
+
+		/**
+		 * Read the next item.
+		 *
+		 * @return the next item, or null at the end of the input
+		 */
+		T read(DataInputStream input) throws IOException {
+			while (true) {
+				int length;
+				try {
+					length = input.readInt();
+				} catch (EOFException e) {
+					return null;
+				}
+				if (length > this.bytes.length) {
+					this.bytes = new byte[Math.max(length, this.bytes.length * 2)];
+				}
+				input.readFully(this.bytes, 0, length);
+				T item = this.decoder.decode(ByteBuffer.wrap(this.bytes, 0, length));
+				if (item != null) {
+					return item;
+				}
+			}
+		}
+	}
+
+	private SpillRecords() {
+	}
+}
@@ -0,0 +1,308 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * An {@link ItemProcessor} which spools the outputs of a delegate to a local file until the chunk is committed, not
+ * to process the items again when the chunk is rolled back, like on a write failure. An item processed again, in a
+ * retry or in a restart, gets the spooled output instead of calling the delegate.
+ * <p>
+ * An output is spooled by the key of its input, which must identify an item among the items of uncommitted chunks,
+ * like the read position or the id. A filtered item is spooled too. The spool is emptied when a chunk is committed,
+ * since the execution context is updated in the same transaction, and forced to the file when a chunk is rolled
+ * back or the processor is closed. It is loaded on open, so a restart replays the outputs of the failed chunk.
+ * <p>
+ * A random generation is written at the head of the spool file and saved in the execution context, so only a restart
+ * of the step execution which wrote the spool loads it. Otherwise, like for a new job instance reusing the file after
+ * an abandoned run, the spool is truncated on open.
+ * <p>
+ * It is not thread-safe, and registered as a stream of a step automatically when it is set as a processor.
+ *
+ * @see SpoolingItemProcessorBuilder
+ * @since 1.3.0
+ */
+public class SpoolingItemProcessor<I, O> implements ItemProcessor<I, O>, ItemStream {
+
+	/**
+	 * A key of the execution context to save the generation of the spool file.
+	 */
+	public static final String GENERATION_KEY = "SpoolingItemProcessor.generation";
+
+	private static final int HEADER_LENGTH = Long.BYTES;
+
+	private static final Object FILTERED = new Object();
+
+	private static final int FILTERED_LENGTH = -1;
+
+	protected final Path spoolFile;
+
+	protected final ItemProcessor<I, O> delegate;
+
+	protected final ToLongFunction<? super I> keyExtractor;
+
+	protected final ItemEncoder<? super O> encoder;
+
+	protected final RecordDecoder<O> decoder;
+
+	/**
+	 * Outputs of uncommitted chunks by the key of the input. {@link #FILTERED} for a filtered item.
+	 */
+	private final Map<Long, Object> spooled = new HashMap<>();
+
+	private final SpillRecords.RecordWriter<O> recordWriter;
+
+	@Nullable
+	private FileChannel channel = null;
+
+	@Nullable
+	private DataOutputStream output = null;
+
+	private long generation = 0L;
+
+	private boolean synchronizationRegistered = false;
+
+	/**
+	 * Use {@link SpoolingItemProcessorBuilder} to create an instance.
+	 *
+	 * @param spoolFile a file to spool outputs
+	 * @param delegate a processor to process an item not spooled
+	 * @param keyExtractor a function to extract a key identifying an item
+	 * @param encoder an encoder of an output
+	 * @param decoder a decoder of an output
+	 */
+	protected SpoolingItemProcessor(Path spoolFile, ItemProcessor<I, O> delegate,
+		ToLongFunction<? super I> keyExtractor, ItemEncoder<? super O> encoder, RecordDecoder<O> decoder) {
+		this.spoolFile = Objects.requireNonNull(spoolFile, "Spool file must not be null");
+		this.delegate = Objects.requireNonNull(delegate, "Delegate processor must not be null");
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		this.recordWriter = new SpillRecords.RecordWriter<>(encoder);
+	}
+
+	@Override
+	public void open(@NonNull ExecutionContext executionContext) {
+		this.spooled.clear();
+		try {
+			FileChannel channel = FileChannel.open(this.spoolFile, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+			this.channel = channel;
+			if (isSpoolOf(channel, executionContext)) {
+				this.generation = executionContext.getLong(GENERATION_KEY);
+				channel.position(HEADER_LENGTH);
+				// drop a record partially written by a crash
+				channel.truncate(HEADER_LENGTH + load(channel));
+			} else {
+				// spooled by another step execution, or a new file
+				this.generation = ThreadLocalRandom.current().nextLong();
+				channel.truncate(0L);
+				ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putLong(0, this.generation);
+				while (header.hasRemaining()) {
+					channel.write(header, header.position());
+				}
+				channel.force(false);
+			}
+			channel.position(channel.size());
+			this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open spool file: " + this.spoolFile, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	@Override
+	public O process(@NonNull I item) throws Exception {
+		long key = this.keyExtractor.applyAsLong(item);
+		Object spooled = this.spooled.get(key);
+		if (spooled != null) {
+			return (spooled == FILTERED) ? null : (O)spooled;
+		}
+
+		O output = this.delegate.process(item);
+		spool(key, output);
+		return output;
+	}
+
+	@Override
+	public void update(@NonNull ExecutionContext executionContext) {
+		executionContext.putLong(GENERATION_KEY, this.generation);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			clear();
+		}
+	}
+
+	@Override
+	public void close() {
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			return;
+		}
+		try {
+			flush();
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to close spool file: " + this.spoolFile, e);
+		} finally {
+			this.channel = null;
+			this.output = null;
+			this.spooled.clear();
+		}
+	}
+
+	/**
+	 * @return the number of spooled outputs of uncommitted chunks
+	 */
+	public int getSpooledCount() {
+		return this.spooled.size();
+	}
+
+	private void spool(long key, @Nullable O output) throws IOException {
+		DataOutputStream stream = this.output;
+		if (stream == null) {
+			throw new IllegalStateException("Spool file is not opened: " + this.spoolFile);
+		}
+		registerSynchronization();
+		stream.writeLong(key);
+		if (output == null) {
+			stream.writeInt(FILTERED_LENGTH);
+		} else {
+			this.recordWriter.write(output, stream);
+		}
+		this.spooled.put(key, (output != null) ? output : FILTERED);
+	}
+
+	private static boolean isSpoolOf(FileChannel channel, ExecutionContext executionContext) throws IOException {
+		if (!executionContext.containsKey(GENERATION_KEY) || channel.size() < HEADER_LENGTH) {
+			return false;
+		}
+		ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		while (header.hasRemaining()) {
+			channel.read(header, header.position());
+		}
+		return header.getLong(0) == executionContext.getLong(GENERATION_KEY);
+	}
+
+	/**
+	 * Load the spooled outputs after the header.
+	 *
+	 * @return the length of the complete records
+	 */
+	private long load(FileChannel channel) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+		long length = 0L;
+		byte[] bytes = new byte[256];
+		while (true) {
+			try {
+				long key = input.readLong();
+				int recordLength = input.readInt();
+				if (recordLength == FILTERED_LENGTH) {
+					this.spooled.put(key, FILTERED);
+				} else {
+					if (recordLength > bytes.length) {
+						bytes = new byte[Math.max(recordLength, bytes.length * 2)];
+					}
+					input.readFully(bytes, 0, recordLength);
+					O output = this.decoder.decode(ByteBuffer.wrap(bytes, 0, recordLength));
+					if (output != null) {
+						this.spooled.put(key, output);
+					}
+				}
+				length += Long.BYTES + Integer.BYTES + Math.max(recordLength, 0);
+			} catch (EOFException e) {
+				return length;
+			}
+		}
+	}
+
+	private void registerSynchronization() {
+		if (this.synchronizationRegistered || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		this.synchronizationRegistered = true;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				SpoolingItemProcessor.this.synchronizationRegistered = false;
+				if (status == STATUS_COMMITTED) {
+					clear();
+				} else {
+					try {
+						flush();
+					} catch (IOException e) {
+						throw new UncheckedIOException("Failed to flush spool file: "
+							+ SpoolingItemProcessor.this.spoolFile, e);
+					}
+				}
+			}
+		});
+	}
+
+	private void flush() throws IOException {
+		DataOutputStream output = this.output;
+		FileChannel channel = this.channel;
+		if (output != null && channel != null) {
+			output.flush();
+			channel.force(false);
+		}
+	}
+
+	private void clear() {
+		this.spooled.clear();
+		DataOutputStream output = this.output;
+		FileChannel channel = this.channel;
+		if (output == null || channel == null) {
+			return;
+		}
+		try {
+			output.flush();
+			channel.truncate(HEADER_LENGTH);
+			channel.position(HEADER_LENGTH);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to truncate spool file: " + this.spoolFile, e);
+		}
+	}
+}
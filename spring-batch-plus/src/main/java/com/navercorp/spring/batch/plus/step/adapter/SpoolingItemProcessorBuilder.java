@@ -0,0 +1,108 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link SpoolingItemProcessor}.
+ *
+ * @since 1.3.0
+ */
+public class SpoolingItemProcessorBuilder<I, O> {
+
+	private final Path spoolFile;
+
+	private ItemProcessor<I, O> delegate;
+
+	private ToLongFunction<? super I> keyExtractor;
+
+	private ItemEncoder<? super O> encoder;
+
+	private RecordDecoder<O> decoder;
+
+	/**
+	 * @param spoolFile a file to spool outputs. Use a different file for each step execution running concurrently.
+	 */
+	public SpoolingItemProcessorBuilder(@NonNull Path spoolFile) {
+		this.spoolFile = Objects.requireNonNull(spoolFile, "Spool file must not be null");
+	}
+
+	/**
+	 * Set a processor whose outputs are spooled.
+	 *
+	 * @param delegate a processor to process an item not spooled
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SpoolingItemProcessorBuilder<I, O> delegate(@NonNull ItemProcessor<I, O> delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "Delegate processor must not be null");
+		return this;
+	}
+
+	/**
+	 * Set a function to extract a key identifying an item among the items of uncommitted chunks, like the read
+	 * position or the id.
+	 *
+	 * @param keyExtractor a function to extract a key of an item
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SpoolingItemProcessorBuilder<I, O> key(@NonNull ToLongFunction<? super I> keyExtractor) {
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor must not be null");
+		return this;
+	}
+
+	/**
+	 * Set an encoder and a decoder to serialize outputs in the spool file.
+	 *
+	 * @param encoder an encoder of an output
+	 * @param decoder a decoder of an output, which is used to replay spooled outputs on restart
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SpoolingItemProcessorBuilder<I, O> serializer(@NonNull ItemEncoder<? super O> encoder,
+		@NonNull RecordDecoder<O> decoder) {
+		this.encoder = Objects.requireNonNull(encoder, "Encoder must not be null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder must not be null");
+		return this;
+	}
+
+	/**
+	 * Build a spooling processor.
+	 *
+	 * @return a spooling processor
+	 */
+	public SpoolingItemProcessor<I, O> build() {
+		if (this.delegate == null) {
+			throw new IllegalStateException("Delegate processor must be set");
+		}
+		if (this.keyExtractor == null) {
+			throw new IllegalStateException("Key extractor must be set");
+		}
+		if (this.encoder == null) {
+			throw new IllegalStateException("Serializer must be set");
+		}
+		return new SpoolingItemProcessor<>(this.spoolFile, this.delegate, this.keyExtractor, this.encoder,
+			this.decoder);
+	}
+}
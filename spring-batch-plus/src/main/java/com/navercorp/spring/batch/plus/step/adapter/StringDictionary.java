@@ -0,0 +1,102 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A dictionary to encode strings of a {@link ColumnType#STRING} column into {@code int} codes. Codes are assigned
+ * from 0 in the order of encoding, and {@link #NULL_CODE} stands for {@code null}. Codes are valid until the
+ * dictionary is cleared with its batch, so compare codes only in the same batch.
+ *
+ * @since 1.3.0
+ */
+public class StringDictionary {
+
+	/**
+	 * A code of {@code null}.
+	 */
+	public static final int NULL_CODE = -1;
+
+	private final Map<String, Integer> codes = new HashMap<>();
+
+	private final List<String> values = new ArrayList<>();
+
+	/**
+	 * Encode a string, assigning a new code if it is not encoded yet.
+	 *
+	 * @param value a string to encode
+	 * @return the code of the string
+	 */
+	public int encode(@Nullable String value) {
+		if (value == null) {
+			return NULL_CODE;
+		}
+		Integer code = this.codes.get(value);
+		if (code == null) {
+			code = this.values.size();
+			this.codes.put(value, code);
+			this.values.add(value);
+		}
+		return code;
+	}
+
+	/**
+	 * Find the code of a string without assigning a new one. Use it to compare a column with a constant.
+	 *
+	 * @param value a string to find
+	 * @return the code of the string, or {@link #NULL_CODE} if it is not encoded
+	 */
+	public int codeOf(@NonNull String value) {
+		return this.codes.getOrDefault(Objects.requireNonNull(value, "Value must not be null"), NULL_CODE);
+	}
+
+	/**
+	 * Decode a code.
+	 *
+	 * @param code a code to decode
+	 * @return the string of the code
+	 */
+	@Nullable
+	public String decode(int code) {
+		return (code == NULL_CODE) ? null : this.values.get(code);
+	}
+
+	/**
+	 * @return the number of distinct strings
+	 */
+	public int size() {
+		return this.values.size();
+	}
+
+	/**
+	 * Remove all strings.
+	 */
+	public void clear() {
+		this.codes.clear();
+		this.values.clear();
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.SplittableRandom;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A distribution of {@code long} values to generate the keys and the sizes of synthetic items.
+ *
+ * @see SyntheticItemReaderDelegate
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface SyntheticDistribution {
+
+	/**
+	 * @param value a value
+	 * @return a distribution always returning the value
+	 */
+	static SyntheticDistribution constant(long value) {
+		return random -> value;
+	}
+
+	/**
+	 * @param min the minimum value, inclusive
+	 * @param max the maximum value, inclusive
+	 * @return a uniform distribution
+	 */
+	static SyntheticDistribution uniform(long min, long max) {
+		if (max < min || max == Long.MAX_VALUE) {
+			throw new IllegalArgumentException("Range must not be reversed nor end at Long.MAX_VALUE");
+		}
+		return random -> random.nextLong(min, max + 1L);
+	}
+
+	/**
+	 * Create a log-normal distribution, which is skewed to the right like sizes of real payloads.
+	 *
+	 * @param median the median value
+	 * @param sigma the standard deviation of the logarithm of a value
+	 * @param max the maximum value, inclusive. larger values are clamped.
+	 * @return a log-normal distribution
+	 */
+	static SyntheticDistribution logNormal(long median, double sigma, long max) {
+		if (median <= 0L || max < median || sigma < 0.0d) {
+			throw new IllegalArgumentException("Median must be positive and not larger than max, "
+				+ "and sigma must not be negative");
+		}
+		double mu = Math.log(median);
+		return random -> Math.min(max, Math.max(1L, Math.round(Math.exp(mu + sigma * random.nextGaussian()))));
+	}
+
+	/**
+	 * Create a Zipf distribution of ranks in {@code [0, size)}, where a rank {@code r} is chosen in proportion to
+	 * {@code 1 / (r + 1)^exponent}. It models skewed keys, where a few hot keys take most of the items.
+	 *
+	 * @param size the number of ranks
+	 * @param exponent the exponent of the skew. 0 for uniform, about 1 for a typical skew.
+	 * @return a Zipf distribution
+	 */
+	static SyntheticDistribution zipf(long size, double exponent) {
+		return new ZipfDistribution(size, exponent);
+	}
+
+	/**
+	 * @param random a random generator
+	 * @return a sampled value
+	 */
+	long sample(@NonNull SplittableRandom random);
+
+	/**
+	 * A Zipf distribution sampled by the rejection-inversion of Hormann and Derflinger, which takes constant time and
+	 * memory for any size.
+	 */
+	final class ZipfDistribution implements SyntheticDistribution {
+
+		private final long size;
+
+		private final double exponent;
+
+		private final double hIntegralX1;
+
+		private final double hIntegralSize;
+
+		private final double threshold;
+
+		private ZipfDistribution(long size, double exponent) {
+			if (size <= 0L || exponent < 0.0d) {
+				throw new IllegalArgumentException("Size must be positive and exponent must not be negative");
+			}
+			this.size = size;
+			this.exponent = exponent;
+			this.hIntegralX1 = hIntegral(1.5d) - 1.0d;
+			this.hIntegralSize = hIntegral(size + 0.5d);
+			this.threshold = 2.0d - hIntegralInverse(hIntegral(2.5d) - h(2.0d));
+		}
+
+		@Override
+		public long sample(@NonNull SplittableRandom random) {
+			while (true) {
+				double u = this.hIntegralSize + random.nextDouble() * (this.hIntegralX1 - this.hIntegralSize);
+				double x = hIntegralInverse(u);
+				long k = Math.max(1L, Math.min(this.size, (long)(x + 0.5d)));
+				if (k - x <= this.threshold || u >= hIntegral(k + 0.5d) - h(k)) {
+					return k - 1L;
+				}
+			}
+		}
+
+		private double h(double x) {
+			return Math.exp(-this.exponent * Math.log(x));
+		}
+
+		private double hIntegral(double x) {
+			double logX = Math.log(x);
+			return expm1OverX((1.0d - this.exponent) * logX) * logX;
+		}
+
+		private double hIntegralInverse(double x) {
+			double t = Math.max(-1.0d, x * (1.0d - this.exponent));
+			return Math.exp(log1pOverX(t) * x);
+		}
+
+		private static double log1pOverX(double x) {
+			return (Math.abs(x) > 1e-8) ? Math.log1p(x) / x : 1.0d - x * (0.5d - x * (1.0d / 3.0d - 0.25d * x));
+		}
+
+		private static double expm1OverX(double x) {
+			return (Math.abs(x) > 1e-8)
+				? Math.expm1(x) / x
+				: 1.0d + x * 0.5d * (1.0d + x * (1.0d / 3.0d) * (1.0d + 0.25d * x));
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A synthetic item with a random payload, generated by {@link SyntheticItemReaderDelegate}.
+ *
+ * @since 1.3.0
+ */
+public final class SyntheticItem {
+
+	/**
+	 * Create an item with a payload of random bytes.
+	 *
+	 * @param index the index of the item
+	 * @param key the key of the item
+	 * @param size the size of the payload
+	 * @param random a random generator of the item
+	 * @return a synthetic item
+	 */
+	public static SyntheticItem of(long index, long key, int size, @NonNull SplittableRandom random) {
+		byte[] payload = new byte[size];
+		random.nextBytes(payload);
+		return new SyntheticItem(index, key, payload);
+	}
+
+	private final long index;
+
+	private final long key;
+
+	private final byte[] payload;
+
+	private SyntheticItem(long index, long key, byte[] payload) {
+		this.index = index;
+		this.key = key;
+		this.payload = payload;
+	}
+
+	/**
+	 * @return the index of the item, from 0
+	 */
+	public long getIndex() {
+		return this.index;
+	}
+
+	public long getKey() {
+		return this.key;
+	}
+
+	/**
+	 * @return the payload. It is not copied.
+	 */
+	public byte[] getPayload() {
+		return this.payload;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof SyntheticItem)) {
+			return false;
+		}
+		SyntheticItem that = (SyntheticItem)o;
+		return this.index == that.index && this.key == that.key && Arrays.equals(this.payload, that.payload);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.index) * 31 + Long.hashCode(this.key);
+	}
+
+	@Override
+	public String toString() {
+		return "SyntheticItem{index=" + this.index + ", key=" + this.key + ", size=" + this.payload.length + "}";
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.SplittableRandom;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A factory to create a synthetic item generated by {@link SyntheticItemReaderDelegate}.
+ *
+ * @see SyntheticItem#of(long, long, int, SplittableRandom)
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface SyntheticItemFactory<T> {
+
+	/**
+	 * Create an item. It must be deterministic for the arguments to generate the same items on restart.
+	 *
+	 * @param index the index of the item, from 0
+	 * @param key the key of the item
+	 * @param size the size of the item
+	 * @param random a random generator seeded for the item
+	 * @return an item
+	 */
+	@NonNull
+	T create(long index, long key, int size, @NonNull SplittableRandom random);
+}
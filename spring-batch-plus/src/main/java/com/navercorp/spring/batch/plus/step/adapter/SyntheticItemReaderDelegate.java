@@ -0,0 +1,174 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link ItemStreamSimpleReaderDelegate} which generates synthetic items at a controlled rate, to benchmark the
+ * processors and the writers of a step without a real source.
+ * <p>
+ * Each item is generated from a random generator seeded by the seed and the index of the item, so the same seed
+ * generates the same items, and a restart from the index saved in the execution context continues them exactly.
+ * The keys and the sizes of items follow {@link SyntheticDistribution}s, like Zipf for skewed keys. If a rate is
+ * given, items are paced to the schedule from the open. After a stall, like a slow consumer, at most a burst of
+ * overdue items are returned without waiting, and the schedule restarts from them.
+ * <p>
+ * It is not thread-safe, so create a new instance for each step execution running concurrently.
+ *
+ * @see SyntheticItemReaderDelegateBuilder
+ * @since 1.3.0
+ */
+public class SyntheticItemReaderDelegate<T> implements ItemStreamSimpleReaderDelegate<T> {
+
+	/**
+	 * A key of the execution context to save the index of the next item.
+	 */
+	public static final String INDEX_KEY = "SyntheticItemReaderDelegate.index";
+
+	protected final long seed;
+
+	protected final long count;
+
+	protected final double itemsPerSecond;
+
+	protected final long burst;
+
+	@Nullable
+	protected final SyntheticDistribution keys;
+
+	protected final SyntheticDistribution sizes;
+
+	protected final SyntheticItemFactory<T> factory;
+
+	private long index = 0L;
+
+	private long startIndex = 0L;
+
+	private long startNanos = 0L;
+
+	/**
+	 * Use {@link SyntheticItemReaderDelegateBuilder} to create an instance.
+	 *
+	 * @param seed a seed of the random generators
+	 * @param count the number of items to generate
+	 * @param itemsPerSecond the number of items per second. 0 for no limit.
+	 * @param burst the maximum number of overdue items returned without waiting
+	 * @param keys a distribution of keys. null for the index as the key.
+	 * @param sizes a distribution of sizes
+	 * @param factory a factory to create an item
+	 */
+	protected SyntheticItemReaderDelegate(long seed, long count, double itemsPerSecond, long burst,
+		@Nullable SyntheticDistribution keys, SyntheticDistribution sizes, SyntheticItemFactory<T> factory) {
+		if (count < 0L) {
+			throw new IllegalArgumentException("Count must not be negative");
+		}
+		if (!(itemsPerSecond >= 0.0d) || Double.isInfinite(itemsPerSecond)) {
+			throw new IllegalArgumentException("Items per second must not be negative");
+		}
+		if (burst <= 0L) {
+			throw new IllegalArgumentException("Burst must be positive");
+		}
+		this.seed = seed;
+		this.count = count;
+		this.itemsPerSecond = itemsPerSecond;
+		this.burst = burst;
+		this.keys = keys;
+		this.sizes = Objects.requireNonNull(sizes, "Sizes must not be null");
+		this.factory = Objects.requireNonNull(factory, "Factory must not be null");
+	}
+
+	@Override
+	public void onOpenRead(@NonNull ExecutionContext executionContext) {
+		this.index = executionContext.getLong(INDEX_KEY, 0L);
+		if (this.index < 0L || this.index > this.count) {
+			throw new IllegalStateException("Index " + this.index + " is out of the count " + this.count);
+		}
+		this.startIndex = this.index;
+		this.startNanos = System.nanoTime();
+	}
+
+	@Nullable
+	@Override
+	public T read() {
+		if (this.index >= this.count) {
+			return null;
+		}
+		if (this.itemsPerSecond > 0.0d) {
+			pace();
+		}
+		long index = this.index++;
+		// mix the seed of an item not to overlap the random sequence of an adjacent item
+		SplittableRandom random = new SplittableRandom(mix(mix(this.seed) + index));
+		long key = (this.keys != null) ? this.keys.sample(random) : index;
+		long size = this.sizes.sample(random);
+		if (size < 0L || size > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Invalid size of an item: " + size);
+		}
+		return this.factory.create(index, key, (int)size, random);
+	}
+
+	@Override
+	public void onUpdateRead(@NonNull ExecutionContext executionContext) {
+		executionContext.putLong(INDEX_KEY, this.index);
+	}
+
+	/**
+	 * @return the index of the next item
+	 */
+	public long getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Wait until the scheduled time of the next item. If the thread is interrupted, it stops waiting and keeps the
+	 * interrupt status.
+	 */
+	private void pace() {
+		long now = System.nanoTime();
+		double overdue = (now - this.startNanos) * this.itemsPerSecond / 1_000_000_000.0d
+			- (this.index - this.startIndex);
+		if (overdue > this.burst) {
+			// restart the schedule not to make up a stall by more than a burst
+			this.startIndex = this.index;
+			this.startNanos = now - (long)(this.burst * 1_000_000_000.0d / this.itemsPerSecond);
+		}
+		long due = this.startNanos + (long)((this.index - this.startIndex) * 1_000_000_000.0d / this.itemsPerSecond);
+		long wait;
+		while ((wait = due - System.nanoTime()) > 0L) {
+			LockSupport.parkNanos(this, wait);
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+		}
+	}
+
+	private static long mix(long key) {
+		long hash = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+		hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return hash ^ (hash >>> 33);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * A builder for {@link SyntheticItemReaderDelegate}.
+ *
+ * @since 1.3.0
+ */
+public class SyntheticItemReaderDelegateBuilder {
+
+	/**
+	 * The default size of an item.
+	 */
+	public static final int DEFAULT_SIZE = 100;
+
+	private final long count;
+
+	private long seed = 0L;
+
+	private double itemsPerSecond = 0.0d;
+
+	private long burst = 1L;
+
+	private SyntheticDistribution keys = null;
+
+	private SyntheticDistribution sizes = SyntheticDistribution.constant(DEFAULT_SIZE);
+
+	/**
+	 * @param count the number of items to generate
+	 */
+	public SyntheticItemReaderDelegateBuilder(long count) {
+		this.count = count;
+	}
+
+	/**
+	 * Set a seed of the random generators. The same seed generates the same items.
+	 *
+	 * @param seed a seed. 0 by default.
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SyntheticItemReaderDelegateBuilder seed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Set the rate to generate items, with a burst of the items of a second.
+	 *
+	 * @param itemsPerSecond the number of items per second. 0 for no limit, by default.
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SyntheticItemReaderDelegateBuilder rate(double itemsPerSecond) {
+		return rate(itemsPerSecond, Math.max(1L, (long)Math.ceil(itemsPerSecond)));
+	}
+
+	/**
+	 * Set the rate to generate items, and the maximum number of overdue items returned without waiting after a
+	 * stall, like a slow consumer.
+	 *
+	 * @param itemsPerSecond the number of items per second. 0 for no limit.
+	 * @param burst the maximum number of overdue items returned without waiting
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SyntheticItemReaderDelegateBuilder rate(double itemsPerSecond, long burst) {
+		this.itemsPerSecond = itemsPerSecond;
+		this.burst = burst;
+		return this;
+	}
+
+	/**
+	 * Set a distribution of keys, like {@link SyntheticDistribution#zipf(long, double)} for skewed keys. The index of
+	 * an item is its key by default, so all keys are unique.
+	 *
+	 * @param keys a distribution of keys
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SyntheticItemReaderDelegateBuilder keys(@NonNull SyntheticDistribution keys) {
+		this.keys = Objects.requireNonNull(keys, "Keys must not be null");
+		return this;
+	}
+
+	/**
+	 * Set a distribution of sizes, like {@link SyntheticDistribution#logNormal(long, double, long)}.
+	 * {@value #DEFAULT_SIZE} for all items by default.
+	 *
+	 * @param sizes a distribution of sizes
+	 * @return The current instance of the builder for method chaining
+	 */
+	public SyntheticItemReaderDelegateBuilder sizes(@NonNull SyntheticDistribution sizes) {
+		this.sizes = Objects.requireNonNull(sizes, "Sizes must not be null");
+		return this;
+	}
+
+	/**
+	 * Build a delegate generating {@link SyntheticItem}s whose payload has the size.
+	 *
+	 * @return a delegate generating synthetic items
+	 */
+	public SyntheticItemReaderDelegate<SyntheticItem> build() {
+		return build(SyntheticItem::of);
+	}
+
+	/**
+	 * Build a delegate generating items created by a factory.
+	 *
+	 * @param factory a factory to create an item
+	 * @return a delegate generating synthetic items
+	 * @param <T> an item type
+	 */
+	public <T> SyntheticItemReaderDelegate<T> build(@NonNull SyntheticItemFactory<T> factory) {
+		return new SyntheticItemReaderDelegate<>(this.seed, this.count, this.itemsPerSecond, this.burst, this.keys,
+			this.sizes, factory);
+	}
+}
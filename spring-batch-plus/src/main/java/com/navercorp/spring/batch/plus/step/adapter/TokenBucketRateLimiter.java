@@ -0,0 +1,159 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A token bucket to limit the rate of items or bytes. Permits are refilled at the rate up to the burst, and a thread
+ * acquiring more permits than left waits until they are refilled. A request larger than the burst is allowed by
+ * borrowing from the future, which makes the next requests wait longer.
+ * <p>
+ * It is thread-safe, so a limiter can be shared by the steps using the same downstream. The rate can be changed at
+ * runtime, like by registering it as an MBean of {@link TokenBucketRateLimiterMBean}, or by a job parameter with
+ * {@link RateLimitListener}.
+ *
+ * @see RateLimitingItemStreamReader
+ * @see RateLimitingItemStreamWriter
+ * @since 1.3.0
+ */
+public class TokenBucketRateLimiter implements TokenBucketRateLimiterMBean {
+
+	/**
+	 * Create a rate limiter which is full of permits.
+	 *
+	 * @param permitsPerSecond the number of permits per second, like items or bytes
+	 * @param burst the maximum number of permits acquired without waiting after an idle time
+	 * @return a rate limiter
+	 */
+	public static TokenBucketRateLimiter of(double permitsPerSecond, long burst) {
+		return new TokenBucketRateLimiter(permitsPerSecond, burst);
+	}
+
+	private final long burst;
+
+	private final LongAdder throttledNanos = new LongAdder();
+
+	private double permitsPerSecond;
+
+	private double permits;
+
+	private long refilledNanos;
+
+	protected TokenBucketRateLimiter(double permitsPerSecond, long burst) {
+		validateRate(permitsPerSecond);
+		if (burst <= 0L) {
+			throw new IllegalArgumentException("Burst must be positive");
+		}
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+		this.permits = burst;
+		this.refilledNanos = System.nanoTime();
+	}
+
+	/**
+	 * Acquire permits, waiting until they are refilled. If the thread is interrupted, it stops waiting and keeps the
+	 * interrupt status.
+	 *
+	 * @param permits the number of permits to acquire
+	 */
+	public void acquire(long permits) {
+		if (permits <= 0L) {
+			return;
+		}
+		long waitNanos = reserve(permits);
+		if (waitNanos <= 0L) {
+			return;
+		}
+		this.throttledNanos.add(waitNanos);
+		long deadline = System.nanoTime() + waitNanos;
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0L) {
+			LockSupport.parkNanos(this, remaining);
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Acquire permits if they are left without waiting.
+	 *
+	 * @param permits the number of permits to acquire
+	 * @return whether the permits are acquired
+	 */
+	public synchronized boolean tryAcquire(long permits) {
+		refill(System.nanoTime());
+		if (this.permits < permits) {
+			return false;
+		}
+		this.permits -= permits;
+		return true;
+	}
+
+	@Override
+	public synchronized double getPermitsPerSecond() {
+		return this.permitsPerSecond;
+	}
+
+	@Override
+	public synchronized void setPermitsPerSecond(double permitsPerSecond) {
+		validateRate(permitsPerSecond);
+		refill(System.nanoTime());
+		this.permitsPerSecond = permitsPerSecond;
+	}
+
+	@Override
+	public long getBurst() {
+		return this.burst;
+	}
+
+	@Override
+	public long getThrottledMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(this.throttledNanos.sum());
+	}
+
+	/**
+	 * Take permits, borrowing them if not enough.
+	 *
+	 * @return the time to wait until the borrowed permits are refilled, in nanoseconds
+	 */
+	private synchronized long reserve(long permits) {
+		refill(System.nanoTime());
+		this.permits -= permits;
+		return (this.permits >= 0.0d)
+			? 0L
+			: (long)Math.ceil(-this.permits / this.permitsPerSecond * TimeUnit.SECONDS.toNanos(1L));
+	}
+
+	private void refill(long now) {
+		double refilled = (now - this.refilledNanos) * this.permitsPerSecond / TimeUnit.SECONDS.toNanos(1L);
+		this.permits = Math.min(this.burst, this.permits + refilled);
+		this.refilledNanos = now;
+	}
+
+	private static void validateRate(double permitsPerSecond) {
+		if (!(permitsPerSecond > 0.0d) || Double.isInfinite(permitsPerSecond)) {
+			throw new IllegalArgumentException("Permits per second must be positive");
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+/**
+ * A management interface of {@link TokenBucketRateLimiter}, to adjust the rate over JMX.
+ *
+ * @since 1.3.0
+ */
+public interface TokenBucketRateLimiterMBean {
+
+	/**
+	 * @return the number of permits per second
+	 */
+	double getPermitsPerSecond();
+
+	/**
+	 * Change the rate. Permits already waited for keep their schedule.
+	 *
+	 * @param permitsPerSecond the number of permits per second
+	 */
+	void setPermitsPerSecond(double permitsPerSecond);
+
+	/**
+	 * @return the maximum number of permits acquired without waiting after an idle time
+	 */
+	long getBurst();
+
+	/**
+	 * @return the total time threads waited for permits, in milliseconds
+	 */
+	long getThrottledMillis();
+}
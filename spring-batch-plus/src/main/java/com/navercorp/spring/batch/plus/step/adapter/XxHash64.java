@@ -0,0 +1,118 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * An implementation of the 64-bit xxHash algorithm.
+ */
+final class XxHash64 {
+
+	private static final long PRIME1 = 0x9E3779B185EBCA87L;
+
+	private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+
+	private static final long PRIME3 = 0x165667B19E3779F9L;
+
+	private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+
+	private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+	private static final VarHandle LONG_HANDLE =
+		MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+	private static final VarHandle INT_HANDLE =
+		MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+	static long hash(byte[] input) {
+		return hash(input, 0, input.length, 0L);
+	}
+
+	static long hash(byte[] input, int offset, int length, long seed) {
+		int end = offset + length;
+		int position = offset;
+		long hash;
+
+		if (length >= 32) {
+			long v1 = seed + PRIME1 + PRIME2;
+			long v2 = seed + PRIME2;
+			long v3 = seed;
+			long v4 = seed - PRIME1;
+			int limit = end - 32;
+			do {
+				v1 = round(v1, (long)LONG_HANDLE.get(input, position));
+				v2 = round(v2, (long)LONG_HANDLE.get(input, position + 8));
+				v3 = round(v3, (long)LONG_HANDLE.get(input, position + 16));
+				v4 = round(v4, (long)LONG_HANDLE.get(input, position + 24));
+				position += 32;
+			} while (position <= limit);
+
+			hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12)
+				+ Long.rotateLeft(v4, 18);
+			hash = mergeRound(hash, v1);
+			hash = mergeRound(hash, v2);
+			hash = mergeRound(hash, v3);
+			hash = mergeRound(hash, v4);
+		} else {
+			hash = seed + PRIME5;
+		}
+
+		hash += length;
+
+		while (position + 8 <= end) {
+			hash ^= round(0L, (long)LONG_HANDLE.get(input, position));
+			hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+			position += 8;
+		}
+		if (position + 4 <= end) {
+			hash ^= (Integer.toUnsignedLong((int)INT_HANDLE.get(input, position))) * PRIME1;
+			hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+			position += 4;
+		}
+		while (position < end) {
+			hash ^= (input[position] & 0xFFL) * PRIME5;
+			hash = Long.rotateLeft(hash, 11) * PRIME1;
+			++position;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= PRIME2;
+		hash ^= hash >>> 29;
+		hash *= PRIME3;
+		hash ^= hash >>> 32;
+		return hash;
+	}
+
+	private static long round(long accumulator, long input) {
+		accumulator += input * PRIME2;
+		accumulator = Long.rotateLeft(accumulator, 31);
+		return accumulator * PRIME1;
+	}
+
+	private static long mergeRound(long accumulator, long value) {
+		accumulator ^= round(0L, value);
+		return accumulator * PRIME1 + PRIME4;
+	}
+
+	private XxHash64() {
+	}
+}
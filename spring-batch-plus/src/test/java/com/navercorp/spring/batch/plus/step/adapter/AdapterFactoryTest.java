@@ -21,15 +21,19 @@ package com.navercorp.spring.batch.plus.step.adapter;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemStreamWriter;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 class AdapterFactoryTest {
 
@@ -82,6 +86,45 @@ class AdapterFactoryTest {
 		assertThat(actual).isInstanceOf(ItemStreamWriterAdapter.class);
 	}
 
+	@Test
+	void reactiveItemStreamWriterShouldReturnAdapterWhenPassingReactiveWriterDelegate() {
+		ItemStreamReactiveWriterDelegate<Integer> delegate = items -> Mono.empty();
+		ItemStreamWriter<Integer> actual = AdapterFactory.reactiveItemStreamWriter(delegate);
+
+		assertThat(actual).isInstanceOf(ItemStreamReactiveWriterAdapter.class);
+	}
+
+	@Test
+	void coalescingItemStreamWriterShouldReturnCoalescingAdapterWhenPassingWriterDelegate() {
+		ItemStreamWriterDelegate<Integer> delegate = items -> {
+		};
+		ItemStreamWriter<Integer> actual = AdapterFactory.coalescingItemStreamWriter(delegate, 10, "reader.");
+
+		assertThat(actual).isInstanceOf(CoalescingItemStreamWriterAdapter.class);
+	}
+
+	@Test
+	void sortingItemStreamWriterShouldReturnAdapterWhenPassingWriterDelegate() throws Exception {
+		List<Integer> written = new ArrayList<>();
+		ItemStreamWriterDelegate<Integer> delegate = chunk -> written.addAll(chunk.getItems());
+		ItemStreamWriter<Integer> actual = AdapterFactory.sortingItemStreamWriter(delegate, Comparator.naturalOrder());
+		actual.write(Chunk.of(3, 1, 2));
+
+		assertThat(actual).isInstanceOf(ItemStreamWriterAdapter.class);
+		assertThat(written).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void longKeySortingItemStreamWriterShouldReturnAdapterWhenPassingWriterDelegate() throws Exception {
+		List<Integer> written = new ArrayList<>();
+		ItemStreamWriterDelegate<Integer> delegate = chunk -> written.addAll(chunk.getItems());
+		ItemStreamWriter<Integer> actual = AdapterFactory.longKeySortingItemStreamWriter(delegate, item -> -item);
+		actual.write(Chunk.of(1, 3, 2));
+
+		assertThat(actual).isInstanceOf(ItemStreamWriterAdapter.class);
+		assertThat(written).containsExactly(3, 2, 1);
+	}
+
 	@SuppressWarnings({"ConstantConditions"})
 	@Test
 	void createShouldThrowExceptionWhenPassingNull() {
@@ -91,5 +134,6 @@ class AdapterFactoryTest {
 		assertThatThrownBy(() -> AdapterFactory.itemStreamReader((ItemStreamSimpleReaderDelegate<?>)null));
 		assertThatThrownBy(() -> AdapterFactory.itemProcessor(null));
 		assertThatThrownBy(() -> AdapterFactory.itemStreamWriter(null));
+		assertThatThrownBy(() -> AdapterFactory.reactiveItemStreamWriter(null));
 	}
 }
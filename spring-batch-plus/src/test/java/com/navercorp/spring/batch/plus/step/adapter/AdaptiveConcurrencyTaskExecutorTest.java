@@ -0,0 +1,111 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveConcurrencyTaskExecutorTest {
+
+	@Test
+	void limitShouldGrowWhileTasksAreFast() throws Exception {
+		ExecutorService threads = Executors.newCachedThreadPool();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		AdaptiveConcurrencyTaskExecutor taskExecutor = new AdaptiveConcurrencyTaskExecutorBuilder("test", 1, 4)
+			.taskExecutor(threads::execute)
+			.latencyThreshold(Duration.ofSeconds(10L))
+			.meterRegistry(meterRegistry)
+			.build();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		for (int i = 0; i < 200; ++i) {
+			taskExecutor.execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				sleep(1L);
+				running.decrementAndGet();
+			});
+		}
+		threads.shutdown();
+		assertThat(threads.awaitTermination(10L, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(taskExecutor.getLimit()).isEqualTo(4);
+		assertThat(maxRunning.get()).isBetween(2, 4);
+		assertThat(meterRegistry.get(AdaptiveConcurrencyTaskExecutor.LIMIT_GAUGE_NAME).gauge().value())
+			.isEqualTo(4.0d);
+	}
+
+	@Test
+	void limitShouldShrinkOnChunkError() {
+		AdaptiveConcurrencyTaskExecutor taskExecutor = new AdaptiveConcurrencyTaskExecutorBuilder("test", 2, 8)
+			.initialConcurrency(8)
+			.taskExecutor(new SyncTaskExecutor())
+			.meterRegistry(new SimpleMeterRegistry())
+			.build();
+		ChunkContext chunkContext = new ChunkContext(null);
+
+		for (int i = 0; i < 10; ++i) {
+			taskExecutor.execute(() -> taskExecutor.afterChunkError(chunkContext));
+		}
+
+		assertThat(taskExecutor.getLimit()).isEqualTo(2);
+		assertThat(taskExecutor.getInFlight()).isZero();
+	}
+
+	@Test
+	void limitShouldShrinkOnSlowTask() {
+		AdaptiveConcurrencyTaskExecutor taskExecutor = new AdaptiveConcurrencyTaskExecutorBuilder("test", 1, 8)
+			.initialConcurrency(8)
+			.taskExecutor(new SyncTaskExecutor())
+			.latencyThreshold(Duration.ofMillis(1L))
+			.meterRegistry(new SimpleMeterRegistry())
+			.build();
+
+		taskExecutor.execute(() -> sleep(20L));
+
+		assertThat(taskExecutor.getLimit()).isLessThan(8);
+	}
+
+	@Test
+	void constructorShouldThrowForInvalidBounds() {
+		assertThatThrownBy(() -> new AdaptiveConcurrencyTaskExecutorBuilder("test", 4, 2).build())
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
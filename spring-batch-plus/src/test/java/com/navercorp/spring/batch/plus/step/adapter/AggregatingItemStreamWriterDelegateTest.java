@@ -0,0 +1,232 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AggregatingItemStreamWriterDelegateTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void readerShouldReadAggregatesCombinedAcrossSpills() {
+		AggregatingItemStreamWriterDelegate<Integer, String, Count> writer = builder(5).build();
+		ExecutionContext executionContext = new ExecutionContext();
+		Map<String, Long> expected = new HashMap<>();
+		Random random = new Random(42L);
+
+		writer.onOpenWrite(executionContext);
+		for (int chunk = 0; chunk < 30; ++chunk) {
+			List<Integer> items = new ArrayList<>();
+			for (int i = 0; i < 10; ++i) {
+				int item = random.nextInt(1000);
+				items.add(item);
+				expected.merge(keyOf(item), 1L, Long::sum);
+			}
+			writer.write(new Chunk<>(items));
+			writer.onUpdateWrite(executionContext);
+		}
+		writer.onCloseWrite();
+
+		assertThat(executionContext.getInt(AggregatingItemStreamWriterDelegate.SPILL_COUNT_KEY)).isPositive();
+		assertThat(readAll(new ExecutionContext())).isEqualTo(expected);
+	}
+
+	@Test
+	void openShouldFoldCommittedPendingAggregatesOnRestart() {
+		ExecutionContext executionContext = new ExecutionContext();
+		AggregatingItemStreamWriterDelegate<Integer, String, Count> writer = builder(100).build();
+		writer.onOpenWrite(executionContext);
+		writer.write(Chunk.of(1, 2, 11));
+		writer.onUpdateWrite(executionContext);
+		// failed before the next checkpoint
+		writer.write(Chunk.of(1, 1, 1));
+
+		AggregatingItemStreamWriterDelegate<Integer, String, Count> restarted = builder(100).build();
+		restarted.onOpenWrite(executionContext);
+		restarted.write(Chunk.of(21));
+		restarted.onUpdateWrite(executionContext);
+		restarted.onCloseWrite();
+
+		assertThat(readAll(new ExecutionContext())).isEqualTo(Map.of("k1", 3L, "k2", 1L));
+	}
+
+	@Test
+	void openShouldFoldPendingAggregatesOfMutatingCombinerOnceOnRestart() {
+		ExecutionContext executionContext = new ExecutionContext();
+		AggregatingItemStreamWriterDelegate<Integer, String, Count> writer = builder(100)
+			.combiner(Count::add)
+			.build();
+		writer.onOpenWrite(executionContext);
+		writer.write(Chunk.of(1, 11, 2));
+		writer.onUpdateWrite(executionContext);
+
+		AggregatingItemStreamWriterDelegate<Integer, String, Count> restarted = builder(100)
+			.combiner(Count::add)
+			.build();
+		restarted.onOpenWrite(executionContext);
+		restarted.write(Chunk.of(21));
+		restarted.onUpdateWrite(executionContext);
+		restarted.onCloseWrite();
+
+		assertThat(readAll(new ExecutionContext())).isEqualTo(Map.of("k1", 3L, "k2", 1L));
+	}
+
+	@Test
+	void writeShouldDiscardChunkWhenTransactionIsRolledBack() {
+		AggregatingItemStreamWriterDelegate<Integer, String, Count> writer = builder(100).build();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+		ExecutionContext executionContext = new ExecutionContext();
+		writer.onOpenWrite(executionContext);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			writer.write(Chunk.of(1));
+			writer.onUpdateWrite(executionContext);
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			writer.write(Chunk.of(1, 2));
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			writer.write(Chunk.of(11));
+			writer.onUpdateWrite(executionContext);
+		});
+		writer.onCloseWrite();
+
+		assertThat(readAll(new ExecutionContext())).isEqualTo(Map.of("k1", 2L));
+	}
+
+	@Test
+	void readerShouldSkipReadAggregatesOnRestartAndDeleteSpills() throws Exception {
+		AggregatingItemStreamWriterDelegate<Integer, String, Count> writer = builder(2).build();
+		ExecutionContext writerContext = new ExecutionContext();
+		writer.onOpenWrite(writerContext);
+		writer.write(Chunk.of(1, 2, 3, 4));
+		writer.onUpdateWrite(writerContext);
+		writer.onCloseWrite();
+		AggregateReaderDelegate<String, Count> reader = builder(2).buildReader();
+		ExecutionContext readerContext = new ExecutionContext();
+		reader.onOpenRead(readerContext);
+		Count first = reader.read();
+		reader.onUpdateRead(readerContext);
+		reader.onCloseRead();
+
+		Map<String, Long> rest = readAll(readerContext);
+		assertThat(rest).hasSize(3).doesNotContainKey(first.key);
+
+		AggregateReaderDelegate.deleteSpills(this.tempDir, "agg");
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	@Test
+	void buildShouldThrowExceptionWhenMissingRequiredSettings() {
+		assertThatThrownBy(() -> new AggregatingItemStreamWriterDelegateBuilder<Integer, String, Count>(
+			this.tempDir, "agg")
+			.key(count -> count.key)
+			.combiner(Count::plus)
+			.serializer(Count::encode, Count::decode)
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> new AggregatingItemStreamWriterDelegateBuilder<Integer, String, Count>(
+			this.tempDir, "agg")
+			.key(count -> count.key)
+			.buildReader())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> builder(0).build())
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private AggregatingItemStreamWriterDelegateBuilder<Integer, String, Count> builder(int maxKeys) {
+		return new AggregatingItemStreamWriterDelegateBuilder<Integer, String, Count>(this.tempDir, "agg")
+			.mapper(item -> new Count(keyOf(item), 1L))
+			.key(count -> count.key)
+			.combiner(Count::plus)
+			.serializer(Count::encode, Count::decode)
+			.maxKeys(maxKeys)
+			.partitions(4);
+	}
+
+	private Map<String, Long> readAll(ExecutionContext executionContext) {
+		AggregateReaderDelegate<String, Count> reader = builder(1).buildReader();
+		reader.onOpenRead(executionContext);
+		Map<String, Long> counts = new HashMap<>();
+		Count count;
+		while ((count = reader.read()) != null) {
+			assertThat(counts.put(count.key, count.value)).isNull();
+		}
+		reader.onCloseRead();
+		return counts;
+	}
+
+	private static String keyOf(int item) {
+		return "k" + (item % 10);
+	}
+
+	private static class Count {
+
+		private final String key;
+
+		private long value;
+
+		Count(String key, long value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		Count plus(Count other) {
+			return new Count(this.key, this.value + other.value);
+		}
+
+		Count add(Count other) {
+			this.value += other.value;
+			return this;
+		}
+
+		static void encode(Count count, ByteBuffer buffer) {
+			buffer.putLong(count.value).put(count.key.getBytes(StandardCharsets.UTF_8));
+		}
+
+		static Count decode(ByteBuffer record) {
+			long value = record.getLong();
+			return new Count(StandardCharsets.UTF_8.decode(record).toString(), value);
+		}
+	}
+}
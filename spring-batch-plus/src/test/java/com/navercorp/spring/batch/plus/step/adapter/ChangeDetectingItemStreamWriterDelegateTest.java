@@ -0,0 +1,195 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ChangeDetectingItemStreamWriterDelegateTest {
+
+	private EmbeddedDatabase dataSource;
+
+	@BeforeEach
+	void setUp() {
+		this.dataSource = new EmbeddedDatabaseBuilder()
+			.generateUniqueName(true)
+			.setType(EmbeddedDatabaseType.H2)
+			.build();
+		new JdbcTemplate(this.dataSource)
+			.execute("CREATE TABLE CONTENT_HASH (ID BIGINT PRIMARY KEY, HASH BIGINT NOT NULL)");
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	@Test
+	void writeShouldPassOnlyChangedOrNewItemsAfterCheckpoint() {
+		RecordingDelegate delegate = new RecordingDelegate();
+		ChangeDetectingItemStreamWriterDelegate<String[]> changeDetecting = changeDetecting(delegate,
+			new MemoryContentHashStore());
+		changeDetecting.onOpenWrite(new ExecutionContext());
+
+		changeDetecting.write(Chunk.of(row(1, "a"), row(2, "b")));
+		changeDetecting.onUpdateWrite(new ExecutionContext());
+		changeDetecting.write(Chunk.of(row(1, "a"), row(2, "changed"), row(3, "c")));
+		changeDetecting.onUpdateWrite(new ExecutionContext());
+
+		assertThat(delegate.writtenIds).containsExactly(List.of("1", "2"), List.of("2", "3"));
+		assertThat(changeDetecting.getUnchangedCount()).isEqualTo(1L);
+	}
+
+	@Test
+	void writeShouldNotStoreHashesOfFailedItems() {
+		MemoryContentHashStore store = new MemoryContentHashStore();
+		ItemStreamWriterDelegate<String[]> failing = chunk -> {
+			throw new IllegalStateException("test");
+		};
+		ChangeDetectingItemStreamWriterDelegate<String[]> changeDetecting = changeDetecting(failing, store);
+		changeDetecting.onOpenWrite(new ExecutionContext());
+
+		assertThatThrownBy(() -> changeDetecting.write(Chunk.<String[]>of(row(1, "a"))))
+			.isInstanceOf(IllegalStateException.class);
+		changeDetecting.onUpdateWrite(new ExecutionContext());
+
+		assertThat(store.hashes).isEmpty();
+	}
+
+	@Test
+	void writeShouldNotStoreHashesOfRolledBackChunk() {
+		MemoryContentHashStore store = new MemoryContentHashStore();
+		RecordingDelegate delegate = new RecordingDelegate();
+		ChangeDetectingItemStreamWriterDelegate<String[]> changeDetecting = changeDetecting(delegate, store);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+		ExecutionContext executionContext = new ExecutionContext();
+		changeDetecting.onOpenWrite(executionContext);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			changeDetecting.write(Chunk.<String[]>of(row(1, "a")));
+			// a later writer failed
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			changeDetecting.write(Chunk.<String[]>of(row(2, "b")));
+			changeDetecting.onUpdateWrite(executionContext);
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			changeDetecting.write(Chunk.<String[]>of(row(1, "a")));
+			changeDetecting.onUpdateWrite(executionContext);
+		});
+
+		assertThat(delegate.writtenIds).containsExactly(List.of("1"), List.of("2"), List.of("1"));
+		assertThat(store.hashes).containsOnlyKeys(1L, 2L);
+	}
+
+	@Test
+	void writeShouldDetectChangesWithJdbcContentHashStore() {
+		RecordingDelegate delegate = new RecordingDelegate();
+		JdbcContentHashStore store = new JdbcContentHashStore(this.dataSource, "CONTENT_HASH", JdbcBulkDialect.H2);
+		ChangeDetectingItemStreamWriterDelegate<String[]> changeDetecting = changeDetecting(delegate, store);
+		changeDetecting.onOpenWrite(new ExecutionContext());
+
+		changeDetecting.write(Chunk.of(row(1, "a"), row(2, "b")));
+		changeDetecting.onUpdateWrite(new ExecutionContext());
+		changeDetecting.write(Chunk.of(row(1, "changed"), row(2, "b")));
+		changeDetecting.onUpdateWrite(new ExecutionContext());
+		changeDetecting.onCloseWrite();
+
+		assertThat(delegate.writtenIds).containsExactly(List.of("1", "2"), List.of("1"));
+	}
+
+	@Test
+	void buildShouldThrowExceptionWhenIdOrContentIsNotSet() {
+		assertThatThrownBy(() -> new ChangeDetectingItemStreamWriterDelegateBuilder<String[]>(
+			new RecordingDelegate(), new MemoryContentHashStore())
+			.content(row -> row[1].getBytes(StandardCharsets.UTF_8))
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> new ChangeDetectingItemStreamWriterDelegateBuilder<String[]>(
+			new RecordingDelegate(), new MemoryContentHashStore())
+			.id(row -> Long.parseLong(row[0]))
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	private static ChangeDetectingItemStreamWriterDelegate<String[]> changeDetecting(
+		ItemStreamWriterDelegate<String[]> delegate, ContentHashStore store) {
+		return new ChangeDetectingItemStreamWriterDelegateBuilder<>(delegate, store)
+			.id(row -> Long.parseLong(row[0]))
+			.content(row -> row[1].getBytes(StandardCharsets.UTF_8))
+			.build();
+	}
+
+	private static String[] row(long id, String content) {
+		return new String[] {String.valueOf(id), content};
+	}
+
+	private static class RecordingDelegate implements ItemStreamWriterDelegate<String[]> {
+
+		private final List<List<String>> writtenIds = new ArrayList<>();
+
+		@Override
+		public void write(@NonNull Chunk<? extends String[]> chunk) {
+			List<String> ids = new ArrayList<>();
+			for (String[] row : chunk) {
+				ids.add(row[0]);
+			}
+			this.writtenIds.add(ids);
+		}
+	}
+
+	private static class MemoryContentHashStore implements ContentHashStore {
+
+		private final Map<Long, Long> hashes = new HashMap<>();
+
+		@Override
+		public void getAll(long[] ids, long[] hashes, int size) {
+			for (int i = 0; i < size; ++i) {
+				hashes[i] = this.hashes.getOrDefault(ids[i], 0L);
+			}
+		}
+
+		@Override
+		public void putAll(long[] ids, long[] hashes, int size) {
+			for (int i = 0; i < size; ++i) {
+				this.hashes.put(ids[i], hashes[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.lang.NonNull;
+
+class CoalescingItemStreamWriterAdapterTest {
+
+	@Test
+	void writeShouldPassItemsToDelegateWhenMaxItemsIsReached() throws Exception {
+		RecordingDelegate delegate = new RecordingDelegate();
+		ItemStreamWriter<Integer> writer = CoalescingItemStreamWriterAdapter.of(delegate, 5, "reader.");
+		writer.open(new ExecutionContext());
+
+		writer.write(Chunk.of(1, 2));
+		writer.write(Chunk.of(3, 4));
+		assertThat(delegate.writtenChunks).isEmpty();
+		writer.write(Chunk.of(5, 6));
+
+		assertThat(delegate.writtenChunks).containsExactly(List.of(1, 2, 3, 4, 5, 6));
+	}
+
+	@Test
+	void writeShouldPassItemsToDelegateWhenMaxBytesIsReached() throws Exception {
+		RecordingDelegate delegate = new RecordingDelegate();
+		ItemStreamWriter<Integer> writer = new CoalescingItemStreamWriterBuilder<>(delegate)
+			.maxBytes(10, item -> 4L)
+			.heldBackKeyPrefixes("reader.")
+			.build();
+		writer.open(new ExecutionContext());
+
+		writer.write(Chunk.of(1, 2));
+		assertThat(delegate.writtenChunks).isEmpty();
+		writer.write(Chunk.of(3));
+
+		assertThat(delegate.writtenChunks).containsExactly(List.of(1, 2, 3));
+	}
+
+	@Test
+	void updateShouldKeepLastFlushedCheckpointWhenItemsAreBuffered() throws Exception {
+		RecordingDelegate delegate = new RecordingDelegate();
+		ItemStreamWriter<Integer> writer = CoalescingItemStreamWriterAdapter.of(delegate, 4, "reader.");
+		ExecutionContext executionContext = new ExecutionContext();
+		executionContext.putLong("reader.position", 0L);
+		writer.open(executionContext);
+
+		writer.write(Chunk.of(1, 2));
+		executionContext.putLong("reader.position", 2L);
+		executionContext.putString("reader.added", "added");
+		writer.update(executionContext);
+
+		assertThat(executionContext.getLong("reader.position")).isEqualTo(0L);
+		assertThat(executionContext.containsKey("reader.added")).isFalse();
+		assertThat(delegate.updateCount).isZero();
+
+		writer.write(Chunk.of(3, 4));
+		executionContext.putLong("reader.position", 4L);
+		writer.update(executionContext);
+
+		assertThat(executionContext.getLong("reader.position")).isEqualTo(4L);
+		assertThat(delegate.updateCount).isEqualTo(1);
+	}
+
+	@Test
+	void updateShouldKeepEntriesWhichAreNotHeldBackWhenItemsAreBuffered() throws Exception {
+		RecordingDelegate delegate = new RecordingDelegate();
+		ItemStreamWriter<Integer> writer = CoalescingItemStreamWriterAdapter.of(delegate, 4, "reader.");
+		ExecutionContext executionContext = new ExecutionContext();
+		executionContext.putLong("reader.position", 0L);
+		executionContext.putLong("listener.count", 0L);
+		writer.open(executionContext);
+
+		writer.write(Chunk.of(1, 2));
+		executionContext.putLong("reader.position", 2L);
+		executionContext.putLong("listener.count", 1L);
+		executionContext.putString("processor.added", "added");
+		writer.update(executionContext);
+
+		assertThat(executionContext.getLong("reader.position")).isEqualTo(0L);
+		assertThat(executionContext.getLong("listener.count")).isEqualTo(1L);
+		assertThat(executionContext.getString("processor.added")).isEqualTo("added");
+
+		writer.write(Chunk.of(3));
+		executionContext.putLong("reader.position", 3L);
+		executionContext.putLong("listener.count", 2L);
+		writer.update(executionContext);
+
+		assertThat(executionContext.getLong("reader.position")).isEqualTo(0L);
+		assertThat(executionContext.getLong("listener.count")).isEqualTo(2L);
+		assertThat(executionContext.getString("processor.added")).isEqualTo("added");
+	}
+
+	@Test
+	void afterStepShouldFlushRemainingItemsAndRestoreLatestCheckpoint() throws Exception {
+		RecordingDelegate delegate = new RecordingDelegate();
+		CoalescingItemStreamWriterAdapter<Integer> writer =
+			(CoalescingItemStreamWriterAdapter<Integer>)CoalescingItemStreamWriterAdapter.of(delegate, 100, "reader.");
+		StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+		ExecutionContext executionContext = stepExecution.getExecutionContext();
+		writer.open(executionContext);
+
+		writer.write(Chunk.of(1, 2, 3));
+		executionContext.putLong("reader.position", 3L);
+		writer.update(executionContext);
+		assertThat(executionContext.containsKey("reader.position")).isFalse();
+
+		stepExecution.setStatus(BatchStatus.COMPLETED);
+		ExitStatus exitStatus = writer.afterStep(stepExecution);
+
+		assertThat(exitStatus).isNull();
+		assertThat(delegate.writtenChunks).containsExactly(List.of(1, 2, 3));
+		assertThat(executionContext.getLong("reader.position")).isEqualTo(3L);
+		assertThat(delegate.updateCount).isEqualTo(1);
+	}
+
+	@Test
+	void afterStepShouldDiscardRemainingItemsWhenStepIsNotCompleted() throws Exception {
+		RecordingDelegate delegate = new RecordingDelegate();
+		CoalescingItemStreamWriterAdapter<Integer> writer =
+			(CoalescingItemStreamWriterAdapter<Integer>)CoalescingItemStreamWriterAdapter.of(delegate, 100, "reader.");
+		StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+		writer.open(stepExecution.getExecutionContext());
+
+		writer.write(Chunk.of(1, 2, 3));
+		stepExecution.setStatus(BatchStatus.FAILED);
+		writer.afterStep(stepExecution);
+
+		assertThat(delegate.writtenChunks).isEmpty();
+	}
+
+	@Test
+	void afterStepShouldFailStepWhenFlushFails() throws Exception {
+		ItemStreamWriterDelegate<Integer> delegate = chunk -> {
+			throw new IllegalStateException("test");
+		};
+		CoalescingItemStreamWriterAdapter<Integer> writer =
+			(CoalescingItemStreamWriterAdapter<Integer>)CoalescingItemStreamWriterAdapter.of(delegate, 100, "reader.");
+		StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+		writer.open(stepExecution.getExecutionContext());
+
+		writer.write(Chunk.of(1, 2, 3));
+		stepExecution.setStatus(BatchStatus.COMPLETED);
+		ExitStatus exitStatus = writer.afterStep(stepExecution);
+
+		assertThat(exitStatus).isNotNull();
+		assertThat(exitStatus.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+		assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+	}
+
+	@Test
+	void buildShouldThrowExceptionWhenNoThresholdIsSet() {
+		assertThatThrownBy(() -> new CoalescingItemStreamWriterBuilder<>(new RecordingDelegate()).build())
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void buildShouldThrowExceptionWhenNoHeldBackKeyPrefixIsSet() {
+		assertThatThrownBy(() -> new CoalescingItemStreamWriterBuilder<>(new RecordingDelegate()).maxItems(1).build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> CoalescingItemStreamWriterAdapter.of(new RecordingDelegate(), 1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void createShouldThrowExceptionWhenPassingNull() {
+		assertThatThrownBy(() -> CoalescingItemStreamWriterAdapter.of(null, 1, "reader."));
+	}
+
+	private static class RecordingDelegate implements ItemStreamWriterDelegate<Integer> {
+
+		private final List<List<Integer>> writtenChunks = new ArrayList<>();
+
+		private int updateCount = 0;
+
+		@Override
+		public void write(@NonNull Chunk<? extends Integer> chunk) {
+			this.writtenChunks.add(new ArrayList<>(chunk.getItems()));
+		}
+
+		@Override
+		public void onUpdateWrite(@NonNull ExecutionContext executionContext) {
+			++this.updateCount;
+		}
+	}
+}
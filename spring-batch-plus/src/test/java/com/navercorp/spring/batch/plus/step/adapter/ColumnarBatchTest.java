@@ -0,0 +1,114 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnarBatchTest {
+
+	private final ColumnarSchema schema = new ColumnarSchemaBuilder()
+		.longColumn("id")
+		.doubleColumn("amount")
+		.stringColumn("currency")
+		.build();
+
+	@Test
+	void addRowShouldResetValuesOfReusedRow() {
+		ColumnarBatch batch = ColumnarBatch.of(this.schema, 2);
+		int row = batch.addRow();
+		batch.setLong(0, row, 10L);
+		batch.setDouble(1, row, 1.5);
+		batch.setString(2, row, "KRW");
+
+		batch.clear();
+		row = batch.addRow();
+
+		assertThat(batch.getLong(0, row)).isZero();
+		assertThat(batch.getDouble(1, row)).isZero();
+		assertThat(batch.getString(2, row)).isNull();
+		assertThat(batch.dictionary(2).size()).isZero();
+	}
+
+	@Test
+	void setStringShouldEncodeSameStringToSameCode() {
+		ColumnarBatch batch = ColumnarBatch.of(this.schema, 3);
+		for (String currency : new String[] {"KRW", "USD", "KRW"}) {
+			batch.setString(2, batch.addRow(), currency);
+		}
+
+		int[] codes = batch.stringCodeColumn(2);
+
+		assertThat(codes[0]).isEqualTo(codes[2]).isNotEqualTo(codes[1]);
+		assertThat(batch.dictionary(2).size()).isEqualTo(2);
+		assertThat(batch.dictionary(2).codeOf("USD")).isEqualTo(codes[1]);
+		assertThat(batch.dictionary(2).codeOf("JPY")).isEqualTo(StringDictionary.NULL_CODE);
+		assertThat(batch.getString(2, 2)).isEqualTo("KRW");
+	}
+
+	@Test
+	void retainRowsShouldCompactSelectedRowsInOrder() {
+		ColumnarBatch batch = ColumnarBatch.of(this.schema, 4);
+		for (int i = 0; i < 4; ++i) {
+			int row = batch.addRow();
+			batch.setLong(0, row, i);
+			batch.setDouble(1, row, i * 10.0);
+			batch.setString(2, row, "C" + i);
+		}
+
+		int removed = batch.retainRows(new boolean[] {false, true, false, true});
+
+		assertThat(removed).isEqualTo(2);
+		assertThat(batch.size()).isEqualTo(2);
+		assertThat(batch.getLong(0, 0)).isEqualTo(1L);
+		assertThat(batch.getDouble(1, 1)).isEqualTo(30.0);
+		assertThat(batch.getString(2, 1)).isEqualTo("C3");
+	}
+
+	@Test
+	void addRowShouldThrowExceptionWhenFull() {
+		ColumnarBatch batch = ColumnarBatch.of(this.schema, 1);
+		batch.addRow();
+
+		assertThat(batch.isFull()).isTrue();
+		assertThatThrownBy(batch::addRow).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void accessShouldThrowExceptionWhenColumnTypeOrRowIsInvalid() {
+		ColumnarBatch batch = ColumnarBatch.of(this.schema, 2);
+		batch.addRow();
+
+		assertThatThrownBy(() -> batch.longColumn(1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> batch.getLong(0, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> batch.setSize(3)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void schemaShouldFindIndexOfColumn() {
+		assertThat(this.schema.indexOf("amount")).isEqualTo(1);
+		assertThat(this.schema.getType(2)).isEqualTo(ColumnType.STRING);
+		assertThatThrownBy(() -> this.schema.indexOf("unknown")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ColumnarSchemaBuilder().longColumn("id").longColumn("id").build())
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ColumnarSchemaBuilder().build()).isInstanceOf(IllegalStateException.class);
+	}
+}
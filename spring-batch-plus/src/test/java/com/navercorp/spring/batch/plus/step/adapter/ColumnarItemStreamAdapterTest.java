@@ -0,0 +1,171 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.lang.NonNull;
+
+class ColumnarItemStreamAdapterTest {
+
+	private static final ColumnarSchema SCHEMA = new ColumnarSchemaBuilder()
+		.longColumn("id")
+		.doubleColumn("amount")
+		.build();
+
+	@Test
+	void readerAdapterShouldMapEachRowToItem() throws Exception {
+		ItemStreamReader<Long> reader = ColumnarItemStreamReaderAdapter.of(new RangeReader(5), SCHEMA, 2,
+			(batch, row) -> batch.getLong(0, row));
+		reader.open(new ExecutionContext());
+
+		List<Long> items = new ArrayList<>();
+		Long item;
+		while ((item = reader.read()) != null) {
+			items.add(item);
+		}
+
+		assertThat(items).containsExactly(0L, 1L, 2L, 3L, 4L);
+	}
+
+	@Test
+	void readerAdapterShouldRestartFromRowInPartiallyReadBatch() throws Exception {
+		ExecutionContext executionContext = new ExecutionContext();
+		ItemStreamReader<Long> reader = ColumnarItemStreamReaderAdapter.of(new RangeReader(10), SCHEMA, 4,
+			(batch, row) -> batch.getLong(0, row));
+		reader.open(executionContext);
+		for (int i = 0; i < 6; ++i) {
+			reader.read();
+		}
+		reader.update(executionContext);
+		reader.close();
+
+		ItemStreamReader<Long> restarted = ColumnarItemStreamReaderAdapter.of(new RangeReader(10), SCHEMA, 4,
+			(batch, row) -> batch.getLong(0, row));
+		restarted.open(executionContext);
+
+		assertThat(restarted.read()).isEqualTo(6L);
+	}
+
+	@Test
+	void writerAdapterShouldWriteChunkInBatches() throws Exception {
+		RecordingWriter delegate = new RecordingWriter();
+		ItemStreamWriter<Long> writer = ColumnarItemStreamWriterAdapter.of(delegate, SCHEMA, 2,
+			(item, batch, row) -> {
+				batch.setLong(0, row, item);
+				batch.setDouble(1, row, item * 1.5);
+			});
+
+		writer.write(Chunk.of(1L, 2L, 3L));
+
+		assertThat(delegate.batchSizes).containsExactly(2, 1);
+		assertThat(delegate.ids).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void taskletShouldReadProcessAndWriteBatches() {
+		RecordingWriter writer = new RecordingWriter();
+		ColumnarProcessorDelegate evenOnly = batch -> {
+			long[] ids = batch.longColumn(0);
+			boolean[] selected = new boolean[batch.size()];
+			for (int i = 0; i < batch.size(); ++i) {
+				selected[i] = ids[i] % 2 == 0;
+			}
+			batch.retainRows(selected);
+		};
+		ColumnarChunkTasklet tasklet = ColumnarChunkTasklet.of(new RangeReader(5), evenOnly, writer, SCHEMA, 3);
+		StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+		StepContribution contribution = new StepContribution(stepExecution);
+		ChunkContext chunkContext = mock(ChunkContext.class);
+
+		tasklet.beforeStep(stepExecution);
+		RepeatStatus first = tasklet.execute(contribution, chunkContext);
+		RepeatStatus second = tasklet.execute(contribution, chunkContext);
+		tasklet.afterStep(stepExecution);
+
+		assertThat(first).isEqualTo(RepeatStatus.CONTINUABLE);
+		assertThat(second).isEqualTo(RepeatStatus.FINISHED);
+		assertThat(writer.ids).containsExactly(0L, 2L, 4L);
+		assertThat(contribution.getReadCount()).isEqualTo(5);
+		assertThat(contribution.getFilterCount()).isEqualTo(2);
+		assertThat(contribution.getWriteCount()).isEqualTo(3);
+		assertThat(stepExecution.getExecutionContext().getLong("next")).isEqualTo(5L);
+	}
+
+	private static class RangeReader implements ColumnarReaderDelegate {
+
+		private final long count;
+
+		private long next = 0L;
+
+		RangeReader(long count) {
+			this.count = count;
+		}
+
+		@Override
+		public void onOpenRead(@NonNull ExecutionContext executionContext) {
+			this.next = executionContext.getLong("next", 0L);
+		}
+
+		@Override
+		public int read(@NonNull ColumnarBatch batch) {
+			int read = 0;
+			while (!batch.isFull() && this.next < this.count) {
+				batch.setLong(0, batch.addRow(), this.next++);
+				++read;
+			}
+			return read;
+		}
+
+		@Override
+		public void onUpdateRead(@NonNull ExecutionContext executionContext) {
+			executionContext.putLong("next", this.next);
+		}
+	}
+
+	private static class RecordingWriter implements ColumnarWriterDelegate {
+
+		private final List<Integer> batchSizes = new ArrayList<>();
+
+		private final List<Long> ids = new ArrayList<>();
+
+		@Override
+		public void write(@NonNull ColumnarBatch batch) {
+			this.batchSizes.add(batch.size());
+			long[] ids = batch.longColumn(0);
+			for (int i = 0; i < batch.size(); ++i) {
+				this.ids.add(ids[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class DeduplicatingItemProcessorTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void exactSetShouldHoldKeysOnEveryStorage() {
+		for (KeySetStorage storage : List.of(KeySetStorage.heap(), KeySetStorage.offHeap(),
+			KeySetStorage.mapped(this.tempDir))) {
+			LongKeySet keySet = LongKeySet.exact(10_000, storage);
+			for (long key = -5_000; key < 5_000; ++key) {
+				assertThat(keySet.add(key * 31)).isTrue();
+			}
+			for (long key = -5_000; key < 5_000; ++key) {
+				assertThat(keySet.add(key * 31)).isFalse();
+				assertThat(keySet.contains(key * 31 + 1)).isFalse();
+			}
+			assertThat(keySet.size()).isEqualTo(10_000);
+		}
+	}
+
+	@Test
+	void exactSetShouldThrowWhenItIsFull() {
+		LongKeySet keySet = LongKeySet.exact(10, KeySetStorage.heap());
+
+		assertThatThrownBy(() -> {
+			for (long key = 1; key < 100; ++key) {
+				keySet.add(key);
+			}
+		}).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void approximateSetShouldHaveNoFalseNegative() {
+		LongKeySet keySet = LongKeySet.approximate(100_000, 0.01, KeySetStorage.offHeap());
+		for (long key = 0; key < 100_000; ++key) {
+			keySet.add(key);
+		}
+
+		int falsePositives = 0;
+		for (long key = 0; key < 100_000; ++key) {
+			assertThat(keySet.contains(key)).isTrue();
+			if (keySet.contains(key + 100_000)) {
+				++falsePositives;
+			}
+		}
+		assertThat(falsePositives).isLessThan(1_000);
+	}
+
+	@Test
+	void processShouldFilterSeenKeyAndPassOthersToDelegate() throws Exception {
+		DeduplicatingItemProcessor<String, Integer> processor = DeduplicatingItemProcessor.of(String::length,
+			item -> item.charAt(0), LongKeySet.exact(100, KeySetStorage.heap()));
+
+		List<Integer> processed = new ArrayList<>();
+		for (String item : List.of("a", "bb", "aaa", "ccc", "b")) {
+			Integer output = processor.process(item);
+			if (output != null) {
+				processed.add(output);
+			}
+		}
+
+		assertThat(processed).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void processShouldNotFilterKeysOfRolledBackChunk() {
+		DeduplicatingItemProcessor<Long, Long> processor = DeduplicatingItemProcessor.of(Long::longValue,
+			LongKeySet.exact(100, KeySetStorage.heap()));
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+		List<Long> processed = new ArrayList<>();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			processed.add(process(processor, 1L));
+			processed.add(process(processor, 1L));
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			processed.add(process(processor, 2L));
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			processed.add(process(processor, 1L));
+			processed.add(process(processor, 2L));
+		});
+
+		assertThat(processed).containsExactly(1L, null, 2L, null, 2L);
+		assertThat(processor.getKeySet().size()).isEqualTo(2);
+	}
+
+	@Test
+	void openShouldRestoreKeysOfCheckpointFileOnRestart() throws Exception {
+		Path checkpointFile = this.tempDir.resolve("keys");
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+		ExecutionContext executionContext = new ExecutionContext();
+		DeduplicatingItemProcessor<Long, Long> processor = DeduplicatingItemProcessor.of(item -> item,
+			Long::longValue, LongKeySet.exact(100, KeySetStorage.heap()), checkpointFile);
+		processor.open(executionContext);
+		transactionTemplate.executeWithoutResult(status -> {
+			process(processor, 1L);
+			process(processor, 2L);
+			processor.update(executionContext);
+		});
+		// failed before the next checkpoint is committed
+		transactionTemplate.executeWithoutResult(status -> {
+			process(processor, 3L);
+			processor.update(new ExecutionContext());
+		});
+		processor.close();
+
+		DeduplicatingItemProcessor<Long, Long> restarted = DeduplicatingItemProcessor.of(item -> item,
+			Long::longValue, LongKeySet.exact(100, KeySetStorage.heap()), checkpointFile);
+		restarted.open(executionContext);
+
+		assertThat(process(restarted, 1L)).isNull();
+		assertThat(process(restarted, 2L)).isNull();
+		assertThat(process(restarted, 3L)).isEqualTo(3L);
+		restarted.close();
+	}
+
+	private static <I, O> O process(ItemProcessor<I, O> processor, I item) {
+		try {
+			return processor.process(item);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+class DelimitedFieldsTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void tokenizeShouldResolveQuotesOfCsv() {
+		DelimitedFields fields = DelimitedFields.csv().tokenize(bytes("a,\"b,\"\"c\"\"\",,\"\""));
+
+		assertThat(fields.getFieldCount()).isEqualTo(4);
+		assertThat(fields.getString(0)).isEqualTo("a");
+		assertThat(fields.getString(1)).isEqualTo("b,\"c\"");
+		assertThat(fields.isEmpty(2)).isTrue();
+		assertThat(fields.isEmpty(3)).isTrue();
+	}
+
+	@Test
+	void tokenizeShouldResolveEscapesOfTsv() {
+		DelimitedFields fields = DelimitedFields.tsv().tokenize(bytes("x\\ty\tz\\\\\t한글"));
+
+		assertThat(fields.getFieldCount()).isEqualTo(3);
+		assertThat(fields.getString(0)).isEqualTo("x\ty");
+		assertThat(fields.getString(1)).isEqualTo("z\\");
+		assertThat(fields.getString(2)).isEqualTo("한글");
+	}
+
+	@Test
+	void tokenizeShouldReuseFieldsForNextRecord() {
+		DelimitedFields fields = DelimitedFields.csv();
+
+		fields.tokenize(bytes("1,2,3"));
+		fields.tokenize(bytes("4"));
+
+		assertThat(fields.getFieldCount()).isEqualTo(1);
+		assertThat(fields.getLong(0)).isEqualTo(4L);
+		assertThatThrownBy(() -> fields.getLong(1)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	void tokenizeShouldThrowExceptionWhenQuoteIsNotClosed() {
+		assertThatThrownBy(() -> DelimitedFields.csv().tokenize(bytes("a,\"b")))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void getNumberShouldParseFieldsWithoutString() {
+		DelimitedFields fields = DelimitedFields.csv()
+			.tokenize(bytes("-9223372036854775808,+42,3.14,-0.001,1.5e3,1e400,12345678901234567890.5"));
+
+		assertThat(fields.getLong(0)).isEqualTo(Long.MIN_VALUE);
+		assertThat(fields.getInt(1)).isEqualTo(42);
+		assertThat(fields.getDouble(2)).isEqualTo(3.14);
+		assertThat(fields.getDouble(3)).isEqualTo(-0.001);
+		assertThat(fields.getDouble(4)).isEqualTo(1500.0);
+		assertThat(fields.getDouble(5)).isEqualTo(Double.POSITIVE_INFINITY);
+		assertThat(fields.getDouble(6)).isEqualTo(12345678901234567890.5);
+	}
+
+	@Test
+	void getNumberShouldThrowExceptionWhenFieldIsNotNumber() {
+		DelimitedFields fields = DelimitedFields.csv().tokenize(bytes("9223372036854775808,,1a,3000000000,x"));
+
+		assertThatThrownBy(() -> fields.getLong(0)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> fields.getLong(1)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> fields.getLong(2)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> fields.getInt(3)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> fields.getDouble(4)).isInstanceOf(NumberFormatException.class);
+	}
+
+	@Test
+	void decoderShouldReadCsvFileWithMappedReader() throws Exception {
+		Path path = Files.writeString(this.tempDir.resolve("prices.csv"), "id,price\n1,10.5\n2,\"20\"\n");
+		MappedRecordFileReaderDelegate<double[]> delegate = new MappedRecordFileReaderDelegateBuilder<>(path,
+			DelimitedRecordDecoder.csv(fields -> new double[] {fields.getLong(0), fields.getDouble(1)}))
+			.recordsToSkip(1)
+			.build();
+
+		delegate.onOpenRead(new ExecutionContext());
+		List<double[]> items = new ArrayList<>();
+		double[] item;
+		while ((item = delegate.read()) != null) {
+			items.add(item);
+		}
+		delegate.onCloseRead();
+
+		assertThat(items).containsExactly(new double[] {1.0, 10.5}, new double[] {2.0, 20.0});
+	}
+
+	@Test
+	void createShouldThrowExceptionWhenPassingInvalidCharacters() {
+		assertThatThrownBy(() -> DelimitedFields.of(',', ',', DelimitedFields.NONE))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> DelimitedFields.of('가', '"', DelimitedFields.NONE))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class DoubleBufferedFileItemStreamWriterDelegateTest {
+
+	private static final ItemEncoder<String> LINES = ItemEncoder.lines(item -> item);
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void writeShouldWriteAllItemsInOrderThroughSmallBuffers() throws Exception {
+		Path path = this.tempDir.resolve("out.txt");
+		DoubleBufferedFileItemStreamWriterDelegate<String> delegate =
+			DoubleBufferedFileItemStreamWriterDelegate.of(path, LINES, 8);
+		ExecutionContext executionContext = new ExecutionContext();
+		StringBuilder expected = new StringBuilder();
+
+		delegate.onOpenWrite(executionContext);
+		for (int chunk = 0; chunk < 10; ++chunk) {
+			List<String> items = new ArrayList<>();
+			for (int i = 0; i < 20; ++i) {
+				String item = "item-" + chunk + "-" + "x".repeat(i);
+				items.add(item);
+				expected.append(item).append('\n');
+			}
+			delegate.write(new Chunk<>(items));
+			delegate.onUpdateWrite(executionContext);
+		}
+		delegate.onCloseWrite();
+
+		assertThat(Files.readString(path)).isEqualTo(expected.toString());
+		assertThat(executionContext.getLong(DoubleBufferedFileItemStreamWriterDelegate.POSITION_KEY))
+			.isEqualTo(expected.length());
+	}
+
+	@Test
+	void openShouldTruncateBytesAfterSavedPositionOnRestart() throws Exception {
+		Path path = this.tempDir.resolve("out.txt");
+		Files.writeString(path, "committed\nnot committed\n");
+		ExecutionContext executionContext = new ExecutionContext();
+		executionContext.putLong(DoubleBufferedFileItemStreamWriterDelegate.POSITION_KEY, 10L);
+		DoubleBufferedFileItemStreamWriterDelegate<String> delegate =
+			DoubleBufferedFileItemStreamWriterDelegate.of(path, LINES);
+
+		delegate.onOpenWrite(executionContext);
+		delegate.write(Chunk.of("restarted"));
+		delegate.onUpdateWrite(executionContext);
+		delegate.onCloseWrite();
+
+		assertThat(Files.readString(path)).isEqualTo("committed\nrestarted\n");
+		assertThat(executionContext.getLong(DoubleBufferedFileItemStreamWriterDelegate.POSITION_KEY)).isEqualTo(20L);
+	}
+
+	@Test
+	void writeShouldDiscardChunkWhenTransactionIsRolledBack() throws Exception {
+		Path path = this.tempDir.resolve("out.txt");
+		DoubleBufferedFileItemStreamWriterDelegate<String> delegate =
+			DoubleBufferedFileItemStreamWriterDelegate.of(path, LINES, 4, new SyncTaskExecutor());
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+		ExecutionContext executionContext = new ExecutionContext();
+		delegate.onOpenWrite(executionContext);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			delegate.write(Chunk.of("committed"));
+			delegate.onUpdateWrite(executionContext);
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			delegate.write(Chunk.of("rolled", "back"));
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			delegate.write(Chunk.of("retried"));
+			delegate.onUpdateWrite(executionContext);
+		});
+		delegate.onCloseWrite();
+
+		assertThat(Files.readString(path)).isEqualTo("committed\nretried\n");
+	}
+
+	@Test
+	void writeShouldThrowExceptionWhenNotOpened() {
+		DoubleBufferedFileItemStreamWriterDelegate<String> delegate =
+			DoubleBufferedFileItemStreamWriterDelegate.of(this.tempDir.resolve("out.txt"), LINES);
+
+		assertThatThrownBy(() -> delegate.write(Chunk.of("item")))
+			.isInstanceOf(IllegalStateException.class);
+	}
+}
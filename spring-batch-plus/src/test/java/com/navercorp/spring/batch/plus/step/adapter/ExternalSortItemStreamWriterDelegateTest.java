@@ -0,0 +1,180 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ExternalSortItemStreamWriterDelegateTest {
+
+	private static final ItemEncoder<String> ENCODER = (item, buffer) ->
+		buffer.put(item.getBytes(StandardCharsets.UTF_8));
+
+	private static final RecordDecoder<String> DECODER = record -> StandardCharsets.UTF_8.decode(record).toString();
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void readerShouldReadItemsOfAllRunsInSortedOrder() throws Exception {
+		ExternalSortItemStreamWriterDelegate<String> writer = writer(10);
+		ExecutionContext executionContext = new ExecutionContext();
+		List<String> expected = new ArrayList<>();
+		Random random = new Random(42L);
+
+		writer.onOpenWrite(executionContext);
+		for (int chunk = 0; chunk < 12; ++chunk) {
+			List<String> items = new ArrayList<>();
+			for (int i = 0; i < 7; ++i) {
+				items.add(String.format("%05d", random.nextInt(100_000)));
+			}
+			writer.write(new Chunk<>(items));
+			writer.onUpdateWrite(executionContext);
+			expected.addAll(items);
+		}
+		writer.onCloseWrite();
+
+		expected.sort(Comparator.naturalOrder());
+		assertThat(readAll(new ExecutionContext())).isEqualTo(expected);
+		assertThat(executionContext.getInt(ExternalSortItemStreamWriterDelegate.RUN_COUNT_KEY)).isEqualTo(6);
+	}
+
+	@Test
+	void openShouldReuseCommittedRunsAndDropUncommittedItemsOnRestart() throws Exception {
+		ExecutionContext executionContext = new ExecutionContext();
+		ExternalSortItemStreamWriterDelegate<String> writer = writer(4);
+		writer.onOpenWrite(executionContext);
+		writer.write(Chunk.of("d", "b", "a", "c"));
+		writer.onUpdateWrite(executionContext);
+		writer.write(Chunk.of("f"));
+		writer.onUpdateWrite(executionContext);
+		// failed before the next checkpoint
+		writer.write(Chunk.of("uncommitted"));
+
+		ExternalSortItemStreamWriterDelegate<String> restarted = writer(4);
+		restarted.onOpenWrite(executionContext);
+		restarted.write(Chunk.of("e"));
+		restarted.onUpdateWrite(executionContext);
+		restarted.onCloseWrite();
+
+		assertThat(readAll(new ExecutionContext())).containsExactly("a", "b", "c", "d", "e", "f");
+	}
+
+	@Test
+	void writeShouldDiscardChunkWhenTransactionIsRolledBack() throws Exception {
+		ExternalSortItemStreamWriterDelegate<String> writer = writer(100);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+		ExecutionContext executionContext = new ExecutionContext();
+		writer.onOpenWrite(executionContext);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			writer.write(Chunk.of("b"));
+			writer.onUpdateWrite(executionContext);
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			writer.write(Chunk.of("rolled back"));
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			writer.write(Chunk.of("a"));
+			writer.onUpdateWrite(executionContext);
+		});
+		writer.onCloseWrite();
+
+		assertThat(readAll(new ExecutionContext())).containsExactly("a", "b");
+	}
+
+	@Test
+	void readerShouldSkipReadItemsOnRestartAndDeleteRuns() throws Exception {
+		ExternalSortItemStreamWriterDelegate<String> writer = writer(2);
+		ExecutionContext writerContext = new ExecutionContext();
+		writer.onOpenWrite(writerContext);
+		writer.write(Chunk.of("c", "a", "d", "b"));
+		writer.onUpdateWrite(writerContext);
+		writer.onCloseWrite();
+		ExternalSortMergeReaderDelegate<String> reader = reader();
+		ExecutionContext readerContext = new ExecutionContext();
+		reader.onOpenRead(readerContext);
+		reader.read();
+		reader.read();
+		reader.onUpdateRead(readerContext);
+		reader.onCloseRead();
+
+		assertThat(readAll(readerContext)).containsExactly("c", "d");
+
+		ExternalSortMergeReaderDelegate.deleteRuns(this.tempDir, "sort");
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	@Test
+	void buildShouldThrowExceptionWhenMissingRequiredSettings() {
+		assertThatThrownBy(() -> new ExternalSortItemStreamWriterDelegateBuilder<String>(this.tempDir, "sort")
+			.serializer(ENCODER, DECODER)
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> new ExternalSortItemStreamWriterDelegateBuilder<String>(this.tempDir, "sort")
+			.comparator(Comparator.naturalOrder())
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> writer(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private ExternalSortItemStreamWriterDelegate<String> writer(int runSize) {
+		return new ExternalSortItemStreamWriterDelegateBuilder<String>(this.tempDir, "sort")
+			.comparator(Comparator.naturalOrder())
+			.serializer(ENCODER, DECODER)
+			.runSize(runSize)
+			.build();
+	}
+
+	private ExternalSortMergeReaderDelegate<String> reader() {
+		return ExternalSortMergeReaderDelegate.of(this.tempDir, "sort", Comparator.naturalOrder(), DECODER);
+	}
+
+	private List<String> readAll(ExecutionContext executionContext) {
+		ExternalSortMergeReaderDelegate<String> reader = reader();
+		reader.onOpenRead(executionContext);
+		List<String> items = new ArrayList<>();
+		String item;
+		while ((item = reader.read()) != null) {
+			items.add(item);
+		}
+		reader.onCloseRead();
+		return items;
+	}
+}
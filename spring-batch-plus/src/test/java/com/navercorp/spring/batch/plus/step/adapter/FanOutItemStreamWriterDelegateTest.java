@@ -0,0 +1,196 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.navercorp.spring.batch.plus.step.adapter.FanOutItemStreamWriterDelegate.FailureMode;
+
+@SuppressWarnings("unchecked")
+class FanOutItemStreamWriterDelegateTest {
+
+	@Test
+	void writeShouldWriteSameChunkToAllSinksConcurrently() {
+		CountDownLatch latch = new CountDownLatch(2);
+		RecordingSink sink1 = new RecordingSink(latch);
+		RecordingSink sink2 = new RecordingSink(latch);
+		FanOutItemStreamWriterDelegate<Integer> delegate = FanOutItemStreamWriterDelegate.of(List.of(sink1, sink2));
+
+		// each sink waits for the other one, so it can finish only if they run concurrently
+		delegate.write(Chunk.of(1, 2, 3));
+
+		assertThat(sink1.items).containsExactly(1, 2, 3);
+		assertThat(sink2.items).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void writeShouldRecordTimeOfEachSink() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		FanOutItemStreamWriterDelegate<Integer> delegate = new FanOutItemStreamWriterDelegateBuilder<Integer>()
+			.sink("db", new RecordingSink(null))
+			.sink("index", new RecordingSink(null))
+			.meterRegistry(meterRegistry)
+			.build();
+
+		delegate.write(Chunk.of(1, 2, 3));
+		delegate.write(Chunk.of(4, 5));
+
+		for (String sink : List.of("db", "index")) {
+			assertThat(meterRegistry.get(FanOutItemStreamWriterDelegate.TIMER_NAME).tag("sink", sink).timer().count())
+				.isEqualTo(2L);
+		}
+	}
+
+	@Test
+	void writeShouldWaitAllSinksAndThrowExceptionWhenFailureModeIsWaitAll() {
+		AtomicInteger writtenSinkCount = new AtomicInteger();
+		FanOutItemStreamWriterDelegate<Integer> delegate = new FanOutItemStreamWriterDelegateBuilder<Integer>()
+			.sink("failing", failingSink())
+			.sink("slow", slowSink(writtenSinkCount))
+			.failureMode(FailureMode.WAIT_ALL)
+			.meterRegistry(new SimpleMeterRegistry())
+			.build();
+
+		assertThatThrownBy(() -> delegate.write(Chunk.of(1, 2, 3)))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("test");
+		assertThat(writtenSinkCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void writeShouldInterruptRunningSinksAndThrowExceptionWhenFailureModeIsFailFast() {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicInteger interruptedSinkCount = new AtomicInteger();
+		FanOutItemStreamWriterDelegate<Integer> delegate = new FanOutItemStreamWriterDelegateBuilder<Integer>()
+			.sink("failing", chunk -> {
+				try {
+					started.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new IllegalStateException("test");
+			})
+			.sink("blocking", chunk -> {
+				started.countDown();
+				try {
+					Thread.sleep(10_000L);
+				} catch (InterruptedException e) {
+					interruptedSinkCount.incrementAndGet();
+				}
+			})
+			.failureMode(FailureMode.FAIL_FAST)
+			.meterRegistry(new SimpleMeterRegistry())
+			.build();
+
+		assertThatThrownBy(() -> delegate.write(Chunk.of(1, 2, 3)))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("test");
+		// the blocking sink has been interrupted and returned before the failure is thrown
+		assertThat(interruptedSinkCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void streamCallbacksShouldBeInvokedForAllSinks() {
+		ItemStreamWriterDelegate<Integer> sink1 = mock(ItemStreamWriterDelegate.class);
+		ItemStreamWriterDelegate<Integer> sink2 = mock(ItemStreamWriterDelegate.class);
+		FanOutItemStreamWriterDelegate<Integer> delegate = FanOutItemStreamWriterDelegate.of(List.of(sink1, sink2));
+
+		delegate.onOpenWrite(new ExecutionContext());
+		delegate.onUpdateWrite(new ExecutionContext());
+		delegate.onCloseWrite();
+
+		for (ItemStreamWriterDelegate<Integer> sink : List.of(sink1, sink2)) {
+			verify(sink, times(1)).onOpenWrite(any());
+			verify(sink, times(1)).onUpdateWrite(any());
+			verify(sink, times(1)).onCloseWrite();
+		}
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void createShouldThrowExceptionWhenPassingInvalidArguments() {
+		assertThatThrownBy(() -> FanOutItemStreamWriterDelegate.of(null));
+		assertThatThrownBy(() -> FanOutItemStreamWriterDelegate.of(List.of()));
+		assertThatThrownBy(() -> new FanOutItemStreamWriterDelegateBuilder<Integer>()
+			.sink("sink", new RecordingSink(null))
+			.sink("sink", new RecordingSink(null)));
+	}
+
+	private static ItemStreamWriterDelegate<Integer> failingSink() {
+		return chunk -> {
+			throw new IllegalStateException("test");
+		};
+	}
+
+	private static ItemStreamWriterDelegate<Integer> slowSink(AtomicInteger writtenSinkCount) {
+		return chunk -> {
+			try {
+				Thread.sleep(300L);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			writtenSinkCount.incrementAndGet();
+		};
+	}
+
+	private static class RecordingSink implements ItemStreamWriterDelegate<Integer> {
+
+		private final List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+
+		private final CountDownLatch latch;
+
+		RecordingSink(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void write(@NonNull Chunk<? extends Integer> chunk) {
+			if (this.latch != null) {
+				this.latch.countDown();
+				try {
+					if (!this.latch.await(5, TimeUnit.SECONDS)) {
+						throw new IllegalStateException("Sinks are not written concurrently.");
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			this.items.addAll(chunk.getItems());
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+class FileRangePartitionerTest {
+
+	private static final RecordDecoder<String> UTF8 = record -> StandardCharsets.UTF_8.decode(record).toString();
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void partitionShouldSplitFileIntoRangesAlignedToLines() throws Exception {
+		List<String> lines = new ArrayList<>();
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 1000; ++i) {
+			String line = "record-" + "x".repeat(i % 17) + i;
+			lines.add(line);
+			content.append(line).append('\n');
+		}
+		Path path = Files.writeString(this.tempDir.resolve("records.txt"), content);
+
+		Map<String, ExecutionContext> partitions = FileRangePartitioner.of(path).partition(7);
+
+		assertThat(partitions).hasSize(7);
+		List<String> read = new ArrayList<>();
+		long previousEnd = 0L;
+		for (ExecutionContext executionContext : partitions.values()) {
+			assertThat(executionContext.getLong(FileRangePartitioner.START_KEY)).isEqualTo(previousEnd);
+			previousEnd = executionContext.getLong(FileRangePartitioner.END_KEY);
+			read.addAll(readRange(path, executionContext));
+		}
+		assertThat(previousEnd).isEqualTo(Files.size(path));
+		assertThat(read).isEqualTo(lines);
+	}
+
+	@Test
+	void partitionShouldAlignRangesToFixedLengthRecords() throws Exception {
+		Path path = Files.writeString(this.tempDir.resolve("records.dat"), "aaaabbbbccccdddd");
+
+		Map<String, ExecutionContext> partitions = FileRangePartitioner.of(path, 4).partition(3);
+
+		assertThat(partitions.values())
+			.extracting(it -> it.getLong(FileRangePartitioner.START_KEY))
+			.containsExactly(0L, 8L, 12L);
+	}
+
+	@Test
+	void partitionShouldDropEmptyRanges() throws Exception {
+		Path path = Files.writeString(this.tempDir.resolve("records.txt"), "only one line\n");
+
+		assertThat(FileRangePartitioner.of(path).partition(4)).hasSize(1);
+		assertThat(FileRangePartitioner.of(Files.createFile(this.tempDir.resolve("empty.txt"))).partition(4))
+			.hasSize(1);
+	}
+
+	@Test
+	void readerShouldResumeInRange() throws Exception {
+		Path path = Files.writeString(this.tempDir.resolve("records.txt"), "a\nb\nc\nd\n");
+		ExecutionContext executionContext = new ExecutionContext();
+		executionContext.putLong(FileRangePartitioner.START_KEY, 2L);
+		executionContext.putLong(FileRangePartitioner.END_KEY, 6L);
+		MappedRecordFileReaderDelegate<String> delegate = new MappedRecordFileReaderDelegateBuilder<>(path, UTF8)
+			.rangeFromExecutionContext()
+			.build();
+		delegate.onOpenRead(executionContext);
+		assertThat(delegate.read()).isEqualTo("b");
+		delegate.onUpdateRead(executionContext);
+		delegate.onCloseRead();
+
+		assertThat(readRange(path, executionContext)).containsExactly("c");
+	}
+
+	@Test
+	void partitionShouldThrowExceptionWhenGridSizeIsInvalid() throws Exception {
+		Path path = Files.writeString(this.tempDir.resolve("records.txt"), "a\n");
+
+		assertThatThrownBy(() -> FileRangePartitioner.of(path).partition(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static List<String> readRange(Path path, ExecutionContext executionContext) {
+		MappedRecordFileReaderDelegate<String> delegate = new MappedRecordFileReaderDelegateBuilder<>(path, UTF8)
+			.rangeFromExecutionContext()
+			.windowSize(64)
+			.build();
+		delegate.onOpenRead(executionContext);
+		List<String> items = new ArrayList<>();
+		String item;
+		while ((item = delegate.read()) != null) {
+			items.add(item);
+		}
+		delegate.onCloseRead();
+		return items;
+	}
+}
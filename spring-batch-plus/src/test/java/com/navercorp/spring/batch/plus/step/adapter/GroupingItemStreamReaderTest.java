@@ -0,0 +1,136 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.support.RepeatTemplate;
+import org.springframework.lang.NonNull;
+
+class GroupingItemStreamReaderTest {
+
+	private static final List<String> ITEMS = List.of(
+		"a1", "a2", "a3", "b1", "c1", "c2", "c3", "c4", "c5", "c6", "d1", "d2");
+
+	@Test
+	void completionPolicyShouldCompleteChunkOnGroupBoundaryWithinLimits() throws Exception {
+		GroupingItemStreamReader<String> reader = GroupingItemStreamReader.of(new IndexedReader(ITEMS),
+			item -> item.charAt(0));
+		RepeatTemplate repeatTemplate = new RepeatTemplate();
+		repeatTemplate.setCompletionPolicy(GroupBoundaryCompletionPolicy.of(reader, 2, 4));
+
+		reader.open(new ExecutionContext());
+		List<List<String>> chunks = new ArrayList<>();
+		boolean[] end = {false};
+		while (!end[0]) {
+			List<String> chunk = new ArrayList<>();
+			repeatTemplate.iterate(context -> {
+				String item = reader.read();
+				if (item == null) {
+					end[0] = true;
+					return RepeatStatus.FINISHED;
+				}
+				chunk.add(item);
+				return RepeatStatus.CONTINUABLE;
+			});
+			if (!chunk.isEmpty()) {
+				chunks.add(chunk);
+			}
+		}
+		reader.close();
+
+		assertThat(chunks).containsExactly(
+			List.of("a1", "a2", "a3"),
+			List.of("b1", "c1", "c2", "c3"),
+			List.of("c4", "c5", "c6"),
+			List.of("d1", "d2"));
+	}
+
+	@Test
+	void updateShouldSaveStateBeforePeekedItem() throws Exception {
+		GroupingItemStreamReader<String> reader = GroupingItemStreamReader.of(new IndexedReader(ITEMS),
+			item -> item.charAt(0));
+		ExecutionContext executionContext = new ExecutionContext();
+		reader.open(executionContext);
+
+		assertThat(reader.isGroupBoundary()).isTrue();
+		assertThat(reader.read()).isEqualTo("a1");
+		assertThat(reader.isGroupBoundary()).isFalse();
+		reader.update(executionContext);
+		assertThat(executionContext.getInt(IndexedReader.INDEX_KEY)).isEqualTo(1);
+		assertThat(reader.read()).isEqualTo("a2");
+		reader.update(executionContext);
+		assertThat(executionContext.getInt(IndexedReader.INDEX_KEY)).isEqualTo(2);
+		reader.close();
+
+		GroupingItemStreamReader<String> restarted = GroupingItemStreamReader.of(new IndexedReader(ITEMS),
+			item -> item.charAt(0));
+		restarted.open(executionContext);
+		assertThat(restarted.read()).isEqualTo("a3");
+		assertThat(restarted.isGroupBoundary()).isTrue();
+		assertThat(restarted.read()).isEqualTo("b1");
+	}
+
+	@Test
+	void createShouldThrowExceptionWhenPassingInvalidLimits() {
+		GroupingItemStreamReader<String> reader = GroupingItemStreamReader.of(new IndexedReader(ITEMS),
+			item -> item.charAt(0));
+
+		assertThatThrownBy(() -> GroupBoundaryCompletionPolicy.of(reader, 0, 1))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> GroupBoundaryCompletionPolicy.of(reader, 2, 1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static class IndexedReader implements ItemStreamReader<String> {
+
+		private static final String INDEX_KEY = "index";
+
+		private final List<String> items;
+
+		private int index = 0;
+
+		IndexedReader(List<String> items) {
+			this.items = items;
+		}
+
+		@Override
+		public void open(@NonNull ExecutionContext executionContext) {
+			this.index = executionContext.getInt(INDEX_KEY, 0);
+		}
+
+		@Override
+		public String read() {
+			return this.index < this.items.size() ? this.items.get(this.index++) : null;
+		}
+
+		@Override
+		public void update(@NonNull ExecutionContext executionContext) {
+			executionContext.putInt(INDEX_KEY, this.index);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import reactor.core.publisher.Mono;
+
+@SuppressWarnings("unchecked")
+class ItemStreamReactiveWriterAdapterTest {
+
+	@Test
+	void openShouldInvokeProperDelegateMethod() {
+		ItemStreamReactiveWriterDelegate<Integer> delegate = mock(ItemStreamReactiveWriterDelegate.class);
+		ItemStreamWriter<Integer> itemStreamWriterAdaptor = ItemStreamReactiveWriterAdapter.of(delegate);
+
+		itemStreamWriterAdaptor.open(new ExecutionContext());
+
+		verify(delegate, times(1)).onOpenWrite(any());
+	}
+
+	@Test
+	void writeShouldWaitUntilDelegateWritesAllItems() throws Exception {
+		List<Integer> written = new ArrayList<>();
+		ItemStreamReactiveWriterDelegate<Integer> delegate = items -> items
+			.delayElements(Duration.ofMillis(10))
+			.doOnNext(written::add)
+			.then();
+		ItemStreamWriter<Integer> itemStreamWriterAdaptor = ItemStreamReactiveWriterAdapter.of(delegate);
+
+		itemStreamWriterAdaptor.write(Chunk.of(1, 2, 3));
+
+		assertThat(written).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void writeShouldThrowExceptionWhenDelegateFails() {
+		ItemStreamReactiveWriterDelegate<Integer> delegate = items -> Mono.error(new IllegalStateException("test"));
+		ItemStreamWriter<Integer> itemStreamWriterAdaptor = ItemStreamReactiveWriterAdapter.of(delegate);
+
+		assertThatThrownBy(() -> itemStreamWriterAdaptor.write(Chunk.of(1, 2, 3)))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("test");
+	}
+
+	@Test
+	void writeShouldThrowExceptionWhenTimeoutExceeds() {
+		ItemStreamReactiveWriterDelegate<Integer> delegate = items -> Mono.never();
+		ItemStreamWriter<Integer> itemStreamWriterAdaptor =
+			ItemStreamReactiveWriterAdapter.of(delegate, Duration.ofMillis(10));
+
+		assertThatThrownBy(() -> itemStreamWriterAdaptor.write(Chunk.of(1, 2, 3)))
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void updateShouldInvokeProperDelegateMethod() {
+		ItemStreamReactiveWriterDelegate<Integer> delegate = mock(ItemStreamReactiveWriterDelegate.class);
+		ItemStreamWriter<Integer> itemStreamWriterAdaptor = ItemStreamReactiveWriterAdapter.of(delegate);
+
+		itemStreamWriterAdaptor.update(new ExecutionContext());
+
+		verify(delegate, times(1)).onUpdateWrite(any());
+	}
+
+	@Test
+	void closeShouldInvokeProperDelegateMethod() {
+		ItemStreamReactiveWriterDelegate<Integer> delegate = mock(ItemStreamReactiveWriterDelegate.class);
+		ItemStreamWriter<Integer> itemStreamWriterAdaptor = ItemStreamReactiveWriterAdapter.of(delegate);
+
+		itemStreamWriterAdaptor.close();
+
+		verify(delegate, times(1)).onCloseWrite();
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void createShouldThrowExceptionWhenPassingNull() {
+		assertThatThrownBy(() -> ItemStreamReactiveWriterAdapter.of(null));
+		assertThatThrownBy(() -> ItemStreamReactiveWriterAdapter.of(items -> Mono.empty(), null));
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class JdbcBulkItemStreamWriterDelegateTest {
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		this.dataSource = new EmbeddedDatabaseBuilder()
+			.generateUniqueName(true)
+			.setType(EmbeddedDatabaseType.H2)
+			.build();
+		this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+		this.jdbcTemplate.execute("CREATE TABLE PERSON (ID BIGINT PRIMARY KEY, NAME VARCHAR(100))");
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	@Test
+	void writeShouldInsertAllItemsWithMultiRowStatements() {
+		JdbcBulkItemStreamWriterDelegate<Person> delegate = personDelegate()
+			.rowsPerStatement(3)
+			.build();
+
+		delegate.write(new Chunk<>(persons(0, 10, "name")));
+
+		assertThat(namesById()).hasSize(10);
+		assertThat(namesById().get(9L)).isEqualTo("name9");
+	}
+
+	@Test
+	void writeShouldUpsertItemsByKeyColumns() {
+		JdbcBulkItemStreamWriterDelegate<Person> delegate = personDelegate()
+			.dialect(JdbcBulkDialect.H2)
+			.upsert("ID")
+			.rowsPerStatement(4)
+			.build();
+
+		delegate.write(new Chunk<>(persons(0, 5, "old")));
+		delegate.write(new Chunk<>(persons(3, 8, "new")));
+
+		Map<Long, String> namesById = namesById();
+		assertThat(namesById).hasSize(8);
+		assertThat(namesById.get(2L)).isEqualTo("old2");
+		assertThat(namesById.get(3L)).isEqualTo("new3");
+		assertThat(namesById.get(7L)).isEqualTo("new7");
+	}
+
+	@Test
+	void buildShouldLimitRowsPerStatementByMaxParametersOfDialect() {
+		JdbcBulkItemStreamWriterDelegate<Person> delegate = personDelegate()
+			.dialect(JdbcBulkDialect.POSTGRESQL)
+			.rowsPerStatement(100_000)
+			.build();
+
+		assertThat(delegate.getRowsPerStatement()).isEqualTo(JdbcBulkDialect.POSTGRESQL.getMaxParameters() / 2);
+	}
+
+	@Test
+	void createSqlShouldFollowUpsertSyntaxOfDialect() {
+		assertThat(personDelegate().build().createSql(2))
+			.isEqualTo("INSERT INTO PERSON (ID, NAME) VALUES (?, ?), (?, ?)");
+		assertThat(personDelegate().dialect(JdbcBulkDialect.H2).upsert("ID").build().createSql(1))
+			.isEqualTo("MERGE INTO PERSON (ID, NAME) KEY (ID) VALUES (?, ?)");
+		assertThat(personDelegate().dialect(JdbcBulkDialect.MYSQL).upsert("ID").build().createSql(1))
+			.isEqualTo("INSERT INTO PERSON (ID, NAME) VALUES (?, ?) ON DUPLICATE KEY UPDATE NAME = VALUES(NAME)");
+		assertThat(personDelegate().dialect(JdbcBulkDialect.POSTGRESQL).upsert("ID").build().createSql(1))
+			.isEqualTo("INSERT INTO PERSON (ID, NAME) VALUES (?, ?)"
+				+ " ON CONFLICT (ID) DO UPDATE SET NAME = EXCLUDED.NAME");
+		assertThat(personDelegate().dialect(JdbcBulkDialect.POSTGRESQL).upsert("ID", "NAME").build().createSql(1))
+			.isEqualTo("INSERT INTO PERSON (ID, NAME) VALUES (?, ?) ON CONFLICT (ID, NAME) DO NOTHING");
+	}
+
+	@Test
+	void writeShouldThrowExceptionWhenColumnValuesDoNotMatchColumns() {
+		JdbcBulkItemStreamWriterDelegate<Person> delegate =
+			new JdbcBulkItemStreamWriterDelegateBuilder<Person>(this.dataSource, "PERSON")
+				.columns("ID", "NAME")
+				.columnValues(person -> new Object[] {person.id})
+				.build();
+
+		assertThatThrownBy(() -> delegate.write(new Chunk<>(persons(0, 1, "name"))))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void buildShouldThrowExceptionWhenPassingInvalidArguments() {
+		assertThatThrownBy(() -> new JdbcBulkItemStreamWriterDelegateBuilder<Person>(this.dataSource, "PERSON")
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> personDelegate().upsert("ID").build())
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> personDelegate().dialect(JdbcBulkDialect.H2).upsert("UNKNOWN").build())
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> personDelegate().rowsPerStatement(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private JdbcBulkItemStreamWriterDelegateBuilder<Person> personDelegate() {
+		return new JdbcBulkItemStreamWriterDelegateBuilder<Person>(this.dataSource, "PERSON")
+			.columns("ID", "NAME")
+			.columnValues(person -> new Object[] {person.id, person.name});
+	}
+
+	private Map<Long, String> namesById() {
+		return this.jdbcTemplate.queryForList("SELECT ID, NAME FROM PERSON").stream()
+			.collect(Collectors.toMap(it -> ((Number)it.get("ID")).longValue(), it -> (String)it.get("NAME")));
+	}
+
+	private static List<Person> persons(int from, int to, String namePrefix) {
+		return IntStream.range(from, to)
+			.mapToObj(it -> new Person(it, namePrefix + it))
+			.collect(Collectors.toList());
+	}
+
+	private static class Person {
+
+		private final long id;
+
+		private final String name;
+
+		Person(long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
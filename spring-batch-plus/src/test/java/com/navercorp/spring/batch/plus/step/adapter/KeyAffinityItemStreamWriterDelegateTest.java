@@ -0,0 +1,130 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+@SuppressWarnings("unchecked")
+class KeyAffinityItemStreamWriterDelegateTest {
+
+	@Test
+	void writeShouldKeepOrderOfItemsWithSameKeyInSameLane() {
+		List<RecordingLane> lanes = IntStream.range(0, 4)
+			.mapToObj(it -> new RecordingLane())
+			.collect(Collectors.toList());
+		KeyAffinityItemStreamWriterDelegate<int[]> delegate =
+			KeyAffinityItemStreamWriterDelegate.of(item -> item[0], lanes);
+		List<int[]> items = new ArrayList<>();
+		for (int sequence = 0; sequence < 100; ++sequence) {
+			items.add(new int[] {sequence % 10, sequence});
+		}
+
+		delegate.write(new Chunk<>(items));
+
+		assertThat(lanes.stream().mapToInt(it -> it.items.size()).sum()).isEqualTo(items.size());
+		for (int key = 0; key < 10; ++key) {
+			int currentKey = key;
+			List<RecordingLane> lanesOfKey = lanes.stream()
+				.filter(lane -> lane.items.stream().anyMatch(item -> item[0] == currentKey))
+				.collect(Collectors.toList());
+			assertThat(lanesOfKey).hasSize(1);
+			List<Integer> sequences = lanesOfKey.get(0).items.stream()
+				.filter(item -> item[0] == currentKey)
+				.map(item -> item[1])
+				.collect(Collectors.toList());
+			assertThat(sequences).isSorted();
+		}
+	}
+
+	@Test
+	void writeShouldWaitAllLanesAndThrowExceptionWhenLaneFails() {
+		AtomicInteger writtenLaneCount = new AtomicInteger();
+		ItemStreamWriterDelegate<Integer> failingLane = chunk -> {
+			throw new IllegalStateException("test");
+		};
+		ItemStreamWriterDelegate<Integer> slowLane = chunk -> {
+			try {
+				Thread.sleep(100L);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			writtenLaneCount.incrementAndGet();
+		};
+		KeyAffinityItemStreamWriterDelegate<Integer> delegate =
+			KeyAffinityItemStreamWriterDelegate.of(item -> item, List.of(failingLane, slowLane));
+
+		assertThatThrownBy(() -> delegate.write(Chunk.of(0, 1, 2, 3)))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("test");
+		assertThat(writtenLaneCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void streamCallbacksShouldBeInvokedForAllLanes() {
+		ItemStreamWriterDelegate<Integer> lane1 = mock(ItemStreamWriterDelegate.class);
+		ItemStreamWriterDelegate<Integer> lane2 = mock(ItemStreamWriterDelegate.class);
+		KeyAffinityItemStreamWriterDelegate<Integer> delegate =
+			KeyAffinityItemStreamWriterDelegate.of(item -> item, List.of(lane1, lane2));
+
+		delegate.onOpenWrite(new ExecutionContext());
+		delegate.onUpdateWrite(new ExecutionContext());
+		delegate.onCloseWrite();
+
+		for (ItemStreamWriterDelegate<Integer> lane : List.of(lane1, lane2)) {
+			verify(lane, times(1)).onOpenWrite(any());
+			verify(lane, times(1)).onUpdateWrite(any());
+			verify(lane, times(1)).onCloseWrite();
+		}
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void createShouldThrowExceptionWhenPassingInvalidArguments() {
+		assertThatThrownBy(() -> KeyAffinityItemStreamWriterDelegate.of(null, List.of(new RecordingLane())));
+		assertThatThrownBy(() -> KeyAffinityItemStreamWriterDelegate.of(item -> item, null));
+		assertThatThrownBy(() -> KeyAffinityItemStreamWriterDelegate.of(item -> item, List.of()));
+	}
+
+	private static class RecordingLane implements ItemStreamWriterDelegate<int[]> {
+
+		private final List<int[]> items = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public void write(@NonNull Chunk<? extends int[]> chunk) {
+			this.items.addAll(chunk.getItems());
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class MappedContentHashStoreTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void getAllShouldReturnPutHashesAfterReopen() {
+		Path path = this.tempDir.resolve("hashes");
+		MappedContentHashStore store = new MappedContentHashStore(path, 1000);
+		store.open();
+		long[] ids = new long[1000];
+		long[] hashes = new long[1000];
+		for (int i = 0; i < ids.length; ++i) {
+			ids[i] = i * 31L - 500L;
+			hashes[i] = i + 1L;
+		}
+		store.putAll(ids, hashes, ids.length);
+		store.putAll(new long[] {ids[0]}, new long[] {-1L}, 1);
+		store.close();
+
+		MappedContentHashStore reopened = new MappedContentHashStore(path, 1);
+		reopened.open();
+		long[] actual = new long[2];
+		reopened.getAll(new long[] {ids[0], ids[999]}, actual, 2);
+		long[] absent = new long[1];
+		reopened.getAll(new long[] {Long.MAX_VALUE}, absent, 1);
+		reopened.close();
+
+		assertThat(actual).containsExactly(-1L, 1000L);
+		assertThat(absent).containsExactly(0L);
+		assertThat(reopened.size()).isEqualTo(1000);
+	}
+
+	@Test
+	void putAllShouldBeAppliedOnlyAfterCommit() {
+		MappedContentHashStore store = new MappedContentHashStore(this.tempDir.resolve("hashes"), 10);
+		store.open();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			store.putAll(new long[] {1L}, new long[] {10L}, 1);
+			status.setRollbackOnly();
+		});
+		long[] afterRollback = new long[1];
+		store.getAll(new long[] {1L}, afterRollback, 1);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			store.putAll(new long[] {1L}, new long[] {10L}, 1);
+			long[] beforeCommit = new long[1];
+			store.getAll(new long[] {1L}, beforeCommit, 1);
+			assertThat(beforeCommit).containsExactly(0L);
+		});
+		long[] afterCommit = new long[1];
+		store.getAll(new long[] {1L}, afterCommit, 1);
+		store.close();
+
+		assertThat(afterRollback).containsExactly(0L);
+		assertThat(afterCommit).containsExactly(10L);
+	}
+
+	@Test
+	void putAllShouldThrowExceptionWhenStoreIsFull() {
+		MappedContentHashStore store = new MappedContentHashStore(this.tempDir.resolve("hashes"), 1);
+		store.open();
+		long[] ids = new long[100];
+		long[] hashes = new long[100];
+		for (int i = 0; i < ids.length; ++i) {
+			ids[i] = i;
+			hashes[i] = 1L;
+		}
+
+		assertThatThrownBy(() -> store.putAll(ids, hashes, ids.length)).isInstanceOf(IllegalStateException.class);
+		store.close();
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+class MappedRecordFileReaderDelegateTest {
+
+	private static final RecordDecoder<String> UTF8 = record -> StandardCharsets.UTF_8.decode(record).toString();
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void readShouldReadNewlineDelimitedRecordsAcrossWindows() throws Exception {
+		Path path = write("first\nsecond\r\n\nthe longest record\nlast");
+		for (int windowSize : new int[] {1, 4, 7, 1024}) {
+			MappedRecordFileReaderDelegate<String> delegate = new MappedRecordFileReaderDelegateBuilder<>(path, UTF8)
+				.windowSize(windowSize)
+				.build();
+
+			assertThat(readAll(delegate, new ExecutionContext()))
+				.containsExactly("first", "second", "", "the longest record", "last");
+		}
+	}
+
+	@Test
+	void readShouldReadFixedLengthRecords() throws Exception {
+		Path path = write("aaaabbbbcccc");
+		MappedRecordFileReaderDelegate<String> delegate = new MappedRecordFileReaderDelegateBuilder<>(path, UTF8)
+			.fixedLength(4)
+			.windowSize(6)
+			.build();
+
+		assertThat(readAll(delegate, new ExecutionContext())).containsExactly("aaaa", "bbbb", "cccc");
+	}
+
+	@Test
+	void readShouldThrowExceptionWhenFixedLengthRecordIsIncomplete() throws Exception {
+		Path path = write("aaaabb");
+		MappedRecordFileReaderDelegate<String> delegate = new MappedRecordFileReaderDelegateBuilder<>(path, UTF8)
+			.fixedLength(4)
+			.build();
+		delegate.onOpenRead(new ExecutionContext());
+		delegate.read();
+
+		assertThatThrownBy(delegate::read).isInstanceOf(IllegalStateException.class);
+		delegate.onCloseRead();
+	}
+
+	@Test
+	void readShouldSkipRecordsDecodedToNull() throws Exception {
+		Path path = write("1\n#comment\n2\n");
+		MappedRecordFileReaderDelegate<String> delegate = new MappedRecordFileReaderDelegateBuilder<String>(path,
+			record -> record.get(record.position()) == '#' ? null : UTF8.decode(record))
+			.build();
+
+		assertThat(readAll(delegate, new ExecutionContext())).containsExactly("1", "2");
+	}
+
+	@Test
+	void openShouldResumeAtSavedOffset() throws Exception {
+		Path path = write("first\nsecond\nthird\n");
+		ExecutionContext executionContext = new ExecutionContext();
+		MappedRecordFileReaderDelegate<String> delegate = new MappedRecordFileReaderDelegateBuilder<>(path, UTF8)
+			.name("records")
+			.build();
+		delegate.onOpenRead(executionContext);
+		delegate.read();
+		delegate.onUpdateRead(executionContext);
+		delegate.read();
+		delegate.onCloseRead();
+
+		assertThat(executionContext.getLong("records.offset")).isEqualTo(6L);
+
+		MappedRecordFileReaderDelegate<String> restarted = new MappedRecordFileReaderDelegateBuilder<>(path, UTF8)
+			.name("records")
+			.build();
+		assertThat(readAll(restarted, executionContext)).containsExactly("second", "third");
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void buildShouldThrowExceptionWhenPassingInvalidArguments() {
+		assertThatThrownBy(() -> new MappedRecordFileReaderDelegateBuilder<>(null, UTF8));
+		assertThatThrownBy(() -> new MappedRecordFileReaderDelegateBuilder<>(this.tempDir, null));
+		assertThatThrownBy(() -> new MappedRecordFileReaderDelegateBuilder<>(this.tempDir, UTF8).fixedLength(0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new MappedRecordFileReaderDelegateBuilder<>(this.tempDir, UTF8)
+			.fixedLength(8)
+			.windowSize(4)
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	private Path write(String content) throws Exception {
+		return Files.writeString(Files.createTempFile(this.tempDir, "records", ".txt"), content);
+	}
+
+	private static List<String> readAll(MappedRecordFileReaderDelegate<String> delegate,
+		ExecutionContext executionContext) {
+		delegate.onOpenRead(executionContext);
+		List<String> items = new ArrayList<>();
+		String item;
+		while ((item = delegate.read()) != null) {
+			items.add(item);
+		}
+		delegate.onCloseRead();
+		return items;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MemoryPressureGuardTest {
+
+	@Test
+	void pressureShouldStartAtHighWatermarkAndEndBelowLowWatermark() {
+		TestMemoryPressureGuard guard = new TestMemoryPressureGuard(new SimpleMeterRegistry());
+
+		guard.occupancy = 0.8d;
+		guard.update();
+		assertThat(guard.isUnderPressure()).isFalse();
+
+		guard.occupancy = 0.9d;
+		guard.update();
+		assertThat(guard.isUnderPressure()).isTrue();
+
+		guard.occupancy = 0.75d;
+		guard.update();
+		assertThat(guard.isUnderPressure()).isTrue();
+
+		guard.occupancy = 0.5d;
+		guard.update();
+		assertThat(guard.isUnderPressure()).isFalse();
+	}
+
+	@Test
+	void awaitReliefShouldReturnWhenPressureEnds() throws Exception {
+		TestMemoryPressureGuard guard = new TestMemoryPressureGuard(new SimpleMeterRegistry());
+		guard.occupancy = 0.9d;
+		guard.update();
+
+		Thread relief = new Thread(() -> {
+			sleep(50L);
+			guard.occupancy = 0.5d;
+			guard.update();
+		});
+		relief.start();
+		long waited = guard.awaitRelief(Duration.ofSeconds(10L));
+		relief.join();
+
+		assertThat(guard.isUnderPressure()).isFalse();
+		assertThat(waited).isLessThan(TimeUnit.SECONDS.toNanos(5L));
+	}
+
+	@Test
+	void awaitReliefShouldReturnAfterMaxWait() {
+		TestMemoryPressureGuard guard = new TestMemoryPressureGuard(new SimpleMeterRegistry());
+		guard.occupancy = 0.9d;
+		guard.update();
+
+		long waited = guard.awaitRelief(Duration.ofMillis(50L));
+
+		assertThat(guard.isUnderPressure()).isTrue();
+		assertThat(waited).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50L));
+	}
+
+	@Test
+	void readerShouldPauseUnderPressure() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		TestMemoryPressureGuard guard = new TestMemoryPressureGuard(meterRegistry);
+		Iterator<Integer> items = List.of(1, 2).iterator();
+		MemoryGuardedItemStreamReader<Integer> reader = MemoryGuardedItemStreamReader.of(
+			() -> items.hasNext() ? items.next() : null, guard, Duration.ofMillis(20L));
+
+		assertThat(reader.read()).isEqualTo(1);
+		guard.occupancy = 0.9d;
+		guard.update();
+		assertThat(reader.read()).isEqualTo(2);
+
+		assertThat(meterRegistry.get(MemoryPressureGuard.PAUSE_TIMER_NAME).tag("step", "none").timer().count())
+			.isEqualTo(1L);
+	}
+
+	@Test
+	void completionPolicyShouldShrinkChunkUnderPressure() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		TestMemoryPressureGuard guard = new TestMemoryPressureGuard(meterRegistry);
+		MemoryAwareCompletionPolicy policy = MemoryAwareCompletionPolicy.of(guard, 10, 2);
+		RepeatContextSupport context = new RepeatContextSupport(null);
+		context.increment();
+		context.increment();
+
+		assertThat(policy.isComplete(context, RepeatStatus.CONTINUABLE)).isFalse();
+		guard.occupancy = 0.9d;
+		guard.update();
+		assertThat(policy.isComplete(context, RepeatStatus.CONTINUABLE)).isTrue();
+		assertThat(policy.isComplete(context, RepeatStatus.FINISHED)).isTrue();
+
+		assertThat(meterRegistry.get(MemoryPressureGuard.SHRINK_COUNTER_NAME).counter().count()).isEqualTo(1.0d);
+	}
+
+	@Test
+	void completionPolicyShouldThrowForReducedChunkSizeLargerThanChunkSize() {
+		TestMemoryPressureGuard guard = new TestMemoryPressureGuard(new SimpleMeterRegistry());
+
+		assertThatThrownBy(() -> MemoryAwareCompletionPolicy.of(guard, 2, 10))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void guardShouldWatchOnlyOldGenerationPools() {
+		assertThat(MemoryPressureGuard.isOldGeneration("G1 Old Gen")).isTrue();
+		assertThat(MemoryPressureGuard.isOldGeneration("PS Old Gen")).isTrue();
+		assertThat(MemoryPressureGuard.isOldGeneration("Tenured Gen")).isTrue();
+		assertThat(MemoryPressureGuard.isOldGeneration("ZHeap")).isTrue();
+		assertThat(MemoryPressureGuard.isOldGeneration("Eden Space")).isFalse();
+		assertThat(MemoryPressureGuard.isOldGeneration("PS Survivor Space")).isFalse();
+		assertThat(MemoryPressureGuard.isOldGeneration("ZGC Young Generation")).isFalse();
+	}
+
+	@Test
+	void guardShouldRegisterAndRemoveThresholds() {
+		try (MemoryPressureGuard guard = MemoryPressureGuard.of(0.99d, 0.98d, new SimpleMeterRegistry())) {
+			assertThat(guard.isUnderPressure()).isFalse();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	static class TestMemoryPressureGuard extends MemoryPressureGuard {
+
+		volatile double occupancy = 0.0d;
+
+		TestMemoryPressureGuard(SimpleMeterRegistry meterRegistry) {
+			super(DEFAULT_HIGH_WATERMARK, DEFAULT_LOW_WATERMARK, meterRegistry);
+		}
+
+		@Override
+		protected double occupancy() {
+			return this.occupancy;
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.SimplePartitioner;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class PartFileItemStreamWriterDelegateTest {
+
+	private static final ItemEncoder<String> LINES = ItemEncoder.lines(item -> item);
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void writeShouldWritePartFileOfPartitionIndex() throws Exception {
+		PartFileItemStreamWriterDelegate<String> delegate = PartFileItemStreamWriterDelegate.of(this.tempDir, "out",
+			LINES, 4);
+		ExecutionContext executionContext = partitionContext(3);
+
+		delegate.onOpenWrite(executionContext);
+		delegate.write(Chunk.of("first", "second"));
+		delegate.onUpdateWrite(executionContext);
+		delegate.onCloseWrite();
+
+		Path partPath = PartFileItemStreamWriterDelegate.partPath(this.tempDir, "out", 3);
+		assertThat(partPath.getFileName().toString()).isEqualTo("out.part-00003");
+		assertThat(Files.readString(partPath)).isEqualTo("first\nsecond\n");
+		assertThat(executionContext.getLong(PartFileItemStreamWriterDelegate.POSITION_KEY)).isEqualTo(13L);
+	}
+
+	@Test
+	void writeShouldTruncateChunkWhenTransactionIsRolledBack() throws Exception {
+		PartFileItemStreamWriterDelegate<String> delegate = PartFileItemStreamWriterDelegate.of(this.tempDir, "out",
+			LINES);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+		delegate.onOpenWrite(partitionContext(0));
+
+		transactionTemplate.executeWithoutResult(status -> delegate.write(Chunk.of("committed")));
+		transactionTemplate.executeWithoutResult(status -> {
+			delegate.write(Chunk.of("rolled back"));
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> delegate.write(Chunk.of("retried")));
+		delegate.onCloseWrite();
+
+		assertThat(Files.readString(PartFileItemStreamWriterDelegate.partPath(this.tempDir, "out", 0)))
+			.isEqualTo("committed\nretried\n");
+	}
+
+	@Test
+	void openShouldTruncateBytesAfterSavedPositionOnRestart() throws Exception {
+		Path partPath = PartFileItemStreamWriterDelegate.partPath(this.tempDir, "out", 0);
+		Files.writeString(partPath, "committed\nnot committed\n");
+		ExecutionContext executionContext = partitionContext(0);
+		executionContext.putLong(PartFileItemStreamWriterDelegate.POSITION_KEY, 10L);
+		PartFileItemStreamWriterDelegate<String> delegate = PartFileItemStreamWriterDelegate.of(this.tempDir, "out",
+			LINES);
+
+		delegate.onOpenWrite(executionContext);
+		delegate.write(Chunk.of("restarted"));
+		delegate.onCloseWrite();
+
+		assertThat(Files.readString(partPath)).isEqualTo("committed\nrestarted\n");
+	}
+
+	@Test
+	void openShouldThrowExceptionWhenThereIsNoPartitionIndex() {
+		PartFileItemStreamWriterDelegate<String> delegate = PartFileItemStreamWriterDelegate.of(this.tempDir, "out",
+			LINES);
+
+		assertThatThrownBy(() -> delegate.onOpenWrite(new ExecutionContext()))
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void mergerShouldConcatenatePartsInIndexOrder() throws Exception {
+		Path parts = this.tempDir.resolve("parts");
+		for (int index : new int[] {2, 1, 0}) {
+			PartFileItemStreamWriterDelegate<String> delegate = PartFileItemStreamWriterDelegate.of(parts, "out",
+				LINES);
+			delegate.onOpenWrite(partitionContext(index));
+			delegate.write(Chunk.of("line" + index));
+			delegate.onCloseWrite();
+		}
+		Path target = this.tempDir.resolve("out.csv");
+		PartFileMerger merger = new PartFileMergerBuilder(parts, "out", target)
+			.header("header\n")
+			.footer("footer\n")
+			.build();
+
+		long size = merger.merge(3);
+
+		assertThat(Files.readString(target)).isEqualTo("header\nline0\nline1\nline2\nfooter\n");
+		assertThat(size).isEqualTo(Files.size(target));
+		assertThat(PartFileItemStreamWriterDelegate.partPath(parts, "out", 0)).doesNotExist();
+	}
+
+	@Test
+	void mergerShouldThrowExceptionWhenPartIsMissingOrUnexpected() throws Exception {
+		Path parts = this.tempDir.resolve("parts");
+		for (int index : new int[] {0, 1, 3}) {
+			PartFileItemStreamWriterDelegate<String> delegate = PartFileItemStreamWriterDelegate.of(parts, "out",
+				LINES);
+			delegate.onOpenWrite(partitionContext(index));
+			delegate.write(Chunk.of("line" + index));
+			delegate.onCloseWrite();
+		}
+		Path target = this.tempDir.resolve("out.csv");
+		PartFileMerger merger = new PartFileMergerBuilder(parts, "out", target)
+			.deleteParts(false)
+			.build();
+
+		assertThatThrownBy(() -> merger.merge(2))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Unexpected part file");
+		assertThatThrownBy(() -> merger.merge(4))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Missing part file");
+		assertThatThrownBy(merger::merge)
+			.isInstanceOf(IllegalStateException.class);
+		assertThat(target).doesNotExist();
+	}
+
+	@Test
+	void mergerShouldMergeOnlyWhenStepIsCompleted() throws Exception {
+		Path target = this.tempDir.resolve("out.csv");
+		PartFileMerger merger = new PartFileMergerBuilder(this.tempDir, "out", target).build();
+		StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+		ExecutionContext partitionContext = partitionContext(0);
+		partitionContext.putInt(IndexedPartitioner.COUNT_KEY, 1);
+		stepExecution.getJobExecution().createStepExecution("worker:partition0").setExecutionContext(partitionContext);
+		PartFileItemStreamWriterDelegate<String> delegate = PartFileItemStreamWriterDelegate.of(this.tempDir, "out",
+			LINES);
+		delegate.onOpenWrite(partitionContext);
+		delegate.write(Chunk.of("line0"));
+		delegate.onCloseWrite();
+
+		stepExecution.setStatus(BatchStatus.FAILED);
+		merger.afterStep(stepExecution);
+		assertThat(target).doesNotExist();
+
+		stepExecution.setStatus(BatchStatus.COMPLETED);
+		ExitStatus exitStatus = merger.afterStep(stepExecution);
+		assertThat(exitStatus).isNull();
+		assertThat(Files.readString(target)).isEqualTo("line0\n");
+	}
+
+	@Test
+	void indexedPartitionerShouldPutIndexInOrder() {
+		Map<String, ExecutionContext> partitions = IndexedPartitioner.of(gridSize -> {
+			Map<String, ExecutionContext> map = new LinkedHashMap<>();
+			map.put("b", new ExecutionContext());
+			map.put("a", new ExecutionContext());
+			return map;
+		}).partition(2);
+
+		assertThat(partitions.get("b").getInt(IndexedPartitioner.INDEX_KEY)).isZero();
+		assertThat(partitions.get("a").getInt(IndexedPartitioner.INDEX_KEY)).isEqualTo(1);
+		assertThat(partitions.get("a").getInt(IndexedPartitioner.COUNT_KEY)).isEqualTo(2);
+		assertThat(IndexedPartitioner.of(new SimplePartitioner()).partition(3)).hasSize(3);
+	}
+
+	private static ExecutionContext partitionContext(int index) {
+		ExecutionContext executionContext = new ExecutionContext();
+		executionContext.putInt(IndexedPartitioner.INDEX_KEY, index);
+		return executionContext;
+	}
+}
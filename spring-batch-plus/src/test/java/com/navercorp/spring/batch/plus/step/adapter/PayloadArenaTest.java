@@ -0,0 +1,111 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+class PayloadArenaTest {
+
+	@Test
+	void allocateShouldSliceBuffersFromSameSlab() {
+		PayloadArena arena = PayloadArena.of(16);
+
+		ByteBuffer first = arena.allocate(8);
+		ByteBuffer second = arena.allocate(8);
+		first.putLong(0, 1L);
+		second.putLong(0, 2L);
+
+		assertThat(first.isDirect()).isTrue();
+		assertThat(first.getLong(0)).isEqualTo(1L);
+		assertThat(second.getLong(0)).isEqualTo(2L);
+		assertThat(arena.getReservedBytes()).isEqualTo(16L);
+		assertThat(arena.getAllocatedBytes()).isEqualTo(16L);
+	}
+
+	@Test
+	void allocateShouldUseNextSlabOrOwnBufferWhenSlabIsNotEnough() {
+		PayloadArena arena = PayloadArena.of(16);
+
+		arena.allocate(10);
+		arena.allocate(10);
+		ByteBuffer large = arena.allocate(100);
+
+		assertThat(arena.getReservedBytes()).isEqualTo(32L);
+		assertThat(large.capacity()).isEqualTo(100);
+	}
+
+	@Test
+	void afterChunkShouldReuseSlabs() {
+		PayloadArena arena = PayloadArena.of(16);
+		arena.allocate(16);
+		arena.allocate(16);
+
+		arena.afterChunk(mock(ChunkContext.class));
+		arena.allocate(16);
+		arena.allocate(16);
+
+		assertThat(arena.getReservedBytes()).isEqualTo(32L);
+		assertThat(arena.getAllocatedBytes()).isEqualTo(32L);
+	}
+
+	@Test
+	void afterStepShouldReleaseSlabs() {
+		PayloadArena arena = PayloadArena.of(16);
+		arena.allocate(16);
+
+		arena.afterStep(MetaDataInstanceFactory.createStepExecution());
+
+		assertThat(arena.getReservedBytes()).isZero();
+	}
+
+	@Test
+	void readAndWriteShouldTransferPayloadThroughChannels() throws Exception {
+		PayloadArena arena = PayloadArena.of();
+		byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+
+		ByteBuffer buffer = arena.read(Channels.newChannel(new ByteArrayInputStream(payload)), payload.length);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		PayloadArena.writeFully(buffer, Channels.newChannel(outputStream));
+		PayloadArena.writeFully(arena.copyOf(payload), Channels.newChannel(outputStream));
+
+		assertThat(buffer.position()).isZero();
+		assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("payloadpayload");
+		assertThatThrownBy(() -> arena.read(Channels.newChannel(new ByteArrayInputStream(payload)), 100))
+			.isInstanceOf(EOFException.class);
+	}
+
+	@Test
+	void createShouldThrowExceptionWhenPassingInvalidArguments() {
+		assertThatThrownBy(() -> PayloadArena.of(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PayloadArena.of().allocate(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
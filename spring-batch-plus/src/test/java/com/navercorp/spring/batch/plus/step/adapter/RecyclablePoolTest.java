@@ -0,0 +1,87 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class RecyclablePoolTest {
+
+	@Test
+	void acquireShouldReturnReleasedInstanceAfterRecycling() {
+		RecyclablePool<Record> pool = RecyclablePool.of(Record::new);
+		Record record = pool.acquire();
+		record.value = 10;
+
+		pool.release(record);
+		Record acquired = pool.acquire();
+
+		assertThat(acquired).isSameAs(record);
+		assertThat(acquired.value).isZero();
+		assertThat(pool.size()).isZero();
+	}
+
+	@Test
+	void releaseShouldNotKeepInstancesMoreThanMaxSize() {
+		RecyclablePool<Record> pool = RecyclablePool.of(Record::new, 2);
+
+		pool.release(new Record());
+		pool.release(new Record());
+		pool.release(new Record());
+
+		assertThat(pool.size()).isEqualTo(2);
+	}
+
+	@Test
+	void poolShouldBeSeparatedForEachThread() throws Exception {
+		RecyclablePool<Record> pool = RecyclablePool.of(Record::new);
+		Record record = new Record();
+		pool.release(record);
+
+		AtomicReference<Record> acquiredInAnotherThread = new AtomicReference<>();
+		Thread thread = new Thread(() -> acquiredInAnotherThread.set(pool.acquire()));
+		thread.start();
+		thread.join();
+
+		assertThat(acquiredInAnotherThread.get()).isNotSameAs(record);
+		assertThat(pool.acquire()).isSameAs(record);
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void createShouldThrowExceptionWhenPassingInvalidArguments() {
+		assertThatThrownBy(() -> RecyclablePool.of(null));
+		assertThatThrownBy(() -> RecyclablePool.of(Record::new, 0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	static class Record implements Recyclable {
+
+		int value;
+
+		@Override
+		public void recycle() {
+			this.value = 0;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.navercorp.spring.batch.plus.step.adapter.RecyclablePoolTest.Record;
+
+@SuppressWarnings("unchecked")
+class RecyclingItemStreamWriterDelegateTest {
+
+	@Test
+	void writeShouldReleaseItemsWhenNoTransactionIsActive() {
+		RecyclablePool<Record> pool = RecyclablePool.of(Record::new);
+		RecyclingItemStreamWriterDelegate<Record> delegate = RecyclingItemStreamWriterDelegate.of(chunk -> {
+		}, pool);
+		Record record = pool.acquire();
+		record.value = 1;
+
+		delegate.write(Chunk.of(record));
+
+		assertThat(pool.size()).isEqualTo(1);
+		assertThat(record.value).isZero();
+	}
+
+	@Test
+	void writeShouldReleaseItemsAfterCommit() {
+		RecyclablePool<Record> pool = RecyclablePool.of(Record::new);
+		RecyclingItemStreamWriterDelegate<Record> delegate = RecyclingItemStreamWriterDelegate.of(chunk -> {
+		}, pool);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Chunk<Record> chunk = Chunk.of(pool.acquire(), pool.acquire());
+			delegate.write(chunk);
+			chunk.clear();
+			assertThat(pool.size()).isZero();
+		});
+
+		assertThat(pool.size()).isEqualTo(2);
+	}
+
+	@Test
+	void writeShouldNotReleaseItemsWhenRolledBack() {
+		RecyclablePool<Record> pool = RecyclablePool.of(Record::new);
+		RecyclingItemStreamWriterDelegate<Record> delegate = RecyclingItemStreamWriterDelegate.of(chunk -> {
+		}, pool);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			delegate.write(Chunk.of(pool.acquire()));
+			status.setRollbackOnly();
+		});
+
+		assertThat(pool.size()).isZero();
+	}
+
+	@Test
+	void writeShouldNotReleaseItemsWhenDelegateFails() {
+		RecyclablePool<Record> pool = RecyclablePool.of(Record::new);
+		RecyclingItemStreamWriterDelegate<Record> delegate = RecyclingItemStreamWriterDelegate.of(chunk -> {
+			throw new IllegalStateException("test");
+		}, pool);
+
+		assertThatThrownBy(() -> delegate.write(Chunk.of(pool.acquire())))
+			.isInstanceOf(IllegalStateException.class);
+		assertThat(pool.size()).isZero();
+	}
+
+	@Test
+	void streamCallbacksShouldBePassedToDelegate() {
+		ItemStreamWriterDelegate<Record> mockDelegate = mock(ItemStreamWriterDelegate.class);
+		RecyclingItemStreamWriterDelegate<Record> delegate =
+			RecyclingItemStreamWriterDelegate.of(mockDelegate, RecyclablePool.of(Record::new));
+
+		delegate.onOpenWrite(new ExecutionContext());
+		delegate.onUpdateWrite(new ExecutionContext());
+		delegate.onCloseWrite();
+
+		verify(mockDelegate, times(1)).onOpenWrite(any());
+		verify(mockDelegate, times(1)).onUpdateWrite(any());
+		verify(mockDelegate, times(1)).onCloseWrite();
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void createShouldThrowExceptionWhenPassingNull() {
+		assertThatThrownBy(() -> RecyclingItemStreamWriterDelegate.of(null, RecyclablePool.of(Record::new)));
+		assertThatThrownBy(() -> RecyclingItemStreamWriterDelegate.<Record>of(chunk -> {
+		}, null));
+	}
+}
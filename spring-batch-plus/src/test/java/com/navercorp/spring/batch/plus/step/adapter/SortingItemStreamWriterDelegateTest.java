@@ -0,0 +1,129 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+@SuppressWarnings("unchecked")
+class SortingItemStreamWriterDelegateTest {
+
+	@Test
+	void writeShouldPassItemsSortedByComparator() {
+		RecordingDelegate<String> delegate = new RecordingDelegate<>();
+		SortingItemStreamWriterDelegate<String> sorting =
+			SortingItemStreamWriterDelegate.of(delegate, Comparator.naturalOrder());
+
+		sorting.write(Chunk.of("c", "a", "b"));
+
+		assertThat(delegate.writtenChunks).containsExactly(List.of("a", "b", "c"));
+	}
+
+	@Test
+	void writeShouldPassItemsSortedByLongKeyKeepingOrderOfSameKeys() {
+		RecordingDelegate<long[]> delegate = new RecordingDelegate<>();
+		SortingItemStreamWriterDelegate<long[]> sorting = SortingItemStreamWriterDelegate.ofLongKey(delegate,
+			item -> item[0]);
+		Random random = new Random(42L);
+		List<long[]> items = IntStream.range(0, 1000)
+			.mapToObj(sequence -> new long[] {random.nextInt(50) - 25, sequence})
+			.collect(Collectors.toList());
+
+		sorting.write(new Chunk<>(items));
+
+		List<long[]> written = delegate.writtenChunks.get(0);
+		assertThat(written).hasSize(items.size());
+		for (int i = 1; i < written.size(); ++i) {
+			long[] previous = written.get(i - 1);
+			long[] current = written.get(i);
+			assertThat(previous[0]).isLessThanOrEqualTo(current[0]);
+			if (previous[0] == current[0]) {
+				assertThat(previous[1]).isLessThan(current[1]);
+			}
+		}
+	}
+
+	@Test
+	void writeShouldPassEachGroupAsSortedChunk() {
+		RecordingDelegate<Integer> delegate = new RecordingDelegate<>();
+		SortingItemStreamWriterDelegate<Integer> sorting = new SortingItemStreamWriterDelegateBuilder<>(delegate)
+			.longKey(item -> item)
+			.groupBy(item -> item % 2)
+			.build();
+
+		sorting.write(Chunk.of(5, 2, 3, 4, 1));
+
+		assertThat(delegate.writtenChunks).containsExactly(List.of(1, 3, 5), List.of(2, 4));
+	}
+
+	@Test
+	void streamCallbacksShouldBeInvokedForDelegate() {
+		ItemStreamWriterDelegate<Integer> delegate = mock(ItemStreamWriterDelegate.class);
+		SortingItemStreamWriterDelegate<Integer> sorting =
+			SortingItemStreamWriterDelegate.of(delegate, Comparator.naturalOrder());
+
+		sorting.onOpenWrite(new ExecutionContext());
+		sorting.onUpdateWrite(new ExecutionContext());
+		sorting.onCloseWrite();
+
+		verify(delegate, times(1)).onOpenWrite(any());
+		verify(delegate, times(1)).onUpdateWrite(any());
+		verify(delegate, times(1)).onCloseWrite();
+	}
+
+	@SuppressWarnings({"ConstantConditions"})
+	@Test
+	void buildShouldThrowExceptionWhenPassingInvalidArguments() {
+		assertThatThrownBy(() -> SortingItemStreamWriterDelegate.of(null, Comparator.naturalOrder()));
+		assertThatThrownBy(() -> new SortingItemStreamWriterDelegateBuilder<>(new RecordingDelegate<Integer>())
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> new SortingItemStreamWriterDelegateBuilder<>(new RecordingDelegate<Integer>())
+			.comparator(Comparator.naturalOrder())
+			.longKey(item -> item)
+			.build())
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	private static class RecordingDelegate<T> implements ItemStreamWriterDelegate<T> {
+
+		private final List<List<T>> writtenChunks = new ArrayList<>();
+
+		@Override
+		public void write(@NonNull Chunk<? extends T> chunk) {
+			this.writtenChunks.add(new ArrayList<>(chunk.getItems()));
+		}
+	}
+}
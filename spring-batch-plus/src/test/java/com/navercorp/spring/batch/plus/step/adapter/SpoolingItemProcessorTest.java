@@ -0,0 +1,143 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SpoolingItemProcessorTest {
+
+	@TempDir
+	Path tempDir;
+
+	private final AtomicInteger processCount = new AtomicInteger();
+
+	private final TransactionTemplate transactionTemplate =
+		new TransactionTemplate(new ResourcelessTransactionManager());
+
+	@Test
+	void processShouldReplaySpooledOutputsOfRolledBackChunk() {
+		SpoolingItemProcessor<Long, String> processor = processor();
+		processor.open(new ExecutionContext());
+
+		List<String> outputs = processInTransaction(processor, 1L, 2L, 3L, true);
+		List<String> replayed = processInTransaction(processor, 1L, 2L, 3L, false);
+		processor.close();
+
+		assertThat(outputs).containsExactly("v1", "v2", null);
+		assertThat(replayed).isEqualTo(outputs);
+		assertThat(this.processCount).hasValue(3);
+	}
+
+	@Test
+	void openShouldLoadSpooledOutputsOnRestart() throws Exception {
+		ExecutionContext executionContext = new ExecutionContext();
+		SpoolingItemProcessor<Long, String> processor = processor();
+		processor.open(executionContext);
+		processor.update(executionContext);
+		processInTransaction(processor, 1L, 2L, 3L, true);
+		processor.close();
+
+		SpoolingItemProcessor<Long, String> restarted = processor();
+		restarted.open(executionContext);
+		List<String> outputs = processInTransaction(restarted, 1L, 2L, 4L, false);
+		restarted.close();
+
+		assertThat(outputs).containsExactly("v1", "v2", "v4");
+		assertThat(this.processCount).hasValue(4);
+		assertThat(Files.size(spoolFile())).isEqualTo(Long.BYTES);
+	}
+
+	@Test
+	void openShouldTruncateSpoolOfAnotherStepExecution() {
+		ExecutionContext executionContext = new ExecutionContext();
+		SpoolingItemProcessor<Long, String> processor = processor();
+		processor.open(executionContext);
+		processor.update(executionContext);
+		processInTransaction(processor, 1L, 2L, 3L, true);
+		processor.close();
+
+		SpoolingItemProcessor<Long, String> another = processor();
+		another.open(new ExecutionContext());
+		processInTransaction(another, 1L, 2L, 3L, false);
+		another.close();
+
+		assertThat(this.processCount).hasValue(6);
+	}
+
+	@Test
+	void processShouldCallDelegateAfterChunkIsCommitted() {
+		SpoolingItemProcessor<Long, String> processor = processor();
+		processor.open(new ExecutionContext());
+
+		processInTransaction(processor, 1L, 2L, 3L, false);
+		processInTransaction(processor, 1L, 2L, 3L, false);
+		processor.close();
+
+		assertThat(this.processCount).hasValue(6);
+		assertThat(processor.getSpooledCount()).isZero();
+	}
+
+	private List<String> processInTransaction(SpoolingItemProcessor<Long, String> processor, long first, long second,
+		long third, boolean rollback) {
+		List<String> outputs = new ArrayList<>();
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (long item : new long[] {first, second, third}) {
+				try {
+					outputs.add(processor.process(item));
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+			if (rollback) {
+				status.setRollbackOnly();
+			}
+		});
+		return outputs;
+	}
+
+	private SpoolingItemProcessor<Long, String> processor() {
+		return new SpoolingItemProcessorBuilder<Long, String>(spoolFile())
+			.delegate(item -> {
+				this.processCount.incrementAndGet();
+				return (item % 3 == 0) ? null : "v" + item;
+			})
+			.key(Long::longValue)
+			.serializer(ItemEncoder.lines(output -> output),
+				record -> StandardCharsets.UTF_8.decode(record).toString().trim())
+			.build();
+	}
+
+	private Path spoolFile() {
+		return this.tempDir.resolve("spool");
+	}
+}
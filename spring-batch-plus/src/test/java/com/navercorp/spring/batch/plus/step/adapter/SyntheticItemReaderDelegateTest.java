@@ -0,0 +1,161 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+class SyntheticItemReaderDelegateTest {
+
+	@Test
+	void readShouldGenerateSameItemsForSameSeed() {
+		List<SyntheticItem> items = readAll(builder().build(), new ExecutionContext());
+		List<SyntheticItem> others = readAll(builder().build(), new ExecutionContext());
+
+		assertThat(items).hasSize(1_000).isEqualTo(others);
+		assertThat(items).allSatisfy(item -> assertThat(item.getPayload().length).isBetween(1, 1_000));
+		assertThat(readAll(builder().seed(1L).build(), new ExecutionContext())).isNotEqualTo(items);
+	}
+
+	@Test
+	void readShouldContinueFromIndexOnRestart() {
+		List<SyntheticItem> items = readAll(builder().build(), new ExecutionContext());
+		SyntheticItemReaderDelegate<SyntheticItem> delegate = builder().build();
+		ExecutionContext executionContext = new ExecutionContext();
+		delegate.onOpenRead(executionContext);
+		for (int i = 0; i < 300; ++i) {
+			delegate.read();
+		}
+		delegate.onUpdateRead(executionContext);
+
+		assertThat(readAll(builder().build(), executionContext)).isEqualTo(items.subList(300, 1_000));
+	}
+
+	@Test
+	void readShouldGenerateAdjacentPayloadsWithoutOverlap() {
+		List<SyntheticItem> items = readAll(new SyntheticItemReaderDelegateBuilder(100)
+			.seed(42L)
+			.sizes(SyntheticDistribution.constant(64))
+			.build(), new ExecutionContext());
+
+		for (int i = 1; i < items.size(); ++i) {
+			byte[] previous = items.get(i - 1).getPayload();
+			byte[] next = items.get(i).getPayload();
+			for (int shift = 0; shift <= 48; ++shift) {
+				assertThat(Arrays.equals(next, 0, 16, previous, shift, shift + 16)).isFalse();
+			}
+		}
+	}
+
+	@Test
+	void readShouldGenerateSkewedKeysOfZipf() {
+		long[] frequencies = new long[100];
+		for (SyntheticItem item : readAll(builder().keys(SyntheticDistribution.zipf(100, 1.0d)).build(),
+			new ExecutionContext())) {
+			++frequencies[(int)item.getKey()];
+		}
+
+		assertThat(frequencies[0]).isGreaterThan(frequencies[1]).isGreaterThan(frequencies[99] * 10);
+	}
+
+	@Test
+	void zipfShouldBeUniformForZeroExponent() {
+		SyntheticDistribution distribution = SyntheticDistribution.zipf(4, 0.0d);
+		SplittableRandom random = new SplittableRandom(42L);
+		long[] frequencies = new long[4];
+		for (int i = 0; i < 40_000; ++i) {
+			++frequencies[(int)distribution.sample(random)];
+		}
+
+		for (long frequency : frequencies) {
+			assertThat(frequency).isBetween(9_500L, 10_500L);
+		}
+	}
+
+	@Test
+	void readShouldPaceItemsToRate() {
+		SyntheticItemReaderDelegate<SyntheticItem> delegate = new SyntheticItemReaderDelegateBuilder(101)
+			.rate(1_000.0d)
+			.build();
+
+		long start = System.nanoTime();
+		readAll(delegate, new ExecutionContext());
+
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(100_000_000L);
+	}
+
+	@Test
+	void readShouldMakeUpStallByBurstAtMost() throws Exception {
+		SyntheticItemReaderDelegate<SyntheticItem> delegate = new SyntheticItemReaderDelegateBuilder(1_000)
+			.rate(1_000.0d, 10L)
+			.build();
+		delegate.onOpenRead(new ExecutionContext());
+		Thread.sleep(200L);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 60; ++i) {
+			delegate.read();
+		}
+
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(40_000_000L);
+	}
+
+	@Test
+	void readShouldStopWaitingWhenInterrupted() {
+		SyntheticItemReaderDelegate<SyntheticItem> delegate = new SyntheticItemReaderDelegateBuilder(10)
+			.rate(1.0d)
+			.build();
+		delegate.onOpenRead(new ExecutionContext());
+
+		Thread.currentThread().interrupt();
+		long start = System.nanoTime();
+		for (int i = 0; i < 5; ++i) {
+			delegate.read();
+		}
+
+		assertThat(Thread.interrupted()).isTrue();
+		assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+	}
+
+	private static SyntheticItemReaderDelegateBuilder builder() {
+		return new SyntheticItemReaderDelegateBuilder(1_000)
+			.seed(42L)
+			.sizes(SyntheticDistribution.logNormal(100, 1.0d, 1_000));
+	}
+
+	private static List<SyntheticItem> readAll(SyntheticItemReaderDelegate<SyntheticItem> delegate,
+		ExecutionContext executionContext) {
+		List<SyntheticItem> items = new ArrayList<>();
+		delegate.onOpenRead(executionContext);
+		SyntheticItem item;
+		while ((item = delegate.read()) != null) {
+			items.add(item);
+		}
+		delegate.onCloseRead();
+		return items;
+	}
+}
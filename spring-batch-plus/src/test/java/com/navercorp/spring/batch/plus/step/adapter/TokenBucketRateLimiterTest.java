@@ -0,0 +1,116 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+class TokenBucketRateLimiterTest {
+
+	@Test
+	void acquireShouldNotWaitWithinBurst() {
+		TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.of(1.0d, 10L);
+
+		for (int i = 0; i < 10; ++i) {
+			rateLimiter.acquire(1L);
+		}
+
+		assertThat(rateLimiter.getThrottledMillis()).isZero();
+		assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+	}
+
+	@Test
+	void acquireShouldWaitUntilPermitsAreRefilled() {
+		TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.of(100.0d, 1L);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 11; ++i) {
+			rateLimiter.acquire(1L);
+		}
+
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(90_000_000L);
+		assertThat(rateLimiter.getThrottledMillis()).isGreaterThanOrEqualTo(90L);
+	}
+
+	@Test
+	void setPermitsPerSecondShouldChangeRate() {
+		TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.of(1.0d, 1L);
+		rateLimiter.acquire(1L);
+
+		rateLimiter.setPermitsPerSecond(1_000.0d);
+		long start = System.nanoTime();
+		rateLimiter.acquire(50L);
+
+		assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+		assertThat(rateLimiter.getPermitsPerSecond()).isEqualTo(1_000.0d);
+		assertThatThrownBy(() -> rateLimiter.setPermitsPerSecond(0.0d))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void readerShouldAcquirePermitForEachItem() throws Exception {
+		TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.of(1.0d, 3L);
+		RateLimitingItemStreamReader<Integer> reader = RateLimitingItemStreamReader.of(
+			new ListItemReader<>(List.of(1, 2)), rateLimiter);
+
+		List<Integer> items = new ArrayList<>();
+		Integer item;
+		while ((item = reader.read()) != null) {
+			items.add(item);
+		}
+
+		assertThat(items).containsExactly(1, 2);
+		assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+	}
+
+	@Test
+	void writerShouldAcquireWeightsOfItems() throws Exception {
+		TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.of(1.0d, 100L);
+		List<String> written = new ArrayList<>();
+		RateLimitingItemStreamWriter<String> writer = RateLimitingItemStreamWriter.of(
+			chunk -> written.addAll(chunk.getItems()), rateLimiter, String::length);
+
+		writer.write(Chunk.of("a".repeat(60), "b".repeat(40)));
+
+		assertThat(written).hasSize(2);
+		assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+	}
+
+	@Test
+	void listenerShouldSetRateFromJobParameter() {
+		TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.of(1.0d, 1L);
+		StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(
+			new JobParametersBuilder().addDouble("rateLimit", 500.0d).toJobParameters());
+
+		RateLimitListener.of(rateLimiter, "rateLimit").beforeStep(stepExecution);
+
+		assertThat(rateLimiter.getPermitsPerSecond()).isEqualTo(500.0d);
+	}
+}
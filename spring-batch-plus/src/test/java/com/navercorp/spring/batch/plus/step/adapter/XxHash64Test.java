@@ -0,0 +1,43 @@
+/*
+ * Spring Batch Plus
+ *
+ * Copyright 2022-present NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.spring.batch.plus.step.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class XxHash64Test {
+
+	@Test
+	void hashShouldMatchReferenceValues() {
+		assertThat(XxHash64.hash(new byte[0])).isEqualTo(0xEF46DB3751D8E999L);
+		assertThat(XxHash64.hash("abc".getBytes(StandardCharsets.US_ASCII))).isEqualTo(0x44BC2CF5AD770999L);
+		assertThat(XxHash64.hash("Nobody inspects the spammish repetition".getBytes(StandardCharsets.US_ASCII)))
+			.isEqualTo(0xFBCEA83C8A378BF1L);
+	}
+
+	@Test
+	void hashShouldDependOnlyOnRangeOfInput() {
+		byte[] input = "__abc__".getBytes(StandardCharsets.US_ASCII);
+
+		assertThat(XxHash64.hash(input, 2, 3, 0L)).isEqualTo(XxHash64.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+	}
+}